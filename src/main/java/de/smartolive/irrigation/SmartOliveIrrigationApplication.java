@@ -2,8 +2,10 @@ package de.smartolive.irrigation;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SmartOliveIrrigationApplication {
     public static void main(String[] args) {
         // Standard: H2, oder Profil aus Umgebungsvariable
@@ -1,59 +1,138 @@
 package de.smartolive.irrigation.application;
 
-import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.repository.MoisturePoint;
 import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
+import de.smartolive.irrigation.domain.timeseries.AggregationWindow;
+import de.smartolive.irrigation.domain.timeseries.ColumnarSensorBuffer;
+import de.smartolive.irrigation.domain.timeseries.RollingMoistureAggregates;
+import de.smartolive.irrigation.domain.timeseries.TimeSeriesSummary;
+import de.smartolive.irrigation.domain.timeseries.WindowStatistics;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
 public class SensorAnalysisService {
 
     private final SensorReadingRepository sensorReadingRepository;
+    private final ColumnarSensorBuffer sensorBuffer;
+    private final RollingMoistureAggregates rollingAggregates;
 
-    public SensorAnalysisService(SensorReadingRepository sensorReadingRepository) {
+    public SensorAnalysisService(SensorReadingRepository sensorReadingRepository,
+                                 ColumnarSensorBuffer sensorBuffer,
+                                 RollingMoistureAggregates rollingAggregates) {
         this.sensorReadingRepository = sensorReadingRepository;
+        this.sensorBuffer = sensorBuffer;
+        this.rollingAggregates = rollingAggregates;
     }
 
     /**
      * Berechnet den durchschnittlichen Feuchtigkeitswert der letzten 24 Stunden
      */
     public Optional<Double> get24hAverageMoisture(Long parzelleId) {
+        Optional<WindowStatistics> rolling = rollingAggregates
+                .getStatistics(parzelleId, AggregationWindow.TWENTY_FOUR_HOURS);
+        if (rolling.isPresent()) {
+            return rolling.get().getAverageMoisture();
+        }
+
         LocalDateTime yesterday = LocalDateTime.now().minus(24, ChronoUnit.HOURS);
-        return sensorReadingRepository.findAverageMoistureSince(parzelleId, yesterday);
+        return averageMoistureSince(parzelleId, yesterday);
     }
 
     /**
      * Prüft ob die Feuchte unter einem kritischen Wert liegt
      */
     public boolean isMoistureCritical(Long parzelleId, double criticalThreshold) {
-        LocalDateTime lastHour = LocalDateTime.now().minus(1, ChronoUnit.HOURS);
-        Optional<Double> avgMoisture = sensorReadingRepository
-                .findAverageMoistureSince(parzelleId, lastHour);
+        Optional<Double> avgMoisture = rollingAggregates
+                .getStatistics(parzelleId, AggregationWindow.ONE_HOUR)
+                .map(WindowStatistics::getAverageMoisture)
+                .orElseGet(() -> averageMoistureSince(
+                        parzelleId, LocalDateTime.now().minus(1, ChronoUnit.HOURS)));
 
         return avgMoisture.isPresent() && avgMoisture.get() < criticalThreshold;
     }
 
+    /**
+     * Durchschnittstemperatur über ein gleitendes Fenster
+     */
+    public Optional<Double> getAverageTemperature(Long parzelleId, AggregationWindow window) {
+        return rollingAggregates.getStatistics(parzelleId, window)
+                .map(WindowStatistics::getAverageTemperature)
+                .orElseGet(() -> sensorReadingRepository.findAverageTemperatureSince(
+                        parzelleId, windowStart(window)));
+    }
+
+    /**
+     * Feuchte-Statistik [min, max, avg] über ein gleitendes Fenster
+     */
+    public Object[] getMoistureStatistics(Long parzelleId, AggregationWindow window) {
+        return rollingAggregates.getStatistics(parzelleId, window)
+                .map(WindowStatistics::toMoistureStatistics)
+                .orElseGet(() -> sensorReadingRepository.findMoistureStatisticsRouted(
+                        parzelleId, windowStart(window)));
+    }
+
+    /**
+     * Anzahl der ONLINE-Messungen in einem gleitenden Fenster
+     */
+    public long countReadings(Long parzelleId, AggregationWindow window) {
+        return rollingAggregates.getStatistics(parzelleId, window)
+                .map(WindowStatistics::getOnlineReadingCount)
+                .orElseGet(() -> sensorReadingRepository.countReadingsSince(
+                        parzelleId, windowStart(window)));
+    }
+
     /**
      * Berechnet Feuchtigkeitstrend (steigend/fallend)
      */
     public double calculateMoistureTrend(Long parzelleId, int hours) {
         LocalDateTime start = LocalDateTime.now().minus(hours, ChronoUnit.HOURS);
 
-        // Erste und letzte Messung im Zeitraum finden
-        List<SensorReading> readings = sensorReadingRepository
-                .findByParzelleIdAndTimestampAfter(parzelleId, start);
+        // Kurzzeitfenster direkt aus dem Spaltenpuffer
+        Optional<TimeSeriesSummary> buffered = sensorBuffer.summarize(parzelleId, start);
+        if (buffered.isPresent()) {
+            return buffered.get().getMoistureTrend();
+        }
+
+        // Erster und letzter Wert im Zeitraum, bei langen Zeiträumen aus den Rollups
+        List<Double> values = sensorReadingRepository.findMoistureTrendRouted(parzelleId, start).stream()
+                .map(point -> (Double) point[1])
+                .filter(Objects::nonNull)
+                .toList();
 
-        if (readings.size() < 2) {
+        if (values.size() < 2) {
             return 0.0; // Nicht genug Daten
         }
 
-        double first = readings.get(readings.size() - 1).getMoisturePercent();
-        double last = readings.get(0).getMoisturePercent();
+        double first = values.get(0);
+        double last = values.get(values.size() - 1);
 
         return last - first; // Positiv = steigend, Negativ = fallend
     }
-}
\ No newline at end of file
+
+    /**
+     * Feuchteverlauf für Diagramme mit höchstens {@code maxPoints} Punkten, in der
+     * Datenbank je Zeit-Bucket gemittelt
+     */
+    public List<MoisturePoint> getMoistureChart(Long parzelleId, int hours, int maxPoints) {
+        LocalDateTime start = LocalDateTime.now().minus(hours, ChronoUnit.HOURS);
+        return sensorReadingRepository.findMoistureTrendBucketed(parzelleId, start, maxPoints);
+    }
+
+    private Optional<Double> averageMoistureSince(Long parzelleId, LocalDateTime since) {
+        Optional<TimeSeriesSummary> buffered = sensorBuffer.summarize(parzelleId, since);
+        if (buffered.isPresent()) {
+            return buffered.get().getAverageMoisture();
+        }
+        return sensorReadingRepository.findAverageMoistureSinceRouted(parzelleId, since);
+    }
+
+    private static LocalDateTime windowStart(AggregationWindow window) {
+        return LocalDateTime.now().minus(window.getLength());
+    }
+}
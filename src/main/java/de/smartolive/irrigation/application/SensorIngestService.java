@@ -0,0 +1,151 @@
+package de.smartolive.irrigation.application;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.timeseries.SensorIngestListener;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.infrastructure.persistence.jdbc.JdbcSensorReadingWriter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * Bulk-Ingest für Sensor-Messungen der Gateways.
+ * Schreibt die Messungen in Batches konfigurierbarer Größe per JDBC statt
+ * einzeln über {@code SensorReadingRepository.save}. Nach jedem gespeicherten Batch
+ * werden die registrierten {@link SensorIngestListener} benachrichtigt.
+ * Gateways, die bereits {@link SensorSample}s liefern, umgehen die Entity komplett.
+ */
+@Service
+public class SensorIngestService {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorIngestService.class);
+
+    private final JdbcSensorReadingWriter writer;
+    private final List<SensorIngestListener> listeners;
+    private final int batchSize;
+
+    public SensorIngestService(JdbcSensorReadingWriter writer,
+                               List<SensorIngestListener> listeners,
+                               @Value("${app.sensor.ingest.batch-size:1000}") int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch-Größe muss mindestens 1 sein");
+        }
+        this.writer = writer;
+        this.listeners = listeners;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Speichert die Messungen in Batches und liefert den Durchsatz pro Batch
+     */
+    public IngestResult ingestBatch(List<SensorReading> readings) {
+        return ingest(readings, writer::insertBatch, SensorIngestService::toSamples);
+    }
+
+    /**
+     * Speichert kompakte Messungen in Batches und liefert den Durchsatz pro Batch
+     */
+    public IngestResult ingestSamples(List<SensorSample> samples) {
+        return ingest(samples, writer::insertSamples, batch -> batch);
+    }
+
+    private <T> IngestResult ingest(List<T> items, ToIntFunction<List<T>> insert,
+                                    Function<List<T>, List<SensorSample>> toSamples) {
+        if (items == null || items.isEmpty()) {
+            return new IngestResult(Collections.emptyList());
+        }
+
+        List<BatchStatistics> statistics = new ArrayList<>();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<T> batch = items.subList(from, Math.min(from + batchSize, items.size()));
+
+            long start = System.nanoTime();
+            int inserted = insert.applyAsInt(batch);
+            BatchStatistics batchStatistics = new BatchStatistics(inserted, System.nanoTime() - start);
+            statistics.add(batchStatistics);
+            if (!listeners.isEmpty()) {
+                notifyListeners(toSamples.apply(batch));
+            }
+
+            log.debug("Sensor-Batch gespeichert: {} Messungen in {} ms ({} Messungen/s)",
+                    inserted, batchStatistics.getDurationNanos() / 1_000_000,
+                    Math.round(batchStatistics.getReadingsPerSecond()));
+        }
+
+        return new IngestResult(statistics);
+    }
+
+    private static List<SensorSample> toSamples(List<SensorReading> readings) {
+        List<SensorSample> samples = new ArrayList<>(readings.size());
+        for (SensorReading reading : readings) {
+            samples.add(SensorSample.of(reading));
+        }
+        return samples;
+    }
+
+    private void notifyListeners(List<SensorSample> batch) {
+        for (SensorIngestListener listener : listeners) {
+            try {
+                listener.onSamplesIngested(batch);
+            } catch (RuntimeException e) {
+                // Die Messungen sind bereits gespeichert – ein fehlerhafter Listener darf den Ingest nicht abbrechen
+                log.warn("Ingest-Listener {} fehlgeschlagen", listener.getClass().getSimpleName(), e);
+            }
+        }
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    // Hilfsklassen für die Rückgabe
+
+    public static class BatchStatistics {
+        private final int readingCount;
+        private final long durationNanos;
+
+        public BatchStatistics(int readingCount, long durationNanos) {
+            this.readingCount = readingCount;
+            this.durationNanos = durationNanos;
+        }
+
+        public int getReadingCount() { return readingCount; }
+        public long getDurationNanos() { return durationNanos; }
+
+        public double getReadingsPerSecond() {
+            if (durationNanos <= 0) return 0.0;
+            return readingCount * 1_000_000_000.0 / durationNanos;
+        }
+    }
+
+    public static class IngestResult {
+        private final List<BatchStatistics> batches;
+
+        public IngestResult(List<BatchStatistics> batches) {
+            this.batches = Collections.unmodifiableList(batches);
+        }
+
+        public List<BatchStatistics> getBatches() { return batches; }
+
+        public int getTotalReadings() {
+            return batches.stream().mapToInt(BatchStatistics::getReadingCount).sum();
+        }
+
+        public long getTotalDurationNanos() {
+            return batches.stream().mapToLong(BatchStatistics::getDurationNanos).sum();
+        }
+
+        public double getReadingsPerSecond() {
+            long duration = getTotalDurationNanos();
+            if (duration <= 0) return 0.0;
+            return getTotalReadings() * 1_000_000_000.0 / duration;
+        }
+    }
+}
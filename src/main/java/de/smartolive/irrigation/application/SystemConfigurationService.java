@@ -0,0 +1,35 @@
+package de.smartolive.irrigation.application;
+
+import de.smartolive.irrigation.domain.model.SystemConfiguration;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Hält die aktuell gültige {@link SystemConfiguration}.
+ * Die Konfiguration ist unveränderlich und wird bei Änderungen als Ganzes ersetzt;
+ * Leser wie der Sensor-Poller holen sie vor jedem Zyklus neu.
+ */
+@Service
+public class SystemConfigurationService {
+
+    private static final Logger log = LoggerFactory.getLogger(SystemConfigurationService.class);
+
+    private final AtomicReference<SystemConfiguration> current =
+            new AtomicReference<>(SystemConfiguration.getDefault());
+
+    public SystemConfiguration getCurrent() {
+        return current.get();
+    }
+
+    public void update(SystemConfiguration configuration) {
+        if (configuration == null) {
+            throw new IllegalArgumentException("Konfiguration muss angegeben werden");
+        }
+        current.set(configuration);
+        log.info("Systemkonfiguration aktualisiert, Sensor-Abfrage alle {} min",
+                configuration.getSensorPollingIntervalMinutes());
+    }
+}
@@ -0,0 +1,14 @@
+package de.smartolive.irrigation.domain.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Tägliche Verdichtung, gebildet aus den stündlichen Rollups
+ */
+@Entity
+@Table(name = "sensor_readings_daily",
+        uniqueConstraints = @UniqueConstraint(name = "uk_daily_parzelle_sensor_bucket",
+                columnNames = {"parzelle_id", "sensor_id", "bucket_start"}),
+        indexes = @Index(name = "idx_daily_parzelle_bucket", columnList = "parzelle_id, bucket_start"))
+public class DailySensorRollup extends SensorReadingRollup {
+}
@@ -0,0 +1,73 @@
+package de.smartolive.irrigation.domain.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+
+/**
+ * Wasserbuch: Verbrauch einer Parzelle an einem Tag.
+ *
+ * Menge und Anzahl werden beim Anlegen eines {@link IrrigationEvent} gebucht, die Dauer
+ * beim Beenden; maßgeblich ist jeweils der Starttag des Ereignisses. Die Zeile wird leer
+ * angelegt und ausschließlich über {@code DailyWaterLedgerRepository#addToDay} fortgeschrieben.
+ */
+@Entity
+@Table(name = "daily_water_ledger",
+        uniqueConstraints = @UniqueConstraint(name = "uk_ledger_parzelle_day",
+                columnNames = {"parzelle_id", "ledger_day"}))
+public class DailyWaterLedger {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "parzelle_id", nullable = false)
+    private Long parzelleId;
+
+    @Column(name = "ledger_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "liters", nullable = false)
+    private double liters;
+
+    @Column(name = "event_count", nullable = false)
+    private long eventCount;
+
+    @Column(name = "total_minutes", nullable = false)
+    private long totalMinutes;
+
+    protected DailyWaterLedger() {
+        // JPA benötigt einen no-arg Konstruktor
+    }
+
+    public DailyWaterLedger(Long parzelleId, LocalDate day, double liters, long eventCount, long totalMinutes) {
+        this.parzelleId = parzelleId;
+        this.day = day;
+        this.liters = liters;
+        this.eventCount = eventCount;
+        this.totalMinutes = totalMinutes;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getParzelleId() {
+        return parzelleId;
+    }
+
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public double getLiters() {
+        return liters;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+
+    public long getTotalMinutes() {
+        return totalMinutes;
+    }
+}
@@ -0,0 +1,14 @@
+package de.smartolive.irrigation.domain.model;
+
+import jakarta.persistence.*;
+
+/**
+ * Stündliche Verdichtung von {@code sensor_readings}
+ */
+@Entity
+@Table(name = "sensor_readings_hourly",
+        uniqueConstraints = @UniqueConstraint(name = "uk_hourly_parzelle_sensor_bucket",
+                columnNames = {"parzelle_id", "sensor_id", "bucket_start"}),
+        indexes = @Index(name = "idx_hourly_parzelle_bucket", columnList = "parzelle_id, bucket_start"))
+public class HourlySensorRollup extends SensorReadingRollup {
+}
@@ -5,7 +5,8 @@ import java.time.LocalDateTime;
 import java.util.Objects;
 
 @Entity
-@Table(name = "irrigation_events")
+@Table(name = "irrigation_events",
+        indexes = @Index(name = "idx_events_parzelle_time", columnList = "parzelle_id, start_time"))
 public class IrrigationEvent {
 
     @Id
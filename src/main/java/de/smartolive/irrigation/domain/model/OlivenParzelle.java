@@ -42,6 +42,9 @@ public class OlivenParzelle {
     @Enumerated(EnumType.STRING)
     private ParzellenStatus status;                     // RUHE, BEWAESSERUNG, FEHLER, GESPERRT etc.
 
+    @Version
+    private Long version;                               // Erhöht sich mit jeder gespeicherten Änderung
+
     // Konstruktor für Factory-Methode (DDD-Best-Practice)
     private OlivenParzelle() {
         this.allowedTimeWindows = new ArrayList<>();
@@ -112,6 +115,10 @@ public class OlivenParzelle {
         return status;
     }
 
+    public Long getVersion() {
+        return version;
+    }
+
     public void setStatus(ParzellenStatus status) {
         this.status = status;
     }
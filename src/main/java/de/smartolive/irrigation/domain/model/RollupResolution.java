@@ -0,0 +1,44 @@
+package de.smartolive.irrigation.domain.model;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * Verdichtungsstufen der Sensor-Messungen
+ */
+public enum RollupResolution {
+    HOURLY("sensor_readings_hourly", ChronoUnit.HOURS),
+    DAILY("sensor_readings_daily", ChronoUnit.DAYS);
+
+    private final String tableName;
+    private final ChronoUnit unit;
+
+    RollupResolution(String tableName, ChronoUnit unit) {
+        this.tableName = tableName;
+        this.unit = unit;
+    }
+
+    public String getTableName() {
+        return tableName;
+    }
+
+    public Duration getBucketLength() {
+        return unit.getDuration();
+    }
+
+    /**
+     * Beginn des Buckets, in dem der Zeitpunkt liegt
+     */
+    public LocalDateTime floor(LocalDateTime time) {
+        return time.truncatedTo(unit);
+    }
+
+    /**
+     * Erste Bucket-Grenze ab dem Zeitpunkt (einschließlich)
+     */
+    public LocalDateTime ceil(LocalDateTime time) {
+        LocalDateTime floor = floor(time);
+        return floor.equals(time) ? floor : floor.plus(1, unit);
+    }
+}
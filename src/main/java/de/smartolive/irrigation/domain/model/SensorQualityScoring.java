@@ -0,0 +1,96 @@
+package de.smartolive.irrigation.domain.model;
+
+/**
+ * Bewertung von Sensorwerten auf primitiven Werten, damit {@link SensorReading}
+ * und kompakte Ingest-Typen dieselbe Logik ohne Allokationen nutzen können.
+ *
+ * Fehlende Messwerte werden als {@code NaN}, fehlende Ganzzahlen als negativer Wert übergeben.
+ */
+public final class SensorQualityScoring {
+
+    private static final long MINUTE_MILLIS = 60_000L;
+
+    private SensorQualityScoring() {
+    }
+
+    /**
+     * Datenqualität 0-100
+     * @param ageMillis Alter der Messung zum Bewertungszeitpunkt
+     */
+    public static int dataQualityScore(double moisture, double temperature, double ec, double ph,
+                                       int batteryLevel, int signalStrength, SensorStatus status,
+                                       long ageMillis) {
+        int score = 100;
+
+        // Abzug für Batterie
+        if (batteryLevel >= 0 && batteryLevel < 20) {
+            score -= 20;
+        } else if (batteryLevel >= 0 && batteryLevel < 50) {
+            score -= 10;
+        }
+
+        // Abzug für Signalstärke
+        if (signalStrength >= 0 && signalStrength < 50) {
+            score -= 15;
+        } else if (signalStrength >= 0 && signalStrength < 80) {
+            score -= 5;
+        }
+
+        // Abzug für Status
+        if (status == SensorStatus.LOW_BATTERY) {
+            score -= 10;
+        } else if (status == SensorStatus.ERROR) {
+            score = 0;
+        } else if (status.isMaintenanceState()) {
+            score -= 30;
+        }
+
+        // Abzug für veraltete Daten
+        if (isStale(ageMillis, 60)) {
+            score -= 40;
+        } else if (isStale(ageMillis, 30)) {
+            score -= 20;
+        }
+
+        // Abzug für fehlende Werte
+        if (Double.isNaN(moisture)) score -= 30;
+        if (Double.isNaN(temperature)) score -= 10;
+        if (Double.isNaN(ec)) score -= 10;
+        if (Double.isNaN(ph)) score -= 10;
+
+        return Math.max(0, Math.min(100, score));
+    }
+
+    /**
+     * Wasserstress-Index 0-1, maximal wenn der Sensor keine verwertbaren Daten liefert
+     */
+    public static double waterStressIndex(double moisture, double temperature, double ec, double ph,
+                                          boolean canProvideData) {
+        if (!canProvideData || Double.isNaN(moisture)) {
+            return 1.0; // Maximaler Stress wenn keine Daten
+        }
+
+        double baseIndex = (100 - moisture) / 100.0;
+
+        if (temperature > 25) {
+            baseIndex *= 1.5; // Hitze verstärkt Stress
+        }
+
+        if (ec > 2000) {
+            baseIndex *= 1.3; // Hoher Salzgehalt verstärkt Stress
+        }
+
+        if (ph < 5.5 || ph > 7.5) {
+            baseIndex *= 1.2; // Ungünstiger pH-Wert verstärkt Stress
+        }
+
+        return Math.min(baseIndex, 1.0);
+    }
+
+    /**
+     * Entspricht {@link SensorReading#isStale(int)}
+     */
+    public static boolean isStale(long ageMillis, int maxAgeMinutes) {
+        return ageMillis > maxAgeMinutes * MINUTE_MILLIS;
+    }
+}
@@ -2,10 +2,16 @@ package de.smartolive.irrigation.domain.model;
 
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 
 @Entity
-@Table(name = "sensor_readings")
+@Table(name = "sensor_readings",
+        indexes = {
+                @Index(name = "idx_sensor_time", columnList = "timestamp"),
+                // Seek-Pagination (parzelle_id, timestamp, id); InnoDB hängt die ID implizit an
+                @Index(name = "idx_sensor_parzelle_time", columnList = "parzelle_id, timestamp")
+        })
 public class SensorReading {
 
     @Id
@@ -55,6 +61,10 @@ public class SensorReading {
     @Column(name = "data_quality_score")
     private Integer dataQualityScore; // 0-100
 
+    // Score wird erst beim Lesen bzw. Speichern neu berechnet statt bei jeder Änderung
+    @Transient
+    private boolean dataQualityScoreDirty;
+
     // Konstruktoren
 
     public SensorReading() {
@@ -64,8 +74,9 @@ public class SensorReading {
     public SensorReading(Long parzelleId, double moisturePercent, Double temperatureCelsius,
                          Double ecValue, Double phValue, Integer batteryLevel, String sensorId) {
         this.parzelleId = Objects.requireNonNull(parzelleId, "Parzellen-ID darf nicht null sein");
-        this.timestamp = LocalDateTime.now();
-        this.createdAt = LocalDateTime.now();
+        LocalDateTime now = LocalDateTime.now();
+        this.timestamp = now;
+        this.createdAt = now;
 
         // Validierung der Sensorwerte
         if (moisturePercent < 0 || moisturePercent > 100) {
@@ -95,7 +106,7 @@ public class SensorReading {
 
         this.sensorId = sensorId;
         this.status = SensorStatus.ONLINE;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     // Vor der Persistierung
@@ -110,8 +121,8 @@ public class SensorReading {
         if (status == null) {
             status = SensorStatus.ONLINE;
         }
-        if (dataQualityScore == null) {
-            dataQualityScore = calculateDataQualityScore();
+        if (dataQualityScore == null || dataQualityScoreDirty) {
+            refreshDataQualityScore();
         }
     }
 
@@ -119,7 +130,7 @@ public class SensorReading {
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
-        dataQualityScore = calculateDataQualityScore();
+        refreshDataQualityScore();
     }
 
     // Fachliche Methoden
@@ -161,7 +172,7 @@ public class SensorReading {
         }
         this.moisturePercent = correctedValue;
         this.updatedAt = LocalDateTime.now();
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     /**
@@ -170,7 +181,7 @@ public class SensorReading {
     public void markAsOffline() {
         this.status = SensorStatus.OFFLINE;
         this.updatedAt = LocalDateTime.now();
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     /**
@@ -180,31 +191,16 @@ public class SensorReading {
         this.status = SensorStatus.ERROR;
         this.updatedAt = LocalDateTime.now();
         this.dataQualityScore = 0; // Datenqualität bei Fehler = 0
+        this.dataQualityScoreDirty = false;
     }
 
     /**
      * Berechnet Wasserstress-Index basierend auf allen Werten
      */
     public double calculateWaterStressIndex() {
-        if (!canProvideData()) {
-            return 1.0; // Maximaler Stress wenn keine Daten
-        }
-
-        double baseIndex = (100 - moisturePercent) / 100.0;
-
-        if (temperatureCelsius != null && temperatureCelsius > 25) {
-            baseIndex *= 1.5; // Hitze verstärkt Stress
-        }
-
-        if (ecValue != null && ecValue > 2000) {
-            baseIndex *= 1.3; // Hoher Salzgehalt verstärkt Stress
-        }
-
-        if (phValue != null && (phValue < 5.5 || phValue > 7.5)) {
-            baseIndex *= 1.2; // Ungünstiger pH-Wert verstärkt Stress
-        }
-
-        return Math.min(baseIndex, 1.0);
+        return SensorQualityScoring.waterStressIndex(valueOrNaN(moisturePercent),
+                valueOrNaN(temperatureCelsius), valueOrNaN(ecValue), valueOrNaN(phValue),
+                canProvideData());
     }
 
     /**
@@ -221,7 +217,7 @@ public class SensorReading {
         if (this.status.canTransitionTo(newStatus)) {
             this.status = newStatus;
             this.updatedAt = LocalDateTime.now();
-            this.dataQualityScore = calculateDataQualityScore();
+            this.dataQualityScoreDirty = true;
         } else {
             throw new IllegalStateException(
                     String.format("Statusübergang von %s zu %s nicht erlaubt",
@@ -238,52 +234,32 @@ public class SensorReading {
                 getStatus() == SensorStatus.LOW_BATTERY ||
                 isBatteryCritical() ||
                 isStale(60) ||
-                (dataQualityScore != null && dataQualityScore < 50);
+                (getDataQualityScore() != null && getDataQualityScore() < 50);
     }
 
     /**
-     * Berechnet Datenqualität-Score (0-100)
+     * Berechnet Datenqualität-Score (0-100) mit einem einzigen Zeitstempel für die Alterung
      */
     private int calculateDataQualityScore() {
-        int score = 100;
-
-        // Abzug für Batterie
-        if (batteryLevel != null && batteryLevel < 20) {
-            score -= 20;
-        } else if (batteryLevel != null && batteryLevel < 50) {
-            score -= 10;
-        }
-
-        // Abzug für Signalstärke
-        if (signalStrength != null && signalStrength < 50) {
-            score -= 15;
-        } else if (signalStrength != null && signalStrength < 80) {
-            score -= 5;
-        }
-
-        // Abzug für Status
-        if (status == SensorStatus.LOW_BATTERY) {
-            score -= 10;
-        } else if (status == SensorStatus.ERROR) {
-            score = 0;
-        } else if (status.isMaintenanceState()) {
-            score -= 30;
-        }
-
-        // Abzug für veraltete Daten
-        if (isStale(60)) {
-            score -= 40;
-        } else if (isStale(30)) {
-            score -= 20;
-        }
-
-        // Abzug für fehlende Werte
-        if (moisturePercent == null) score -= 30;
-        if (temperatureCelsius == null) score -= 10;
-        if (ecValue == null) score -= 10;
-        if (phValue == null) score -= 10;
+        long ageMillis = timestamp != null
+                ? ChronoUnit.MILLIS.between(timestamp, LocalDateTime.now())
+                : 0L;
+        return SensorQualityScoring.dataQualityScore(
+                valueOrNaN(moisturePercent), valueOrNaN(temperatureCelsius),
+                valueOrNaN(ecValue), valueOrNaN(phValue),
+                batteryLevel != null ? batteryLevel : -1,
+                signalStrength != null ? signalStrength : -1,
+                status != null ? status : SensorStatus.ONLINE,
+                ageMillis);
+    }
+
+    private void refreshDataQualityScore() {
+        dataQualityScore = calculateDataQualityScore();
+        dataQualityScoreDirty = false;
+    }
 
-        return Math.max(0, Math.min(100, score));
+    private static double valueOrNaN(Double value) {
+        return value != null ? value : Double.NaN;
     }
 
     /**
@@ -296,7 +272,7 @@ public class SensorReading {
                 moisturePercent != null ? moisturePercent : 0.0,
                 temperatureCelsius != null ? temperatureCelsius : 0.0,
                 status.getBeschreibung(),
-                dataQualityScore != null ? dataQualityScore : 0
+                getDataQualityScore() != null ? getDataQualityScore() : 0
         );
     }
 
@@ -341,7 +317,7 @@ public class SensorReading {
 
     public void setMoisturePercent(Double moisturePercent) {
         this.moisturePercent = moisturePercent;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     public Double getTemperatureCelsius() {
@@ -350,7 +326,7 @@ public class SensorReading {
 
     public void setTemperatureCelsius(Double temperatureCelsius) {
         this.temperatureCelsius = temperatureCelsius;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     public Double getEcValue() {
@@ -359,7 +335,7 @@ public class SensorReading {
 
     public void setEcValue(Double ecValue) {
         this.ecValue = ecValue;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     public Double getPhValue() {
@@ -368,7 +344,7 @@ public class SensorReading {
 
     public void setPhValue(Double phValue) {
         this.phValue = phValue;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     public Integer getBatteryLevel() {
@@ -377,7 +353,7 @@ public class SensorReading {
 
     public void setBatteryLevel(Integer batteryLevel) {
         this.batteryLevel = batteryLevel;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     public SensorStatus getStatus() {
@@ -386,7 +362,7 @@ public class SensorReading {
 
     public void setStatus(SensorStatus status) {
         this.status = status;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     public String getSensorId() {
@@ -419,7 +395,7 @@ public class SensorReading {
 
     public void setSignalStrength(Integer signalStrength) {
         this.signalStrength = signalStrength;
-        this.dataQualityScore = calculateDataQualityScore();
+        this.dataQualityScoreDirty = true;
     }
 
     public Double getLocationAccuracy() {
@@ -431,11 +407,15 @@ public class SensorReading {
     }
 
     public Integer getDataQualityScore() {
+        if (dataQualityScoreDirty) {
+            refreshDataQualityScore();
+        }
         return dataQualityScore;
     }
 
     public void setDataQualityScore(Integer dataQualityScore) {
         this.dataQualityScore = dataQualityScore;
+        this.dataQualityScoreDirty = false;
     }
 
     // equals und hashCode
@@ -462,7 +442,7 @@ public class SensorReading {
                 moisturePercent != null ? moisturePercent : 0.0,
                 temperatureCelsius != null ? temperatureCelsius : 0.0,
                 status,
-                dataQualityScore != null ? dataQualityScore : 0,
+                getDataQualityScore() != null ? getDataQualityScore() : 0,
                 timestamp
         );
     }
@@ -0,0 +1,114 @@
+package de.smartolive.irrigation.domain.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Vorverdichtete Sensor-Messungen eines Zeitraums je Parzelle und Sensor.
+ *
+ * Statt Durchschnitten werden Summen und Anzahlen gespeichert, damit sich
+ * beliebige Zeiträume und gröbere Stufen exakt zusammenfassen lassen.
+ * Befüllt wird ausschließlich durch die Verdichtung der Rohdaten.
+ */
+@MappedSuperclass
+public abstract class SensorReadingRollup {
+
+    /** Platzhalter für Messungen ohne Sensor-ID (Teil des eindeutigen Schlüssels) */
+    public static final String UNKNOWN_SENSOR = "";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "parzelle_id", nullable = false)
+    private Long parzelleId;
+
+    @Column(name = "sensor_id", nullable = false, length = 100)
+    private String sensorId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "reading_count", nullable = false)
+    private long readingCount;
+
+    @Column(name = "moisture_count", nullable = false)
+    private long moistureCount;
+
+    @Column(name = "moisture_sum", nullable = false)
+    private double moistureSum;
+
+    @Column(name = "moisture_min")
+    private Double moistureMin;
+
+    @Column(name = "moisture_max")
+    private Double moistureMax;
+
+    @Column(name = "online_moisture_count", nullable = false)
+    private long onlineMoistureCount;
+
+    @Column(name = "online_moisture_sum", nullable = false)
+    private double onlineMoistureSum;
+
+    @Column(name = "temperature_count", nullable = false)
+    private long temperatureCount;
+
+    @Column(name = "temperature_sum", nullable = false)
+    private double temperatureSum;
+
+    protected SensorReadingRollup() {
+        // JPA benötigt einen no-arg Konstruktor
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getParzelleId() {
+        return parzelleId;
+    }
+
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public long getReadingCount() {
+        return readingCount;
+    }
+
+    public long getMoistureCount() {
+        return moistureCount;
+    }
+
+    public double getMoistureSum() {
+        return moistureSum;
+    }
+
+    public Double getMoistureMin() {
+        return moistureMin;
+    }
+
+    public Double getMoistureMax() {
+        return moistureMax;
+    }
+
+    public long getOnlineMoistureCount() {
+        return onlineMoistureCount;
+    }
+
+    public double getOnlineMoistureSum() {
+        return onlineMoistureSum;
+    }
+
+    public long getTemperatureCount() {
+        return temperatureCount;
+    }
+
+    public double getTemperatureSum() {
+        return temperatureSum;
+    }
+}
@@ -0,0 +1,33 @@
+package de.smartolive.irrigation.domain.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * Fortschritt der Verdichtung je Stufe: alle Buckets vor {@code compactedUntil}
+ * sind vollständig in der Rollup-Tabelle enthalten.
+ */
+@Entity
+@Table(name = "sensor_rollup_watermarks")
+public class SensorRollupWatermark {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", length = 20)
+    private RollupResolution resolution;
+
+    @Column(name = "compacted_until", nullable = false)
+    private LocalDateTime compactedUntil;
+
+    protected SensorRollupWatermark() {
+        // JPA benötigt einen no-arg Konstruktor
+    }
+
+    public RollupResolution getResolution() {
+        return resolution;
+    }
+
+    public LocalDateTime getCompactedUntil() {
+        return compactedUntil;
+    }
+}
@@ -0,0 +1,9 @@
+package de.smartolive.irrigation.domain.repository;
+
+import java.time.LocalDate;
+
+/**
+ * Anzahl der Bewässerungsereignisse eines Tages, direkt aus der Abfrage erzeugt
+ */
+public record DailyEventCount(LocalDate day, long count) {
+}
@@ -0,0 +1,42 @@
+package de.smartolive.irrigation.domain.repository;
+
+import de.smartolive.irrigation.domain.model.DailyWaterLedger;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface DailyWaterLedgerRepository extends JpaRepository<DailyWaterLedger, Long> {
+
+    // Buchung auf einen bestehenden Tag (atomar in der Datenbank); 0 = Tag noch nicht angelegt
+    @Modifying
+    @Query("UPDATE DailyWaterLedger l SET l.liters = l.liters + :liters, " +
+            "l.eventCount = l.eventCount + :events, l.totalMinutes = l.totalMinutes + :minutes " +
+            "WHERE l.parzelleId = :parzelleId AND l.day = :day")
+    int addToDay(@Param("parzelleId") Long parzelleId,
+                 @Param("day") LocalDate day,
+                 @Param("liters") double liters,
+                 @Param("events") long events,
+                 @Param("minutes") long minutes);
+
+    Optional<DailyWaterLedger> findByParzelleIdAndDay(Long parzelleId, LocalDate day);
+
+    // Alle Parzellen eines Tages (Aufwärmen der Tageszähler)
+    List<DailyWaterLedger> findByDay(LocalDate day);
+
+    // Tageswerte eines Zeitraums, z.B. für Monatsberichte (höchstens eine Zeile je Tag)
+    List<DailyWaterLedger> findByParzelleIdAndDayBetweenOrderByDayAsc(
+            Long parzelleId, LocalDate from, LocalDate to);
+
+    @Query("SELECT SUM(l.liters) FROM DailyWaterLedger l " +
+            "WHERE l.parzelleId = :parzelleId AND l.day BETWEEN :from AND :to")
+    Optional<Double> sumLiters(@Param("parzelleId") Long parzelleId,
+                               @Param("from") LocalDate from,
+                               @Param("to") LocalDate to);
+}
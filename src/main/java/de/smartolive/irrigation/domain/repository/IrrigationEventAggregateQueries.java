@@ -0,0 +1,30 @@
+package de.smartolive.irrigation.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Aggregat-Abfragen auf Bewässerungsereignisse: Anzahl und Wassermenge werden in der
+ * Datenbank berechnet, es werden keine Ereignisse geladen.
+ */
+public interface IrrigationEventAggregateQueries {
+
+    /**
+     * Anzahl und Wassermenge aller Ereignisse ab {@code since}
+     */
+    WaterUsageSummary summarizeWaterUsageSince(Long parzelleId, LocalDateTime since);
+
+    /**
+     * Wie {@link #summarizeWaterUsageSince(Long, LocalDateTime)} für mehrere Parzellen in
+     * einer Abfrage; Parzellen ohne Ereignisse sind mit leerer Zusammenfassung enthalten
+     */
+    Map<Long, WaterUsageSummary> summarizeWaterUsageSince(Collection<Long> parzelleIds, LocalDateTime since);
+
+    /**
+     * Anzahl und Wassermenge je Zeitraum ab dem jeweiligen Beginn bis heute, in einer
+     * Abfrage über den längsten Zeitraum. Das Ergebnis hat die Reihenfolge von {@code periodStarts}.
+     */
+    List<WaterUsageSummary> summarizeWaterUsagePeriods(Long parzelleId, List<LocalDateTime> periodStarts);
+}
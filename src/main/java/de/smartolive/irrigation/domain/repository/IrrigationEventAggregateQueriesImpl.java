@@ -0,0 +1,98 @@
+package de.smartolive.irrigation.domain.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mehrere Zeiträume werden über bedingte Summen ({@code SUM(CASE WHEN ...)}) in einem
+ * Durchlauf über den längsten Zeitraum berechnet; der Speicherbedarf hängt nur von der
+ * Anzahl der Zeiträume bzw. Parzellen ab, nicht von der Anzahl der Ereignisse.
+ */
+public class IrrigationEventAggregateQueriesImpl implements IrrigationEventAggregateQueries {
+
+    private final EntityManager entityManager;
+
+    public IrrigationEventAggregateQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public WaterUsageSummary summarizeWaterUsageSince(Long parzelleId, LocalDateTime since) {
+        Object[] row = entityManager.createQuery(
+                        "SELECT COUNT(e), SUM(e.wasserMengeLiter) FROM IrrigationEvent e " +
+                        "WHERE e.parzelleId = :parzelleId AND e.startTime >= :since", Object[].class)
+                .setParameter("parzelleId", parzelleId)
+                .setParameter("since", since)
+                .getSingleResult();
+        return toSummary(parzelleId, row[0], row[1]);
+    }
+
+    @Override
+    public Map<Long, WaterUsageSummary> summarizeWaterUsageSince(Collection<Long> parzelleIds,
+                                                                 LocalDateTime since) {
+        if (parzelleIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+        Map<Long, WaterUsageSummary> result = new HashMap<>(parzelleIds.size() * 2);
+        for (Long parzelleId : parzelleIds) {
+            result.put(parzelleId, WaterUsageSummary.empty(parzelleId));
+        }
+        List<Object[]> rows = entityManager.createQuery(
+                        "SELECT e.parzelleId, COUNT(e), SUM(e.wasserMengeLiter) FROM IrrigationEvent e " +
+                        "WHERE e.parzelleId IN :parzelleIds AND e.startTime >= :since " +
+                        "GROUP BY e.parzelleId", Object[].class)
+                .setParameter("parzelleIds", parzelleIds)
+                .setParameter("since", since)
+                .getResultList();
+        for (Object[] row : rows) {
+            Long parzelleId = (Long) row[0];
+            result.put(parzelleId, toSummary(parzelleId, row[1], row[2]));
+        }
+        return result;
+    }
+
+    @Override
+    public List<WaterUsageSummary> summarizeWaterUsagePeriods(Long parzelleId, List<LocalDateTime> periodStarts) {
+        if (periodStarts.isEmpty()) {
+            return List.of();
+        }
+        StringBuilder select = new StringBuilder("SELECT ");
+        for (int i = 0; i < periodStarts.size(); i++) {
+            if (i > 0) {
+                select.append(", ");
+            }
+            select.append("COUNT(CASE WHEN e.startTime >= :since").append(i).append(" THEN 1 END), ")
+                    .append("SUM(CASE WHEN e.startTime >= :since").append(i)
+                    .append(" THEN e.wasserMengeLiter END)");
+        }
+        select.append(" FROM IrrigationEvent e WHERE e.parzelleId = :parzelleId AND e.startTime >= :earliest");
+
+        TypedQuery<Object[]> query = entityManager.createQuery(select.toString(), Object[].class)
+                .setParameter("parzelleId", parzelleId)
+                .setParameter("earliest", Collections.min(periodStarts));
+        for (int i = 0; i < periodStarts.size(); i++) {
+            query.setParameter("since" + i, periodStarts.get(i));
+        }
+        Object[] row = query.getSingleResult();
+
+        List<WaterUsageSummary> result = new ArrayList<>(periodStarts.size());
+        for (int i = 0; i < periodStarts.size(); i++) {
+            result.add(toSummary(parzelleId, row[2 * i], row[2 * i + 1]));
+        }
+        return result;
+    }
+
+    private static WaterUsageSummary toSummary(Long parzelleId, Object count, Object liters) {
+        return new WaterUsageSummary(parzelleId,
+                count != null ? ((Number) count).longValue() : 0,
+                liters != null ? ((Number) liters).doubleValue() : 0.0);
+    }
+}
@@ -1,22 +1,35 @@
 package de.smartolive.irrigation.domain.repository;
 
 import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static de.smartolive.irrigation.domain.repository.SensorReadingRepository.STREAM_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface IrrigationEventRepository extends JpaRepository<IrrigationEvent, Long> {
+public interface IrrigationEventRepository extends JpaRepository<IrrigationEvent, Long>,
+        IrrigationEventAggregateQueries {
 
     // Heutige Bewässerungsereignisse
     List<IrrigationEvent> findByParzelleIdAndStartTimeAfter(
             Long parzelleId, LocalDateTime startTime);
 
+    // Bewässerungsereignisse aller Parzellen ab einem Zeitpunkt
+    List<IrrigationEvent> findByStartTimeAfter(LocalDateTime startTime);
+
     // Aktive (noch laufende) Bewässerungen
     List<IrrigationEvent> findByParzelleIdAndEndTimeIsNull(Long parzelleId);
 
@@ -31,14 +44,14 @@ public interface IrrigationEventRepository extends JpaRepository<IrrigationEvent
     // Letztes Bewässerungsereignis einer Parzelle
     Optional<IrrigationEvent> findTopByParzelleIdOrderByStartTimeDesc(Long parzelleId);
 
-    // Summe der Wassermenge eines Tages
+    // Summe der Wassermenge eines Tages; laufend über WaterLedger#getTodayLiters
     @Query("SELECT SUM(e.wasserMengeLiter) FROM IrrigationEvent e " +
             "WHERE e.parzelleId = :parzelleId AND e.startTime >= :startOfDay")
     Optional<Double> findTotalWaterAmountToday(
             @Param("parzelleId") Long parzelleId,
             @Param("startOfDay") LocalDateTime startOfDay);
 
-    // Summe der Wassermenge eines Monats
+    // Summe der Wassermenge eines Monats; für Berichte WaterLedger#getMonthlyLiters
     @Query("SELECT SUM(e.wasserMengeLiter) FROM IrrigationEvent e " +
             "WHERE e.parzelleId = :parzelleId AND e.startTime >= :startOfMonth")
     Optional<Double> findTotalWaterAmountThisMonth(
@@ -51,12 +64,29 @@ public interface IrrigationEventRepository extends JpaRepository<IrrigationEvent
             "AND e.endTime IS NOT NULL")
     Optional<Double> findAverageDurationMinutes(@Param("parzelleId") Long parzelleId);
 
-    // Bewässerungshistorie mit Pagination
+    // Vollständige Bewässerungshistorie; für Ansichten HistoryPageService verwenden
     @Query("SELECT e FROM IrrigationEvent e WHERE e.parzelleId = :parzelleId " +
             "ORDER BY e.startTime DESC")
     List<IrrigationEvent> findHistoryByParzelleId(
             @Param("parzelleId") Long parzelleId);
 
+    // Bewässerungshistorie mit Keyset-Pagination (neueste zuerst) über (parzelle_id, start_time, id);
+    // Seiten und Cursor baut HistoryPageService
+    @Query("SELECT e FROM IrrigationEvent e WHERE e.parzelleId = :parzelleId " +
+            "ORDER BY e.startTime DESC, e.id DESC")
+    List<IrrigationEvent> findHistoryFirstPage(
+            @Param("parzelleId") Long parzelleId,
+            Pageable limit);
+
+    @Query("SELECT e FROM IrrigationEvent e WHERE e.parzelleId = :parzelleId " +
+            "AND (e.startTime < :startTime OR (e.startTime = :startTime AND e.id < :id)) " +
+            "ORDER BY e.startTime DESC, e.id DESC")
+    List<IrrigationEvent> findHistoryPageAfter(
+            @Param("parzelleId") Long parzelleId,
+            @Param("startTime") LocalDateTime startTime,
+            @Param("id") long id,
+            Pageable limit);
+
     // Automatische Bewässerungen (nicht manuelle)
     @Query("SELECT e FROM IrrigationEvent e WHERE e.parzelleId = :parzelleId " +
             "AND e.type != 'MANUAL' ORDER BY e.startTime DESC")
@@ -78,18 +108,47 @@ public interface IrrigationEventRepository extends JpaRepository<IrrigationEvent
             Long parzelleId, String triggeredBy);
 
     // Anzahl der Bewässerungen pro Tag
-    @Query("SELECT DATE(e.startTime), COUNT(e) FROM IrrigationEvent e " +
+    @Query("SELECT CAST(e.startTime AS LocalDate), COUNT(e) FROM IrrigationEvent e " +
             "WHERE e.parzelleId = :parzelleId AND e.startTime >= :startDate " +
-            "GROUP BY DATE(e.startTime) ORDER BY DATE(e.startTime) DESC")
+            "GROUP BY CAST(e.startTime AS LocalDate) ORDER BY CAST(e.startTime AS LocalDate) DESC")
     List<Object[]> countEventsPerDay(
             @Param("parzelleId") Long parzelleId,
             @Param("startDate") LocalDateTime startDate);
 
-    // Wasserbilanz (Ein/Aus) für einen Zeitraum
+    // Wie countEventsPerDay als Projektion
+    @Query("SELECT new de.smartolive.irrigation.domain.repository.DailyEventCount(" +
+            "CAST(e.startTime AS LocalDate), COUNT(e)) FROM IrrigationEvent e " +
+            "WHERE e.parzelleId = :parzelleId AND e.startTime >= :startDate " +
+            "GROUP BY CAST(e.startTime AS LocalDate) ORDER BY CAST(e.startTime AS LocalDate) DESC")
+    List<DailyEventCount> findDailyEventCounts(
+            @Param("parzelleId") Long parzelleId,
+            @Param("startDate") LocalDateTime startDate);
+
+    // Wasserbilanz (Ein/Aus) für einen Zeitraum; tageweise über WaterLedger#getWaterBalance
     @Query("SELECT SUM(e.wasserMengeLiter) FROM IrrigationEvent e " +
             "WHERE e.parzelleId = :parzelleId AND e.startTime BETWEEN :start AND :end")
     Optional<Double> calculateWaterBalance(
             @Param("parzelleId") Long parzelleId,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end);
-}
\ No newline at end of file
+
+    // Streaming über lange Historien, siehe SensorReadingRepository
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    @Query("SELECT e FROM IrrigationEvent e WHERE e.parzelleId = :parzelleId " +
+            "ORDER BY e.startTime DESC")
+    Stream<IrrigationEvent> streamHistoryByParzelleId(
+            @Param("parzelleId") Long parzelleId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    @Query("SELECT e FROM IrrigationEvent e WHERE e.startTime >= :start AND e.startTime < :end " +
+            "ORDER BY e.startTime ASC")
+    Stream<IrrigationEvent> streamByStartTimeBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+}
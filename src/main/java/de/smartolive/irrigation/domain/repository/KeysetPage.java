@@ -0,0 +1,56 @@
+package de.smartolive.irrigation.domain.repository;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Eine Seite einer Keyset-Pagination, neueste Einträge zuerst. {@code nextCursor} ist
+ * {@code null}, wenn keine weiteren Einträge folgen.
+ */
+public class KeysetPage<T> {
+
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final List<T> items;
+    private final String nextCursor;
+
+    public KeysetPage(List<T> items, String nextCursor) {
+        this.items = List.copyOf(items);
+        this.nextCursor = nextCursor;
+    }
+
+    public List<T> getItems() { return items; }
+    public String getNextCursor() { return nextCursor; }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    /**
+     * Abfragelimit für eine Seite: ein Element mehr, um das Ende ohne COUNT zu erkennen
+     */
+    public static Pageable limit(int pageSize) {
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException(
+                    "Seitengröße muss zwischen 1 und " + MAX_PAGE_SIZE + " liegen: " + pageSize);
+        }
+        return PageRequest.ofSize(pageSize + 1);
+    }
+
+    /**
+     * Baut die Seite aus dem Ergebnis einer mit {@link #limit(int)} begrenzten Abfrage
+     */
+    public static <T> KeysetPage<T> of(List<T> fetched, int pageSize,
+                                       Function<T, LocalDateTime> timestamp, Function<T, Long> id) {
+        if (fetched.size() <= pageSize) {
+            return new KeysetPage<>(fetched, null);
+        }
+        List<T> items = fetched.subList(0, pageSize);
+        T last = items.get(pageSize - 1);
+        return new KeysetPage<>(items, new PageCursor(timestamp.apply(last), id.apply(last)).encode());
+    }
+}
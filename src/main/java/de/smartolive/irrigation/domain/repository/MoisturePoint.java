@@ -0,0 +1,11 @@
+package de.smartolive.irrigation.domain.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Ein Punkt des Feuchteverlaufs. Wird per Konstruktor-Ausdruck direkt aus der Abfrage
+ * erzeugt, ohne Entities zu laden; bei verdichteten Verläufen ist {@code moisturePercent}
+ * der Mittelwert des Buckets und {@code timestamp} dessen erste Messung.
+ */
+public record MoisturePoint(LocalDateTime timestamp, Double moisturePercent) {
+}
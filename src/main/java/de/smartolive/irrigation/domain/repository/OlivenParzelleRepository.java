@@ -3,6 +3,7 @@ package de.smartolive.irrigation.domain.repository;
 import de.smartolive.irrigation.domain.model.OlivenParzelle;
 import de.smartolive.irrigation.domain.model.ParzellenStatus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -12,4 +13,8 @@ import java.util.Optional;
 public interface OlivenParzelleRepository extends JpaRepository<OlivenParzelle, Long> {
     List<OlivenParzelle> findByStatus(ParzellenStatus status);
     Optional<OlivenParzelle> findByName(String name);
+
+    // Alle Parzellen inklusive Zeitfenster in einer Abfrage (Auswertungszyklus)
+    @Query("SELECT DISTINCT p FROM OlivenParzelle p LEFT JOIN FETCH p.allowedTimeWindows")
+    List<OlivenParzelle> findAllWithTimeWindows();
 }
\ No newline at end of file
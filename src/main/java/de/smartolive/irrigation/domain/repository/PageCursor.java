@@ -0,0 +1,85 @@
+package de.smartolive.irrigation.domain.repository;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+import java.util.Objects;
+import java.util.zip.CRC32;
+
+/**
+ * Position nach dem letzten Element einer Seite: Zeitstempel und ID des Elements.
+ *
+ * Nach außen (UI, REST) wird nur die opake Base64url-Form weitergegeben; Aufrufer sollen
+ * den Inhalt nicht auswerten. Die Folgeseite wird per Seek-Abfrage
+ * {@code (timestamp, id) < (cursor.timestamp, cursor.id)} auf dem Index
+ * {@code (parzelle_id, timestamp)} gelesen und kostet unabhängig von der Tiefe gleich viel.
+ * Eine angehängte CRC32-Prüfsumme weist veränderte oder abgeschnittene Cursor zurück,
+ * statt an einer falschen Position weiterzulesen.
+ */
+public final class PageCursor {
+
+    private static final int PAYLOAD_BYTES = Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int ENCODED_BYTES = PAYLOAD_BYTES + Integer.BYTES;
+
+    private final LocalDateTime timestamp;
+    private final long id;
+
+    public PageCursor(LocalDateTime timestamp, long id) {
+        this.timestamp = Objects.requireNonNull(timestamp, "Zeitstempel darf nicht null sein");
+        this.id = id;
+    }
+
+    public LocalDateTime getTimestamp() { return timestamp; }
+    public long getId() { return id; }
+
+    public String encode() {
+        ByteBuffer buffer = ByteBuffer.allocate(ENCODED_BYTES)
+                .putLong(timestamp.toEpochSecond(ZoneOffset.UTC))
+                .putInt(timestamp.getNano())
+                .putLong(id);
+        buffer.putInt(checksum(buffer.array()));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * @throws IllegalArgumentException bei einem nicht von {@link #encode()} erzeugten Cursor
+     */
+    public static PageCursor decode(String cursor) {
+        try {
+            byte[] bytes = Base64.getUrlDecoder().decode(cursor);
+            if (bytes.length != ENCODED_BYTES) {
+                throw new IllegalArgumentException("Ungültiger Cursor: " + cursor);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            if (buffer.getInt(PAYLOAD_BYTES) != checksum(bytes)) {
+                throw new IllegalArgumentException("Ungültiger Cursor: " + cursor);
+            }
+            LocalDateTime timestamp = LocalDateTime.ofEpochSecond(buffer.getLong(), buffer.getInt(), ZoneOffset.UTC);
+            return new PageCursor(timestamp, buffer.getLong());
+        } catch (IllegalArgumentException | BufferUnderflowException | DateTimeException e) {
+            throw new IllegalArgumentException("Ungültiger Cursor: " + cursor, e);
+        }
+    }
+
+    private static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, PAYLOAD_BYTES);
+        return (int) crc.getValue();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof PageCursor)) return false;
+        PageCursor that = (PageCursor) o;
+        return id == that.id && timestamp.equals(that.timestamp);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(timestamp, id);
+    }
+}
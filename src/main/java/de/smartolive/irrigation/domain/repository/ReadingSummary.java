@@ -0,0 +1,45 @@
+package de.smartolive.irrigation.domain.repository;
+
+import java.util.Optional;
+
+/**
+ * Anzahl aller Messungen und Feuchtesumme der ONLINE-Messungen einer Parzelle in einem
+ * Zeitraum. Summen statt Durchschnitten, damit sich Abschnitte verschiedener
+ * Verdichtungsstufen exakt zusammenfassen lassen.
+ */
+public class ReadingSummary {
+
+    private final Long parzelleId;
+    private final long readingCount;
+    private final long onlineMoistureCount;
+    private final double onlineMoistureSum;
+
+    public ReadingSummary(Long parzelleId, long readingCount, long onlineMoistureCount, double onlineMoistureSum) {
+        this.parzelleId = parzelleId;
+        this.readingCount = readingCount;
+        this.onlineMoistureCount = onlineMoistureCount;
+        this.onlineMoistureSum = onlineMoistureSum;
+    }
+
+    public static ReadingSummary empty(Long parzelleId) {
+        return new ReadingSummary(parzelleId, 0, 0, 0.0);
+    }
+
+    ReadingSummary plus(long readings, long moistureCount, double moistureSum) {
+        return new ReadingSummary(parzelleId, readingCount + readings,
+                onlineMoistureCount + moistureCount, onlineMoistureSum + moistureSum);
+    }
+
+    public Long getParzelleId() { return parzelleId; }
+    public long getReadingCount() { return readingCount; }
+    public long getOnlineMoistureCount() { return onlineMoistureCount; }
+
+    /**
+     * Wie {@code findAverageMoistureSince}: Durchschnitt der ONLINE-Messungen
+     */
+    public Optional<Double> getAverageMoisture() {
+        return onlineMoistureCount > 0
+                ? Optional.of(onlineMoistureSum / onlineMoistureCount)
+                : Optional.empty();
+    }
+}
@@ -2,17 +2,31 @@ package de.smartolive.irrigation.domain.repository;
 
 import de.smartolive.irrigation.domain.model.SensorReading;
 import de.smartolive.irrigation.domain.model.SensorStatus;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.HibernateHints.HINT_CACHEABLE;
+import static org.hibernate.jpa.HibernateHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.HibernateHints.HINT_READ_ONLY;
 
 @Repository
-public interface SensorReadingRepository extends JpaRepository<SensorReading, Long> {
+public interface SensorReadingRepository extends JpaRepository<SensorReading, Long>,
+        SensorReadingRollupQueries {
+
+    /** Zeilen je Roundtrip bei den stream*-Abfragen */
+    String STREAM_FETCH_SIZE = "500";
 
     // 1. Grundlegende Abfragen
     Optional<SensorReading> findTopByParzelleIdOrderByTimestampDesc(Long parzelleId);
@@ -25,6 +39,15 @@ public interface SensorReadingRepository extends JpaRepository<SensorReading, Lo
     List<SensorReading> findByParzelleIdAndTimestampAfter(
             Long parzelleId, LocalDateTime timestamp);
 
+    // Letzte Messung je Parzelle bzw. je Sensor (Aufwärmen des Caches)
+    @Query("SELECT s FROM SensorReading s WHERE s.timestamp = " +
+            "(SELECT MAX(s2.timestamp) FROM SensorReading s2 WHERE s2.parzelleId = s.parzelleId)")
+    List<SensorReading> findLatestPerParzelle();
+
+    @Query("SELECT s FROM SensorReading s WHERE s.sensorId IS NOT NULL AND s.timestamp = " +
+            "(SELECT MAX(s2.timestamp) FROM SensorReading s2 WHERE s2.sensorId = s.sensorId)")
+    List<SensorReading> findLatestPerSensor();
+
     // 2. Durchschnittsberechnungen
     @Query("SELECT AVG(s.moisturePercent) FROM SensorReading s " +
             "WHERE s.parzelleId = :parzelleId AND s.timestamp >= :since " +
@@ -42,7 +65,7 @@ public interface SensorReadingRepository extends JpaRepository<SensorReading, Lo
 
     @Query("SELECT AVG(s.moisturePercent) FROM SensorReading s " +
             "WHERE s.parzelleId = :parzelleId " +
-            "AND DATE(s.timestamp) = CURRENT_DATE " +
+            "AND CAST(s.timestamp AS LocalDate) = CURRENT_DATE " +
             "AND s.status = 'ONLINE'")
     Optional<Double> findAverageMoistureToday(@Param("parzelleId") Long parzelleId);
 
@@ -80,9 +103,14 @@ public interface SensorReadingRepository extends JpaRepository<SensorReading, Lo
             @Param("parzelleId") Long parzelleId,
             @Param("limit") int limit);
 
-    // 6. Datenbereinigung
-    long deleteByParzelleIdAndTimestampBefore(
-            Long parzelleId, LocalDateTime timestamp);
+    // 6. Datenbereinigung (ein DELETE statt Laden und Einzellöschen jeder Entity)
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
+            "AND s.timestamp < :timestamp")
+    int deleteByParzelleIdAndTimestampBefore(
+            @Param("parzelleId") Long parzelleId,
+            @Param("timestamp") LocalDateTime timestamp);
 
     // 7. Überwachung
     @Query("SELECT COUNT(s) FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
@@ -97,4 +125,82 @@ public interface SensorReadingRepository extends JpaRepository<SensorReading, Lo
     List<Object[]> findMoistureTrend(
             @Param("parzelleId") Long parzelleId,
             @Param("start") LocalDateTime start);
-}
\ No newline at end of file
+
+    // Wie findMoistureTrend als Projektion, ohne Entities und Dirty-Checking
+    @Query("SELECT new de.smartolive.irrigation.domain.repository.MoisturePoint(s.timestamp, s.moisturePercent) " +
+            "FROM SensorReading s WHERE s.parzelleId = :parzelleId AND s.timestamp >= :start " +
+            "ORDER BY s.timestamp ASC")
+    List<MoisturePoint> findMoisturePoints(
+            @Param("parzelleId") Long parzelleId,
+            @Param("start") LocalDateTime start);
+
+    // 8. Keyset-Pagination (neueste zuerst) über (parzelle_id, timestamp, id)
+    // Seiten und Cursor baut HistoryPageService; hier nur die Seek-Abfragen
+    @Query("SELECT s FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
+            "ORDER BY s.timestamp DESC, s.id DESC")
+    List<SensorReading> findHistoryFirstPage(
+            @Param("parzelleId") Long parzelleId,
+            Pageable limit);
+
+    @Query("SELECT s FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
+            "AND (s.timestamp < :timestamp OR (s.timestamp = :timestamp AND s.id < :id)) " +
+            "ORDER BY s.timestamp DESC, s.id DESC")
+    List<SensorReading> findHistoryPageAfter(
+            @Param("parzelleId") Long parzelleId,
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") long id,
+            Pageable limit);
+
+    @Query("SELECT s FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
+            "AND s.moisturePercent < :criticalThreshold " +
+            "ORDER BY s.timestamp DESC, s.id DESC")
+    List<SensorReading> findCriticalFirstPage(
+            @Param("parzelleId") Long parzelleId,
+            @Param("criticalThreshold") double criticalThreshold,
+            Pageable limit);
+
+    @Query("SELECT s FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
+            "AND s.moisturePercent < :criticalThreshold " +
+            "AND (s.timestamp < :timestamp OR (s.timestamp = :timestamp AND s.id < :id)) " +
+            "ORDER BY s.timestamp DESC, s.id DESC")
+    List<SensorReading> findCriticalPageAfter(
+            @Param("parzelleId") Long parzelleId,
+            @Param("criticalThreshold") double criticalThreshold,
+            @Param("timestamp") LocalDateTime timestamp,
+            @Param("id") long id,
+            Pageable limit);
+
+    // 9. Streaming über lange Historien (Exporte, Analysen, Backfills)
+    // Nur innerhalb einer Transaktion konsumierbar und danach zu schließen,
+    // siehe EntityStreamProcessor; unter MySQL greift die Fetch-Size nur mit useCursorFetch=true
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    @Query("SELECT s FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
+            "ORDER BY s.timestamp DESC")
+    Stream<SensorReading> streamByParzelleIdOrderByTimestampDesc(
+            @Param("parzelleId") Long parzelleId);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    @Query("SELECT s FROM SensorReading s WHERE s.parzelleId = :parzelleId " +
+            "AND s.timestamp >= :start AND s.timestamp < :end " +
+            "ORDER BY s.timestamp ASC")
+    Stream<SensorReading> streamByParzelleIdAndTimestampBetween(
+            @Param("parzelleId") Long parzelleId,
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+
+    @QueryHints({
+            @QueryHint(name = HINT_FETCH_SIZE, value = STREAM_FETCH_SIZE),
+            @QueryHint(name = HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HINT_CACHEABLE, value = "false")})
+    @Query("SELECT s FROM SensorReading s WHERE s.timestamp >= :start AND s.timestamp < :end " +
+            "ORDER BY s.timestamp ASC")
+    Stream<SensorReading> streamByTimestampBetween(
+            @Param("start") LocalDateTime start,
+            @Param("end") LocalDateTime end);
+}
@@ -0,0 +1,57 @@
+package de.smartolive.irrigation.domain.repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Langzeit-Abfragen auf Sensor-Messungen, die je nach Zeitraum auf die
+ * gröbste passende Verdichtungsstufe (Rohdaten, Stunden, Tage) geleitet werden.
+ *
+ * Bereiche, die noch nicht verdichtet sind, werden aus den Rohdaten ergänzt.
+ */
+public interface SensorReadingRollupQueries {
+
+    /**
+     * Feuchteverlauf ab {@code start} als [Zeitpunkt, Feuchte]-Paare, aufsteigend sortiert.
+     * Bei langen Zeiträumen sind die Werte Mittelwerte je Stunde bzw. Tag.
+     */
+    List<Object[]> findMoistureTrendRouted(Long parzelleId, LocalDateTime start);
+
+    /**
+     * Feuchteverlauf ab {@code start} mit höchstens {@code maxPoints} Punkten für Diagramme.
+     * Die Datenbank mittelt je Zeit-Bucket (GROUP BY), geladen werden nur die Bucket-Werte.
+     */
+    List<MoisturePoint> findMoistureTrendBucketed(Long parzelleId, LocalDateTime start, int maxPoints);
+
+    /**
+     * Wie {@code findMoistureStatistics}: [min, max, avg] bzw. null-Werte ohne Daten
+     */
+    Object[] findMoistureStatisticsRouted(Long parzelleId, LocalDateTime start);
+
+    /**
+     * Wie {@code findAverageMoistureSince}: Durchschnitt der ONLINE-Messungen
+     */
+    Optional<Double> findAverageMoistureSinceRouted(Long parzelleId, LocalDateTime since);
+
+    /**
+     * Anzahl aller Messungen seit {@code since}, unabhängig vom Status
+     */
+    long countAllReadingsSinceRouted(Long parzelleId, LocalDateTime since);
+
+    /**
+     * Anzahl und ONLINE-Feuchtesumme seit {@code since} für mehrere Parzellen, eine
+     * gruppierte Abfrage je Verdichtungsabschnitt. Parzellen ohne Messungen sind mit
+     * leerer Zusammenfassung enthalten.
+     */
+    Map<Long, ReadingSummary> summarizeReadingsSinceRouted(Collection<Long> parzelleIds, LocalDateTime since);
+
+    /**
+     * Zusammenfassung je Zeitraum ab dem jeweiligen Beginn bis jetzt, eine Abfrage je
+     * Verdichtungsabschnitt des längsten Zeitraums. Verdichtete Buckets zählen zu einem
+     * Zeitraum, wenn sie in ihm beginnen; exakt ist das für Beginne auf vollen Tagen.
+     */
+    List<ReadingSummary> summarizeReadingPeriodsRouted(Long parzelleId, List<LocalDateTime> periodStarts);
+}
@@ -0,0 +1,429 @@
+package de.smartolive.irrigation.domain.repository;
+
+import de.smartolive.irrigation.domain.model.RollupResolution;
+import de.smartolive.irrigation.domain.model.SensorRollupWatermark;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.springframework.beans.factory.annotation.Value;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Zerlegt einen Zeitraum in Abschnitte je Verdichtungsstufe und fragt jeden Abschnitt
+ * auf der passenden Tabelle ab.
+ *
+ * Kurze Zeiträume laufen unverändert über die Rohdaten. Lange Zeiträume nutzen für volle
+ * Tage die Tages-Rollups, für volle Stunden die Stunden-Rollups und für angebrochene
+ * Stunden sowie den noch nicht verdichteten Rest die Rohdaten.
+ *
+ * Zusammenfassungen für mehrere Parzellen bzw. Zeiträume stellen je Abschnitt eine
+ * Abfrage (gruppiert bzw. mit bedingten Summen); es werden nie Messungen geladen.
+ */
+public class SensorReadingRollupQueriesImpl implements SensorReadingRollupQueries {
+
+    private final EntityManager entityManager;
+    private final Duration hourlyThreshold;
+    private final Duration dailyThreshold;
+
+    public SensorReadingRollupQueriesImpl(EntityManager entityManager,
+                                          @Value("${app.sensor.rollup.hourly-after-hours:48}") long hourlyAfterHours,
+                                          @Value("${app.sensor.rollup.daily-after-days:60}") long dailyAfterDays) {
+        this.entityManager = entityManager;
+        this.hourlyThreshold = Duration.ofHours(hourlyAfterHours);
+        this.dailyThreshold = Duration.ofDays(dailyAfterDays);
+    }
+
+    @Override
+    public List<Object[]> findMoistureTrendRouted(Long parzelleId, LocalDateTime start) {
+        List<Object[]> trend = new ArrayList<>();
+        for (Segment segment : plan(start, LocalDateTime.now())) {
+            String jpql = segment.getSource() == Source.RAW
+                    ? "SELECT s.timestamp, s.moisturePercent FROM SensorReading s " +
+                      rawRange(segment) + " ORDER BY s.timestamp ASC"
+                    : "SELECT r.bucketStart, SUM(r.moistureSum) / SUM(r.moistureCount) " +
+                      "FROM " + segment.getSource().entityName + " r " + rollupRange() +
+                      " AND r.moistureCount > 0 GROUP BY r.bucketStart ORDER BY r.bucketStart ASC";
+            trend.addAll(query(jpql, Object[].class, parzelleId, segment).getResultList());
+        }
+        return trend;
+    }
+
+    @Override
+    public List<MoisturePoint> findMoistureTrendBucketed(Long parzelleId, LocalDateTime start, int maxPoints) {
+        if (maxPoints < 2) {
+            throw new IllegalArgumentException("Mindestens zwei Punkte erforderlich: " + maxPoints);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        long bucketSeconds = bucketSeconds(start, now, maxPoints);
+
+        TreeMap<Long, TrendBucket> buckets = new TreeMap<>();
+        for (Segment segment : plan(start, now)) {
+            String jpql;
+            if (segment.getSource() == Source.RAW) {
+                String bucket = bucketOf("s.timestamp", bucketSeconds);
+                jpql = "SELECT " + bucket + ", MIN(s.timestamp), SUM(s.moisturePercent), " +
+                       "COUNT(s.moisturePercent) FROM SensorReading s " + rawRange(segment) +
+                       " GROUP BY " + bucket;
+            } else {
+                String bucket = bucketOf("r.bucketStart", bucketSeconds);
+                jpql = "SELECT " + bucket + ", MIN(r.bucketStart), SUM(r.moistureSum), SUM(r.moistureCount) " +
+                       "FROM " + segment.getSource().entityName + " r " + rollupRange() +
+                       " AND r.moistureCount > 0 GROUP BY " + bucket;
+            }
+            for (Object[] row : query(jpql, Object[].class, parzelleId, segment).getResultList()) {
+                buckets.computeIfAbsent(((Number) row[0]).longValue(), key -> new TrendBucket())
+                        .add((LocalDateTime) row[1], row[2], row[3]);
+            }
+        }
+
+        List<MoisturePoint> trend = new ArrayList<>(buckets.size());
+        for (TrendBucket bucket : buckets.values()) {
+            if (bucket.count > 0) {
+                trend.add(new MoisturePoint(bucket.first, bucket.sum / bucket.count));
+            }
+        }
+        return trend;
+    }
+
+    @Override
+    public Object[] findMoistureStatisticsRouted(Long parzelleId, LocalDateTime start) {
+        MoistureAccumulator accumulator = new MoistureAccumulator();
+        for (Segment segment : plan(start, LocalDateTime.now())) {
+            String jpql = segment.getSource() == Source.RAW
+                    ? "SELECT MIN(s.moisturePercent), MAX(s.moisturePercent), " +
+                      "SUM(s.moisturePercent), COUNT(s.moisturePercent) FROM SensorReading s " +
+                      rawRange(segment)
+                    : "SELECT MIN(r.moistureMin), MAX(r.moistureMax), " +
+                      "SUM(r.moistureSum), SUM(r.moistureCount) " +
+                      "FROM " + segment.getSource().entityName + " r " + rollupRange();
+            accumulator.add(query(jpql, Object[].class, parzelleId, segment).getSingleResult());
+        }
+        return accumulator.toStatistics();
+    }
+
+    @Override
+    public Optional<Double> findAverageMoistureSinceRouted(Long parzelleId, LocalDateTime since) {
+        MoistureAccumulator accumulator = new MoistureAccumulator();
+        for (Segment segment : plan(since, LocalDateTime.now())) {
+            String jpql = segment.getSource() == Source.RAW
+                    ? "SELECT SUM(s.moisturePercent), COUNT(s.moisturePercent) " +
+                      "FROM SensorReading s " + rawRange(segment) + " AND s.status = 'ONLINE'"
+                    : "SELECT SUM(r.onlineMoistureSum), SUM(r.onlineMoistureCount) " +
+                      "FROM " + segment.getSource().entityName + " r " + rollupRange();
+            Object[] row = query(jpql, Object[].class, parzelleId, segment).getSingleResult();
+            accumulator.addSum(row[0], row[1]);
+        }
+        return accumulator.average();
+    }
+
+    @Override
+    public long countAllReadingsSinceRouted(Long parzelleId, LocalDateTime since) {
+        long count = 0;
+        for (Segment segment : plan(since, LocalDateTime.now())) {
+            String jpql = segment.getSource() == Source.RAW
+                    ? "SELECT COUNT(s) FROM SensorReading s " + rawRange(segment)
+                    : "SELECT SUM(r.readingCount) FROM " + segment.getSource().entityName + " r " +
+                      rollupRange();
+            Number segmentCount = query(jpql, Number.class, parzelleId, segment).getSingleResult();
+            count += segmentCount != null ? segmentCount.longValue() : 0;
+        }
+        return count;
+    }
+
+    @Override
+    public Map<Long, ReadingSummary> summarizeReadingsSinceRouted(Collection<Long> parzelleIds,
+                                                                  LocalDateTime since) {
+        Map<Long, ReadingSummary> result = new HashMap<>(parzelleIds.size() * 2);
+        for (Long parzelleId : parzelleIds) {
+            result.put(parzelleId, ReadingSummary.empty(parzelleId));
+        }
+        if (parzelleIds.isEmpty()) {
+            return result;
+        }
+        for (Segment segment : plan(since, LocalDateTime.now())) {
+            String jpql = segment.getSource() == Source.RAW
+                    ? "SELECT s.parzelleId, COUNT(s), " +
+                      "COUNT(CASE WHEN s.status = 'ONLINE' THEN s.moisturePercent END), " +
+                      "SUM(CASE WHEN s.status = 'ONLINE' THEN s.moisturePercent END) " +
+                      "FROM SensorReading s " + rawRange("s.parzelleId IN :parzelleIds", segment) +
+                      " GROUP BY s.parzelleId"
+                    : "SELECT r.parzelleId, SUM(r.readingCount), SUM(r.onlineMoistureCount), " +
+                      "SUM(r.onlineMoistureSum) FROM " + segment.getSource().entityName + " r " +
+                      rollupRange("r.parzelleId IN :parzelleIds") + " GROUP BY r.parzelleId";
+            List<Object[]> rows = query(jpql, Object[].class, segment)
+                    .setParameter("parzelleIds", parzelleIds)
+                    .getResultList();
+            for (Object[] row : rows) {
+                result.computeIfPresent((Long) row[0], (parzelleId, summary) -> add(summary, row, 1));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public List<ReadingSummary> summarizeReadingPeriodsRouted(Long parzelleId, List<LocalDateTime> periodStarts) {
+        if (periodStarts.isEmpty()) {
+            return List.of();
+        }
+        int periods = periodStarts.size();
+        ReadingSummary[] summaries = new ReadingSummary[periods];
+        Arrays.fill(summaries, ReadingSummary.empty(parzelleId));
+
+        for (Segment segment : plan(Collections.min(periodStarts), LocalDateTime.now())) {
+            boolean raw = segment.getSource() == Source.RAW;
+            StringBuilder jpql = new StringBuilder("SELECT ");
+            for (int i = 0; i < periods; i++) {
+                if (i > 0) {
+                    jpql.append(", ");
+                }
+                if (raw) {
+                    String inPeriod = "s.timestamp >= :since" + i;
+                    jpql.append("COUNT(CASE WHEN ").append(inPeriod).append(" THEN 1 END), ")
+                            .append("COUNT(CASE WHEN ").append(inPeriod)
+                            .append(" AND s.status = 'ONLINE' THEN s.moisturePercent END), ")
+                            .append("SUM(CASE WHEN ").append(inPeriod)
+                            .append(" AND s.status = 'ONLINE' THEN s.moisturePercent END)");
+                } else {
+                    String inPeriod = "r.bucketStart >= :since" + i;
+                    jpql.append("SUM(CASE WHEN ").append(inPeriod).append(" THEN r.readingCount END), ")
+                            .append("SUM(CASE WHEN ").append(inPeriod).append(" THEN r.onlineMoistureCount END), ")
+                            .append("SUM(CASE WHEN ").append(inPeriod).append(" THEN r.onlineMoistureSum END)");
+                }
+            }
+            jpql.append(raw
+                    ? " FROM SensorReading s " + rawRange(segment)
+                    : " FROM " + segment.getSource().entityName + " r " + rollupRange());
+
+            TypedQuery<Object[]> query = query(jpql.toString(), Object[].class, parzelleId, segment);
+            for (int i = 0; i < periods; i++) {
+                query.setParameter("since" + i, periodStarts.get(i));
+            }
+            Object[] row = query.getSingleResult();
+            for (int i = 0; i < periods; i++) {
+                summaries[i] = add(summaries[i], row, 3 * i);
+            }
+        }
+        return Arrays.asList(summaries);
+    }
+
+    private List<Segment> plan(LocalDateTime start, LocalDateTime now) {
+        Duration span = Duration.between(start, now);
+        if (span.compareTo(hourlyThreshold) <= 0) {
+            return List.of(new Segment(Source.RAW, start, null));
+        }
+        LocalDateTime dailyWatermark = span.compareTo(dailyThreshold) > 0
+                ? findWatermark(RollupResolution.DAILY)
+                : null;
+        return plan(start, findWatermark(RollupResolution.HOURLY), dailyWatermark);
+    }
+
+    /**
+     * Zerlegt den Zeitraum ab {@code start} in Rohdaten-, Stunden- und Tagesabschnitte.
+     * Ohne Tages-Watermark werden nur Stunden-Rollups verwendet.
+     */
+    static List<Segment> plan(LocalDateTime start, LocalDateTime hourlyWatermark,
+                              LocalDateTime dailyWatermark) {
+        List<Segment> segments = new ArrayList<>();
+        LocalDateTime firstHour = RollupResolution.HOURLY.ceil(start);
+        if (hourlyWatermark == null || !firstHour.isBefore(hourlyWatermark)) {
+            segments.add(new Segment(Source.RAW, start, null));
+            return segments;
+        }
+
+        // Angebrochene erste Stunde aus den Rohdaten
+        addIfNotEmpty(segments, Source.RAW, start, firstHour);
+        LocalDateTime cursor = firstHour;
+
+        if (dailyWatermark != null) {
+            LocalDateTime dailyUntil = dailyWatermark.isAfter(hourlyWatermark) ? hourlyWatermark : dailyWatermark;
+            LocalDateTime firstDay = RollupResolution.DAILY.ceil(cursor);
+            if (firstDay.isBefore(dailyUntil)) {
+                addIfNotEmpty(segments, Source.HOURLY, cursor, firstDay);
+                segments.add(new Segment(Source.DAILY, firstDay, dailyUntil));
+                cursor = dailyUntil;
+            }
+        }
+
+        addIfNotEmpty(segments, Source.HOURLY, cursor, hourlyWatermark);
+        // Noch nicht verdichteter Rest, nach oben offen wie die Rohdaten-Abfragen
+        segments.add(new Segment(Source.RAW, hourlyWatermark, null));
+        return segments;
+    }
+
+    private LocalDateTime findWatermark(RollupResolution resolution) {
+        SensorRollupWatermark watermark = entityManager.find(SensorRollupWatermark.class, resolution);
+        return watermark != null ? watermark.getCompactedUntil() : null;
+    }
+
+    private <T> TypedQuery<T> query(String jpql, Class<T> resultType, Long parzelleId, Segment segment) {
+        return query(jpql, resultType, segment).setParameter("parzelleId", parzelleId);
+    }
+
+    private <T> TypedQuery<T> query(String jpql, Class<T> resultType, Segment segment) {
+        TypedQuery<T> query = entityManager.createQuery(jpql, resultType)
+                .setParameter("from", segment.getFrom());
+        if (segment.getUntil() != null) {
+            query.setParameter("until", segment.getUntil());
+        }
+        return query;
+    }
+
+    private static String rawRange(Segment segment) {
+        return rawRange("s.parzelleId = :parzelleId", segment);
+    }
+
+    private static String rawRange(String parzelleCondition, Segment segment) {
+        return "WHERE " + parzelleCondition + " AND s.timestamp >= :from" +
+                (segment.getUntil() != null ? " AND s.timestamp < :until" : "");
+    }
+
+    private static String rollupRange() {
+        return rollupRange("r.parzelleId = :parzelleId");
+    }
+
+    private static String rollupRange(String parzelleCondition) {
+        return "WHERE " + parzelleCondition + " AND r.bucketStart >= :from AND r.bucketStart < :until";
+    }
+
+    /**
+     * Addiert [anzahl, online-anzahl, online-summe] ab {@code offset} einer Ergebniszeile
+     */
+    private static ReadingSummary add(ReadingSummary summary, Object[] row, int offset) {
+        return summary.plus(
+                row[offset] != null ? ((Number) row[offset]).longValue() : 0,
+                row[offset + 1] != null ? ((Number) row[offset + 1]).longValue() : 0,
+                row[offset + 2] != null ? ((Number) row[offset + 2]).doubleValue() : 0.0);
+    }
+
+    /**
+     * Kleinste Bucket-Breite, bei der [start, now) höchstens {@code maxPoints} an der Epoche
+     * ausgerichtete Buckets schneidet
+     */
+    static long bucketSeconds(LocalDateTime start, LocalDateTime now, int maxPoints) {
+        Duration span = Duration.between(start, now);
+        long spanSeconds = Math.max(1, span.getSeconds() + (span.getNano() > 0 ? 1 : 0));
+        // ceil(span / w) + 1 Buckets im ungünstigsten Fall
+        return Math.max(1, (spanSeconds + maxPoints - 2) / (maxPoints - 1));
+    }
+
+    /**
+     * Bucket-Nummer als Ausdruck; die Breite wird als Literal eingesetzt, damit SELECT und
+     * GROUP BY denselben Ausdruck enthalten
+     */
+    private static String bucketOf(String path, long bucketSeconds) {
+        return "FLOOR(EXTRACT(EPOCH FROM " + path + ") / " + bucketSeconds + ")";
+    }
+
+    private static void addIfNotEmpty(List<Segment> segments, Source source,
+                                      LocalDateTime from, LocalDateTime until) {
+        if (from.isBefore(until)) {
+            segments.add(new Segment(source, from, until));
+        }
+    }
+
+    enum Source {
+        RAW("SensorReading"),
+        HOURLY("HourlySensorRollup"),
+        DAILY("DailySensorRollup");
+
+        private final String entityName;
+
+        Source(String entityName) {
+            this.entityName = entityName;
+        }
+    }
+
+    /**
+     * Abschnitt [from, until) auf einer Verdichtungsstufe; {@code until == null} ist nach oben offen
+     */
+    static final class Segment {
+        private final Source source;
+        private final LocalDateTime from;
+        private final LocalDateTime until;
+
+        Segment(Source source, LocalDateTime from, LocalDateTime until) {
+            this.source = source;
+            this.from = from;
+            this.until = until;
+        }
+
+        Source getSource() {
+            return source;
+        }
+
+        LocalDateTime getFrom() {
+            return from;
+        }
+
+        LocalDateTime getUntil() {
+            return until;
+        }
+    }
+
+    /**
+     * Ein Bucket des verdichteten Verlaufs; Abschnittsgrenzen können einen Bucket teilen
+     */
+    private static final class TrendBucket {
+        private LocalDateTime first;
+        private double sum;
+        private long count;
+
+        void add(LocalDateTime segmentFirst, Object segmentSum, Object segmentCount) {
+            if (segmentCount == null || ((Number) segmentCount).longValue() == 0) {
+                return;
+            }
+            if (first == null || segmentFirst.isBefore(first)) {
+                first = segmentFirst;
+            }
+            sum += ((Number) segmentSum).doubleValue();
+            count += ((Number) segmentCount).longValue();
+        }
+    }
+
+    /**
+     * Fasst [min, max, summe, anzahl] mehrerer Abschnitte exakt zusammen
+     */
+    private static final class MoistureAccumulator {
+        private Double min;
+        private Double max;
+        private double sum;
+        private long count;
+
+        void add(Object[] row) {
+            if (row[0] != null) {
+                double value = ((Number) row[0]).doubleValue();
+                min = min == null ? value : Math.min(min, value);
+            }
+            if (row[1] != null) {
+                double value = ((Number) row[1]).doubleValue();
+                max = max == null ? value : Math.max(max, value);
+            }
+            addSum(row[2], row[3]);
+        }
+
+        void addSum(Object segmentSum, Object segmentCount) {
+            if (segmentCount != null && ((Number) segmentCount).longValue() > 0) {
+                sum += ((Number) segmentSum).doubleValue();
+                count += ((Number) segmentCount).longValue();
+            }
+        }
+
+        Optional<Double> average() {
+            return count > 0 ? Optional.of(sum / count) : Optional.empty();
+        }
+
+        Object[] toStatistics() {
+            return new Object[]{min, max, average().orElse(null)};
+        }
+    }
+}
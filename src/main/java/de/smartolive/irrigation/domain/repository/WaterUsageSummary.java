@@ -0,0 +1,26 @@
+package de.smartolive.irrigation.domain.repository;
+
+/**
+ * Anzahl und Wassermenge der Bewässerungsereignisse einer Parzelle in einem Zeitraum,
+ * direkt in der Datenbank aggregiert
+ */
+public class WaterUsageSummary {
+
+    private final Long parzelleId;
+    private final long eventCount;
+    private final double totalLiters;
+
+    public WaterUsageSummary(Long parzelleId, long eventCount, double totalLiters) {
+        this.parzelleId = parzelleId;
+        this.eventCount = eventCount;
+        this.totalLiters = totalLiters;
+    }
+
+    public static WaterUsageSummary empty(Long parzelleId) {
+        return new WaterUsageSummary(parzelleId, 0, 0.0);
+    }
+
+    public Long getParzelleId() { return parzelleId; }
+    public long getEventCount() { return eventCount; }
+    public double getTotalLiters() { return totalLiters; }
+}
@@ -0,0 +1,77 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.SensorReading;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Vorab geladene Daten für die Auswertung aller Parzellen eines Zyklus:
+ * Parzellen samt Zeitfenstern, letzte Messung und heutige Bewässerungen je Parzelle.
+ * Wird von {@link EvaluationContextLoader} mit einer festen Anzahl Abfragen befüllt.
+ * Ist das {@link WaterLedger} aufgewärmt, enthält der Kontext statt der Ereignisse
+ * den heutigen Verbrauch je Parzelle ({@link #hasLedgerUsage()}).
+ */
+public final class EvaluationContext {
+
+    private final LocalDateTime todayStart;
+    private final List<OlivenParzelle> parzellen;
+    private final Map<Long, SensorReading> latestReadings;
+    private final Map<Long, List<IrrigationEvent>> todayEvents;
+    private final Map<Long, Double> todayUsageLiters;
+
+    public EvaluationContext(LocalDateTime todayStart,
+                             List<OlivenParzelle> parzellen,
+                             Map<Long, SensorReading> latestReadings,
+                             Map<Long, List<IrrigationEvent>> todayEvents) {
+        this(todayStart, parzellen, latestReadings, todayEvents, null);
+    }
+
+    public EvaluationContext(LocalDateTime todayStart,
+                             List<OlivenParzelle> parzellen,
+                             Map<Long, SensorReading> latestReadings,
+                             Map<Long, List<IrrigationEvent>> todayEvents,
+                             Map<Long, Double> todayUsageLiters) {
+        this.todayStart = todayStart;
+        this.parzellen = List.copyOf(parzellen);
+        this.latestReadings = Map.copyOf(latestReadings);
+        this.todayEvents = Map.copyOf(todayEvents);
+        this.todayUsageLiters = todayUsageLiters != null ? Map.copyOf(todayUsageLiters) : null;
+    }
+
+    public LocalDateTime getTodayStart() {
+        return todayStart;
+    }
+
+    public List<OlivenParzelle> getParzellen() {
+        return parzellen;
+    }
+
+    /**
+     * Letzte Messung der Parzelle, {@code null} wenn keine vorliegt
+     */
+    public SensorReading getLatestReading(Long parzelleId) {
+        return latestReadings.get(parzelleId);
+    }
+
+    public List<IrrigationEvent> getTodayEvents(Long parzelleId) {
+        return todayEvents.getOrDefault(parzelleId, List.of());
+    }
+
+    public boolean hasLedgerUsage() {
+        return todayUsageLiters != null;
+    }
+
+    /**
+     * Heutiger Verbrauch laut Wasserbuch, 0 ohne Bewässerung; nur mit {@link #hasLedgerUsage()}
+     */
+    public double getTodayUsageLiters(Long parzelleId) {
+        if (todayUsageLiters == null) {
+            throw new IllegalStateException("Kontext enthält keinen Verbrauch aus dem Wasserbuch");
+        }
+        return todayUsageLiters.getOrDefault(parzelleId, 0.0);
+    }
+}
@@ -0,0 +1,83 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.repository.IrrigationEventRepository;
+import de.smartolive.irrigation.domain.repository.OlivenParzelleRepository;
+import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
+import de.smartolive.irrigation.domain.timeseries.LatestReadingCache;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lädt den {@link EvaluationContext} für alle Parzellen mit mengenbasierten Abfragen
+ * statt drei Abfragen je Parzelle:
+ * Parzellen inklusive Zeitfenster (Join Fetch), letzte Messung je Parzelle (entfällt bei
+ * aufgewärmtem {@link LatestReadingCache}) und alle heutigen Bewässerungsereignisse
+ * (entfällt bei aufgewärmtem {@link WaterLedger}).
+ */
+@Component
+public class EvaluationContextLoader {
+
+    private final OlivenParzelleRepository parzelleRepository;
+    private final SensorReadingRepository sensorRepository;
+    private final IrrigationEventRepository eventRepository;
+    private final LatestReadingCache latestReadingCache;
+    private final WaterLedger waterLedger;
+
+    public EvaluationContextLoader(OlivenParzelleRepository parzelleRepository,
+                                   SensorReadingRepository sensorRepository,
+                                   IrrigationEventRepository eventRepository,
+                                   LatestReadingCache latestReadingCache,
+                                   WaterLedger waterLedger) {
+        this.parzelleRepository = parzelleRepository;
+        this.sensorRepository = sensorRepository;
+        this.eventRepository = eventRepository;
+        this.latestReadingCache = latestReadingCache;
+        this.waterLedger = waterLedger;
+    }
+
+    @Transactional(readOnly = true)
+    public EvaluationContext load(LocalDateTime now) {
+        LocalDateTime todayStart = now.toLocalDate().atStartOfDay();
+        List<OlivenParzelle> parzellen = parzelleRepository.findAllWithTimeWindows();
+
+        Map<Long, SensorReading> latestReadings = new HashMap<>();
+        if (latestReadingCache.isWarm()) {
+            for (OlivenParzelle parzelle : parzellen) {
+                latestReadingCache.getLatestForParzelle(parzelle.getId())
+                        .map(SensorSample::toReading)
+                        .ifPresent(reading -> latestReadings.put(parzelle.getId(), reading));
+            }
+        } else {
+            for (SensorReading reading : sensorRepository.findLatestPerParzelle()) {
+                // Bei gleichem Zeitstempel gewinnt die zuletzt gespeicherte Messung
+                latestReadings.merge(reading.getParzelleId(), reading,
+                        (current, candidate) -> candidate.getId() > current.getId() ? candidate : current);
+            }
+        }
+
+        if (waterLedger.isWarm()) {
+            Map<Long, Double> todayUsage = new HashMap<>();
+            for (OlivenParzelle parzelle : parzellen) {
+                todayUsage.put(parzelle.getId(), waterLedger.getTodayLiters(parzelle.getId()));
+            }
+            return new EvaluationContext(todayStart, parzellen, latestReadings, Map.of(), todayUsage);
+        }
+
+        Map<Long, List<IrrigationEvent>> todayEvents = new HashMap<>();
+        for (IrrigationEvent event : eventRepository.findByStartTimeAfter(todayStart)) {
+            todayEvents.computeIfAbsent(event.getParzelleId(), id -> new ArrayList<>()).add(event);
+        }
+
+        return new EvaluationContext(todayStart, parzellen, latestReadings, todayEvents);
+    }
+}
@@ -0,0 +1,81 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.repository.IrrigationEventRepository;
+import de.smartolive.irrigation.domain.repository.KeysetPage;
+import de.smartolive.irrigation.domain.repository.PageCursor;
+import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Keyset-Pagination der Mess- und Bewässerungshistorie, neueste Einträge zuerst.
+ *
+ * Cursor und Seitengröße werden hier geprüft, bevor ein Repository aufgerufen wird.
+ * Innerhalb des Repository-Proxys würde Spring eine {@link IllegalArgumentException}
+ * in eine {@code InvalidDataAccessApiUsageException} übersetzen; so erreicht sie den
+ * Aufrufer (UI, REST) unverändert. Die Repositories erhalten nur {@code (timestamp, id)}.
+ */
+@Service
+public class HistoryPageService {
+
+    private final SensorReadingRepository sensorRepository;
+    private final IrrigationEventRepository eventRepository;
+
+    public HistoryPageService(SensorReadingRepository sensorRepository,
+                              IrrigationEventRepository eventRepository) {
+        this.sensorRepository = sensorRepository;
+        this.eventRepository = eventRepository;
+    }
+
+    /**
+     * @param cursor {@code null} für die erste Seite, sonst {@link KeysetPage#getNextCursor()}
+     * @throws IllegalArgumentException bei ungültigem Cursor oder Seitengröße
+     */
+    public KeysetPage<SensorReading> getReadingHistory(Long parzelleId, String cursor, int pageSize) {
+        Pageable limit = KeysetPage.limit(pageSize);
+        List<SensorReading> rows;
+        if (cursor == null) {
+            rows = sensorRepository.findHistoryFirstPage(parzelleId, limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            rows = sensorRepository.findHistoryPageAfter(parzelleId, position.getTimestamp(), position.getId(), limit);
+        }
+        return KeysetPage.of(rows, pageSize, SensorReading::getTimestamp, SensorReading::getId);
+    }
+
+    /**
+     * Messungen unter dem kritischen Feuchtewert, sonst wie {@link #getReadingHistory}
+     */
+    public KeysetPage<SensorReading> getCriticalReadings(Long parzelleId, double criticalThreshold,
+                                                         String cursor, int pageSize) {
+        Pageable limit = KeysetPage.limit(pageSize);
+        List<SensorReading> rows;
+        if (cursor == null) {
+            rows = sensorRepository.findCriticalFirstPage(parzelleId, criticalThreshold, limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            rows = sensorRepository.findCriticalPageAfter(parzelleId, criticalThreshold,
+                    position.getTimestamp(), position.getId(), limit);
+        }
+        return KeysetPage.of(rows, pageSize, SensorReading::getTimestamp, SensorReading::getId);
+    }
+
+    /**
+     * Bewässerungsereignisse nach Startzeit, sonst wie {@link #getReadingHistory}
+     */
+    public KeysetPage<IrrigationEvent> getIrrigationHistory(Long parzelleId, String cursor, int pageSize) {
+        Pageable limit = KeysetPage.limit(pageSize);
+        List<IrrigationEvent> rows;
+        if (cursor == null) {
+            rows = eventRepository.findHistoryFirstPage(parzelleId, limit);
+        } else {
+            PageCursor position = PageCursor.decode(cursor);
+            rows = eventRepository.findHistoryPageAfter(parzelleId, position.getTimestamp(), position.getId(), limit);
+        }
+        return KeysetPage.of(rows, pageSize, IrrigationEvent::getStartTime, IrrigationEvent::getId);
+    }
+}
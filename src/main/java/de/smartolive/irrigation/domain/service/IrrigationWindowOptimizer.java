@@ -0,0 +1,206 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.valueobject.TimeWindow;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sucht je Parzelle die beste Startminute innerhalb ihrer erlaubten Zeitfenster anhand
+ * einer stündlichen Vorhersage. Verdunstungs- und Windstrafe werden einmal je Vorhersage
+ * pro Stunde berechnet und als Präfixsummen über die Minuten abgelegt ({@link ForecastProfile});
+ * die Kosten eines Kandidaten sind dann eine Differenz zweier Präfixwerte.
+ *
+ * Stunden mit Regen (über {@code RAIN_THRESHOLD_MM}), Frost oder Sturm sowie Lücken in der
+ * Vorhersage sind gesperrt. Ohne eigene Zeitfenster gilt wie bei
+ * {@link RecommendationService#calculateOptimalTime} 06:00–09:00.
+ */
+@Service
+public class IrrigationWindowOptimizer {
+
+    private static final TimeWindow DEFAULT_WINDOW = new TimeWindow(LocalTime.of(6, 0), LocalTime.of(9, 0));
+    // Ab dieser Windgeschwindigkeit verweht das Wasser merklich
+    private static final double WIND_DRIFT_START_KMH = 10.0;
+    private static final double WIND_PENALTY_PER_KMH = 0.05;
+    // Kostenunterschiede darunter gelten als gleich (Rundung der Präfixsummen)
+    private static final double COST_EPSILON = 1e-9;
+
+    /**
+     * Bereitet die Vorhersage einmal für alle Parzellen auf
+     */
+    public ForecastProfile prepare(List<Wetterdaten> hourlyForecast) {
+        if (hourlyForecast.isEmpty()) {
+            throw new IllegalArgumentException("Vorhersage darf nicht leer sein");
+        }
+        List<Wetterdaten> sorted = new ArrayList<>(hourlyForecast);
+        sorted.sort(Comparator.comparing(Wetterdaten::getTimestamp));
+        LocalDateTime origin = sorted.get(0).getTimestamp().truncatedTo(ChronoUnit.HOURS);
+        int hours = (int) Duration.between(origin,
+                sorted.get(sorted.size() - 1).getTimestamp().truncatedTo(ChronoUnit.HOURS)).toHours() + 1;
+
+        double[] hourlyCost = new double[hours];
+        boolean[] blocked = new boolean[hours];
+        boolean[] present = new boolean[hours];
+        for (Wetterdaten wetter : sorted) {
+            int hour = (int) Duration.between(origin, wetter.getTimestamp().truncatedTo(ChronoUnit.HOURS)).toHours();
+            present[hour] = true;
+            hourlyCost[hour] = hourlyPenalty(wetter);
+            blocked[hour] = isBlocked(wetter);
+        }
+
+        int minutes = hours * 60;
+        double[] costPrefix = new double[minutes + 1];
+        int[] blockedPrefix = new int[minutes + 1];
+        for (int minute = 0; minute < minutes; minute++) {
+            int hour = minute / 60;
+            boolean unusable = blocked[hour] || !present[hour];
+            costPrefix[minute + 1] = costPrefix[minute] + hourlyCost[hour] / 60.0;
+            blockedPrefix[minute + 1] = blockedPrefix[minute] + (unusable ? 1 : 0);
+        }
+        return new ForecastProfile(origin, costPrefix, blockedPrefix);
+    }
+
+    /**
+     * Beste Startzeiten aller Parzellen für die jeweilige Bewässerungsdauer in Minuten.
+     * Parzellen ohne Dauer oder ohne freies Fenster fehlen im Ergebnis.
+     */
+    public Map<Long, OptimalStart> optimizeAll(List<OlivenParzelle> parzellen,
+                                               Map<Long, Integer> durationMinutes,
+                                               List<Wetterdaten> hourlyForecast) {
+        ForecastProfile profile = prepare(hourlyForecast);
+        Map<Long, OptimalStart> result = new HashMap<>(parzellen.size() * 2);
+        for (OlivenParzelle parzelle : parzellen) {
+            Integer duration = durationMinutes.get(parzelle.getId());
+            if (duration == null || duration <= 0) {
+                continue;
+            }
+            OptimalStart best = findBestStart(profile, parzelle, duration);
+            if (best != null) {
+                result.put(parzelle.getId(), best);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Günstigster Start, frühester bei gleichen Kosten; {@code null} wenn kein Fenster passt
+     */
+    public OptimalStart findBestStart(ForecastProfile profile, OlivenParzelle parzelle, int durationMinutes) {
+        List<TimeWindow> windows = parzelle.getAllowedTimeWindows().isEmpty()
+                ? List.of(DEFAULT_WINDOW)
+                : parzelle.getAllowedTimeWindows();
+
+        int bestStart = -1;
+        double bestCost = Double.MAX_VALUE;
+        LocalDate firstDay = profile.origin.toLocalDate();
+        LocalDate lastDay = profile.origin.plusMinutes(profile.getMinutes()).toLocalDate();
+        for (LocalDate day = firstDay; !day.isAfter(lastDay); day = day.plusDays(1)) {
+            for (TimeWindow window : windows) {
+                int from = Math.max(0, profile.minuteOf(day.atTime(window.getStart())));
+                LocalDateTime windowEnd = window.getStart().equals(window.getEnd())
+                        ? day.plusDays(1).atStartOfDay()  // Ganzer Tag erlaubt
+                        : day.atTime(window.getEnd());
+                int to = Math.min(profile.getMinutes(), profile.minuteOf(windowEnd));
+
+                for (int start = from; start + durationMinutes <= to; start++) {
+                    int end = start + durationMinutes;
+                    if (profile.blockedPrefix[end] != profile.blockedPrefix[start]) {
+                        continue;
+                    }
+                    double cost = profile.costPrefix[end] - profile.costPrefix[start];
+                    if (cost < bestCost - COST_EPSILON
+                            || (cost <= bestCost + COST_EPSILON && start < bestStart)) {
+                        bestCost = cost;
+                        bestStart = start;
+                    }
+                }
+            }
+        }
+        if (bestStart < 0) {
+            return null;
+        }
+        LocalDateTime start = profile.origin.plusMinutes(bestStart);
+        return new OptimalStart(parzelle.getId(), start, start.plusMinutes(durationMinutes),
+                bestCost / durationMinutes);
+    }
+
+    /**
+     * Bewässerungsdauer für eine Wassermenge, begrenzt auf die maximale Tagesdauer der Parzelle
+     */
+    public static int durationMinutes(double liters, OlivenParzelle parzelle) {
+        int minutes = (int) Math.ceil(liters / OlivenIrrigationRuleService.VALVE_FLOW_LITERS_PER_MINUTE);
+        return Math.min(minutes, parzelle.getMaxDailyDurationMinutes());
+    }
+
+    /**
+     * Verdunstung (Temperatur- und ET0-Faktor) plus Verwehung durch Wind
+     */
+    private static double hourlyPenalty(Wetterdaten wetter) {
+        double wind = Math.max(0.0, wetter.getWindGeschwindigkeitKmh() - WIND_DRIFT_START_KMH);
+        return wetter.getWaterNeedFactor() + wind * WIND_PENALTY_PER_KMH;
+    }
+
+    private static boolean isBlocked(Wetterdaten wetter) {
+        return wetter.isRainExpected(OlivenIrrigationRuleService.RAIN_THRESHOLD_MM)
+                || wetter.getTemperaturCelsius() < OlivenIrrigationRuleService.FROST_THRESHOLD_CELSIUS
+                || wetter.getWindGeschwindigkeitKmh() > OlivenIrrigationRuleService.MAX_WIND_KMH;
+    }
+
+    // Hilfsklassen für die Rückgabe
+
+    /**
+     * Aufbereitete Vorhersage: Präfixsummen der Kosten und gesperrten Minuten ab {@code origin}
+     */
+    public static final class ForecastProfile {
+        private final LocalDateTime origin;
+        private final double[] costPrefix;
+        private final int[] blockedPrefix;
+
+        ForecastProfile(LocalDateTime origin, double[] costPrefix, int[] blockedPrefix) {
+            this.origin = origin;
+            this.costPrefix = costPrefix;
+            this.blockedPrefix = blockedPrefix;
+        }
+
+        public LocalDateTime getOrigin() { return origin; }
+        public int getMinutes() { return costPrefix.length - 1; }
+
+        int minuteOf(LocalDateTime time) {
+            return (int) Duration.between(origin, time).toMinutes();
+        }
+    }
+
+    public static class OptimalStart {
+        private final Long parzelleId;
+        private final LocalDateTime start;
+        private final LocalDateTime end;
+        private final double penaltyPerMinute;
+
+        public OptimalStart(Long parzelleId, LocalDateTime start, LocalDateTime end, double penaltyPerMinute) {
+            this.parzelleId = parzelleId;
+            this.start = start;
+            this.end = end;
+            this.penaltyPerMinute = penaltyPerMinute;
+        }
+
+        public Long getParzelleId() { return parzelleId; }
+        public LocalDateTime getStart() { return start; }
+        public LocalDateTime getEnd() { return end; }
+
+        /**
+         * Mittlere Strafe je Minute (Verdunstung + Wind), niedriger ist besser
+         */
+        public double getPenaltyPerMinute() { return penaltyPerMinute; }
+    }
+}
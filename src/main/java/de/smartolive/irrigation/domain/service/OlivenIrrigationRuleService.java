@@ -15,9 +15,13 @@ public class OlivenIrrigationRuleService {
 
     // Konfigurationsparameter
     private static final int MAX_STALE_MINUTES = 30;
-    private static final double RAIN_THRESHOLD_MM = 3.0;
+    static final double RAIN_THRESHOLD_MM = 3.0;
     private static final double HIGH_RAIN_PROBABILITY = 70.0;
-    private static final double CRITICAL_MOISTURE_THRESHOLD = 20.0; // Unter 20% = kritisch
+    static final double FROST_THRESHOLD_CELSIUS = 0.0;   // Unter 0°C = Frostgefahr
+    static final double MAX_WIND_KMH = 40.0;             // Über 40 km/h = zu windig
+    static final double VALVE_FLOW_LITERS_PER_MINUTE = 10.0;
+    static final double CRITICAL_MOISTURE_THRESHOLD = 20.0; // Unter 20% = kritisch
+    static final double INCREASED_NEED_FACTOR = 1.5;        // Über 150% des Basisbedarfs = erhöht
 
     /**
      * Evaluiiert ob und wie viel bewässert werden soll
@@ -27,39 +31,44 @@ public class OlivenIrrigationRuleService {
             Wetterdaten wetter,
             SensorReading latestReading,
             List<IrrigationEvent> todayEvents) throws DomainException {
+        return evaluate(parzelle, wetter, latestReading, calculateTodayWaterUsage(todayEvents));
+    }
+
+    /**
+     * Wie {@link #evaluate(OlivenParzelle, Wetterdaten, SensorReading, List)} mit dem heutigen
+     * Verbrauch aus dem Wasserbuch ({@link WaterLedger#getTodayLiters}) statt der Ereignisliste
+     */
+    public BewaesserungsEmpfehlung evaluate(
+            OlivenParzelle parzelle,
+            Wetterdaten wetter,
+            SensorReading latestReading,
+            double alreadyWateredToday) throws DomainException {
 
-        List<String> begruendungen = new ArrayList<>();
+        List<Begruendung> gruende = new ArrayList<>(8);
 
         // 1. Validierung der Eingaben
-        validateInputs(parzelle, wetter, begruendungen);
+        validateInputs(parzelle, wetter, gruende);
 
         // 2. Sensor-Check
-        if (!isSensorDataValid(latestReading, begruendungen)) {
-            return createFallbackEmpfehlung(parzelle, wetter, begruendungen);
+        if (!isSensorDataValid(latestReading, gruende)) {
+            return createFallbackEmpfehlung(parzelle, wetter, gruende);
         }
 
         // 3. Wetter-Check
-        if (shouldSkipDueToWeather(wetter, begruendungen)) {
-            return BewaesserungsEmpfehlung.keineBewaesserung(
-                    begruendungen.toArray(new String[0])
-            );
+        if (shouldSkipDueToWeather(wetter, gruende)) {
+            return BewaesserungsEmpfehlung.keineBewaesserung(gruende);
         }
 
         // 4. Zeitfenster-Check
         if (!parzelle.isIrrigationAllowedNow()) {
-            begruendungen.add("Aktuelle Zeit nicht in erlaubten Zeitfenstern");
-            return BewaesserungsEmpfehlung.keineBewaesserung(
-                    begruendungen.toArray(new String[0])
-            );
+            gruende.add(Begruendung.of(BegruendungsCode.AUSSERHALB_ZEITFENSTER));
+            return BewaesserungsEmpfehlung.keineBewaesserung(gruende);
         }
 
         // 5. Tägliches Limit prüfen
-        double alreadyWateredToday = calculateTodayWaterUsage(todayEvents);
-        if (alreadyWateredToday >= parzelle.getMaxDailyDurationMinutes() * 10) { // 10L pro Minute
-            begruendungen.add("Tägliches Limit bereits erreicht: " + alreadyWateredToday + "L");
-            return BewaesserungsEmpfehlung.keineBewaesserung(
-                    begruendungen.toArray(new String[0])
-            );
+        if (alreadyWateredToday >= parzelle.getMaxDailyDurationMinutes() * VALVE_FLOW_LITERS_PER_MINUTE) {
+            gruende.add(Begruendung.of(BegruendungsCode.TAGESLIMIT_ERREICHT, alreadyWateredToday));
+            return BewaesserungsEmpfehlung.keineBewaesserung(gruende);
         }
 
         // 6. Feuchte-Bereich prüfen
@@ -67,28 +76,26 @@ public class OlivenIrrigationRuleService {
         double currentMoisture = latestReading.getMoisturePercent();
 
         if (targetRange.contains(currentMoisture)) {
-            begruendungen.add("Feuchte im optimalen Bereich: " + currentMoisture + "%");
-            return BewaesserungsEmpfehlung.keineBewaesserung(
-                    begruendungen.toArray(new String[0])
-            );
+            gruende.add(Begruendung.of(BegruendungsCode.FEUCHTE_OPTIMAL, currentMoisture));
+            return BewaesserungsEmpfehlung.keineBewaesserung(gruende);
         }
 
         // 7. Wasserbedarf berechnen
-        double waterNeed = calculateWaterNeed(parzelle, wetter, currentMoisture, targetRange, begruendungen);
+        double waterNeed = calculateWaterNeed(parzelle, wetter, currentMoisture, targetRange, gruende);
 
         // 8. Empfehlungsstufe bestimmen
         EmpfehlungsStufe stufe = determineRecommendationLevel(
-                currentMoisture, targetRange, waterNeed, parzelle, begruendungen);
+                currentMoisture, targetRange, waterNeed, parzelle, gruende);
 
-        return new BewaesserungsEmpfehlung(
+        return BewaesserungsEmpfehlung.mitGruenden(
                 LocalDateTime.now(),
                 waterNeed,
                 stufe,
-                begruendungen
+                gruende
         );
     }
 
-    private void validateInputs(OlivenParzelle parzelle, Wetterdaten wetter, List<String> begruendungen)
+    private void validateInputs(OlivenParzelle parzelle, Wetterdaten wetter, List<Begruendung> gruende)
             throws DomainException {
 
         if (parzelle == null) {
@@ -101,23 +108,23 @@ public class OlivenIrrigationRuleService {
 
         // Prüfe ob Wetterdaten aktuell sind (max 2 Stunden alt)
         if (wetter.getTimestamp().isBefore(LocalDateTime.now().minusHours(2))) {
-            begruendungen.add("Warnung: Wetterdaten sind älter als 2 Stunden");
+            gruende.add(Begruendung.of(BegruendungsCode.WETTERDATEN_VERALTET, 2));
         }
     }
 
-    private boolean isSensorDataValid(SensorReading reading, List<String> begruendungen) {
+    private boolean isSensorDataValid(SensorReading reading, List<Begruendung> gruende) {
         if (reading == null) {
-            begruendungen.add("Keine Sensordaten verfügbar");
+            gruende.add(Begruendung.of(BegruendungsCode.KEINE_SENSORDATEN));
             return false;
         }
 
         if (reading.isStale(MAX_STALE_MINUTES)) {
-            begruendungen.add("Sensordaten veraltet (" + MAX_STALE_MINUTES + "min+)");
+            gruende.add(Begruendung.of(BegruendungsCode.SENSORDATEN_VERALTET, MAX_STALE_MINUTES));
             return false;
         }
 
         if (!reading.isValid()) {
-            begruendungen.add("Sensor meldet Fehler: " + reading.getStatus());
+            gruende.add(Begruendung.withDetail(BegruendungsCode.SENSOR_FEHLER, String.valueOf(reading.getStatus())));
             return false;
         }
 
@@ -127,7 +134,7 @@ public class OlivenIrrigationRuleService {
     private BewaesserungsEmpfehlung createFallbackEmpfehlung(
             OlivenParzelle parzelle,
             Wetterdaten wetter,
-            List<String> begruendungen) {
+            List<Begruendung> gruende) {
 
         // Fallback-Logik: Bewässere basierend auf Tageszeit und Wetter
         LocalTime now = LocalTime.now();
@@ -135,40 +142,37 @@ public class OlivenIrrigationRuleService {
 
         if (isDaytime && !wetter.isRainExpected(RAIN_THRESHOLD_MM)) {
             double fallbackAmount = parzelle.getProfil().getBasisWasserbedarfLiterProTag() * 0.5;
-            begruendungen.add("Fallback: Standardbewässerung aufgrund fehlender Sensordaten");
+            gruende.add(Begruendung.of(BegruendungsCode.FALLBACK_STANDARD));
 
-            return new BewaesserungsEmpfehlung(
+            return BewaesserungsEmpfehlung.mitGruenden(
                     LocalDateTime.now(),
                     fallbackAmount,
                     EmpfehlungsStufe.FALLBACK,
-                    begruendungen
+                    gruende
             );
         }
 
-        begruendungen.add("Fallback: Keine Bewässerung (Nacht oder Regen)");
-        return BewaesserungsEmpfehlung.keineBewaesserung(
-                begruendungen.toArray(new String[0])
-        );
+        gruende.add(Begruendung.of(BegruendungsCode.FALLBACK_KEINE));
+        return BewaesserungsEmpfehlung.keineBewaesserung(gruende);
     }
 
-    private boolean shouldSkipDueToWeather(Wetterdaten wetter, List<String> begruendungen) {
+    private boolean shouldSkipDueToWeather(Wetterdaten wetter, List<Begruendung> gruende) {
         // Regen-Check
         if (wetter.isRainExpected(RAIN_THRESHOLD_MM)) {
-            begruendungen.add("Regen vorhergesagt: " +
-                    wetter.getNiederschlagMm24h() + "mm (" +
-                    wetter.getNiederschlagWahrscheinlichkeit() + "%)");
+            gruende.add(Begruendung.of(BegruendungsCode.REGEN_VORHERGESAGT,
+                    wetter.getNiederschlagMm24h(), wetter.getNiederschlagWahrscheinlichkeit()));
             return true;
         }
 
         // Temperatur-Check (unter 0°C → Frostgefahr)
-        if (wetter.getTemperaturCelsius() < 0) {
-            begruendungen.add("Frostgefahr: " + wetter.getTemperaturCelsius() + "°C");
+        if (wetter.getTemperaturCelsius() < FROST_THRESHOLD_CELSIUS) {
+            gruende.add(Begruendung.of(BegruendungsCode.FROSTGEFAHR, wetter.getTemperaturCelsius()));
             return true;
         }
 
         // Starker Wind (> 40 km/h)
-        if (wetter.getWindGeschwindigkeitKmh() > 40) {
-            begruendungen.add("Starker Wind: " + wetter.getWindGeschwindigkeitKmh() + "km/h");
+        if (wetter.getWindGeschwindigkeitKmh() > MAX_WIND_KMH) {
+            gruende.add(Begruendung.of(BegruendungsCode.STARKER_WIND, wetter.getWindGeschwindigkeitKmh()));
             return true;
         }
 
@@ -192,7 +196,7 @@ public class OlivenIrrigationRuleService {
             Wetterdaten wetter,
             double currentMoisture,
             MoistureRange targetRange,
-            List<String> begruendungen) {
+            List<Begruendung> gruende) {
 
         // Basis: Täglicher Wasserbedarf der Olivensorte
         double baseNeed = parzelle.getProfil().getBasisWasserbedarfLiterProTag();
@@ -212,35 +216,39 @@ public class OlivenIrrigationRuleService {
         // Gesamtberechnung
         double totalNeed = baseNeed * moistureFactor * weatherFactor * soilFactor * ageFactor;
 
-        // Begründungen hinzufügen
-        begruendungen.add(String.format("Basis: %.1fL/Tag (%s)",
-                baseNeed, parzelle.getProfil().getSorte()));
-        begruendungen.add(String.format("Feuchtefaktor: %.2f (aktuell: %.1f%%)",
-                moistureFactor, currentMoisture));
-        begruendungen.add(String.format("Wetterfaktor: %.2f (%.1f°C, ET0=%.1fmm)",
+        // Begründungen hinzufügen (Text entsteht erst beim Lesen der Empfehlung)
+        gruende.add(Begruendung.withDetail(BegruendungsCode.BASISBEDARF,
+                parzelle.getProfil().getSorte(), baseNeed));
+        gruende.add(Begruendung.of(BegruendungsCode.FEUCHTEFAKTOR, moistureFactor, currentMoisture));
+        gruende.add(Begruendung.of(BegruendungsCode.WETTERFAKTOR,
                 weatherFactor, wetter.getTemperaturCelsius(), wetter.getEvapotranspirationMm()));
-        begruendungen.add(String.format("Bodenfaktor: %.2f (%s)",
-                soilFactor, parzelle.getProfil().getBodenTyp()));
-        begruendungen.add(String.format("Altersfaktor: %.2f (%d Jahre)",
+        gruende.add(Begruendung.withDetail(BegruendungsCode.BODENFAKTOR,
+                parzelle.getProfil().getBodenTyp().name(), soilFactor));
+        gruende.add(Begruendung.of(BegruendungsCode.ALTERSFAKTOR,
                 ageFactor, parzelle.getProfil().getAlterJahre()));
 
         return Math.round(totalNeed * 10.0) / 10.0; // Auf 0.1L runden
     }
 
-    private double calculateMoistureFactor(double currentMoisture, MoistureRange targetRange) {
-        if (targetRange.isBelow(currentMoisture)) {
+    // Die Faktoren werden auch von der Batch-Berechnung (WaterNeedBatchCalculator) verwendet
+    static double calculateMoistureFactor(double currentMoisture, MoistureRange targetRange) {
+        return calculateMoistureFactor(currentMoisture, targetRange.getLower(), targetRange.getUpper());
+    }
+
+    static double calculateMoistureFactor(double currentMoisture, double lower, double upper) {
+        if (currentMoisture < lower) {
             // Unter Sollbereich: mehr Bewässerung
-            double deficit = targetRange.getLower() - currentMoisture;
+            double deficit = lower - currentMoisture;
             return 1.0 + (deficit / 10.0); // +10% pro %-Punkt Defizit
-        } else if (targetRange.isAbove(currentMoisture)) {
+        } else if (currentMoisture > upper) {
             // Über Sollbereich: weniger Bewässerung
-            double excess = currentMoisture - targetRange.getUpper();
+            double excess = currentMoisture - upper;
             return Math.max(0.1, 1.0 - (excess / 20.0)); // -5% pro %-Punkt Überschuss
         }
         return 1.0;
     }
 
-    private double calculateSoilFactor(BodenTyp bodenTyp) {
+    static double calculateSoilFactor(BodenTyp bodenTyp) {
         switch (bodenTyp) {
             case SANDIG:    return 1.3;  // Sand speichert schlecht
             case LEHMIG:    return 1.0;  // Optimal
@@ -251,7 +259,7 @@ public class OlivenIrrigationRuleService {
         }
     }
 
-    private double calculateAgeFactor(int alterJahre) {
+    static double calculateAgeFactor(int alterJahre) {
         if (alterJahre < 3)  return 1.5;  // Junge Bäume
         if (alterJahre < 10) return 1.2;  // Heranwachsend
         if (alterJahre < 30) return 1.0;  // Ausgewachsen
@@ -264,14 +272,14 @@ public class OlivenIrrigationRuleService {
             MoistureRange targetRange,
             double waterNeed,
             OlivenParzelle parzelle,
-            List<String> begruendungen) {
+            List<Begruendung> gruende) {
 
         if (currentMoisture < CRITICAL_MOISTURE_THRESHOLD) {
-            begruendungen.add("KRITISCH: Feuchte unter " + CRITICAL_MOISTURE_THRESHOLD + "%");
+            gruende.add(Begruendung.of(BegruendungsCode.KRITISCHE_FEUCHTE, CRITICAL_MOISTURE_THRESHOLD));
             return EmpfehlungsStufe.KRITISCH;
         }
 
-        if (waterNeed > parzelle.getProfil().getBasisWasserbedarfLiterProTag() * 1.5) {
+        if (waterNeed > parzelle.getProfil().getBasisWasserbedarfLiterProTag() * INCREASED_NEED_FACTOR) {
             return EmpfehlungsStufe.ERHOEHT;
         }
 
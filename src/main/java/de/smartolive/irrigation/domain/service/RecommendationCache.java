@@ -0,0 +1,234 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.exception.DomainException;
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.timeseries.SensorIngestListener;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Merkt sich die letzte Empfehlung je Parzelle zusammen mit einem {@link Fingerprint}
+ * ihrer Eingaben (Parzellen-Version, letzte Messung, Wetterdaten, heutiger Verbrauch,
+ * Zeitfenster). Solange sich keine Eingabe ändert, wird nicht neu ausgewertet.
+ *
+ * Regeln, die allein von der Uhrzeit abhängen (veraltete Messung oder Wetterdaten,
+ * Tag/Nacht im Fallback), deckt der Fingerprint nicht ab; dafür verfallen Einträge
+ * nach {@code app.recommendation.cache.ttl}. Neue Messungen verwerfen den Eintrag der
+ * Parzelle sofort.
+ */
+@Component
+public class RecommendationCache implements SensorIngestListener {
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+
+    public RecommendationCache(@Value("${app.recommendation.cache.enabled:true}") boolean enabled,
+                               @Value("${app.recommendation.cache.ttl:PT1M}") Duration ttl) {
+        this.enabled = enabled;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Liefert die gemerkte Empfehlung, falls die Eingaben unverändert sind,
+     * sonst das Ergebnis von {@code evaluation}. Ausnahmen werden nicht gemerkt.
+     */
+    public BewaesserungsEmpfehlung getOrEvaluate(OlivenParzelle parzelle,
+                                                 Wetterdaten wetter,
+                                                 SensorReading latestReading,
+                                                 List<IrrigationEvent> todayEvents,
+                                                 RuleEvaluation evaluation) throws DomainException {
+        double usage = 0.0;
+        if (todayEvents != null) {
+            for (IrrigationEvent event : todayEvents) {
+                usage += event.getWasserMengeLiter();
+            }
+        }
+        return getOrEvaluate(parzelle, wetter, latestReading, usage, evaluation);
+    }
+
+    /**
+     * Wie oben mit dem heutigen Verbrauch aus dem {@link WaterLedger}
+     */
+    public BewaesserungsEmpfehlung getOrEvaluate(OlivenParzelle parzelle,
+                                                 Wetterdaten wetter,
+                                                 SensorReading latestReading,
+                                                 double todayUsageLiter,
+                                                 RuleEvaluation evaluation) throws DomainException {
+        if (!enabled || parzelle.getId() == null) {
+            return evaluation.evaluate();
+        }
+
+        Fingerprint fingerprint = Fingerprint.of(parzelle, wetter, latestReading, todayUsageLiter);
+        long now = System.nanoTime();
+        Entry entry = entries.get(parzelle.getId());
+        if (entry != null && now - entry.createdNanos < ttlNanos && entry.fingerprint.equals(fingerprint)) {
+            hits.increment();
+            return entry.empfehlung;
+        }
+
+        misses.increment();
+        BewaesserungsEmpfehlung empfehlung = evaluation.evaluate();
+        entries.put(parzelle.getId(), new Entry(fingerprint, empfehlung, now));
+        return empfehlung;
+    }
+
+    @Override
+    public void onSamplesIngested(List<SensorSample> samples) {
+        long lastParzelleId = -1;
+        for (SensorSample sample : samples) {
+            // Batches kommen meist nach Parzelle gruppiert
+            if (sample.getParzelleId() != lastParzelleId) {
+                invalidate(sample.getParzelleId());
+                lastParzelleId = sample.getParzelleId();
+            }
+        }
+    }
+
+    /**
+     * Verwirft die Empfehlung einer Parzelle, z.B. nach einem Bewässerungsereignis
+     */
+    public void invalidate(Long parzelleId) {
+        if (entries.remove(parzelleId) != null) {
+            invalidations.increment();
+        }
+    }
+
+    /**
+     * Verwirft alle Empfehlungen, z.B. nach einer Konfigurationsänderung
+     */
+    public void invalidateAll() {
+        invalidations.add(entries.size());
+        entries.clear();
+    }
+
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), invalidations.sum(), entries.size());
+    }
+
+    /**
+     * Eigentliche Auswertung bei geänderten Eingaben
+     */
+    @FunctionalInterface
+    public interface RuleEvaluation {
+        BewaesserungsEmpfehlung evaluate() throws DomainException;
+    }
+
+    private static final class Entry {
+        private final Fingerprint fingerprint;
+        private final BewaesserungsEmpfehlung empfehlung;
+        private final long createdNanos;
+
+        Entry(Fingerprint fingerprint, BewaesserungsEmpfehlung empfehlung, long createdNanos) {
+            this.fingerprint = fingerprint;
+            this.empfehlung = empfehlung;
+            this.createdNanos = createdNanos;
+        }
+    }
+
+    /**
+     * Alle Eingaben der Regelauswertung, die sich ohne Zeitablauf ändern können
+     */
+    static final class Fingerprint {
+        private final Long parzelleVersion;
+        private final Long readingId;
+        private final LocalDateTime readingTimestamp;
+        private final Wetterdaten wetter;
+        private final double todayUsageLiter;
+        private final boolean irrigationAllowed;
+
+        private Fingerprint(Long parzelleVersion, Long readingId, LocalDateTime readingTimestamp,
+                            Wetterdaten wetter, double todayUsageLiter, boolean irrigationAllowed) {
+            this.parzelleVersion = parzelleVersion;
+            this.readingId = readingId;
+            this.readingTimestamp = readingTimestamp;
+            this.wetter = wetter;
+            this.todayUsageLiter = todayUsageLiter;
+            this.irrigationAllowed = irrigationAllowed;
+        }
+
+        static Fingerprint of(OlivenParzelle parzelle, Wetterdaten wetter,
+                              SensorReading latestReading, double todayUsageLiter) {
+            return new Fingerprint(
+                    parzelle.getVersion(),
+                    latestReading != null ? latestReading.getId() : null,
+                    latestReading != null ? latestReading.getTimestamp() : null,
+                    wetter,
+                    todayUsageLiter,
+                    parzelle.isIrrigationAllowedNow());
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Fingerprint)) return false;
+            Fingerprint that = (Fingerprint) o;
+            return Double.compare(that.todayUsageLiter, todayUsageLiter) == 0 &&
+                    irrigationAllowed == that.irrigationAllowed &&
+                    Objects.equals(parzelleVersion, that.parzelleVersion) &&
+                    Objects.equals(readingId, that.readingId) &&
+                    Objects.equals(readingTimestamp, that.readingTimestamp) &&
+                    Objects.equals(wetter, that.wetter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(parzelleVersion, readingId, readingTimestamp, wetter,
+                    todayUsageLiter, irrigationAllowed);
+        }
+    }
+
+    /**
+     * Trefferquote des Empfehlungs-Caches seit dem Start
+     */
+    public static class CacheStatistics {
+        private final long hits;
+        private final long misses;
+        private final long invalidations;
+        private final int size;
+
+        public CacheStatistics(long hits, long misses, long invalidations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.invalidations = invalidations;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getHitRate() {
+            long requests = hits + misses;
+            return requests > 0 ? (double) hits / requests : 0.0;
+        }
+    }
+}
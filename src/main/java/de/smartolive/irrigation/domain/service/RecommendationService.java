@@ -5,11 +5,26 @@ import de.smartolive.irrigation.domain.valueobject.*;
 import de.smartolive.irrigation.domain.repository.OlivenParzelleRepository;
 import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
 import de.smartolive.irrigation.domain.repository.IrrigationEventRepository;
+import de.smartolive.irrigation.domain.repository.ReadingSummary;
+import de.smartolive.irrigation.domain.repository.WaterUsageSummary;
+import de.smartolive.irrigation.domain.timeseries.ColumnarSensorBuffer;
+import de.smartolive.irrigation.domain.timeseries.LatestReadingCache;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.domain.timeseries.TimeSeriesSummary;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Service
 public class RecommendationService {
@@ -18,29 +33,90 @@ public class RecommendationService {
     private final OlivenParzelleRepository parzelleRepository;
     private final SensorReadingRepository sensorRepository;
     private final IrrigationEventRepository eventRepository;
+    private final ColumnarSensorBuffer sensorBuffer;
+    private final LatestReadingCache latestReadingCache;
+    private final EvaluationContextLoader contextLoader;
+    private final RecommendationCache recommendationCache;
+    private final WaterLedger waterLedger;
+    private final ForkJoinPool evaluationPool;
+    private final int parallelThreshold;
+    private final Duration taskTimeout;
 
     public RecommendationService(
             OlivenIrrigationRuleService ruleService,
             OlivenParzelleRepository parzelleRepository,
             SensorReadingRepository sensorRepository,
-            IrrigationEventRepository eventRepository) {
+            IrrigationEventRepository eventRepository,
+            ColumnarSensorBuffer sensorBuffer,
+            LatestReadingCache latestReadingCache,
+            EvaluationContextLoader contextLoader,
+            RecommendationCache recommendationCache,
+            WaterLedger waterLedger,
+            @Value("${app.recommendation.parallelism:0}") int parallelism,
+            @Value("${app.recommendation.parallel-threshold:64}") int parallelThreshold,
+            @Value("${app.recommendation.task-timeout:PT5S}") Duration taskTimeout) {
         this.ruleService = ruleService;
         this.parzelleRepository = parzelleRepository;
         this.sensorRepository = sensorRepository;
         this.eventRepository = eventRepository;
+        this.sensorBuffer = sensorBuffer;
+        this.latestReadingCache = latestReadingCache;
+        this.contextLoader = contextLoader;
+        this.recommendationCache = recommendationCache;
+        this.waterLedger = waterLedger;
+        // 0 = ein Worker je Prozessorkern; die Regelauswertung ist rein rechenlastig
+        this.evaluationPool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.parallelThreshold = parallelThreshold;
+        this.taskTimeout = taskTimeout;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        evaluationPool.shutdownNow();
     }
 
     /**
-     * Generiert Empfehlungen für alle Parzellen
+     * Generiert Empfehlungen für alle Parzellen.
+     * Alle benötigten Daten werden vorab gesammelt geladen (siehe {@link EvaluationContextLoader}).
+     * Ab {@code app.recommendation.parallel-threshold} Parzellen wird parallel ausgewertet,
+     * sofern mehr als ein Kern zur Verfügung steht.
      */
     public Map<Long, BewaesserungsEmpfehlung> generateRecommendationsForAll(Wetterdaten wetter) {
-        Map<Long, BewaesserungsEmpfehlung> recommendations = new HashMap<>();
+        EvaluationContext context = contextLoader.load(LocalDateTime.now());
+        return evaluateAll(context, context.getParzellen(), wetter);
+    }
 
-        List<OlivenParzelle> parzellen = parzelleRepository.findAll();
+    /**
+     * Generiert Empfehlungen nur für die angegebenen Parzellen, z.B. die von
+     * {@link RecommendationTrigger} gemeldeten. Unbekannte IDs werden übergangen.
+     */
+    public Map<Long, BewaesserungsEmpfehlung> generateRecommendationsFor(Collection<Long> parzelleIds,
+                                                                         Wetterdaten wetter) {
+        if (parzelleIds.isEmpty()) {
+            return Map.of();
+        }
+        EvaluationContext context = contextLoader.load(LocalDateTime.now());
+        List<OlivenParzelle> selected = new ArrayList<>(parzelleIds.size());
+        for (OlivenParzelle parzelle : context.getParzellen()) {
+            if (parzelleIds.contains(parzelle.getId())) {
+                selected.add(parzelle);
+            }
+        }
+        return evaluateAll(context, selected, wetter);
+    }
+
+    private Map<Long, BewaesserungsEmpfehlung> evaluateAll(EvaluationContext context,
+                                                           List<OlivenParzelle> parzellen,
+                                                           Wetterdaten wetter) {
+        if (parzellen.size() >= parallelThreshold && evaluationPool.getParallelism() > 1) {
+            return evaluateParallel(context, parzellen, wetter);
+        }
 
+        Map<Long, BewaesserungsEmpfehlung> recommendations = new HashMap<>();
         for (OlivenParzelle parzelle : parzellen) {
             try {
-                BewaesserungsEmpfehlung empfehlung = generateRecommendation(parzelle.getId(), wetter);
+                BewaesserungsEmpfehlung empfehlung = evaluate(context, parzelle, wetter);
                 recommendations.put(parzelle.getId(), empfehlung);
             } catch (Exception e) {
                 // Fallback für fehlerhafte Parzellen
@@ -52,6 +128,53 @@ public class RecommendationService {
         return recommendations;
     }
 
+    /**
+     * Wertet jede Parzelle als eigene Aufgabe im Auswertungs-Pool aus. Fehler und
+     * Zeitüberschreitungen ({@code app.recommendation.task-timeout}) betreffen nur die
+     * jeweilige Parzelle und ergeben eine Fehler-Empfehlung; eine überfällige Auswertung
+     * läuft im Hintergrund zu Ende, ihr Ergebnis wird verworfen. Die Frist beginnt erst,
+     * wenn ein Worker die Aufgabe übernimmt; Wartezeit im Pool zählt nicht mit.
+     * Der Kontext ist vollständig geladen, die Aufgaben greifen nicht auf JPA zu.
+     */
+    private Map<Long, BewaesserungsEmpfehlung> evaluateParallel(EvaluationContext context,
+                                                                List<OlivenParzelle> parzellen,
+                                                                Wetterdaten wetter) {
+        Map<Long, BewaesserungsEmpfehlung> recommendations = new ConcurrentHashMap<>(parzellen.size() * 2);
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[parzellen.size()];
+
+        for (int i = 0; i < parzellen.size(); i++) {
+            OlivenParzelle parzelle = parzellen.get(i);
+            Long parzelleId = parzelle.getId();
+            CompletableFuture<BewaesserungsEmpfehlung> task = new CompletableFuture<>();
+            evaluationPool.execute(() -> {
+                task.orTimeout(taskTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                try {
+                    task.complete(evaluate(context, parzelle, wetter));
+                } catch (RuntimeException e) {
+                    task.completeExceptionally(e);
+                }
+            });
+            tasks[i] = task
+                    .handle((empfehlung, error) -> error == null && empfehlung != null
+                            ? empfehlung
+                            : createErrorEmpfehlung("Fehler bei Berechnung: " + describe(error)))
+                    .thenAccept(empfehlung -> recommendations.put(parzelleId, empfehlung));
+        }
+
+        CompletableFuture.allOf(tasks).join();
+        return recommendations;
+    }
+
+    private String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+                ? error.getCause()
+                : error;
+        if (cause instanceof TimeoutException) {
+            return "Zeitüberschreitung nach " + taskTimeout.toMillis() + " ms";
+        }
+        return cause != null ? cause.getMessage() : "kein Ergebnis";
+    }
+
     /**
      * Generiert Empfehlung für eine spezifische Parzelle
      */
@@ -60,26 +183,61 @@ public class RecommendationService {
                 .orElseThrow(() -> new IllegalArgumentException("Parzelle nicht gefunden: " + parzelleId));
 
         // Letzte Sensor-Messung laden
-        Optional<SensorReading> latestReading = sensorRepository
-                .findTopByParzelleIdOrderByTimestampDesc(parzelleId);
+        Optional<SensorReading> latestReading = findLatestReading(parzelleId);
 
-        // Heutige Bewässerungsereignisse laden
+        // Heutiger Verbrauch aus dem Wasserbuch, sonst aus den Bewässerungsereignissen
+        if (waterLedger.isWarm()) {
+            return evaluate(parzelle, wetter, latestReading.orElse(null), waterLedger.getTodayLiters(parzelleId));
+        }
         LocalDateTime todayStart = LocalDate.now().atStartOfDay();
         List<IrrigationEvent> todayEvents = eventRepository
                 .findByParzelleIdAndStartTimeAfter(parzelleId, todayStart);
 
+        return evaluate(parzelle, wetter, latestReading.orElse(null), todayEvents);
+    }
+
+    private BewaesserungsEmpfehlung evaluate(EvaluationContext context, OlivenParzelle parzelle, Wetterdaten wetter) {
+        Long parzelleId = parzelle.getId();
+        if (context.hasLedgerUsage()) {
+            return evaluate(parzelle, wetter, context.getLatestReading(parzelleId),
+                    context.getTodayUsageLiters(parzelleId));
+        }
+        return evaluate(parzelle, wetter, context.getLatestReading(parzelleId), context.getTodayEvents(parzelleId));
+    }
+
+    private BewaesserungsEmpfehlung evaluate(OlivenParzelle parzelle, Wetterdaten wetter,
+                                             SensorReading latestReading, double todayUsageLiter) {
         try {
-            return ruleService.evaluate(
-                    parzelle,
-                    wetter,
-                    latestReading.orElse(null),
-                    todayEvents
-            );
+            return recommendationCache.getOrEvaluate(parzelle, wetter, latestReading, todayUsageLiter,
+                    () -> ruleService.evaluate(parzelle, wetter, latestReading, todayUsageLiter));
         } catch (Exception e) {
             return createErrorEmpfehlung(e.getMessage());
         }
     }
 
+    private BewaesserungsEmpfehlung evaluate(OlivenParzelle parzelle, Wetterdaten wetter,
+                                             SensorReading latestReading, List<IrrigationEvent> todayEvents) {
+        try {
+            // Unveränderte Eingaben liefern die gemerkte Empfehlung
+            return recommendationCache.getOrEvaluate(parzelle, wetter, latestReading, todayEvents,
+                    () -> ruleService.evaluate(
+                            parzelle,
+                            wetter,
+                            latestReading,
+                            todayEvents
+                    ));
+        } catch (Exception e) {
+            return createErrorEmpfehlung(e.getMessage());
+        }
+    }
+
+    private Optional<SensorReading> findLatestReading(Long parzelleId) {
+        if (latestReadingCache.isWarm()) {
+            return latestReadingCache.getLatestForParzelle(parzelleId).map(SensorSample::toReading);
+        }
+        return sensorRepository.findTopByParzelleIdOrderByTimestampDesc(parzelleId);
+    }
+
     /**
      * Berechnet die optimale Bewässerungszeit basierend auf Wettervorhersage
      */
@@ -126,13 +284,15 @@ public class RecommendationService {
      */
     public WeeklyWateringPlan generateWeeklyPlan(Long parzelleId, List<Wetterdaten> weeklyForecast) {
         Map<LocalDate, DailyRecommendation> dailyPlans = new HashMap<>();
+        // Parzelle einmal für die ganze Woche laden; für alle Parzellen siehe WeeklyPlanEngine
+        OlivenParzelle parzelle = parzelleRepository.findById(parzelleId).orElse(null);
 
         for (int i = 0; i < Math.min(weeklyForecast.size(), 7); i++) {
             LocalDate date = LocalDate.now().plusDays(i);
             Wetterdaten wetter = weeklyForecast.get(i);
 
             // Simulierte Empfehlung für jeden Tag
-            double recommendedAmount = calculateDailyWaterNeed(parzelleId, wetter);
+            double recommendedAmount = calculateDailyWaterNeed(parzelle, wetter);
             String reasoning = generateDailyReasoning(wetter);
 
             dailyPlans.put(date, new DailyRecommendation(
@@ -157,39 +317,105 @@ public class RecommendationService {
     }
 
     /**
-     * Generiert historische Analyse für eine Parzelle
+     * Generiert historische Analyse für eine Parzelle. Messungen und Ereignisse werden
+     * nur aggregiert abgefragt, der Speicherbedarf ist unabhängig von {@code daysBack}.
      */
     public HistoricalAnalysis generateHistoricalAnalysis(Long parzelleId, int daysBack) {
         LocalDateTime startDate = LocalDateTime.now().minusDays(daysBack);
 
-        // Historische Sensordaten
-        List<SensorReading> historicalReadings = sensorRepository
-                .findByParzelleIdAndTimestampAfter(parzelleId, startDate);
-
-        // Historische Bewässerungsereignisse
-        List<IrrigationEvent> historicalEvents = eventRepository
-                .findByParzelleIdAndStartTimeAfter(parzelleId, startDate);
-
-        // Durchschnittsfeuchte berechnen
-        Optional<Double> avgMoisture = sensorRepository
-                .findAverageMoistureSince(parzelleId, startDate);
+        // Sensordaten: kurze Zeiträume direkt aus dem Spaltenpuffer, sonst aus Datenbank bzw. Rollups
+        int readingCount;
+        Optional<Double> avgMoisture;
+        Optional<TimeSeriesSummary> buffered = sensorBuffer.summarize(parzelleId, startDate);
+        if (buffered.isPresent()) {
+            readingCount = buffered.get().getReadingCount();
+            avgMoisture = buffered.get().getAverageMoisture();
+        } else {
+            readingCount = (int) sensorRepository.countAllReadingsSinceRouted(parzelleId, startDate);
+            avgMoisture = sensorRepository.findAverageMoistureSinceRouted(parzelleId, startDate);
+        }
 
-        // Wasserverbrauch berechnen
-        double totalWaterUsed = historicalEvents.stream()
-                .mapToDouble(IrrigationEvent::getWasserMengeLiter)
-                .sum();
+        // Wasserverbrauch als Summe in der Datenbank
+        WaterUsageSummary usage = eventRepository.summarizeWaterUsageSince(parzelleId, startDate);
 
         return new HistoricalAnalysis(
                 parzelleId,
                 startDate.toLocalDate(),
                 LocalDate.now(),
                 avgMoisture.orElse(0.0),
-                totalWaterUsed,
-                historicalReadings.size(),
-                historicalEvents.size()
+                usage.getTotalLiters(),
+                readingCount,
+                (int) usage.getEventCount()
         );
     }
 
+    /**
+     * Historische Analyse mehrerer Parzellen über denselben Zeitraum: je Verdichtungsstufe
+     * eine gruppierte Abfrage statt einer Abfragefolge je Parzelle
+     */
+    public Map<Long, HistoricalAnalysis> generateHistoricalAnalyses(Collection<Long> parzelleIds, int daysBack) {
+        LocalDateTime startDate = LocalDateTime.now().minusDays(daysBack);
+
+        Map<Long, HistoricalAnalysis> result = new HashMap<>(parzelleIds.size() * 2);
+        Map<Long, TimeSeriesSummary> buffered = new HashMap<>();
+        List<Long> notBuffered = new ArrayList<>();
+        for (Long parzelleId : parzelleIds) {
+            sensorBuffer.summarize(parzelleId, startDate).ifPresentOrElse(
+                    summary -> buffered.put(parzelleId, summary),
+                    () -> notBuffered.add(parzelleId));
+        }
+        Map<Long, ReadingSummary> readings = notBuffered.isEmpty()
+                ? Map.of()
+                : sensorRepository.summarizeReadingsSinceRouted(notBuffered, startDate);
+        Map<Long, WaterUsageSummary> usages = eventRepository.summarizeWaterUsageSince(parzelleIds, startDate);
+
+        for (Long parzelleId : parzelleIds) {
+            TimeSeriesSummary summary = buffered.get(parzelleId);
+            ReadingSummary reading = readings.getOrDefault(parzelleId, ReadingSummary.empty(parzelleId));
+            WaterUsageSummary usage = usages.getOrDefault(parzelleId, WaterUsageSummary.empty(parzelleId));
+            result.put(parzelleId, new HistoricalAnalysis(
+                    parzelleId,
+                    startDate.toLocalDate(),
+                    LocalDate.now(),
+                    (summary != null ? summary.getAverageMoisture() : reading.getAverageMoisture()).orElse(0.0),
+                    usage.getTotalLiters(),
+                    summary != null ? summary.getReadingCount() : (int) reading.getReadingCount(),
+                    (int) usage.getEventCount()));
+        }
+        return result;
+    }
+
+    /**
+     * Historische Analyse einer Parzelle für mehrere Zeiträume bis heute (z.B. 7, 30 und
+     * 365 Tage) in einem Durchlauf über den längsten. Die Zeiträume beginnen um Mitternacht,
+     * damit die Stunden- und Tages-Rollups exakt zugeordnet werden können.
+     */
+    public List<HistoricalAnalysis> generateHistoricalPeriods(Long parzelleId, List<Integer> daysBack) {
+        LocalDate today = LocalDate.now();
+        List<LocalDateTime> periodStarts = new ArrayList<>(daysBack.size());
+        for (int days : daysBack) {
+            periodStarts.add(today.minusDays(days).atStartOfDay());
+        }
+
+        List<ReadingSummary> readings = sensorRepository.summarizeReadingPeriodsRouted(parzelleId, periodStarts);
+        List<WaterUsageSummary> usages = eventRepository.summarizeWaterUsagePeriods(parzelleId, periodStarts);
+
+        List<HistoricalAnalysis> result = new ArrayList<>(periodStarts.size());
+        for (int i = 0; i < periodStarts.size(); i++) {
+            ReadingSummary reading = readings.get(i);
+            WaterUsageSummary usage = usages.get(i);
+            result.add(new HistoricalAnalysis(
+                    parzelleId,
+                    periodStarts.get(i).toLocalDate(),
+                    today,
+                    reading.getAverageMoisture().orElse(0.0),
+                    usage.getTotalLiters(),
+                    (int) reading.getReadingCount(),
+                    (int) usage.getEventCount()));
+        }
+        return result;
+    }
+
     private double evaluateTimeWindow(TimeWindow window, Wetterdaten forecast, OlivenParzelle parzelle) {
         double score = 0.0;
 
@@ -212,9 +438,8 @@ public class RecommendationService {
         return score;
     }
 
-    private double calculateDailyWaterNeed(Long parzelleId, Wetterdaten wetter) {
+    private double calculateDailyWaterNeed(OlivenParzelle parzelle, Wetterdaten wetter) {
         // Vereinfachte Berechnung
-        OlivenParzelle parzelle = parzelleRepository.findById(parzelleId).orElse(null);
         if (parzelle == null) return 0.0;
 
         double baseNeed = parzelle.getProfil().getBasisWasserbedarfLiterProTag();
@@ -0,0 +1,185 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.repository.OlivenParzelleRepository;
+import de.smartolive.irrigation.domain.timeseries.SensorIngestListener;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Ereignisgesteuerte Auswertung: Statt alle Parzellen periodisch neu zu bewerten,
+ * merkt sich der Trigger je Parzelle die Zone der letzten Messung (ungültig, unter/im/über
+ * dem {@link MoistureRange}, unter der kritischen Feuchte) und den Zustand der Wettergrenzen
+ * aus {@code shouldSkipDueToWeather} (Regen, Frost, Wind). Nur Parzellen, deren Zone
+ * wechselt, oder alle bei einem Wechsel des Wetterzustands, kommen in die Warteschlange.
+ *
+ * Regeln, die allein von der Uhrzeit abhängen (veraltete Messungen, Zeitfenster,
+ * Tageslimit), erkennt der Trigger nicht; dafür bleibt der seltenere Vollzyklus
+ * {@link RecommendationService#generateRecommendationsForAll}.
+ */
+@Component
+public class RecommendationTrigger implements SensorIngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationTrigger.class);
+
+    // Zonen einer Messung; KRITISCH wird zur Lage im Sollbereich addiert
+    private static final int ZONE_UNGUELTIG = 0;
+    private static final int ZONE_UNTER = 1;
+    private static final int ZONE_IM_BEREICH = 2;
+    private static final int ZONE_UEBER = 3;
+    private static final int ZONE_KRITISCH = 4;
+
+    // Bits des Wetterzustands
+    private static final int WETTER_REGEN = 1;
+    private static final int WETTER_FROST = 2;
+    private static final int WETTER_WIND = 4;
+    private static final int WETTER_UNBEKANNT = -1;
+
+    private final OlivenParzelleRepository parzelleRepository;
+    private final RecommendationService recommendationService;
+    private final Map<Long, MoistureRange> ranges = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> zones = new ConcurrentHashMap<>();
+    private final Set<Long> pending = ConcurrentHashMap.newKeySet();
+    private volatile int weatherState = WETTER_UNBEKANNT;
+
+    public RecommendationTrigger(OlivenParzelleRepository parzelleRepository,
+                                 RecommendationService recommendationService) {
+        this.parzelleRepository = parzelleRepository;
+        this.recommendationService = recommendationService;
+    }
+
+    /**
+     * Lädt die Sollbereiche aller Parzellen; bis dahin gilt jede Messung als Änderung
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            parzelleRepository.findAll().forEach(this::onParzelleChanged);
+            log.info("Empfehlungs-Trigger aufgewärmt: {} Parzellen", ranges.size());
+        } catch (RuntimeException e) {
+            log.warn("Empfehlungs-Trigger konnte nicht aufgewärmt werden – jede Messung löst eine Auswertung aus", e);
+        }
+    }
+
+    /**
+     * Übernimmt den (neuen) Sollbereich und merkt die Parzelle zur Auswertung vor
+     */
+    public void onParzelleChanged(OlivenParzelle parzelle) {
+        if (parzelle.getId() == null) {
+            return;
+        }
+        ranges.put(parzelle.getId(), parzelle.getTargetMoistureRange());
+        zones.remove(parzelle.getId());
+        pending.add(parzelle.getId());
+    }
+
+    public void onParzelleRemoved(Long parzelleId) {
+        ranges.remove(parzelleId);
+        zones.remove(parzelleId);
+        pending.remove(parzelleId);
+    }
+
+    @Override
+    public void onSamplesIngested(List<SensorSample> samples) {
+        for (SensorSample sample : samples) {
+            long parzelleId = sample.getParzelleId();
+            MoistureRange range = ranges.get(parzelleId);
+            if (range == null) {
+                // Unbekannte Parzelle: lieber einmal zu viel auswerten
+                pending.add(parzelleId);
+                continue;
+            }
+            int zone = zone(sample, range);
+            Integer previous = zones.put(parzelleId, zone);
+            if (previous == null || previous != zone) {
+                pending.add(parzelleId);
+            }
+        }
+    }
+
+    /**
+     * Vergleicht das Wetter mit dem zuletzt gesehenen Zustand der Regen-, Frost- und
+     * Windgrenzen. Bei einem Wechsel werden alle bekannten Parzellen vorgemerkt.
+     *
+     * @return true, wenn sich der Wetterzustand geändert hat
+     */
+    public boolean onWeatherUpdate(Wetterdaten wetter) {
+        int state = weatherState(wetter);
+        if (state == weatherState) {
+            return false;
+        }
+        weatherState = state;
+        pending.addAll(ranges.keySet());
+        return true;
+    }
+
+    /**
+     * Wertet alle vorgemerkten Parzellen aus. Parzellen, die während der Auswertung
+     * erneut gemeldet werden, bleiben für den nächsten Aufruf vorgemerkt.
+     */
+    public Map<Long, BewaesserungsEmpfehlung> evaluatePending(Wetterdaten wetter) {
+        onWeatherUpdate(wetter);
+        Set<Long> parzelleIds = drainPending();
+        if (parzelleIds.isEmpty()) {
+            return Map.of();
+        }
+        log.debug("Empfehlungs-Trigger: {} von {} Parzellen neu auswerten", parzelleIds.size(), ranges.size());
+        return recommendationService.generateRecommendationsFor(parzelleIds, wetter);
+    }
+
+    /**
+     * Entnimmt alle vorgemerkten Parzellen
+     */
+    public Set<Long> drainPending() {
+        Set<Long> drained = new HashSet<>();
+        for (Iterator<Long> it = pending.iterator(); it.hasNext(); ) {
+            drained.add(it.next());
+            it.remove();
+        }
+        return drained;
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private static int zone(SensorSample sample, MoistureRange range) {
+        // Frisch eingegangene Messungen sind nie veraltet, geprüft wird nur die Gültigkeit
+        if (!sample.canProvideData(sample.getEpochMillis())) {
+            return ZONE_UNGUELTIG;
+        }
+        double moisture = sample.getMoisture();
+        int zone = range.isBelow(moisture) ? ZONE_UNTER
+                : range.isAbove(moisture) ? ZONE_UEBER
+                : ZONE_IM_BEREICH;
+        return moisture < OlivenIrrigationRuleService.CRITICAL_MOISTURE_THRESHOLD ? zone + ZONE_KRITISCH : zone;
+    }
+
+    private static int weatherState(Wetterdaten wetter) {
+        int state = 0;
+        if (wetter.isRainExpected(OlivenIrrigationRuleService.RAIN_THRESHOLD_MM)) {
+            state |= WETTER_REGEN;
+        }
+        if (wetter.getTemperaturCelsius() < OlivenIrrigationRuleService.FROST_THRESHOLD_CELSIUS) {
+            state |= WETTER_FROST;
+        }
+        if (wetter.getWindGeschwindigkeitKmh() > OlivenIrrigationRuleService.MAX_WIND_KMH) {
+            state |= WETTER_WIND;
+        }
+        return state;
+    }
+}
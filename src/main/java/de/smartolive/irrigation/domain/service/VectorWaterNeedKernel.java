@@ -0,0 +1,104 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * SIMD-Teil von {@link WaterNeedBatchCalculator}. Wird nur geladen, wenn das Modul
+ * {@code jdk.incubator.vector} vorhanden ist. Beide Methoden bearbeiten ganze Vektoren
+ * und liefern die Anzahl bearbeiteter Einträge; den Rest rechnet der Aufrufer skalar.
+ */
+final class VectorWaterNeedKernel {
+
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    private static final int KEINE = EmpfehlungsStufe.KEINE.ordinal();
+    private static final int NORMAL = EmpfehlungsStufe.NORMAL.ordinal();
+    private static final int ERHOEHT = EmpfehlungsStufe.ERHOEHT.ordinal();
+    private static final int KRITISCH = EmpfehlungsStufe.KRITISCH.ordinal();
+
+    private VectorWaterNeedKernel() {
+    }
+
+    /**
+     * Stufen-Ordinale brauchen Int-Vektoren mit derselben Lane-Zahl (halbe Bitbreite)
+     */
+    static boolean isSupported() {
+        return SPECIES.length() >= 2;
+    }
+
+    static int lanes() {
+        return SPECIES.length();
+    }
+
+    /**
+     * Ungerundeter Wasserbedarf, 0 für Feuchte im Sollbereich
+     */
+    static int computeNeed(WaterNeedBatch batch, double weatherFactor) {
+        int bound = SPECIES.loopBound(batch.size());
+        DoubleVector one = DoubleVector.broadcast(SPECIES, 1.0);
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector moisture = DoubleVector.fromArray(SPECIES, batch.moisture, i);
+            DoubleVector lower = DoubleVector.fromArray(SPECIES, batch.lower, i);
+            DoubleVector upper = DoubleVector.fromArray(SPECIES, batch.upper, i);
+
+            VectorMask<Double> below = moisture.compare(VectorOperators.LT, lower);
+            VectorMask<Double> above = moisture.compare(VectorOperators.GT, upper);
+            VectorMask<Double> inRange = inRange(moisture, lower, upper);
+
+            // Gleiche Operationen wie calculateMoistureFactor, nur je Lane
+            DoubleVector belowFactor = one.add(lower.sub(moisture).div(10.0));
+            DoubleVector aboveFactor = one.sub(moisture.sub(upper).div(20.0)).max(0.1);
+            DoubleVector moistureFactor = one.blend(belowFactor, below).blend(aboveFactor, above);
+
+            DoubleVector need = DoubleVector.fromArray(SPECIES, batch.baseNeed, i)
+                    .mul(moistureFactor)
+                    .mul(weatherFactor)
+                    .mul(DoubleVector.fromArray(SPECIES, batch.soilFactor, i))
+                    .mul(DoubleVector.fromArray(SPECIES, batch.ageFactor, i));
+            need.blend(0.0, inRange).intoArray(batch.waterNeed, i);
+        }
+        return i;
+    }
+
+    /**
+     * Stufe aus gerundetem Wasserbedarf; spätere Blends haben Vorrang wie die Regelreihenfolge
+     */
+    static int classify(WaterNeedBatch batch) {
+        VectorSpecies<Integer> intSpecies = VectorSpecies.of(int.class,
+                VectorShape.forBitSize(SPECIES.vectorBitSize() / 2));
+        int bound = SPECIES.loopBound(batch.size());
+        int i = 0;
+        for (; i < bound; i += SPECIES.length()) {
+            DoubleVector moisture = DoubleVector.fromArray(SPECIES, batch.moisture, i);
+            DoubleVector need = DoubleVector.fromArray(SPECIES, batch.waterNeed, i);
+            DoubleVector increased = DoubleVector.fromArray(SPECIES, batch.baseNeed, i)
+                    .mul(OlivenIrrigationRuleService.INCREASED_NEED_FACTOR);
+            VectorMask<Double> outOfRange = inRange(moisture,
+                    DoubleVector.fromArray(SPECIES, batch.lower, i),
+                    DoubleVector.fromArray(SPECIES, batch.upper, i)).not();
+
+            VectorMask<Double> normal = outOfRange.and(need.compare(VectorOperators.GT, 0.0));
+            VectorMask<Double> erhoeht = outOfRange.and(need.compare(VectorOperators.GT, increased));
+            VectorMask<Double> kritisch = outOfRange.and(moisture.compare(VectorOperators.LT,
+                    OlivenIrrigationRuleService.CRITICAL_MOISTURE_THRESHOLD));
+
+            IntVector.broadcast(intSpecies, KEINE)
+                    .blend(NORMAL, normal.cast(intSpecies))
+                    .blend(ERHOEHT, erhoeht.cast(intSpecies))
+                    .blend(KRITISCH, kritisch.cast(intSpecies))
+                    .intoArray(batch.stufe, i);
+        }
+        return i;
+    }
+
+    private static VectorMask<Double> inRange(DoubleVector moisture, DoubleVector lower, DoubleVector upper) {
+        return moisture.compare(VectorOperators.GE, lower).and(moisture.compare(VectorOperators.LE, upper));
+    }
+}
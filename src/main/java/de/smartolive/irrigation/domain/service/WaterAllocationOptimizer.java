@@ -0,0 +1,250 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.SystemConfiguration;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Verteilt das Tageslimit ({@link SystemConfiguration#getDailyWaterLimitLiters()}) auf die
+ * Parzellen, wenn der Gesamtbedarf es übersteigt. Verfügbar ist das Minimum aus Tageslimit
+ * und Pumpenkapazität (Förderstrom × Betriebsminuten); jede Parzelle erhält höchstens,
+ * was ihr Ventil in {@code maxDailyDurationMinutes} liefern kann.
+ *
+ * Die Stufen werden nacheinander bedient (KRITISCH, ERHOEHT, NORMAL, FALLBACK). Reicht das
+ * Wasser für eine Stufe nicht mehr, wird der Rest innerhalb der Stufe gewichtet nach
+ * Feuchtedefizit und Baumalter aufgefüllt (Water-Filling): alle Parzellen erhalten denselben
+ * Anteil ihres Gewichts, Parzellen mit kleinerem Bedarf sind zuerst voll versorgt.
+ * Aufwand O(n log n) durch eine Sortierung je Stufe.
+ */
+@Service
+public class WaterAllocationOptimizer {
+
+    private static final EmpfehlungsStufe[] PRIORITY = {
+            EmpfehlungsStufe.KRITISCH, EmpfehlungsStufe.ERHOEHT, EmpfehlungsStufe.NORMAL, EmpfehlungsStufe.FALLBACK
+    };
+
+    private final double pumpFlowLitersPerMinute;
+    private final int pumpOperatingMinutes;
+
+    public WaterAllocationOptimizer(@Value("${app.allocation.pump-flow-liters-per-minute:500}") double pumpFlowLitersPerMinute,
+                                    @Value("${app.allocation.pump-operating-minutes:600}") int pumpOperatingMinutes) {
+        this.pumpFlowLitersPerMinute = pumpFlowLitersPerMinute;
+        this.pumpOperatingMinutes = pumpOperatingMinutes;
+    }
+
+    /**
+     * Verteilt das verfügbare Wasser gemäß Tageslimit der Systemkonfiguration
+     */
+    public AllocationPlan allocate(List<AllocationRequest> requests, SystemConfiguration configuration) {
+        return allocate(requests, configuration.getDailyWaterLimitLiters());
+    }
+
+    public AllocationPlan allocate(List<AllocationRequest> requests, double dailyLimitLiters) {
+        double pumpCapacity = pumpFlowLitersPerMinute * pumpOperatingMinutes;
+        double available = Math.max(0.0, Math.min(dailyLimitLiters, pumpCapacity));
+        String limitedBy = pumpCapacity < dailyLimitLiters ? "Pumpenkapazität" : "Tageslimit";
+
+        int n = requests.size();
+        double[] demand = new double[n];
+        double[] allocated = new double[n];
+        double totalDemand = 0.0;
+        for (int i = 0; i < n; i++) {
+            AllocationRequest request = requests.get(i);
+            demand[i] = Math.max(0.0, Math.min(request.getRequestedLiters(), request.getMaxLiters()));
+            totalDemand += demand[i];
+        }
+
+        double remaining = available;
+        for (EmpfehlungsStufe stufe : PRIORITY) {
+            if (remaining <= 0.0) {
+                break;
+            }
+            int[] tier = tier(requests, demand, stufe);
+            double tierDemand = 0.0;
+            for (int i : tier) {
+                tierDemand += demand[i];
+            }
+            if (tierDemand <= remaining) {
+                for (int i : tier) {
+                    allocated[i] = demand[i];
+                }
+                remaining -= tierDemand;
+            } else {
+                fill(requests, demand, allocated, tier, remaining);
+                remaining = 0.0;
+            }
+        }
+
+        List<Allocation> allocations = new ArrayList<>(n);
+        double totalAllocated = 0.0;
+        for (int i = 0; i < n; i++) {
+            AllocationRequest request = requests.get(i);
+            allocations.add(new Allocation(request.getParzelleId(), request.getStufe(),
+                    request.getRequestedLiters(), allocated[i]));
+            totalAllocated += allocated[i];
+        }
+        return new AllocationPlan(allocations, totalDemand, available, totalAllocated,
+                totalDemand > available ? limitedBy : null);
+    }
+
+    private static int[] tier(List<AllocationRequest> requests, double[] demand, EmpfehlungsStufe stufe) {
+        int[] tier = new int[requests.size()];
+        int size = 0;
+        for (int i = 0; i < requests.size(); i++) {
+            if (requests.get(i).getStufe() == stufe && demand[i] > 0.0) {
+                tier[size++] = i;
+            }
+        }
+        return Arrays.copyOf(tier, size);
+    }
+
+    /**
+     * Water-Filling: Jede Parzelle erhält {@code min(Bedarf, level × Gewicht)}, wobei
+     * {@code level} so gewählt ist, dass genau {@code volume} verteilt wird
+     */
+    private static void fill(List<AllocationRequest> requests, double[] demand, double[] allocated,
+                             int[] tier, double volume) {
+        int size = tier.length;
+        double[] weights = new double[size];
+        double remainingWeight = 0.0;
+        for (int k = 0; k < size; k++) {
+            weights[k] = requests.get(tier[k]).getWeight();
+            remainingWeight += weights[k];
+        }
+        // Nach Sättigungspunkt (Bedarf / Gewicht) sortieren
+        Integer[] byLevel = new Integer[size];
+        for (int k = 0; k < size; k++) {
+            byLevel[k] = k;
+        }
+        Arrays.sort(byLevel, (a, b) -> Double.compare(demand[tier[a]] / weights[a], demand[tier[b]] / weights[b]));
+
+        double remaining = volume;
+        int k = 0;
+        for (; k < size; k++) {
+            int slot = byLevel[k];
+            double saturation = demand[tier[slot]] / weights[slot];
+            if (saturation * remainingWeight > remaining) {
+                break;
+            }
+            allocated[tier[slot]] = demand[tier[slot]];
+            remaining -= demand[tier[slot]];
+            remainingWeight -= weights[slot];
+        }
+        double level = remainingWeight > 0.0 ? remaining / remainingWeight : 0.0;
+        for (; k < size; k++) {
+            int slot = byLevel[k];
+            allocated[tier[slot]] = level * weights[slot];
+        }
+    }
+
+    // Hilfsklassen für Ein- und Rückgabe
+
+    public static class AllocationRequest {
+        private final Long parzelleId;
+        private final EmpfehlungsStufe stufe;
+        private final double requestedLiters;
+        private final double maxLiters;
+        private final double deficitPercent;
+        private final int alterJahre;
+
+        public AllocationRequest(Long parzelleId, EmpfehlungsStufe stufe, double requestedLiters,
+                                 double maxLiters, double deficitPercent, int alterJahre) {
+            this.parzelleId = parzelleId;
+            this.stufe = stufe;
+            this.requestedLiters = requestedLiters;
+            this.maxLiters = maxLiters;
+            this.deficitPercent = Math.max(0.0, deficitPercent);
+            this.alterJahre = alterJahre;
+        }
+
+        /**
+         * Anfrage aus Empfehlung und aktueller Feuchte; Obergrenze ist die Ventilleistung
+         * über die maximale Tagesdauer der Parzelle
+         */
+        public static AllocationRequest of(OlivenParzelle parzelle, BewaesserungsEmpfehlung empfehlung,
+                                           double currentMoisture) {
+            MoistureRange range = parzelle.getTargetMoistureRange();
+            return new AllocationRequest(parzelle.getId(), empfehlung.getStufe(),
+                    empfehlung.getEmpfohleneMengeLiter(),
+                    parzelle.getMaxDailyDurationMinutes() * OlivenIrrigationRuleService.VALVE_FLOW_LITERS_PER_MINUTE,
+                    range.getLower() - currentMoisture,
+                    parzelle.getProfil().getAlterJahre());
+        }
+
+        /**
+         * Gewicht innerhalb einer Stufe: +10 % je Prozentpunkt Defizit, junge Bäume höher
+         */
+        double getWeight() {
+            return (1.0 + deficitPercent / 10.0) * OlivenIrrigationRuleService.calculateAgeFactor(alterJahre);
+        }
+
+        public Long getParzelleId() { return parzelleId; }
+        public EmpfehlungsStufe getStufe() { return stufe; }
+        public double getRequestedLiters() { return requestedLiters; }
+        public double getMaxLiters() { return maxLiters; }
+        public double getDeficitPercent() { return deficitPercent; }
+        public int getAlterJahre() { return alterJahre; }
+    }
+
+    public static class Allocation {
+        private final Long parzelleId;
+        private final EmpfehlungsStufe stufe;
+        private final double requestedLiters;
+        private final double allocatedLiters;
+
+        public Allocation(Long parzelleId, EmpfehlungsStufe stufe, double requestedLiters, double allocatedLiters) {
+            this.parzelleId = parzelleId;
+            this.stufe = stufe;
+            this.requestedLiters = requestedLiters;
+            this.allocatedLiters = allocatedLiters;
+        }
+
+        public Long getParzelleId() { return parzelleId; }
+        public EmpfehlungsStufe getStufe() { return stufe; }
+        public double getRequestedLiters() { return requestedLiters; }
+        public double getAllocatedLiters() { return allocatedLiters; }
+
+        public boolean isFullySupplied() {
+            return allocatedLiters >= requestedLiters;
+        }
+    }
+
+    public static class AllocationPlan {
+        private final List<Allocation> allocations;
+        private final double totalDemandLiters;
+        private final double availableLiters;
+        private final double totalAllocatedLiters;
+        private final String limitedBy;
+
+        public AllocationPlan(List<Allocation> allocations, double totalDemandLiters, double availableLiters,
+                              double totalAllocatedLiters, String limitedBy) {
+            this.allocations = List.copyOf(allocations);
+            this.totalDemandLiters = totalDemandLiters;
+            this.availableLiters = availableLiters;
+            this.totalAllocatedLiters = totalAllocatedLiters;
+            this.limitedBy = limitedBy;
+        }
+
+        public List<Allocation> getAllocations() { return allocations; }
+        public double getTotalDemandLiters() { return totalDemandLiters; }
+        public double getAvailableLiters() { return availableLiters; }
+        public double getTotalAllocatedLiters() { return totalAllocatedLiters; }
+
+        /**
+         * "Tageslimit" oder "Pumpenkapazität", {@code null} wenn der Bedarf vollständig gedeckt ist
+         */
+        public String getLimitedBy() { return limitedBy; }
+
+        public boolean isLimited() {
+            return limitedBy != null;
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Was-wäre-wenn-Simulation über die Vorhersage: Je Szenario wird für jeden Tag gewürfelt,
+ * ob es regnet (mit {@code niederschlagWahrscheinlichkeit}) und wie viel (±50 % um die
+ * vorhergesagte Menge), die Verdunstung schwankt um ±15 %. Mit dieser Wasserbilanz wird
+ * die Bodenfeuchte je Parzelle Tag für Tag fortgeschrieben; der tägliche Bedarf folgt den
+ * Faktoren der Regelauswertung. Ergebnis ist je Parzelle die Verteilung des Gesamtbedarfs
+ * über den Zeitraum (P10/P50/P90).
+ *
+ * Die Parzellen werden im eigenen Fork/Join-Pool rekursiv aufgeteilt. Jede Parzelle hat
+ * einen eigenen, aus Seed und Position abgeleiteten Zufallsgenerator, die Ergebnisse
+ * hängen daher nicht von der Thread-Verteilung ab.
+ */
+@Service
+public class WaterBalanceSimulator {
+
+    static final int MAX_DAYS = 14;
+    private static final int PARZELLEN_PER_TASK = 16;
+
+    // Wasserbilanz in Feuchteprozent: mm Wasser je Prozentpunkt bei Lehm, Kulturkoeffizient Olive
+    private static final double MM_PER_PERCENT = 2.0;
+    private static final double OLIVE_CROP_COEFFICIENT = 0.65;
+    private static final double EFFECTIVE_RAIN_SHARE = 0.8;
+    private static final double LIGHT_RAIN_MM = 1.0;
+    private static final double ET_VARIATION = 0.15;
+
+    private final EvaluationContextLoader contextLoader;
+    private final ForkJoinPool simulationPool;
+    private final int defaultScenarios;
+
+    public WaterBalanceSimulator(EvaluationContextLoader contextLoader,
+                                 @Value("${app.simulation.parallelism:0}") int parallelism,
+                                 @Value("${app.simulation.scenarios:2000}") int defaultScenarios) {
+        this.contextLoader = contextLoader;
+        this.simulationPool = new ForkJoinPool(
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        this.defaultScenarios = defaultScenarios;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        simulationPool.shutdownNow();
+    }
+
+    /**
+     * Simuliert alle Parzellen ab ihrer letzten Messung mit der konfigurierten Szenarienzahl
+     */
+    public SimulationResult simulate(List<Wetterdaten> forecast) {
+        EvaluationContext context = contextLoader.load(LocalDateTime.now());
+        Map<Long, Double> moisture = new HashMap<>();
+        for (OlivenParzelle parzelle : context.getParzellen()) {
+            SensorReading reading = context.getLatestReading(parzelle.getId());
+            if (reading != null && reading.isValid()) {
+                moisture.put(parzelle.getId(), reading.getMoisturePercent());
+            }
+        }
+        return simulate(context.getParzellen(), moisture, forecast, defaultScenarios, System.nanoTime());
+    }
+
+    /**
+     * Simuliert die Parzellen über höchstens {@value #MAX_DAYS} Vorhersagetage. Parzellen
+     * ohne Startfeuchte beginnen in der Mitte ihres Sollbereichs.
+     */
+    public SimulationResult simulate(List<OlivenParzelle> parzellen,
+                                     Map<Long, Double> currentMoisture,
+                                     List<Wetterdaten> forecast,
+                                     int scenarios,
+                                     long seed) {
+        if (forecast.isEmpty()) {
+            throw new IllegalArgumentException("Vorhersage darf nicht leer sein");
+        }
+        if (scenarios < 1) {
+            throw new IllegalArgumentException("Mindestens ein Szenario erforderlich");
+        }
+
+        Forecast days = new Forecast(forecast.subList(0, Math.min(forecast.size(), MAX_DAYS)));
+        WaterNeedDistribution[] distributions = new WaterNeedDistribution[parzellen.size()];
+        simulationPool.invoke(new SimulationTask(parzellen, currentMoisture, days, scenarios, seed,
+                distributions, 0, parzellen.size()));
+
+        return new SimulationResult(days.size, scenarios, Arrays.asList(distributions));
+    }
+
+    private static WaterNeedDistribution simulateParzelle(OlivenParzelle parzelle, double startMoisture,
+                                                          Forecast forecast, int scenarios,
+                                                          SplittableRandom random) {
+        OlivenbaumProfil profil = parzelle.getProfil();
+        MoistureRange range = parzelle.getTargetMoistureRange();
+        double lower = range.getLower();
+        double upper = range.getUpper();
+        double refill = (lower + upper) / 2.0;
+        double soilFactor = OlivenIrrigationRuleService.calculateSoilFactor(profil.getBodenTyp());
+        double ageFactor = OlivenIrrigationRuleService.calculateAgeFactor(profil.getAlterJahre());
+        double baseNeed = profil.getBasisWasserbedarfLiterProTag();
+        // Schlecht speichernde Böden reagieren stärker auf jeden Millimeter
+        double percentPerMm = soilFactor / MM_PER_PERCENT;
+
+        double[] totals = new double[scenarios];
+        for (int scenario = 0; scenario < scenarios; scenario++) {
+            double moisture = startMoisture;
+            double total = 0.0;
+            for (int day = 0; day < forecast.size; day++) {
+                double rain = random.nextDouble() < forecast.rainProbability[day]
+                        ? forecast.rainMm[day] * (0.5 + random.nextDouble())
+                        : 0.0;
+                double et = forecast.et0Mm[day] * OLIVE_CROP_COEFFICIENT
+                        * (1.0 - ET_VARIATION + 2.0 * ET_VARIATION * random.nextDouble());
+                moisture += (rain * EFFECTIVE_RAIN_SHARE - et) * percentPerMm;
+                moisture = Math.max(0.0, Math.min(100.0, moisture));
+
+                boolean skip = forecast.skipDay[day] || rain > OlivenIrrigationRuleService.RAIN_THRESHOLD_MM;
+                if (skip || (moisture >= lower && moisture <= upper)) {
+                    continue;
+                }
+                total += baseNeed * OlivenIrrigationRuleService.calculateMoistureFactor(moisture, lower, upper)
+                        * forecast.weatherFactor[day] * soilFactor * ageFactor;
+                if (moisture < lower) {
+                    // Die Bewässerung füllt bis zur Mitte des Sollbereichs auf
+                    moisture = refill;
+                }
+            }
+            totals[scenario] = total;
+        }
+
+        Arrays.sort(totals);
+        double sum = 0.0;
+        for (double total : totals) {
+            sum += total;
+        }
+        return new WaterNeedDistribution(parzelle.getId(), percentile(totals, 0.10),
+                percentile(totals, 0.50), percentile(totals, 0.90), sum / scenarios);
+    }
+
+    /**
+     * Nearest-Rank-Perzentil eines sortierten Arrays
+     */
+    static double percentile(double[] sorted, double p) {
+        int rank = (int) Math.ceil(p * sorted.length);
+        return sorted[Math.max(0, Math.min(sorted.length - 1, rank - 1))];
+    }
+
+    /**
+     * Vorhersagewerte je Tag als Arrays, einmal pro Simulation aufbereitet
+     */
+    private static final class Forecast {
+        final int size;
+        final double[] rainProbability;
+        final double[] rainMm;
+        final double[] et0Mm;
+        final double[] weatherFactor;
+        final boolean[] skipDay;
+
+        Forecast(List<Wetterdaten> days) {
+            size = days.size();
+            rainProbability = new double[size];
+            rainMm = new double[size];
+            et0Mm = new double[size];
+            weatherFactor = new double[size];
+            skipDay = new boolean[size];
+            for (int day = 0; day < size; day++) {
+                Wetterdaten wetter = days.get(day);
+                rainProbability[day] = wetter.getNiederschlagWahrscheinlichkeit() / 100.0;
+                rainMm[day] = wetter.getNiederschlagMm24h() > 0 ? wetter.getNiederschlagMm24h() : LIGHT_RAIN_MM;
+                et0Mm[day] = wetter.getEvapotranspirationMm();
+                weatherFactor[day] = wetter.getWaterNeedFactor();
+                // Frost und Sturm sind in jedem Szenario gleich
+                skipDay[day] = wetter.getTemperaturCelsius() < OlivenIrrigationRuleService.FROST_THRESHOLD_CELSIUS
+                        || wetter.getWindGeschwindigkeitKmh() > OlivenIrrigationRuleService.MAX_WIND_KMH;
+            }
+        }
+    }
+
+    private static final class SimulationTask extends RecursiveAction {
+        private final List<OlivenParzelle> parzellen;
+        private final Map<Long, Double> currentMoisture;
+        private final Forecast forecast;
+        private final int scenarios;
+        private final long seed;
+        private final WaterNeedDistribution[] results;
+        private final int from;
+        private final int to;
+
+        SimulationTask(List<OlivenParzelle> parzellen, Map<Long, Double> currentMoisture, Forecast forecast,
+                       int scenarios, long seed, WaterNeedDistribution[] results, int from, int to) {
+            this.parzellen = parzellen;
+            this.currentMoisture = currentMoisture;
+            this.forecast = forecast;
+            this.scenarios = scenarios;
+            this.seed = seed;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > PARZELLEN_PER_TASK) {
+                int middle = (from + to) >>> 1;
+                invokeAll(
+                        new SimulationTask(parzellen, currentMoisture, forecast, scenarios, seed, results, from, middle),
+                        new SimulationTask(parzellen, currentMoisture, forecast, scenarios, seed, results, middle, to));
+                return;
+            }
+            for (int i = from; i < to; i++) {
+                OlivenParzelle parzelle = parzellen.get(i);
+                MoistureRange range = parzelle.getTargetMoistureRange();
+                Double moisture = currentMoisture.get(parzelle.getId());
+                double start = moisture != null ? moisture : (range.getLower() + range.getUpper()) / 2.0;
+                SplittableRandom random = new SplittableRandom(seed + i * 0x9E3779B97F4A7C15L);
+                results[i] = simulateParzelle(parzelle, start, forecast, scenarios, random);
+            }
+        }
+    }
+
+    // Hilfsklassen für die Rückgabe
+
+    public static class WaterNeedDistribution {
+        private final Long parzelleId;
+        private final double p10;
+        private final double p50;
+        private final double p90;
+        private final double mean;
+
+        public WaterNeedDistribution(Long parzelleId, double p10, double p50, double p90, double mean) {
+            this.parzelleId = parzelleId;
+            this.p10 = p10;
+            this.p50 = p50;
+            this.p90 = p90;
+            this.mean = mean;
+        }
+
+        public Long getParzelleId() { return parzelleId; }
+        public double getP10() { return p10; }
+        public double getP50() { return p50; }
+        public double getP90() { return p90; }
+        public double getMean() { return mean; }
+    }
+
+    public static class SimulationResult {
+        private final int days;
+        private final int scenarios;
+        private final List<WaterNeedDistribution> distributions;
+
+        public SimulationResult(int days, int scenarios, List<WaterNeedDistribution> distributions) {
+            this.days = days;
+            this.scenarios = scenarios;
+            this.distributions = List.copyOf(distributions);
+        }
+
+        public int getDays() { return days; }
+        public int getScenarios() { return scenarios; }
+        public List<WaterNeedDistribution> getDistributions() { return distributions; }
+
+        public WaterNeedDistribution getDistribution(Long parzelleId) {
+            for (WaterNeedDistribution distribution : distributions) {
+                if (Objects.equals(distribution.getParzelleId(), parzelleId)) {
+                    return distribution;
+                }
+            }
+            return null;
+        }
+
+        /**
+         * Summe der Mediane aller Parzellen (kein Perzentil des Betriebs)
+         */
+        public double getTotalP50() {
+            return distributions.stream().mapToDouble(WaterNeedDistribution::getP50).sum();
+        }
+    }
+}
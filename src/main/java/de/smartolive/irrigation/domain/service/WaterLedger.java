@@ -0,0 +1,272 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.DailyWaterLedger;
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.repository.DailyWaterLedgerRepository;
+import de.smartolive.irrigation.domain.repository.IrrigationEventRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Führt das Wasserbuch ({@link DailyWaterLedger}) je Parzelle und Tag, damit Tageslimit
+ * und Monatsberichte nicht jedes Mal {@code irrigation_events} aufsummieren.
+ *
+ * Bewässerungsereignisse werden über {@link #recordStart} und {@link #recordCompletion}
+ * angelegt bzw. beendet; die Buchung im Wasserbuch läuft in derselben Transaktion.
+ * Für den laufenden Tag hält der Dienst zusätzlich Zähler im Speicher, die erst nach
+ * dem Commit fortgeschrieben werden. Solange sie nicht aufgewärmt sind ({@link #isWarm()}),
+ * wird der Tageswert aus der Datenbank gelesen.
+ */
+@Service
+public class WaterLedger {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterLedger.class);
+
+    private final IrrigationEventRepository eventRepository;
+    private final DailyWaterLedgerRepository ledgerRepository;
+    private final RecommendationCache recommendationCache;
+    private final TransactionTemplate newTransaction;
+    private volatile TodayCounters today = new TodayCounters(LocalDate.now());
+    private volatile boolean warm;
+
+    public WaterLedger(IrrigationEventRepository eventRepository,
+                       DailyWaterLedgerRepository ledgerRepository,
+                       RecommendationCache recommendationCache,
+                       PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.recommendationCache = recommendationCache;
+        this.newTransaction = new TransactionTemplate(transactionManager);
+        this.newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Übernimmt die Tageswerte aller Parzellen mit einer Abfrage. Läuft beim Start,
+     * bevor Ereignisse gebucht werden.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            TodayCounters counters = new TodayCounters(LocalDate.now());
+            List<DailyWaterLedger> rows = ledgerRepository.findByDay(counters.day);
+            for (DailyWaterLedger row : rows) {
+                counters.add(row.getParzelleId(), row.getLiters(), row.getEventCount(), row.getTotalMinutes());
+            }
+            today = counters;
+            warm = true;
+            log.info("Wasserbuch aufgewärmt: {} Parzellen mit Verbrauch am {}", rows.size(), counters.day);
+        } catch (RuntimeException e) {
+            log.warn("Wasserbuch konnte nicht aufgewärmt werden – Tageswerte kommen aus der Datenbank", e);
+        }
+    }
+
+    /**
+     * Legt ein Bewässerungsereignis an und bucht Menge und Anzahl auf seinen Starttag
+     */
+    @Transactional
+    public IrrigationEvent recordStart(IrrigationEvent event) {
+        IrrigationEvent saved = eventRepository.save(event);
+        book(saved.getParzelleId(), saved.getStartTime().toLocalDate(), saved.getWasserMengeLiter(), 1, 0);
+        return saved;
+    }
+
+    /**
+     * Beendet ein laufendes Bewässerungsereignis und bucht die Dauer auf seinen Starttag
+     */
+    @Transactional
+    public IrrigationEvent recordCompletion(Long eventId, String bemerkung) {
+        IrrigationEvent event = eventRepository.findById(eventId)
+                .orElseThrow(() -> new IllegalArgumentException("Bewässerungsereignis nicht gefunden: " + eventId));
+        if (!event.isActive()) {
+            throw new IllegalStateException("Bewässerungsereignis bereits beendet: " + eventId);
+        }
+        event.complete(bemerkung);
+        book(event.getParzelleId(), event.getStartTime().toLocalDate(), 0.0, 0, event.getDurationMinutes());
+        return event;
+    }
+
+    private void book(Long parzelleId, LocalDate day, double liters, long events, long minutes) {
+        if (ledgerRepository.addToDay(parzelleId, day, liters, events, minutes) == 0) {
+            createDay(parzelleId, day);
+            if (ledgerRepository.addToDay(parzelleId, day, liters, events, minutes) == 0) {
+                throw new IllegalStateException("Wasserbuch-Tag fehlt: Parzelle " + parzelleId + ", " + day);
+            }
+        }
+        Runnable afterCommit = () -> {
+            currentCounters().addIfToday(day, parzelleId, liters, events, minutes);
+            recommendationCache.invalidate(parzelleId);
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    afterCommit.run();
+                }
+            });
+        } else {
+            afterCommit.run();
+        }
+    }
+
+    /**
+     * Legt die leere Zeile eines Tages in eigener Transaktion an. Bei gleichzeitigen
+     * Erstbuchungen scheitert nur diese kleine Transaktion am Unique-Constraint, nicht die
+     * des Aufrufers; danach existiert die Zeile in jedem Fall.
+     */
+    private void createDay(Long parzelleId, LocalDate day) {
+        try {
+            newTransaction.executeWithoutResult(status ->
+                    ledgerRepository.save(new DailyWaterLedger(parzelleId, day, 0.0, 0, 0)));
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Wasserbuch-Tag {} für Parzelle {} wurde gleichzeitig angelegt", day, parzelleId);
+        }
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    /**
+     * Heute verbrauchte Liter der Parzelle; ohne Datenbankzugriff, sobald aufgewärmt
+     */
+    public double getTodayLiters(Long parzelleId) {
+        if (warm) {
+            return currentCounters().liters(parzelleId);
+        }
+        return getDay(parzelleId, LocalDate.now()).map(DailyWaterLedger::getLiters).orElse(0.0);
+    }
+
+    public Optional<DailyWaterLedger> getDay(Long parzelleId, LocalDate day) {
+        return ledgerRepository.findByParzelleIdAndDay(parzelleId, day);
+    }
+
+    public double getMonthlyLiters(Long parzelleId, YearMonth month) {
+        return getWaterBalance(parzelleId, month.atDay(1), month.atEndOfMonth());
+    }
+
+    /**
+     * Verbrauch im Zeitraum (beide Tage einschließlich)
+     */
+    public double getWaterBalance(Long parzelleId, LocalDate from, LocalDate to) {
+        return ledgerRepository.sumLiters(parzelleId, from, to).orElse(0.0);
+    }
+
+    /**
+     * Monatsbericht aus höchstens einer Wasserbuch-Zeile je Tag
+     */
+    public MonthlyWaterReport getMonthlyReport(Long parzelleId, YearMonth month) {
+        List<DailyWaterLedger> days = ledgerRepository.findByParzelleIdAndDayBetweenOrderByDayAsc(
+                parzelleId, month.atDay(1), month.atEndOfMonth());
+        double liters = 0.0;
+        long events = 0;
+        long minutes = 0;
+        for (DailyWaterLedger day : days) {
+            liters += day.getLiters();
+            events += day.getEventCount();
+            minutes += day.getTotalMinutes();
+        }
+        return new MonthlyWaterReport(parzelleId, month, days, liters, events, minutes);
+    }
+
+    /**
+     * Zähler des aktuellen Tages; nach Mitternacht beginnt ein neuer, leerer Satz
+     */
+    private TodayCounters currentCounters() {
+        TodayCounters counters = today;
+        LocalDate now = LocalDate.now();
+        if (!counters.day.equals(now)) {
+            synchronized (this) {
+                counters = today;
+                if (!counters.day.equals(now)) {
+                    counters = new TodayCounters(now);
+                    today = counters;
+                }
+            }
+        }
+        return counters;
+    }
+
+    private static final class TodayCounters {
+        private final LocalDate day;
+        private final Map<Long, DayCounters> byParzelle = new ConcurrentHashMap<>();
+
+        TodayCounters(LocalDate day) {
+            this.day = day;
+        }
+
+        void addIfToday(LocalDate bookingDay, Long parzelleId, double liters, long events, long minutes) {
+            if (day.equals(bookingDay)) {
+                add(parzelleId, liters, events, minutes);
+            }
+        }
+
+        void add(Long parzelleId, double liters, long events, long minutes) {
+            DayCounters counters = byParzelle.computeIfAbsent(parzelleId, id -> new DayCounters());
+            counters.liters.add(liters);
+            counters.events.add(events);
+            counters.minutes.add(minutes);
+        }
+
+        double liters(Long parzelleId) {
+            DayCounters counters = byParzelle.get(parzelleId);
+            return counters != null ? counters.liters.sum() : 0.0;
+        }
+    }
+
+    private static final class DayCounters {
+        private final DoubleAdder liters = new DoubleAdder();
+        private final LongAdder events = new LongAdder();
+        private final LongAdder minutes = new LongAdder();
+    }
+
+    // Hilfsklassen für die Rückgabe
+
+    public static class MonthlyWaterReport {
+        private final Long parzelleId;
+        private final YearMonth month;
+        private final List<DailyWaterLedger> days;
+        private final double totalLiters;
+        private final long eventCount;
+        private final long totalMinutes;
+
+        public MonthlyWaterReport(Long parzelleId, YearMonth month, List<DailyWaterLedger> days,
+                                  double totalLiters, long eventCount, long totalMinutes) {
+            this.parzelleId = parzelleId;
+            this.month = month;
+            this.days = List.copyOf(days);
+            this.totalLiters = totalLiters;
+            this.eventCount = eventCount;
+            this.totalMinutes = totalMinutes;
+        }
+
+        public Long getParzelleId() { return parzelleId; }
+        public YearMonth getMonth() { return month; }
+
+        /**
+         * Tage mit Verbrauch, aufsteigend; Tage ohne Bewässerung fehlen
+         */
+        public List<DailyWaterLedger> getDays() { return days; }
+        public double getTotalLiters() { return totalLiters; }
+        public long getEventCount() { return eventCount; }
+        public long getTotalMinutes() { return totalMinutes; }
+    }
+}
@@ -0,0 +1,103 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+
+import java.util.Arrays;
+
+/**
+ * Eingaben und Ergebnisse der Wasserbedarfsberechnung für viele Parzellen als
+ * Struct-of-Arrays: je Eingröße ein zusammenhängendes {@code double[]}, damit
+ * {@link WaterNeedBatchCalculator} mehrere Parzellen je Rechenschritt verarbeiten kann.
+ *
+ * Boden- und Altersfaktor hängen nur vom Profil ab und werden beim Hinzufügen bestimmt.
+ */
+public class WaterNeedBatch {
+
+    private static final EmpfehlungsStufe[] STUFEN = EmpfehlungsStufe.values();
+
+    private long[] parzelleIds;
+    double[] baseNeed;
+    double[] moisture;
+    double[] lower;
+    double[] upper;
+    double[] soilFactor;
+    double[] ageFactor;
+    double[] waterNeed;
+    int[] stufe;           // Ordinal der EmpfehlungsStufe
+    private int size;
+
+    public WaterNeedBatch(int initialCapacity) {
+        int capacity = Math.max(1, initialCapacity);
+        parzelleIds = new long[capacity];
+        baseNeed = new double[capacity];
+        moisture = new double[capacity];
+        lower = new double[capacity];
+        upper = new double[capacity];
+        soilFactor = new double[capacity];
+        ageFactor = new double[capacity];
+        waterNeed = new double[capacity];
+        stufe = new int[capacity];
+    }
+
+    /**
+     * Nimmt eine Parzelle mit ihrer aktuellen Bodenfeuchte auf; liefert den Index
+     */
+    public int add(OlivenParzelle parzelle, double currentMoisture) {
+        if (size == parzelleIds.length) {
+            grow();
+        }
+        OlivenbaumProfil profil = parzelle.getProfil();
+        MoistureRange range = parzelle.getTargetMoistureRange();
+        int index = size++;
+        parzelleIds[index] = parzelle.getId() != null ? parzelle.getId() : -1;
+        baseNeed[index] = profil.getBasisWasserbedarfLiterProTag();
+        moisture[index] = currentMoisture;
+        lower[index] = range.getLower();
+        upper[index] = range.getUpper();
+        soilFactor[index] = OlivenIrrigationRuleService.calculateSoilFactor(profil.getBodenTyp());
+        ageFactor[index] = OlivenIrrigationRuleService.calculateAgeFactor(profil.getAlterJahre());
+        return index;
+    }
+
+    /**
+     * Leert den Batch, die Arrays werden wiederverwendet
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long getParzelleId(int index) {
+        return parzelleIds[index];
+    }
+
+    /**
+     * Berechneter Wasserbedarf in Litern, 0 bei Feuchte im Sollbereich
+     */
+    public double getWaterNeed(int index) {
+        return waterNeed[index];
+    }
+
+    public EmpfehlungsStufe getStufe(int index) {
+        return STUFEN[stufe[index]];
+    }
+
+    private void grow() {
+        int capacity = parzelleIds.length * 2;
+        parzelleIds = Arrays.copyOf(parzelleIds, capacity);
+        baseNeed = Arrays.copyOf(baseNeed, capacity);
+        moisture = Arrays.copyOf(moisture, capacity);
+        lower = Arrays.copyOf(lower, capacity);
+        upper = Arrays.copyOf(upper, capacity);
+        soilFactor = Arrays.copyOf(soilFactor, capacity);
+        ageFactor = Arrays.copyOf(ageFactor, capacity);
+        waterNeed = Arrays.copyOf(waterNeed, capacity);
+        stufe = Arrays.copyOf(stufe, capacity);
+    }
+}
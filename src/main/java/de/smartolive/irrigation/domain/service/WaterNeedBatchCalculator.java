@@ -0,0 +1,98 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Berechnet Wasserbedarf und Empfehlungsstufe für alle Parzellen eines {@link WaterNeedBatch}
+ * mit denselben Regeln wie die Schritte 6–8 von {@link OlivenIrrigationRuleService#evaluate}.
+ * Sensor-, Wetter-, Zeitfenster- und Tageslimit-Prüfungen sind nicht enthalten.
+ *
+ * Läuft die JVM mit {@code --add-modules jdk.incubator.vector}, rechnet {@link VectorWaterNeedKernel}
+ * mehrere Parzellen je Schritt; sonst (oder mit {@code app.recommendation.batch.vector=false})
+ * rechnet die skalare Schleife. Beide halten die Reihenfolge der Multiplikationen ein und
+ * runden skalar mit {@link Math#round}, die Ergebnisse sind daher bitgleich zu {@code evaluate}.
+ */
+@Service
+public class WaterNeedBatchCalculator {
+
+    private static final Logger log = LoggerFactory.getLogger(WaterNeedBatchCalculator.class);
+
+    private static final int KEINE = EmpfehlungsStufe.KEINE.ordinal();
+    private static final int NORMAL = EmpfehlungsStufe.NORMAL.ordinal();
+    private static final int ERHOEHT = EmpfehlungsStufe.ERHOEHT.ordinal();
+    private static final int KRITISCH = EmpfehlungsStufe.KRITISCH.ordinal();
+
+    private final boolean vector;
+
+    public WaterNeedBatchCalculator(@Value("${app.recommendation.batch.vector:true}") boolean vectorEnabled) {
+        this.vector = vectorEnabled && isVectorApiAvailable();
+        log.info("Batch-Wasserbedarf: {}", vector
+                ? "Vector API (" + VectorWaterNeedKernel.lanes() + " Lanes)" : "skalar");
+    }
+
+    /**
+     * Füllt Wasserbedarf und Stufe aller Einträge des Batches für das gegebene Wetter
+     */
+    public void calculate(WaterNeedBatch batch, Wetterdaten wetter) {
+        double weatherFactor = wetter.getWaterNeedFactor();
+        int size = batch.size();
+
+        int done = vector ? VectorWaterNeedKernel.computeNeed(batch, weatherFactor) : 0;
+        for (int i = done; i < size; i++) {
+            batch.waterNeed[i] = totalNeed(batch, i, weatherFactor);
+        }
+
+        for (int i = 0; i < size; i++) {
+            batch.waterNeed[i] = Math.round(batch.waterNeed[i] * 10.0) / 10.0; // Auf 0.1L runden
+        }
+
+        done = vector ? VectorWaterNeedKernel.classify(batch) : 0;
+        for (int i = done; i < size; i++) {
+            batch.stufe[i] = stufe(batch, i);
+        }
+    }
+
+    public boolean isVectorized() {
+        return vector;
+    }
+
+    private static double totalNeed(WaterNeedBatch batch, int i, double weatherFactor) {
+        double moisture = batch.moisture[i];
+        if (isInRange(batch, i)) {
+            return 0.0;
+        }
+        double moistureFactor = OlivenIrrigationRuleService.calculateMoistureFactor(
+                moisture, batch.lower[i], batch.upper[i]);
+        return batch.baseNeed[i] * moistureFactor * weatherFactor * batch.soilFactor[i] * batch.ageFactor[i];
+    }
+
+    private static int stufe(WaterNeedBatch batch, int i) {
+        if (isInRange(batch, i)) {
+            return KEINE;
+        }
+        double waterNeed = batch.waterNeed[i];
+        if (batch.moisture[i] < OlivenIrrigationRuleService.CRITICAL_MOISTURE_THRESHOLD) {
+            return KRITISCH;
+        }
+        if (waterNeed > batch.baseNeed[i] * OlivenIrrigationRuleService.INCREASED_NEED_FACTOR) {
+            return ERHOEHT;
+        }
+        return waterNeed > 0 ? NORMAL : KEINE;
+    }
+
+    private static boolean isInRange(WaterNeedBatch batch, int i) {
+        double moisture = batch.moisture[i];
+        return moisture >= batch.lower[i] && moisture <= batch.upper[i];
+    }
+
+    private static boolean isVectorApiAvailable() {
+        // Kernel-Klasse nur laden, wenn das Incubator-Modul in der Boot-Layer liegt
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()
+                && VectorWaterNeedKernel.isSupported();
+    }
+}
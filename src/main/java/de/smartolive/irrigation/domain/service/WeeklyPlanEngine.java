@@ -0,0 +1,152 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.repository.OlivenParzelleRepository;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+/**
+ * Wochenplan für den ganzen Betrieb in einem Durchlauf: Die Parzellen werden einmal
+ * geladen, die Wetterfaktoren einmal je Tag berechnet. Danach ist jeder Planwert nur
+ * noch {@code Basisbedarf × Wetterfaktor} (wie {@link RecommendationService#generateWeeklyPlan}).
+ *
+ * Die Parzellen werden in Blöcken parallel im Common-Pool gerechnet; jeder Block
+ * liefert eigene Tagessummen, die danach in fester Reihenfolge addiert werden,
+ * damit die Summen unabhängig von der Thread-Verteilung sind.
+ */
+@Service
+public class WeeklyPlanEngine {
+
+    static final int PLAN_DAYS = 7;
+    private static final int ROWS_PER_TASK = 1024;
+
+    private final OlivenParzelleRepository parzelleRepository;
+
+    public WeeklyPlanEngine(OlivenParzelleRepository parzelleRepository) {
+        this.parzelleRepository = parzelleRepository;
+    }
+
+    /**
+     * Plan für alle Parzellen ab heute; verwendet höchstens die ersten sieben Vorhersagetage
+     */
+    public FarmWeeklyPlan generateFarmPlan(List<Wetterdaten> forecast) {
+        return generateFarmPlan(parzelleRepository.findAll(), forecast, LocalDate.now());
+    }
+
+    public FarmWeeklyPlan generateFarmPlan(List<OlivenParzelle> parzellen, List<Wetterdaten> forecast,
+                                           LocalDate startDate) {
+        int days = Math.min(forecast.size(), PLAN_DAYS);
+        double[] weatherFactors = new double[days];
+        for (int day = 0; day < days; day++) {
+            weatherFactors[day] = forecast.get(day).getWaterNeedFactor();
+        }
+
+        int rows = parzellen.size();
+        long[] parzelleIds = new long[rows];
+        double[] baseNeeds = new double[rows];
+        for (int row = 0; row < rows; row++) {
+            OlivenParzelle parzelle = parzellen.get(row);
+            parzelleIds[row] = parzelle.getId() != null ? parzelle.getId() : -1;
+            baseNeeds[row] = parzelle.getProfil().getBasisWasserbedarfLiterProTag();
+        }
+
+        double[] amounts = new double[rows * days];
+        int tasks = (rows + ROWS_PER_TASK - 1) / ROWS_PER_TASK;
+        double[] partialTotals = new double[tasks * days];
+        IntStream.range(0, tasks).parallel().forEach(task -> {
+            int from = task * ROWS_PER_TASK;
+            int to = Math.min(from + ROWS_PER_TASK, rows);
+            int totals = task * days;
+            for (int row = from; row < to; row++) {
+                int offset = row * days;
+                for (int day = 0; day < days; day++) {
+                    double amount = baseNeeds[row] * weatherFactors[day];
+                    amounts[offset + day] = amount;
+                    partialTotals[totals + day] += amount;
+                }
+            }
+        });
+
+        double[] dayTotals = new double[days];
+        for (int task = 0; task < tasks; task++) {
+            for (int day = 0; day < days; day++) {
+                dayTotals[day] += partialTotals[task * days + day];
+            }
+        }
+
+        return new FarmWeeklyPlan(startDate, days, parzelleIds, amounts, dayTotals);
+    }
+
+    // Hilfsklassen für die Rückgabe
+
+    /**
+     * Planmengen in Litern als Matrix Parzelle × Tag (zeilenweise in einem Array)
+     */
+    public static class FarmWeeklyPlan {
+        private final LocalDate startDate;
+        private final int days;
+        private final long[] parzelleIds;
+        private final double[] amounts;
+        private final double[] dayTotals;
+        private final Map<Long, Integer> rowIndex;
+
+        FarmWeeklyPlan(LocalDate startDate, int days, long[] parzelleIds, double[] amounts, double[] dayTotals) {
+            this.startDate = startDate;
+            this.days = days;
+            this.parzelleIds = parzelleIds;
+            this.amounts = amounts;
+            this.dayTotals = dayTotals;
+            this.rowIndex = new HashMap<>(parzelleIds.length * 2);
+            for (int row = 0; row < parzelleIds.length; row++) {
+                rowIndex.put(parzelleIds[row], row);
+            }
+        }
+
+        public LocalDate getStartDate() { return startDate; }
+        public int getDays() { return days; }
+        public int getParzellenCount() { return parzelleIds.length; }
+        public long getParzelleId(int row) { return parzelleIds[row]; }
+        public LocalDate getDate(int day) { return startDate.plusDays(day); }
+
+        public double getAmount(int row, int day) {
+            return amounts[row * days + day];
+        }
+
+        /**
+         * Planmenge einer Parzelle, 0 wenn sie nicht im Plan enthalten ist
+         */
+        public double getAmountFor(long parzelleId, int day) {
+            Integer row = rowIndex.get(parzelleId);
+            return row != null ? getAmount(row, day) : 0.0;
+        }
+
+        public double getRowTotal(int row) {
+            double total = 0.0;
+            for (int day = 0; day < days; day++) {
+                total += getAmount(row, day);
+            }
+            return total;
+        }
+
+        /**
+         * Summe aller Parzellen an einem Tag
+         */
+        public double getDayTotal(int day) {
+            return dayTotals[day];
+        }
+
+        public double getTotalWaterNeed() {
+            double total = 0.0;
+            for (double dayTotal : dayTotals) {
+                total += dayTotal;
+            }
+            return total;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import java.time.Duration;
+
+/**
+ * Gleitende Zeitfenster der inkrementellen Aggregation.
+ * Jedes Fenster ist in Buckets fester Breite unterteilt; die Fenstergrenze
+ * ist damit auf eine Bucket-Breite genau.
+ */
+public enum AggregationWindow {
+    ONE_HOUR(Duration.ofHours(1), 60),           // 1-Minuten-Buckets
+    TWENTY_FOUR_HOURS(Duration.ofHours(24), 96), // 15-Minuten-Buckets
+    SEVEN_DAYS(Duration.ofDays(7), 168);         // 1-Stunden-Buckets
+
+    private final Duration length;
+    private final int bucketCount;
+
+    AggregationWindow(Duration length, int bucketCount) {
+        this.length = length;
+        this.bucketCount = bucketCount;
+    }
+
+    public Duration getLength() {
+        return length;
+    }
+
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    public long getBucketMillis() {
+        return length.toMillis() / bucketCount;
+    }
+}
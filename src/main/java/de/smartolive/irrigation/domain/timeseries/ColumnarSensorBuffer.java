@@ -0,0 +1,111 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Spaltenorientierter In-Memory-Speicher der letzten Messungen je Parzelle.
+ *
+ * Wird beim Ingest befüllt und beantwortet Kurzzeit-Analysen ohne Datenbankzugriff.
+ * Ein Zeitfenster kann nur ausgewertet werden, wenn der Puffer es vollständig abdeckt
+ * (seit Anwendungsstart und noch nicht durch den Ringpuffer verdrängt) –
+ * siehe {@link #covers(Long, LocalDateTime)}.
+ */
+@Component
+public class ColumnarSensorBuffer implements SensorIngestListener {
+
+    private final Map<Long, ParzelleTimeSeries> series = new ConcurrentHashMap<>();
+    private final int capacityPerParzelle;
+    private final long startedAtMillis;
+
+    @Autowired
+    public ColumnarSensorBuffer(@Value("${app.sensor.timeseries.capacity:1024}") int capacityPerParzelle) {
+        this(capacityPerParzelle, EpochMillis.now());
+    }
+
+    ColumnarSensorBuffer(int capacityPerParzelle, long startedAtMillis) {
+        if (capacityPerParzelle < 1) {
+            throw new IllegalArgumentException("Puffergröße muss mindestens 1 sein");
+        }
+        this.capacityPerParzelle = capacityPerParzelle;
+        this.startedAtMillis = startedAtMillis;
+    }
+
+    @Override
+    public void onSamplesIngested(List<SensorSample> samples) {
+        for (SensorSample sample : samples) {
+            append(sample);
+        }
+    }
+
+    /**
+     * Übernimmt eine Messung in den Puffer der Parzelle
+     */
+    public void append(SensorSample sample) {
+        seriesFor(sample.getParzelleId()).append(
+                sample.getEpochMillis(),
+                sample.getMoisture(),
+                sample.getTemperature(),
+                sample.getEc(),
+                sample.getPh(),
+                (byte) sample.getStatus().ordinal()
+        );
+    }
+
+    public void append(SensorReading reading) {
+        if (reading.getParzelleId() == null || reading.getTimestamp() == null) {
+            return;
+        }
+        append(SensorSample.of(reading));
+    }
+
+    /**
+     * Prüft ob alle Messungen der Parzelle seit {@code since} im Puffer liegen
+     */
+    public boolean covers(Long parzelleId, LocalDateTime since) {
+        long sinceMillis = EpochMillis.of(since);
+        ParzelleTimeSeries parzelleSeries = series.get(parzelleId);
+        if (parzelleSeries == null) {
+            // Seit dem Start kam keine Messung – das Fenster ist abgedeckt, falls es nach dem Start beginnt
+            return sinceMillis >= startedAtMillis;
+        }
+        return parzelleSeries.covers(sinceMillis);
+    }
+
+    /**
+     * Aggregiert das Zeitfenster ab {@code since}, sofern der Puffer es abdeckt
+     */
+    public Optional<TimeSeriesSummary> summarize(Long parzelleId, LocalDateTime since) {
+        if (!covers(parzelleId, since)) {
+            return Optional.empty();
+        }
+        ParzelleTimeSeries parzelleSeries = series.get(parzelleId);
+        if (parzelleSeries == null) {
+            return Optional.of(new TimeSeriesSummary(0, 0, 0.0, Double.NaN, Double.NaN,
+                    0, 0.0, Double.NaN, Double.NaN));
+        }
+        return Optional.of(parzelleSeries.summarize(EpochMillis.of(since)));
+    }
+
+    public int size(Long parzelleId) {
+        ParzelleTimeSeries parzelleSeries = series.get(parzelleId);
+        return parzelleSeries != null ? parzelleSeries.size() : 0;
+    }
+
+    public int getCapacityPerParzelle() {
+        return capacityPerParzelle;
+    }
+
+    private ParzelleTimeSeries seriesFor(Long parzelleId) {
+        return series.computeIfAbsent(parzelleId,
+                id -> new ParzelleTimeSeries(capacityPerParzelle, startedAtMillis));
+    }
+}
@@ -0,0 +1,28 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Kodiert lokale Zeitstempel als Epoch-Millis für die primitiven Puffer.
+ * Die lokale Zeit wird dabei wie UTC behandelt – entscheidend ist nur eine
+ * einheitliche, monotone Abbildung innerhalb der Anwendung.
+ */
+public final class EpochMillis {
+
+    private EpochMillis() {
+    }
+
+    public static long of(LocalDateTime timestamp) {
+        return timestamp.toEpochSecond(ZoneOffset.UTC) * 1000L + timestamp.getNano() / 1_000_000;
+    }
+
+    public static long now() {
+        return of(LocalDateTime.now());
+    }
+
+    public static LocalDateTime toLocalDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,99 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache der jeweils neuesten Messung pro Parzelle und pro Sensor als kompakte {@link SensorSample}s.
+ *
+ * Wird beim Anwendungsstart aus der Datenbank aufgewärmt und danach bei jedem
+ * Ingest atomar aktualisiert. Lesezugriffe sind lock-frei. Solange der Cache nicht
+ * aufgewärmt ist ({@link #isWarm()}), müssen Aufrufer auf die Datenbank zurückfallen.
+ */
+@Component
+public class LatestReadingCache implements SensorIngestListener {
+
+    private static final Logger log = LoggerFactory.getLogger(LatestReadingCache.class);
+
+    private final SensorReadingRepository sensorRepository;
+    private final Map<Long, SensorSample> latestByParzelle = new ConcurrentHashMap<>();
+    private final Map<String, SensorSample> latestBySensor = new ConcurrentHashMap<>();
+    private volatile boolean warm;
+
+    public LatestReadingCache(SensorReadingRepository sensorRepository) {
+        this.sensorRepository = sensorRepository;
+    }
+
+    /**
+     * Lädt die neuesten Messungen aller Parzellen und Sensoren mit je einer Abfrage
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            sensorRepository.findLatestPerParzelle().forEach(this::update);
+            sensorRepository.findLatestPerSensor().forEach(this::update);
+            warm = true;
+            log.info("Latest-Reading-Cache aufgewärmt: {} Parzellen, {} Sensoren",
+                    latestByParzelle.size(), latestBySensor.size());
+        } catch (RuntimeException e) {
+            log.warn("Latest-Reading-Cache konnte nicht aufgewärmt werden – Abfragen laufen über die Datenbank", e);
+        }
+    }
+
+    @Override
+    public void onSamplesIngested(List<SensorSample> samples) {
+        for (SensorSample sample : samples) {
+            update(sample);
+        }
+    }
+
+    /**
+     * Übernimmt die Messung, falls sie neuer als der bisherige Eintrag ist
+     */
+    public void update(SensorSample sample) {
+        latestByParzelle.merge(sample.getParzelleId(), sample, LatestReadingCache::newer);
+        if (sample.getSensorId() != null) {
+            latestBySensor.merge(sample.getSensorId(), sample, LatestReadingCache::newer);
+        }
+    }
+
+    public void update(SensorReading reading) {
+        if (reading.getParzelleId() == null || reading.getTimestamp() == null) {
+            return;
+        }
+        update(SensorSample.of(reading));
+    }
+
+    public Optional<SensorSample> getLatestForParzelle(Long parzelleId) {
+        return Optional.ofNullable(latestByParzelle.get(parzelleId));
+    }
+
+    public Optional<SensorSample> getLatestForSensor(String sensorId) {
+        return Optional.ofNullable(latestBySensor.get(sensorId));
+    }
+
+    public boolean isWarm() {
+        return warm;
+    }
+
+    private static SensorSample newer(SensorSample current, SensorSample candidate) {
+        if (candidate.getEpochMillis() != current.getEpochMillis()) {
+            return candidate.getEpochMillis() > current.getEpochMillis() ? candidate : current;
+        }
+        // Gleicher Zeitstempel: die später gespeicherte Messung gewinnt
+        if (candidate.hasId() && current.hasId()) {
+            return candidate.getId() > current.getId() ? candidate : current;
+        }
+        return candidate;
+    }
+}
@@ -0,0 +1,113 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorStatus;
+
+/**
+ * Ringpuffer mit spaltenweise abgelegten Messwerten einer Parzelle.
+ * Fehlende Werte werden als {@code NaN} gespeichert, Zeitstempel als Epoch-Millis.
+ * Schreib- und Lesezugriffe sind über den Monitor der Instanz synchronisiert.
+ */
+final class ParzelleTimeSeries {
+
+    private static final byte ONLINE = (byte) SensorStatus.ONLINE.ordinal();
+
+    private final long[] epochMillis;
+    private final double[] moisture;
+    private final double[] temperature;
+    private final double[] ec;
+    private final double[] ph;
+    private final byte[] status;
+
+    private int next;      // Nächste Schreibposition
+    private int size;      // Anzahl belegter Einträge
+    private long coveredFromMillis; // Ab hier liegen alle Messungen im Puffer
+
+    ParzelleTimeSeries(int capacity, long coveredFromMillis) {
+        this.epochMillis = new long[capacity];
+        this.moisture = new double[capacity];
+        this.temperature = new double[capacity];
+        this.ec = new double[capacity];
+        this.ph = new double[capacity];
+        this.status = new byte[capacity];
+        this.coveredFromMillis = coveredFromMillis;
+    }
+
+    synchronized void append(long timestampMillis, double moistureValue, double temperatureValue,
+                             double ecValue, double phValue, byte statusOrdinal) {
+        if (size == epochMillis.length) {
+            // Ältester Eintrag wird überschrieben – ab dessen Zeitstempel ist der Puffer nicht mehr vollständig
+            coveredFromMillis = Math.max(coveredFromMillis, epochMillis[next] + 1);
+        } else {
+            size++;
+        }
+
+        epochMillis[next] = timestampMillis;
+        moisture[next] = moistureValue;
+        temperature[next] = temperatureValue;
+        ec[next] = ecValue;
+        ph[next] = phValue;
+        status[next] = statusOrdinal;
+        next = (next + 1) % epochMillis.length;
+    }
+
+    synchronized boolean covers(long sinceMillis) {
+        return sinceMillis >= coveredFromMillis;
+    }
+
+    /**
+     * Aggregiert alle Einträge ab {@code sinceMillis} in einem Durchlauf
+     */
+    synchronized TimeSeriesSummary summarize(long sinceMillis) {
+        int count = 0;
+        int onlineMoistureCount = 0;
+        double onlineMoistureSum = 0.0;
+        double minMoisture = Double.NaN;
+        double maxMoisture = Double.NaN;
+        int temperatureCount = 0;
+        double temperatureSum = 0.0;
+        long oldestMillis = Long.MAX_VALUE;
+        long newestMillis = Long.MIN_VALUE;
+        double oldestMoisture = Double.NaN;
+        double newestMoisture = Double.NaN;
+
+        for (int i = 0; i < size; i++) {
+            long ts = epochMillis[i];
+            if (ts < sinceMillis) {
+                continue;
+            }
+            count++;
+
+            double m = moisture[i];
+            if (!Double.isNaN(m)) {
+                if (status[i] == ONLINE) {
+                    onlineMoistureCount++;
+                    onlineMoistureSum += m;
+                }
+                minMoisture = Double.isNaN(minMoisture) ? m : Math.min(minMoisture, m);
+                maxMoisture = Double.isNaN(maxMoisture) ? m : Math.max(maxMoisture, m);
+                if (ts < oldestMillis) {
+                    oldestMillis = ts;
+                    oldestMoisture = m;
+                }
+                if (ts >= newestMillis) {
+                    newestMillis = ts;
+                    newestMoisture = m;
+                }
+            }
+
+            double t = temperature[i];
+            if (!Double.isNaN(t)) {
+                temperatureCount++;
+                temperatureSum += t;
+            }
+        }
+
+        return new TimeSeriesSummary(count, onlineMoistureCount, onlineMoistureSum,
+                minMoisture, maxMoisture, temperatureCount, temperatureSum,
+                oldestMoisture, newestMoisture);
+    }
+
+    synchronized int size() {
+        return size;
+    }
+}
@@ -0,0 +1,80 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inkrementell gepflegte Feuchte-/Temperaturstatistiken je Parzelle über die
+ * gleitenden Fenster aus {@link AggregationWindow}.
+ *
+ * Jede Messung aktualisiert pro Fenster genau einen Bucket. Ein Fenster liefert erst
+ * Werte, wenn die Anwendung mindestens eine Fensterlänge lang Messungen gesehen hat –
+ * davor müssen Aufrufer die Datenbank fragen.
+ */
+@Component
+public class RollingMoistureAggregates implements SensorIngestListener {
+
+    private final Map<Long, Map<AggregationWindow, SlidingWindowAggregate>> aggregates = new ConcurrentHashMap<>();
+    private final long startedAtMillis;
+
+    public RollingMoistureAggregates() {
+        this(EpochMillis.now());
+    }
+
+    RollingMoistureAggregates(long startedAtMillis) {
+        this.startedAtMillis = startedAtMillis;
+    }
+
+    @Override
+    public void onSamplesIngested(List<SensorSample> samples) {
+        for (SensorSample sample : samples) {
+            add(sample);
+        }
+    }
+
+    public void add(SensorSample sample) {
+        byte status = (byte) sample.getStatus().ordinal();
+        for (SlidingWindowAggregate aggregate : aggregatesFor(sample.getParzelleId()).values()) {
+            aggregate.add(sample.getEpochMillis(), sample.getMoisture(), sample.getTemperature(), status);
+        }
+    }
+
+    public void add(SensorReading reading) {
+        if (reading.getParzelleId() == null || reading.getTimestamp() == null) {
+            return;
+        }
+        add(SensorSample.of(reading));
+    }
+
+    /**
+     * Statistik des Fensters bis jetzt, sofern das Fenster seit dem Start vollständig beobachtet wurde
+     */
+    public Optional<WindowStatistics> getStatistics(Long parzelleId, AggregationWindow window) {
+        long now = EpochMillis.now();
+        if (now - window.getLength().toMillis() < startedAtMillis) {
+            return Optional.empty();
+        }
+        Map<AggregationWindow, SlidingWindowAggregate> perWindow = aggregates.get(parzelleId);
+        if (perWindow == null) {
+            // Keine Messung seit dem Start – leeres Fenster
+            return Optional.of(new WindowStatistics(0, 0, 0.0, 0, 0.0, Double.NaN, Double.NaN, 0, 0.0));
+        }
+        return Optional.of(perWindow.get(window).snapshot(now));
+    }
+
+    private Map<AggregationWindow, SlidingWindowAggregate> aggregatesFor(Long parzelleId) {
+        return aggregates.computeIfAbsent(parzelleId, id -> {
+            Map<AggregationWindow, SlidingWindowAggregate> perWindow = new EnumMap<>(AggregationWindow.class);
+            for (AggregationWindow window : AggregationWindow.values()) {
+                perWindow.put(window, new SlidingWindowAggregate(window));
+            }
+            return perWindow;
+        });
+    }
+}
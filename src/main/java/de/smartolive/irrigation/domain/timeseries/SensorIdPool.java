@@ -0,0 +1,36 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Kanonisiert Sensor-IDs, damit die vielen Messungen eines Sensors im Speicher
+ * dieselbe String-Instanz referenzieren.
+ *
+ * Die Anzahl der Sensoren ist überschaubar; oberhalb von {@link #MAX_SIZE} wird
+ * nicht mehr gepoolt, damit fehlerhafte Gateways den Pool nicht aufblähen.
+ */
+public final class SensorIdPool {
+
+    static final int MAX_SIZE = 100_000;
+
+    private static final Map<String, String> POOL = new ConcurrentHashMap<>();
+
+    private SensorIdPool() {
+    }
+
+    public static String intern(String sensorId) {
+        if (sensorId == null) {
+            return null;
+        }
+        String pooled = POOL.get(sensorId);
+        if (pooled != null) {
+            return pooled;
+        }
+        if (POOL.size() >= MAX_SIZE) {
+            return sensorId;
+        }
+        pooled = POOL.putIfAbsent(sensorId, sensorId);
+        return pooled != null ? pooled : sensorId;
+    }
+}
@@ -0,0 +1,13 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import java.util.List;
+
+/**
+ * Wird nach jedem erfolgreich gespeicherten Ingest-Batch aufgerufen,
+ * damit In-Memory-Strukturen ohne Datenbankzugriff aktuell bleiben.
+ * Die Messungen kommen als kompakte {@link SensorSample}s, die nur einmal pro Batch erzeugt werden.
+ */
+public interface SensorIngestListener {
+
+    void onSamplesIngested(List<SensorSample> samples);
+}
@@ -0,0 +1,189 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorQualityScoring;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+
+import java.time.LocalDateTime;
+
+/**
+ * Kompakte, unveränderliche Messung für Ingest und Analyse.
+ *
+ * Statt geboxter Werte und {@link LocalDateTime} enthält sie nur primitive Felder:
+ * fehlende Messwerte sind {@code NaN}, fehlende Ganzzahlen {@code -1}, der Zeitstempel
+ * ist in {@link EpochMillis}-Kodierung abgelegt. Sensor-IDs werden über den
+ * {@link SensorIdPool} geteilt. Datenqualität und Wasserstress werden erst bei Bedarf
+ * für einen übergebenen Zeitpunkt berechnet.
+ */
+public final class SensorSample {
+
+    /** Noch nicht gespeichert */
+    public static final long NO_ID = -1L;
+    public static final int MISSING = -1;
+
+    private final long id;
+    private final long parzelleId;
+    private final String sensorId;
+    private final long epochMillis;
+    private final double moisture;
+    private final double temperature;
+    private final double ec;
+    private final double ph;
+    private final int batteryLevel;
+    private final int signalStrength;
+    private final SensorStatus status;
+
+    public SensorSample(long id, long parzelleId, String sensorId, long epochMillis,
+                        double moisture, double temperature, double ec, double ph,
+                        int batteryLevel, int signalStrength, SensorStatus status) {
+        this.id = id;
+        this.parzelleId = parzelleId;
+        this.sensorId = SensorIdPool.intern(sensorId);
+        this.epochMillis = epochMillis;
+        this.moisture = moisture;
+        this.temperature = temperature;
+        this.ec = ec;
+        this.ph = ph;
+        this.batteryLevel = batteryLevel;
+        this.signalStrength = signalStrength;
+        this.status = status != null ? status : SensorStatus.ONLINE;
+    }
+
+    /**
+     * Übernimmt die Werte einer Entity; ohne Zeitstempel gilt die aktuelle Zeit
+     */
+    public static SensorSample of(SensorReading reading) {
+        return new SensorSample(
+                reading.getId() != null ? reading.getId() : NO_ID,
+                reading.getParzelleId(),
+                reading.getSensorId(),
+                reading.getTimestamp() != null ? EpochMillis.of(reading.getTimestamp()) : EpochMillis.now(),
+                valueOrNaN(reading.getMoisturePercent()),
+                valueOrNaN(reading.getTemperatureCelsius()),
+                valueOrNaN(reading.getEcValue()),
+                valueOrNaN(reading.getPhValue()),
+                reading.getBatteryLevel() != null ? reading.getBatteryLevel() : MISSING,
+                reading.getSignalStrength() != null ? reading.getSignalStrength() : MISSING,
+                reading.getStatus());
+    }
+
+    /**
+     * Erzeugt eine (nicht verwaltete) Entity, z.B. für die Regelauswertung
+     */
+    public SensorReading toReading() {
+        SensorReading reading = new SensorReading();
+        reading.setId(id != NO_ID ? id : null);
+        reading.setParzelleId(parzelleId);
+        reading.setSensorId(sensorId);
+        reading.setTimestamp(getTimestamp());
+        reading.setMoisturePercent(valueOrNull(moisture));
+        reading.setTemperatureCelsius(valueOrNull(temperature));
+        reading.setEcValue(valueOrNull(ec));
+        reading.setPhValue(valueOrNull(ph));
+        reading.setBatteryLevel(batteryLevel != MISSING ? batteryLevel : null);
+        reading.setSignalStrength(signalStrength != MISSING ? signalStrength : null);
+        reading.setStatus(status);
+        return reading;
+    }
+
+    /**
+     * Datenqualität 0-100 zum Zeitpunkt {@code nowMillis} (EpochMillis-Kodierung)
+     */
+    public int dataQualityScore(long nowMillis) {
+        return SensorQualityScoring.dataQualityScore(moisture, temperature, ec, ph,
+                batteryLevel, signalStrength, status, nowMillis - epochMillis);
+    }
+
+    /**
+     * Wasserstress-Index 0-1 zum Zeitpunkt {@code nowMillis}, entspricht
+     * {@link SensorReading#calculateWaterStressIndex()}
+     */
+    public double waterStressIndex(long nowMillis) {
+        return SensorQualityScoring.waterStressIndex(moisture, temperature, ec, ph,
+                canProvideData(nowMillis));
+    }
+
+    /**
+     * Entspricht {@link SensorReading#canProvideData()}
+     */
+    public boolean canProvideData(long nowMillis) {
+        return status.canProvideData()
+                && !SensorQualityScoring.isStale(nowMillis - epochMillis, 30)
+                && isValid();
+    }
+
+    private boolean isValid() {
+        if (moisture < 0 || moisture > 100) return false;
+        if (temperature < -50 || temperature > 80) return false;
+        if (ec < 0) return false;
+        if (ph < 0 || ph > 14) return false;
+        if (batteryLevel > 100) return false;
+        return status != SensorStatus.ERROR;
+    }
+
+    public boolean hasId() {
+        return id != NO_ID;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public long getParzelleId() {
+        return parzelleId;
+    }
+
+    public String getSensorId() {
+        return sensorId;
+    }
+
+    public long getEpochMillis() {
+        return epochMillis;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return EpochMillis.toLocalDateTime(epochMillis);
+    }
+
+    public double getMoisture() {
+        return moisture;
+    }
+
+    public double getTemperature() {
+        return temperature;
+    }
+
+    public double getEc() {
+        return ec;
+    }
+
+    public double getPh() {
+        return ph;
+    }
+
+    public int getBatteryLevel() {
+        return batteryLevel;
+    }
+
+    public int getSignalStrength() {
+        return signalStrength;
+    }
+
+    public SensorStatus getStatus() {
+        return status;
+    }
+
+    private static double valueOrNaN(Double value) {
+        return value != null ? value : Double.NaN;
+    }
+
+    private static Double valueOrNull(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("SensorSample[parzelle=%d, sensor=%s, moisture=%.1f%%, status=%s, time=%s]",
+                parzelleId, sensorId != null ? sensorId : "N/A", moisture, status, getTimestamp());
+    }
+}
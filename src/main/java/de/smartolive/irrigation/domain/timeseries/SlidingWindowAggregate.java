@@ -0,0 +1,129 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorStatus;
+
+import java.util.Arrays;
+
+/**
+ * Gleitendes Fenster aus Buckets fester Breite.
+ * Eine Messung aktualisiert genau einen Bucket (O(1)); Abfragen falten die
+ * konstante Anzahl an Buckets des Fensters zusammen.
+ */
+final class SlidingWindowAggregate {
+
+    private static final byte ONLINE = (byte) SensorStatus.ONLINE.ordinal();
+
+    private final long bucketMillis;
+    private final int bucketCount;
+
+    private final long[] bucketIndex;
+    private final int[] onlineReadingCount;
+    private final int[] onlineMoistureCount;
+    private final double[] onlineMoistureSum;
+    private final int[] moistureCount;
+    private final double[] moistureSum;
+    private final double[] minMoisture;
+    private final double[] maxMoisture;
+    private final int[] temperatureCount;
+    private final double[] temperatureSum;
+
+    SlidingWindowAggregate(AggregationWindow window) {
+        this.bucketMillis = window.getBucketMillis();
+        this.bucketCount = window.getBucketCount();
+        this.bucketIndex = new long[bucketCount];
+        this.onlineReadingCount = new int[bucketCount];
+        this.onlineMoistureCount = new int[bucketCount];
+        this.onlineMoistureSum = new double[bucketCount];
+        this.moistureCount = new int[bucketCount];
+        this.moistureSum = new double[bucketCount];
+        this.minMoisture = new double[bucketCount];
+        this.maxMoisture = new double[bucketCount];
+        this.temperatureCount = new int[bucketCount];
+        this.temperatureSum = new double[bucketCount];
+        Arrays.fill(bucketIndex, Long.MIN_VALUE);
+    }
+
+    synchronized void add(long timestampMillis, double moisture, double temperature, byte status) {
+        long bucket = Math.floorDiv(timestampMillis, bucketMillis);
+        int slot = (int) Math.floorMod(bucket, (long) bucketCount);
+
+        if (bucketIndex[slot] != bucket) {
+            if (bucketIndex[slot] > bucket) {
+                return; // Zu alt – der Slot gehört bereits einem neueren Bucket
+            }
+            reset(slot, bucket);
+        }
+
+        if (status == ONLINE) {
+            onlineReadingCount[slot]++;
+        }
+        if (!Double.isNaN(moisture)) {
+            if (status == ONLINE) {
+                onlineMoistureCount[slot]++;
+                onlineMoistureSum[slot] += moisture;
+            }
+            if (moistureCount[slot] == 0) {
+                minMoisture[slot] = moisture;
+                maxMoisture[slot] = moisture;
+            } else {
+                minMoisture[slot] = Math.min(minMoisture[slot], moisture);
+                maxMoisture[slot] = Math.max(maxMoisture[slot], moisture);
+            }
+            moistureCount[slot]++;
+            moistureSum[slot] += moisture;
+        }
+        if (!Double.isNaN(temperature)) {
+            temperatureCount[slot]++;
+            temperatureSum[slot] += temperature;
+        }
+    }
+
+    synchronized WindowStatistics snapshot(long nowMillis) {
+        long newest = Math.floorDiv(nowMillis, bucketMillis);
+        long oldest = newest - bucketCount + 1;
+
+        long onlineReadings = 0;
+        long onlineMoistures = 0;
+        double onlineSum = 0.0;
+        long moistures = 0;
+        double sum = 0.0;
+        double min = Double.NaN;
+        double max = Double.NaN;
+        long temperatures = 0;
+        double tempSum = 0.0;
+
+        for (int slot = 0; slot < bucketCount; slot++) {
+            long bucket = bucketIndex[slot];
+            if (bucket < oldest || bucket > newest) {
+                continue;
+            }
+            onlineReadings += onlineReadingCount[slot];
+            onlineMoistures += onlineMoistureCount[slot];
+            onlineSum += onlineMoistureSum[slot];
+            if (moistureCount[slot] > 0) {
+                min = Double.isNaN(min) ? minMoisture[slot] : Math.min(min, minMoisture[slot]);
+                max = Double.isNaN(max) ? maxMoisture[slot] : Math.max(max, maxMoisture[slot]);
+                moistures += moistureCount[slot];
+                sum += moistureSum[slot];
+            }
+            temperatures += temperatureCount[slot];
+            tempSum += temperatureSum[slot];
+        }
+
+        return new WindowStatistics(onlineReadings, onlineMoistures, onlineSum,
+                moistures, sum, min, max, temperatures, tempSum);
+    }
+
+    private void reset(int slot, long bucket) {
+        bucketIndex[slot] = bucket;
+        onlineReadingCount[slot] = 0;
+        onlineMoistureCount[slot] = 0;
+        onlineMoistureSum[slot] = 0.0;
+        moistureCount[slot] = 0;
+        moistureSum[slot] = 0.0;
+        minMoisture[slot] = 0.0;
+        maxMoisture[slot] = 0.0;
+        temperatureCount[slot] = 0;
+        temperatureSum[slot] = 0.0;
+    }
+}
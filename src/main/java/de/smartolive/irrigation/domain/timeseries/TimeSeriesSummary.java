@@ -0,0 +1,63 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import java.util.Optional;
+
+/**
+ * Ergebnis einer Aggregation über ein Zeitfenster des Spaltenpuffers.
+ * Durchschnitte berücksichtigen wie die Repository-Abfragen nur ONLINE-Messungen.
+ */
+public class TimeSeriesSummary {
+
+    private final int readingCount;
+    private final int onlineMoistureCount;
+    private final double onlineMoistureSum;
+    private final double minMoisture;
+    private final double maxMoisture;
+    private final int temperatureCount;
+    private final double temperatureSum;
+    private final double oldestMoisture;
+    private final double newestMoisture;
+
+    TimeSeriesSummary(int readingCount, int onlineMoistureCount, double onlineMoistureSum,
+                      double minMoisture, double maxMoisture,
+                      int temperatureCount, double temperatureSum,
+                      double oldestMoisture, double newestMoisture) {
+        this.readingCount = readingCount;
+        this.onlineMoistureCount = onlineMoistureCount;
+        this.onlineMoistureSum = onlineMoistureSum;
+        this.minMoisture = minMoisture;
+        this.maxMoisture = maxMoisture;
+        this.temperatureCount = temperatureCount;
+        this.temperatureSum = temperatureSum;
+        this.oldestMoisture = oldestMoisture;
+        this.newestMoisture = newestMoisture;
+    }
+
+    public int getReadingCount() { return readingCount; }
+    public int getOnlineMoistureCount() { return onlineMoistureCount; }
+    public double getMinMoisture() { return minMoisture; }
+    public double getMaxMoisture() { return maxMoisture; }
+
+    public Optional<Double> getAverageMoisture() {
+        return onlineMoistureCount == 0
+                ? Optional.empty()
+                : Optional.of(onlineMoistureSum / onlineMoistureCount);
+    }
+
+    public Optional<Double> getAverageTemperature() {
+        return temperatureCount == 0
+                ? Optional.empty()
+                : Optional.of(temperatureSum / temperatureCount);
+    }
+
+    /**
+     * Differenz zwischen neuester und ältester Feuchte im Fenster
+     * (Positiv = steigend, Negativ = fallend)
+     */
+    public double getMoistureTrend() {
+        if (Double.isNaN(oldestMoisture) || Double.isNaN(newestMoisture)) {
+            return 0.0;
+        }
+        return newestMoisture - oldestMoisture;
+    }
+}
@@ -0,0 +1,64 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import java.util.Optional;
+
+/**
+ * Aggregierte Kennzahlen eines gleitenden Fensters.
+ * Die Semantik entspricht den Abfragen im {@code SensorReadingRepository}:
+ * Durchschnittsfeuchte und Anzahl nur über ONLINE-Messungen, Min/Max über alle Messungen.
+ */
+public class WindowStatistics {
+
+    private final long onlineReadingCount;
+    private final long onlineMoistureCount;
+    private final double onlineMoistureSum;
+    private final long moistureCount;
+    private final double moistureSum;
+    private final double minMoisture;
+    private final double maxMoisture;
+    private final long temperatureCount;
+    private final double temperatureSum;
+
+    WindowStatistics(long onlineReadingCount, long onlineMoistureCount, double onlineMoistureSum,
+                     long moistureCount, double moistureSum, double minMoisture, double maxMoisture,
+                     long temperatureCount, double temperatureSum) {
+        this.onlineReadingCount = onlineReadingCount;
+        this.onlineMoistureCount = onlineMoistureCount;
+        this.onlineMoistureSum = onlineMoistureSum;
+        this.moistureCount = moistureCount;
+        this.moistureSum = moistureSum;
+        this.minMoisture = minMoisture;
+        this.maxMoisture = maxMoisture;
+        this.temperatureCount = temperatureCount;
+        this.temperatureSum = temperatureSum;
+    }
+
+    /** Entspricht {@code countReadingsSince} */
+    public long getOnlineReadingCount() { return onlineReadingCount; }
+
+    /** Entspricht {@code findAverageMoistureSince} */
+    public Optional<Double> getAverageMoisture() {
+        return onlineMoistureCount == 0
+                ? Optional.empty()
+                : Optional.of(onlineMoistureSum / onlineMoistureCount);
+    }
+
+    /** Entspricht {@code findAverageTemperatureSince} */
+    public Optional<Double> getAverageTemperature() {
+        return temperatureCount == 0
+                ? Optional.empty()
+                : Optional.of(temperatureSum / temperatureCount);
+    }
+
+    /** Entspricht {@code findMoistureStatistics}: [min, max, avg] bzw. null-Werte ohne Daten */
+    public Object[] toMoistureStatistics() {
+        if (moistureCount == 0) {
+            return new Object[]{null, null, null};
+        }
+        return new Object[]{minMoisture, maxMoisture, moistureSum / moistureCount};
+    }
+
+    public long getMoistureCount() { return moistureCount; }
+    public double getMinMoisture() { return minMoisture; }
+    public double getMaxMoisture() { return maxMoisture; }
+}
@@ -0,0 +1,103 @@
+package de.smartolive.irrigation.domain.valueobject;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.ResourceBundle;
+
+/**
+ * Value Object: Eine Begründung der Regelauswertung als {@link BegruendungsCode} mit
+ * Zahlenwerten und optionalem Detail (Sorte, Bodentyp, Sensorstatus).
+ *
+ * Der Text wird erst bei {@link #format(Locale)} aus {@code i18n/messages_*.properties}
+ * erzeugt; die Auswertung selbst formatiert nichts.
+ */
+public final class Begruendung {
+
+    static final String BUNDLE = "i18n/messages";
+
+    private static final double[] KEINE_WERTE = new double[0];
+
+    private final BegruendungsCode code;
+    private final double[] werte;
+    private final String detail;
+
+    private Begruendung(BegruendungsCode code, double[] werte, String detail) {
+        this.code = Objects.requireNonNull(code, "Code darf nicht null sein");
+        this.werte = werte;
+        this.detail = detail;
+    }
+
+    public static Begruendung of(BegruendungsCode code, double... werte) {
+        return new Begruendung(code, werte.length > 0 ? werte : KEINE_WERTE, null);
+    }
+
+    public static Begruendung withDetail(BegruendungsCode code, String detail, double... werte) {
+        return new Begruendung(code, werte.length > 0 ? werte : KEINE_WERTE, detail);
+    }
+
+    public static Begruendung text(String text) {
+        return new Begruendung(BegruendungsCode.TEXT, KEINE_WERTE, Objects.requireNonNull(text));
+    }
+
+    public BegruendungsCode getCode() {
+        return code;
+    }
+
+    public int getWertAnzahl() {
+        return werte.length;
+    }
+
+    public double getWert(int index) {
+        return werte[index];
+    }
+
+    public String getDetail() {
+        return detail;
+    }
+
+    /**
+     * Text in der gewünschten Sprache; ohne Übersetzung der Message-Key mit Werten
+     */
+    public String format(Locale locale) {
+        if (code == BegruendungsCode.TEXT) {
+            return detail;
+        }
+        String pattern;
+        try {
+            pattern = ResourceBundle.getBundle(BUNDLE, locale).getString(code.getMessageKey());
+        } catch (MissingResourceException e) {
+            return code.getMessageKey() + Arrays.toString(werte);
+        }
+        Object[] arguments = new Object[werte.length + (detail != null ? 1 : 0)];
+        for (int i = 0; i < werte.length; i++) {
+            arguments[i] = werte[i];
+        }
+        if (detail != null) {
+            arguments[werte.length] = detail;
+        }
+        return new MessageFormat(pattern, locale).format(arguments);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof Begruendung)) return false;
+        Begruendung that = (Begruendung) o;
+        return code == that.code &&
+                Arrays.equals(werte, that.werte) &&
+                Objects.equals(detail, that.detail);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hash(code, detail) + Arrays.hashCode(werte);
+    }
+
+    @Override
+    public String toString() {
+        return format(BewaesserungsEmpfehlung.STANDARD_LOCALE);
+    }
+}
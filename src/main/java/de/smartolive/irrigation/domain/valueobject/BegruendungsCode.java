@@ -0,0 +1,43 @@
+package de.smartolive.irrigation.domain.valueobject;
+
+/**
+ * Enum: Art einer Begründung in einer {@link BewaesserungsEmpfehlung}.
+ * Der Text steht unter {@link #getMessageKey()} in {@code i18n/messages_*.properties};
+ * die Platzhalter {0}, {1}, … sind die Zahlenwerte der {@link Begruendung},
+ * ein Detailtext folgt als letzter Platzhalter.
+ */
+public enum BegruendungsCode {
+    WETTERDATEN_VERALTET("wetterdatenVeraltet"),
+    KEINE_SENSORDATEN("keineSensordaten"),
+    SENSORDATEN_VERALTET("sensordatenVeraltet"),
+    SENSOR_FEHLER("sensorFehler"),
+    FALLBACK_STANDARD("fallbackStandard"),
+    FALLBACK_KEINE("fallbackKeine"),
+    REGEN_VORHERGESAGT("regenVorhergesagt"),
+    FROSTGEFAHR("frostgefahr"),
+    STARKER_WIND("starkerWind"),
+    AUSSERHALB_ZEITFENSTER("ausserhalbZeitfenster"),
+    TAGESLIMIT_ERREICHT("tageslimitErreicht"),
+    FEUCHTE_OPTIMAL("feuchteOptimal"),
+    BASISBEDARF("basisbedarf"),
+    FEUCHTEFAKTOR("feuchtefaktor"),
+    WETTERFAKTOR("wetterfaktor"),
+    BODENFAKTOR("bodenfaktor"),
+    ALTERSFAKTOR("altersfaktor"),
+    KRITISCHE_FEUCHTE("kritischeFeuchte"),
+
+    /**
+     * Freitext ohne Übersetzung, z.B. aus Tests oder Altdaten
+     */
+    TEXT(null);
+
+    private final String messageKey;
+
+    BegruendungsCode(String messageKey) {
+        this.messageKey = messageKey != null ? "empfehlung.grund." + messageKey : null;
+    }
+
+    public String getMessageKey() {
+        return messageKey;
+    }
+}
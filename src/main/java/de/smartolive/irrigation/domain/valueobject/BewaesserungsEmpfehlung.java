@@ -1,25 +1,39 @@
 package de.smartolive.irrigation.domain.valueobject;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Locale;
 import java.util.Objects;
 
 /**
  * Value Object: Repräsentiert eine Bewässerungsempfehlung für eine Parzelle
  * basierend auf aktuellen Sensorwerten, Wetter und Parzellenprofil.
+ * Begründungen werden als {@link Begruendung} gehalten und erst beim Lesen übersetzt.
  */
 public class BewaesserungsEmpfehlung {
 
+    /** Sprache von {@link #getBegruendungen()} */
+    public static final Locale STANDARD_LOCALE = Locale.GERMAN;
+
     private final LocalDateTime erstelltAm;
     private final double empfohleneMengeLiter;
     private final EmpfehlungsStufe stufe;
-    private final List<String> begruendungen;
+    private final List<Begruendung> gruende;
 
     public BewaesserungsEmpfehlung(LocalDateTime erstelltAm,
                                    double empfohleneMengeLiter,
                                    EmpfehlungsStufe stufe,
                                    List<String> begruendungen) {
+        this(toTexte(begruendungen), erstelltAm, empfohleneMengeLiter, stufe);
+    }
+
+    // Andere Parameterreihenfolge, da sich List<String> und List<Begruendung> nicht überladen lassen
+    private BewaesserungsEmpfehlung(List<Begruendung> gruende,
+                                    LocalDateTime erstelltAm,
+                                    double empfohleneMengeLiter,
+                                    EmpfehlungsStufe stufe) {
 
         this.erstelltAm = Objects.requireNonNull(erstelltAm, "Erstellungszeit darf nicht null sein");
 
@@ -29,11 +43,24 @@ public class BewaesserungsEmpfehlung {
         this.empfohleneMengeLiter = empfohleneMengeLiter;
 
         this.stufe = Objects.requireNonNull(stufe, "Empfehlungsstufe darf nicht null sein");
-        this.begruendungen = begruendungen != null ?
-                Collections.unmodifiableList(begruendungen) :
+        this.gruende = gruende != null ?
+                Collections.unmodifiableList(gruende) :
                 Collections.emptyList();
     }
 
+    // Fabrikmethode für strukturierte Begründungen der Regelauswertung
+    public static BewaesserungsEmpfehlung mitGruenden(LocalDateTime erstelltAm,
+                                                      double empfohleneMengeLiter,
+                                                      EmpfehlungsStufe stufe,
+                                                      List<Begruendung> gruende) {
+        return new BewaesserungsEmpfehlung(gruende, erstelltAm, empfohleneMengeLiter, stufe);
+    }
+
+    // Fabrikmethode für "Keine Bewässerung" mit strukturierten Begründungen
+    public static BewaesserungsEmpfehlung keineBewaesserung(List<Begruendung> gruende) {
+        return mitGruenden(LocalDateTime.now(), 0.0, EmpfehlungsStufe.KEINE, gruende);
+    }
+
     // Fabrikmethode für "Keine Bewässerung"
     public static BewaesserungsEmpfehlung keineBewaesserung(String... begruendungen) {
         return new BewaesserungsEmpfehlung(
@@ -69,8 +96,26 @@ public class BewaesserungsEmpfehlung {
         return stufe;
     }
 
+    public List<Begruendung> getGruende() {
+        return gruende;
+    }
+
+    /**
+     * Begründungen als Text in {@link #STANDARD_LOCALE}
+     */
     public List<String> getBegruendungen() {
-        return begruendungen;
+        return getBegruendungen(STANDARD_LOCALE);
+    }
+
+    /**
+     * Begründungen als Text in der gewünschten Sprache; wird bei jedem Aufruf neu erzeugt
+     */
+    public List<String> getBegruendungen(Locale locale) {
+        List<String> texte = new ArrayList<>(gruende.size());
+        for (Begruendung grund : gruende) {
+            texte.add(grund.format(locale));
+        }
+        return texte;
     }
 
     public LocalDateTime getErstelltAm() {
@@ -86,16 +131,17 @@ public class BewaesserungsEmpfehlung {
         return Double.compare(that.empfohleneMengeLiter, empfohleneMengeLiter) == 0 &&
                 erstelltAm.equals(that.erstelltAm) &&
                 stufe == that.stufe &&
-                begruendungen.equals(that.begruendungen);
+                gruende.equals(that.gruende);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(erstelltAm, empfohleneMengeLiter, stufe, begruendungen);
+        return Objects.hash(erstelltAm, empfohleneMengeLiter, stufe, gruende);
     }
 
     @Override
     public String toString() {
+        List<String> begruendungen = getBegruendungen();
         if (sollBewaessertWerden()) {
             return String.format("Empfehlung: %.1fL (%s) - %s",
                     empfohleneMengeLiter, stufe, String.join(", ", begruendungen));
@@ -104,4 +150,15 @@ public class BewaesserungsEmpfehlung {
                     stufe, String.join(", ", begruendungen));
         }
     }
-}
\ No newline at end of file
+
+    private static List<Begruendung> toTexte(List<String> begruendungen) {
+        if (begruendungen == null) {
+            return null;
+        }
+        List<Begruendung> gruende = new ArrayList<>(begruendungen.size());
+        for (String text : begruendungen) {
+            gruende.add(Begruendung.text(text));
+        }
+        return gruende;
+    }
+}
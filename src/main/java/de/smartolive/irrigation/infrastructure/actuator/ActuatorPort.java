@@ -1,4 +1,17 @@
 package de.smartolive.irrigation.infrastructure.actuator;
 
-public class ActuatorPort {
+import de.smartolive.irrigation.infrastructure.exception.ActuatorFailureException;
+
+/**
+ * Steuerung der Bewässerungsventile einer Parzelle.
+ * Die Aufrufe kehren erst zurück, wenn die Ventilsteuerung den Befehl bestätigt hat.
+ */
+public interface ActuatorPort {
+
+    /**
+     * Öffnet das Ventil, bis die angegebene Wassermenge ausgebracht ist
+     */
+    void startIrrigation(Long parzelleId, double wasserMengeLiter) throws ActuatorFailureException;
+
+    void stopIrrigation(Long parzelleId) throws ActuatorFailureException;
 }
@@ -1,5 +1,66 @@
 package de.smartolive.irrigation.infrastructure.actuator;
 
-public class MockActuatorAdapter
-{
+import de.smartolive.irrigation.infrastructure.messaging.BusMessage;
+import de.smartolive.irrigation.infrastructure.messaging.InProcessMessageBus;
+import de.smartolive.irrigation.infrastructure.messaging.MessagingTopics;
+import de.smartolive.irrigation.infrastructure.messaging.Qos;
+import de.smartolive.irrigation.infrastructure.messaging.Subscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Simuliert die Ventilsteuerungen im Feld: nimmt Befehle vom Nachrichtenbus entgegen,
+ * merkt sich den Ventilzustand und bestätigt jeden Befehl. Wiederholt zugestellte
+ * Befehle (QoS 1) werden erneut bestätigt, aber nicht erneut ausgeführt.
+ */
+@Component
+@ConditionalOnProperty(name = "app.actuator.mock.enabled", havingValue = "true", matchIfMissing = true)
+public class MockActuatorAdapter {
+
+    private static final Logger log = LoggerFactory.getLogger(MockActuatorAdapter.class);
+
+    private final InProcessMessageBus bus;
+    private final Map<Long, Boolean> openValves = new ConcurrentHashMap<>();
+    private final Map<Long, Long> lastCommandIds = new ConcurrentHashMap<>();
+    private Subscription commandSubscription;
+
+    public MockActuatorAdapter(InProcessMessageBus bus) {
+        this.bus = bus;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        commandSubscription = bus.subscribe(MessagingTopics.VALVE_COMMANDS, this::onCommand);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (commandSubscription != null) {
+            commandSubscription.close();
+        }
+    }
+
+    public boolean isValveOpen(long parzelleId) {
+        return openValves.getOrDefault(parzelleId, false);
+    }
+
+    private void onCommand(BusMessage message) throws InterruptedException {
+        ValveCommand command = ValveCommand.fromPayload(
+                MessagingTopics.parzelleIdOf(message.getTopic()), message.getPayload());
+        Long previous = lastCommandIds.put(command.getParzelleId(), command.getCommandId());
+        if (previous == null || previous != command.getCommandId()) {
+            openValves.put(command.getParzelleId(), command.getAction() == ValveCommand.Action.START);
+            log.info("Simuliertes Ventil Parzelle {}: {} ({} l)", command.getParzelleId(),
+                    command.getAction(), command.getWasserMengeLiter());
+        }
+        bus.publish(MessagingTopics.valveAck(command.getParzelleId()),
+                ValveAck.ok(command.getCommandId()).toPayload(), Qos.AT_LEAST_ONCE);
+    }
 }
@@ -1,4 +1,110 @@
 package de.smartolive.irrigation.infrastructure.actuator;
 
-public class MqttActuatorAdapter {
+import de.smartolive.irrigation.infrastructure.exception.ActuatorFailureException;
+import de.smartolive.irrigation.infrastructure.messaging.BusMessage;
+import de.smartolive.irrigation.infrastructure.messaging.InProcessMessageBus;
+import de.smartolive.irrigation.infrastructure.messaging.MessagingTopics;
+import de.smartolive.irrigation.infrastructure.messaging.Qos;
+import de.smartolive.irrigation.infrastructure.messaging.Subscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Steuert die Ventile über die MQTT-Topics {@link MessagingTopics#valveCommand} und
+ * {@link MessagingTopics#valveAck}. Befehle werden mit QoS 1 gesendet; der Aufruf wartet
+ * auf die Bestätigung mit derselben Befehls-ID.
+ */
+@Component
+public class MqttActuatorAdapter implements ActuatorPort {
+
+    private static final Logger log = LoggerFactory.getLogger(MqttActuatorAdapter.class);
+
+    private final InProcessMessageBus bus;
+    private final Duration ackTimeout;
+    // Start bei der aktuellen Zeit, damit Bestätigungen aus früheren Läufen nicht zugeordnet werden
+    private final AtomicLong commandIds = new AtomicLong(System.currentTimeMillis());
+    private final Map<Long, CompletableFuture<ValveAck>> pendingAcks = new ConcurrentHashMap<>();
+    private Subscription ackSubscription;
+
+    public MqttActuatorAdapter(InProcessMessageBus bus,
+                               @Value("${app.actuator.ack-timeout:PT10S}") Duration ackTimeout) {
+        this.bus = bus;
+        this.ackTimeout = ackTimeout;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        ackSubscription = bus.subscribe(MessagingTopics.VALVE_ACKS, this::onAck);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (ackSubscription != null) {
+            ackSubscription.close();
+        }
+    }
+
+    @Override
+    public void startIrrigation(Long parzelleId, double wasserMengeLiter) throws ActuatorFailureException {
+        if (wasserMengeLiter <= 0) {
+            throw new IllegalArgumentException("Wassermenge muss positiv sein");
+        }
+        send(new ValveCommand(commandIds.incrementAndGet(), parzelleId, ValveCommand.Action.START, wasserMengeLiter));
+    }
+
+    @Override
+    public void stopIrrigation(Long parzelleId) throws ActuatorFailureException {
+        send(new ValveCommand(commandIds.incrementAndGet(), parzelleId, ValveCommand.Action.STOP, 0));
+    }
+
+    private void send(ValveCommand command) throws ActuatorFailureException {
+        CompletableFuture<ValveAck> ack = new CompletableFuture<>();
+        pendingAcks.put(command.getCommandId(), ack);
+        try {
+            boolean accepted = bus.publish(MessagingTopics.valveCommand(command.getParzelleId()),
+                    command.toPayload(), Qos.AT_LEAST_ONCE);
+            if (!accepted) {
+                throw new ActuatorFailureException("Ventilbefehl für Parzelle " + command.getParzelleId() +
+                        " nicht zugestellt: Nachrichtenbus überlastet");
+            }
+            ValveAck result = ack.get(ackTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            if (!result.isSuccess()) {
+                throw new ActuatorFailureException("Ventil der Parzelle " + command.getParzelleId() +
+                        " meldet Fehler: " + result.getMessage());
+            }
+            log.debug("Ventilbefehl {} für Parzelle {} bestätigt", command.getAction(), command.getParzelleId());
+        } catch (TimeoutException e) {
+            throw new ActuatorFailureException("Keine Bestätigung von Parzelle " + command.getParzelleId() +
+                    " innerhalb von " + ackTimeout, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ActuatorFailureException("Warten auf Ventilbestätigung unterbrochen", e);
+        } catch (ExecutionException e) {
+            throw new ActuatorFailureException("Ventilbefehl fehlgeschlagen", e.getCause());
+        } finally {
+            pendingAcks.remove(command.getCommandId());
+        }
+    }
+
+    private void onAck(BusMessage message) {
+        ValveAck ack = ValveAck.fromPayload(message.getPayload());
+        CompletableFuture<ValveAck> pending = pendingAcks.get(ack.getCommandId());
+        // Doppelte oder verspätete Bestätigungen werden ignoriert
+        if (pending != null) {
+            pending.complete(ack);
+        }
+    }
 }
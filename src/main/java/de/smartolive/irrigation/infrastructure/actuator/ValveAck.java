@@ -0,0 +1,57 @@
+package de.smartolive.irrigation.infrastructure.actuator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bestätigung einer Ventilsteuerung auf {@code smartolive/parzellen/<id>/valve/ack}.
+ * Payload: {@code <commandId>;OK} oder {@code <commandId>;ERROR;<Meldung>} (UTF-8)
+ */
+public final class ValveAck {
+
+    private static final String OK = "OK";
+    private static final String ERROR = "ERROR";
+
+    private final long commandId;
+    private final boolean success;
+    private final String message;
+
+    private ValveAck(long commandId, boolean success, String message) {
+        this.commandId = commandId;
+        this.success = success;
+        this.message = message;
+    }
+
+    public static ValveAck ok(long commandId) {
+        return new ValveAck(commandId, true, null);
+    }
+
+    public static ValveAck error(long commandId, String message) {
+        return new ValveAck(commandId, false, message);
+    }
+
+    public byte[] toPayload() {
+        String text = success ? commandId + ";" + OK : commandId + ";" + ERROR + ";" + message;
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    public static ValveAck fromPayload(byte[] payload) {
+        String[] parts = new String(payload, StandardCharsets.UTF_8).split(";", 3);
+        long commandId = Long.parseLong(parts[0]);
+        if (parts.length >= 2 && OK.equals(parts[1])) {
+            return ok(commandId);
+        }
+        return error(commandId, parts.length == 3 ? parts[2] : "unbekannter Fehler");
+    }
+
+    public long getCommandId() {
+        return commandId;
+    }
+
+    public boolean isSuccess() {
+        return success;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
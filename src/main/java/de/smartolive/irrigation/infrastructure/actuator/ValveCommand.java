@@ -0,0 +1,55 @@
+package de.smartolive.irrigation.infrastructure.actuator;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Ventilbefehl auf {@code smartolive/parzellen/<id>/valve/command}.
+ * Payload: {@code <commandId>;<START|STOP>;<liter>} (ASCII)
+ */
+public final class ValveCommand {
+
+    public enum Action {
+        START, STOP
+    }
+
+    private final long commandId;
+    private final long parzelleId;
+    private final Action action;
+    private final double wasserMengeLiter;
+
+    public ValveCommand(long commandId, long parzelleId, Action action, double wasserMengeLiter) {
+        this.commandId = commandId;
+        this.parzelleId = parzelleId;
+        this.action = action;
+        this.wasserMengeLiter = wasserMengeLiter;
+    }
+
+    public byte[] toPayload() {
+        return (commandId + ";" + action + ";" + wasserMengeLiter).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    public static ValveCommand fromPayload(long parzelleId, byte[] payload) {
+        String[] parts = new String(payload, StandardCharsets.US_ASCII).split(";");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Ungültiger Ventilbefehl: " + new String(payload, StandardCharsets.US_ASCII));
+        }
+        return new ValveCommand(Long.parseLong(parts[0]), parzelleId, Action.valueOf(parts[1]),
+                Double.parseDouble(parts[2]));
+    }
+
+    public long getCommandId() {
+        return commandId;
+    }
+
+    public long getParzelleId() {
+        return parzelleId;
+    }
+
+    public Action getAction() {
+        return action;
+    }
+
+    public double getWasserMengeLiter() {
+        return wasserMengeLiter;
+    }
+}
@@ -1,4 +1,15 @@
 package de.smartolive.irrigation.infrastructure.exception;
 
-public class ActuatorFailureException {
+/**
+ * Ein Aktor (Ventil, Pumpe) hat einen Befehl nicht oder nicht rechtzeitig ausgeführt
+ */
+public class ActuatorFailureException extends Exception {
+
+    public ActuatorFailureException(String message) {
+        super(message);
+    }
+
+    public ActuatorFailureException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -1,4 +1,16 @@
 package de.smartolive.irrigation.infrastructure.exception;
 
-public class SensorCommunicationException {
+/**
+ * Fehler bei der Kommunikation mit Sensoren oder Gateways, z.B. nicht erreichbare
+ * Gateways oder ungültige Uplink-Frames
+ */
+public class SensorCommunicationException extends Exception {
+
+    public SensorCommunicationException(String message) {
+        super(message);
+    }
+
+    public SensorCommunicationException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
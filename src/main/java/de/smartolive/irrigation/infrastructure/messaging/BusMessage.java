@@ -0,0 +1,52 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+/**
+ * Nachricht auf dem {@link InProcessMessageBus}; der Payload wird nicht kopiert
+ * und darf nach dem Veröffentlichen nicht mehr verändert werden
+ */
+public final class BusMessage {
+
+    private final String topic;
+    private final byte[] payload;
+    private final Qos qos;
+    private final long publishedNanos;
+    private final boolean duplicate;
+
+    BusMessage(String topic, byte[] payload, Qos qos, long publishedNanos, boolean duplicate) {
+        this.topic = topic;
+        this.payload = payload;
+        this.qos = qos;
+        this.publishedNanos = publishedNanos;
+        this.duplicate = duplicate;
+    }
+
+    BusMessage asDuplicate() {
+        return new BusMessage(topic, payload, qos, publishedNanos, true);
+    }
+
+    public String getTopic() {
+        return topic;
+    }
+
+    public byte[] getPayload() {
+        return payload;
+    }
+
+    public Qos getQos() {
+        return qos;
+    }
+
+    /**
+     * {@link System#nanoTime()} beim Veröffentlichen, für Latenzmessungen
+     */
+    public long getPublishedNanos() {
+        return publishedNanos;
+    }
+
+    /**
+     * Wiederholte Zustellung nach fehlgeschlagener Verarbeitung (MQTT-DUP-Flag)
+     */
+    public boolean isDuplicate() {
+        return duplicate;
+    }
+}
@@ -0,0 +1,223 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Topic-Bus im Prozess mit der Semantik unserer MQTT-Anbindung, um Sensor-Uplinks und
+ * Ventilbefehle ohne Broker zu betreiben und auf einem Rechner unter Last zu messen.
+ *
+ * Jedes {@link Subscription Abonnement} hat einen begrenzten Puffer und einen eigenen
+ * virtuellen Thread. Bei vollem Puffer wartet ein QoS-1-Sender bis zu
+ * {@code app.bus.publish-timeout} (Backpressure), QoS-0-Nachrichten werden verworfen.
+ * Wirft der Handler eine Exception, wird eine QoS-1-Nachricht nach
+ * {@code app.bus.redelivery-delay} mit DUP-Flag erneut zugestellt, höchstens
+ * {@code app.bus.max-deliveries} Mal; nachfolgende Nachrichten warten so lange.
+ */
+@Component
+public class InProcessMessageBus {
+
+    private static final Logger log = LoggerFactory.getLogger(InProcessMessageBus.class);
+
+    private static final int MAX_CACHED_ROUTES = 10_000;
+
+    private final int defaultQueueCapacity;
+    private final long publishTimeoutNanos;
+    private final int maxDeliveries;
+    private final Duration redeliveryDelay;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    // Passende Abonnements je Topic; jede Änderung der Abonnements ersetzt die Tabelle, sodass
+    // eine vor der Änderung berechnete Route nur noch in die verworfene Tabelle geschrieben wird
+    private volatile Map<String, List<Subscription>> routes = new ConcurrentHashMap<>();
+    private final ExecutorService consumers =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("bus-consumer-", 0).factory());
+    private final BusStatistics statistics = new BusStatistics();
+
+    public InProcessMessageBus(@Value("${app.bus.queue-capacity:1024}") int defaultQueueCapacity,
+                               @Value("${app.bus.publish-timeout:PT5S}") Duration publishTimeout,
+                               @Value("${app.bus.max-deliveries:5}") int maxDeliveries,
+                               @Value("${app.bus.redelivery-delay:PT1S}") Duration redeliveryDelay) {
+        if (defaultQueueCapacity < 1 || maxDeliveries < 1) {
+            throw new IllegalArgumentException("Puffergröße und Zustellversuche müssen mindestens 1 sein");
+        }
+        this.defaultQueueCapacity = defaultQueueCapacity;
+        this.publishTimeoutNanos = publishTimeout.toNanos();
+        this.maxDeliveries = maxDeliveries;
+        this.redeliveryDelay = redeliveryDelay;
+    }
+
+    public Subscription subscribe(String topicFilter, MessageHandler handler) {
+        return subscribe(topicFilter, defaultQueueCapacity, handler);
+    }
+
+    public Subscription subscribe(String topicFilter, int queueCapacity, MessageHandler handler) {
+        Subscription subscription = new Subscription(this, TopicFilter.parse(topicFilter), handler, queueCapacity);
+        subscriptions.add(subscription);
+        routes = new ConcurrentHashMap<>();
+        subscription.setConsumer(consumers.submit(() -> consume(subscription)));
+        return subscription;
+    }
+
+    /**
+     * Stellt die Nachricht allen passenden Abonnements zu.
+     *
+     * @return {@code false}, wenn mindestens ein Abonnement die Nachricht wegen vollem
+     * Puffer nicht angenommen hat
+     */
+    public boolean publish(String topic, byte[] payload, Qos qos) throws InterruptedException {
+        // Tabelle vor den Abonnements lesen: eine danach ersetzte Tabelle erhält die Route nicht
+        Map<String, List<Subscription>> cache = routes;
+        List<Subscription> targets = cache.get(topic);
+        if (targets == null) {
+            TopicFilter.validateTopic(topic);
+            targets = route(topic);
+            if (cache.size() < MAX_CACHED_ROUTES) {
+                cache.put(topic, targets);
+            }
+        }
+
+        statistics.published.increment();
+        BusMessage message = new BusMessage(topic, payload, qos, System.nanoTime(), false);
+        boolean accepted = true;
+        for (Subscription subscription : targets) {
+            if (!subscription.isActive()) {
+                continue;
+            }
+            boolean queued = qos == Qos.AT_LEAST_ONCE
+                    ? subscription.getQueue().offer(message, publishTimeoutNanos, TimeUnit.NANOSECONDS)
+                    : subscription.getQueue().offer(message);
+            if (!queued) {
+                statistics.dropped.increment();
+                accepted = false;
+            }
+        }
+        return accepted;
+    }
+
+    public BusStatistics getStatistics() {
+        return statistics;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+        consumers.shutdownNow();
+    }
+
+    void unsubscribe(Subscription subscription) {
+        subscriptions.remove(subscription);
+        routes = new ConcurrentHashMap<>();
+    }
+
+    private List<Subscription> route(String topic) {
+        List<Subscription> targets = new ArrayList<>();
+        for (Subscription subscription : subscriptions) {
+            if (subscription.getTopicFilter().matches(topic)) {
+                targets.add(subscription);
+            }
+        }
+        return List.copyOf(targets);
+    }
+
+    private void consume(Subscription subscription) {
+        try {
+            while (subscription.isActive()) {
+                deliver(subscription, subscription.getQueue().take());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void deliver(Subscription subscription, BusMessage message) throws InterruptedException {
+        BusMessage attempt = message;
+        for (int delivery = 1; ; delivery++) {
+            try {
+                subscription.getHandler().onMessage(attempt);
+                statistics.recordDelivery(System.nanoTime() - message.getPublishedNanos());
+                return;
+            } catch (InterruptedException e) {
+                throw e;
+            } catch (Exception e) {
+                if (message.getQos() == Qos.AT_MOST_ONCE || delivery >= maxDeliveries) {
+                    statistics.deadLettered.increment();
+                    log.warn("Nachricht auf {} nach {} Versuch(en) verworfen ({})",
+                            message.getTopic(), delivery, subscription.getFilter(), e);
+                    return;
+                }
+                statistics.redelivered.increment();
+                log.debug("Zustellung auf {} fehlgeschlagen, Versuch {} von {}: {}",
+                        message.getTopic(), delivery, maxDeliveries, e.getMessage());
+                Thread.sleep(redeliveryDelay);
+                attempt = message.asDuplicate();
+            }
+        }
+    }
+
+    /**
+     * Zähler und Ende-zu-Ende-Latenz (Veröffentlichen bis Ende der Verarbeitung)
+     */
+    public static class BusStatistics {
+        private final LongAdder published = new LongAdder();
+        private final LongAdder delivered = new LongAdder();
+        private final LongAdder redelivered = new LongAdder();
+        private final LongAdder dropped = new LongAdder();
+        private final LongAdder deadLettered = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+
+        void recordDelivery(long latencyNanos) {
+            delivered.increment();
+            totalLatencyNanos.add(latencyNanos);
+            maxLatencyNanos.accumulate(latencyNanos);
+        }
+
+        public long getPublished() {
+            return published.sum();
+        }
+
+        public long getDelivered() {
+            return delivered.sum();
+        }
+
+        public long getRedelivered() {
+            return redelivered.sum();
+        }
+
+        /** Wegen vollem Puffer nicht angenommen */
+        public long getDropped() {
+            return dropped.sum();
+        }
+
+        /** Nach dem letzten Zustellversuch aufgegeben */
+        public long getDeadLettered() {
+            return deadLettered.sum();
+        }
+
+        public Duration getAverageLatency() {
+            long count = delivered.sum();
+            return count > 0 ? Duration.ofNanos(totalLatencyNanos.sum() / count) : Duration.ZERO;
+        }
+
+        public Duration getMaxLatency() {
+            return Duration.ofNanos(maxLatencyNanos.get());
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+/**
+ * Verarbeitet Nachrichten eines Abonnements. Kehrt der Aufruf normal zurück, gilt die
+ * Nachricht als bestätigt; bei einer Exception wird sie mit QoS 1 erneut zugestellt.
+ */
+@FunctionalInterface
+public interface MessageHandler {
+
+    void onMessage(BusMessage message) throws Exception;
+}
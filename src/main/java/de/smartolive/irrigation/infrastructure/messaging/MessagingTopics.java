@@ -0,0 +1,40 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+/**
+ * Topics der MQTT-Anbindung, gelten unverändert für den {@link InProcessMessageBus}
+ */
+public final class MessagingTopics {
+
+    /** Binäre Uplink-Frames (siehe {@code sensor_uplink.proto}) aller Gateways */
+    public static final String SENSOR_UPLINKS = "smartolive/gateways/+/uplink";
+    /** Ventilbefehle an alle Parzellen */
+    public static final String VALVE_COMMANDS = "smartolive/parzellen/+/valve/command";
+    /** Bestätigungen der Ventilsteuerungen */
+    public static final String VALVE_ACKS = "smartolive/parzellen/+/valve/ack";
+
+    private MessagingTopics() {
+    }
+
+    public static String sensorUplink(String gatewayId) {
+        return "smartolive/gateways/" + gatewayId + "/uplink";
+    }
+
+    public static String valveCommand(long parzelleId) {
+        return "smartolive/parzellen/" + parzelleId + "/valve/command";
+    }
+
+    public static String valveAck(long parzelleId) {
+        return "smartolive/parzellen/" + parzelleId + "/valve/ack";
+    }
+
+    /**
+     * Parzellen-ID aus einem Ventil-Topic
+     */
+    public static long parzelleIdOf(String valveTopic) {
+        String[] levels = valveTopic.split("/");
+        if (levels.length < 3 || !levels[1].equals("parzellen")) {
+            throw new IllegalArgumentException("Kein Parzellen-Topic: " + valveTopic);
+        }
+        return Long.parseLong(levels[2]);
+    }
+}
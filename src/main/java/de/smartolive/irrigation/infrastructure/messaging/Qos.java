@@ -0,0 +1,11 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+/**
+ * Zustellgarantie wie bei MQTT (QoS 2 wird nicht benötigt)
+ */
+public enum Qos {
+    /** Höchstens einmal: bei vollem Empfänger-Puffer verworfen, nie wiederholt */
+    AT_MOST_ONCE,
+    /** Mindestens einmal: Sender wartet bei vollem Puffer, fehlgeschlagene Zustellung wird wiederholt */
+    AT_LEAST_ONCE
+}
@@ -0,0 +1,70 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+
+/**
+ * Abonnement auf dem {@link InProcessMessageBus} mit eigenem, begrenztem Puffer.
+ * Nachrichten werden in Veröffentlichungsreihenfolge nacheinander verarbeitet.
+ */
+public final class Subscription implements AutoCloseable {
+
+    private final InProcessMessageBus bus;
+    private final TopicFilter filter;
+    private final MessageHandler handler;
+    private final BlockingQueue<BusMessage> queue;
+    private volatile Future<?> consumer;
+    private volatile boolean active = true;
+
+    Subscription(InProcessMessageBus bus, TopicFilter filter, MessageHandler handler, int capacity) {
+        this.bus = bus;
+        this.filter = filter;
+        this.handler = handler;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    TopicFilter getTopicFilter() {
+        return filter;
+    }
+
+    MessageHandler getHandler() {
+        return handler;
+    }
+
+    BlockingQueue<BusMessage> getQueue() {
+        return queue;
+    }
+
+    void setConsumer(Future<?> consumer) {
+        this.consumer = consumer;
+    }
+
+    boolean isActive() {
+        return active;
+    }
+
+    public String getFilter() {
+        return filter.toString();
+    }
+
+    /**
+     * Anzahl noch nicht verarbeiteter Nachrichten
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    @Override
+    public void close() {
+        if (!active) {
+            return;
+        }
+        active = false;
+        bus.unsubscribe(this);
+        Future<?> running = consumer;
+        if (running != null) {
+            running.cancel(true);
+        }
+    }
+}
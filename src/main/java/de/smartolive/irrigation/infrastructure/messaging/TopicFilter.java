@@ -0,0 +1,83 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+/**
+ * Topic-Filter mit MQTT-Semantik: {@code +} steht für genau eine Ebene, {@code #} als letzte
+ * Ebene für beliebig viele (auch keine). Topics mit {@code $} am Anfang werden von
+ * Wildcards auf der ersten Ebene nicht erfasst.
+ */
+final class TopicFilter {
+
+    private static final String SINGLE_LEVEL = "+";
+    private static final String MULTI_LEVEL = "#";
+
+    private final String filter;
+    private final String[] levels;
+
+    private TopicFilter(String filter, String[] levels) {
+        this.filter = filter;
+        this.levels = levels;
+    }
+
+    static TopicFilter parse(String filter) {
+        if (filter == null || filter.isEmpty()) {
+            throw new IllegalArgumentException("Topic-Filter darf nicht leer sein");
+        }
+        String[] levels = filter.split("/", -1);
+        for (int i = 0; i < levels.length; i++) {
+            String level = levels[i];
+            if (level.equals(MULTI_LEVEL) && i != levels.length - 1) {
+                throw new IllegalArgumentException("'#' nur als letzte Ebene erlaubt: " + filter);
+            }
+            if (level.length() > 1 && (level.contains(SINGLE_LEVEL) || level.contains(MULTI_LEVEL))) {
+                throw new IllegalArgumentException("Wildcards müssen eine ganze Ebene belegen: " + filter);
+            }
+        }
+        return new TopicFilter(filter, levels);
+    }
+
+    /**
+     * Prüft ein konkretes Topic, ohne es in Ebenen zu zerlegen
+     */
+    boolean matches(String topic) {
+        if (topic.startsWith("$") && isWildcard(levels[0])) {
+            return false;
+        }
+        int position = 0;
+        for (String level : levels) {
+            if (level.equals(MULTI_LEVEL)) {
+                return true;
+            }
+            if (position > topic.length()) {
+                return false;
+            }
+            int end = topic.indexOf('/', position);
+            if (end < 0) {
+                end = topic.length();
+            }
+            if (!level.equals(SINGLE_LEVEL)
+                    && (end - position != level.length() || !topic.startsWith(level, position))) {
+                return false;
+            }
+            position = end + 1;
+        }
+        return position > topic.length();
+    }
+
+    static void validateTopic(String topic) {
+        if (topic == null || topic.isEmpty()) {
+            throw new IllegalArgumentException("Topic darf nicht leer sein");
+        }
+        if (topic.indexOf('+') >= 0 || topic.indexOf('#') >= 0) {
+            throw new IllegalArgumentException("Wildcards sind nur in Abonnements erlaubt: " + topic);
+        }
+    }
+
+    private static boolean isWildcard(String level) {
+        return level.equals(SINGLE_LEVEL) || level.equals(MULTI_LEVEL);
+    }
+
+    @Override
+    public String toString() {
+        return filter;
+    }
+}
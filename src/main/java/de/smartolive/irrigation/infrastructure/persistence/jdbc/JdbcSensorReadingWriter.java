@@ -0,0 +1,170 @@
+package de.smartolive.irrigation.infrastructure.persistence.jdbc;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Schreibt Sensor-Messungen per JDBC-Batch direkt in {@code sensor_readings}.
+ *
+ * Hibernate kann Entities mit {@code GenerationType.IDENTITY} nicht im Batch einfügen,
+ * deshalb umgeht der Bulk-Ingest den EntityManager. Unter MySQL sollte die JDBC-URL
+ * {@code rewriteBatchedStatements=true} enthalten, damit der Treiber die Batches zu
+ * mehrzeiligen INSERTs zusammenfasst.
+ */
+@Component
+public class JdbcSensorReadingWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sensor_readings (parzelle_id, timestamp, moisture_percent, temperature_celsius, " +
+            "ec_value, ph_value, battery_level, status, sensor_id, created_at, signal_strength, " +
+            "location_accuracy, data_quality_score) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JdbcSensorReadingWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Fügt einen Batch in einer Transaktion ein und übernimmt die generierten IDs
+     * in die übergebenen Messungen.
+     * @return Anzahl eingefügter Zeilen
+     */
+    @Transactional
+    public int insertBatch(List<SensorReading> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Integer inserted = jdbcTemplate.execute(
+                (Connection con) -> con.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                (PreparedStatement ps) -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    for (SensorReading reading : batch) {
+                        bind(ps, reading, now);
+                        ps.addBatch();
+                    }
+                    int[] counts = ps.executeBatch();
+                    assignGeneratedIds(ps, batch);
+                    return countInserted(counts, batch.size());
+                });
+
+        return inserted != null ? inserted : 0;
+    }
+
+    /**
+     * Fügt kompakte Messungen ohne Umweg über die Entity ein. Die Datenqualität wird
+     * dabei einmal für den ganzen Batch zum selben Zeitpunkt berechnet.
+     * @return Anzahl eingefügter Zeilen
+     */
+    @Transactional
+    public int insertSamples(List<SensorSample> batch) {
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        Integer inserted = jdbcTemplate.execute(
+                (Connection con) -> con.prepareStatement(INSERT_SQL),
+                (PreparedStatement ps) -> {
+                    long nowMillis = EpochMillis.now();
+                    Timestamp createdAt = Timestamp.valueOf(EpochMillis.toLocalDateTime(nowMillis));
+                    for (SensorSample sample : batch) {
+                        bind(ps, sample, createdAt, nowMillis);
+                        ps.addBatch();
+                    }
+                    return countInserted(ps.executeBatch(), batch.size());
+                });
+
+        return inserted != null ? inserted : 0;
+    }
+
+    private void bind(PreparedStatement ps, SensorReading reading, LocalDateTime now)
+            throws SQLException {
+        LocalDateTime timestamp = reading.getTimestamp() != null ? reading.getTimestamp() : now;
+        LocalDateTime createdAt = reading.getCreatedAt() != null ? reading.getCreatedAt() : now;
+        SensorStatus status = reading.getStatus() != null ? reading.getStatus() : SensorStatus.ONLINE;
+
+        ps.setLong(1, reading.getParzelleId());
+        ps.setTimestamp(2, Timestamp.valueOf(timestamp));
+        ps.setObject(3, reading.getMoisturePercent(), Types.DOUBLE);
+        ps.setObject(4, reading.getTemperatureCelsius(), Types.DOUBLE);
+        ps.setObject(5, reading.getEcValue(), Types.DOUBLE);
+        ps.setObject(6, reading.getPhValue(), Types.DOUBLE);
+        ps.setObject(7, reading.getBatteryLevel(), Types.INTEGER);
+        ps.setString(8, status.name());
+        ps.setString(9, reading.getSensorId());
+        ps.setTimestamp(10, Timestamp.valueOf(createdAt));
+        ps.setObject(11, reading.getSignalStrength(), Types.INTEGER);
+        ps.setObject(12, reading.getLocationAccuracy(), Types.DOUBLE);
+        ps.setObject(13, reading.getDataQualityScore(), Types.INTEGER);
+    }
+
+    private void bind(PreparedStatement ps, SensorSample sample, Timestamp createdAt, long nowMillis)
+            throws SQLException {
+        ps.setLong(1, sample.getParzelleId());
+        ps.setTimestamp(2, Timestamp.valueOf(sample.getTimestamp()));
+        setDouble(ps, 3, sample.getMoisture());
+        setDouble(ps, 4, sample.getTemperature());
+        setDouble(ps, 5, sample.getEc());
+        setDouble(ps, 6, sample.getPh());
+        setInt(ps, 7, sample.getBatteryLevel());
+        ps.setString(8, sample.getStatus().name());
+        ps.setString(9, sample.getSensorId());
+        ps.setTimestamp(10, createdAt);
+        setInt(ps, 11, sample.getSignalStrength());
+        ps.setNull(12, Types.DOUBLE);
+        ps.setInt(13, sample.dataQualityScore(nowMillis));
+    }
+
+    private static void setDouble(PreparedStatement ps, int index, double value) throws SQLException {
+        if (Double.isNaN(value)) {
+            ps.setNull(index, Types.DOUBLE);
+        } else {
+            ps.setDouble(index, value);
+        }
+    }
+
+    private static void setInt(PreparedStatement ps, int index, int value) throws SQLException {
+        if (value == SensorSample.MISSING) {
+            ps.setNull(index, Types.INTEGER);
+        } else {
+            ps.setInt(index, value);
+        }
+    }
+
+    private void assignGeneratedIds(PreparedStatement ps, List<SensorReading> batch)
+            throws SQLException {
+        try (ResultSet keys = ps.getGeneratedKeys()) {
+            int index = 0;
+            while (keys.next() && index < batch.size()) {
+                batch.get(index++).setId(keys.getLong(1));
+            }
+        }
+    }
+
+    private int countInserted(int[] counts, int batchSize) {
+        int inserted = 0;
+        for (int count : counts) {
+            // Treiber mit umgeschriebenen Batches melden SUCCESS_NO_INFO statt Zeilenanzahl
+            if (count == PreparedStatement.SUCCESS_NO_INFO) {
+                return batchSize;
+            }
+            inserted += Math.max(count, 0);
+        }
+        return inserted;
+    }
+}
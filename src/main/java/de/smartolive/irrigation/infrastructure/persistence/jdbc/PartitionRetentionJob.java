@@ -0,0 +1,308 @@
+package de.smartolive.irrigation.infrastructure.persistence.jdbc;
+
+import de.smartolive.irrigation.domain.model.RollupResolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Löscht abgelaufene Sensor-Messungen und Bewässerungsereignisse.
+ *
+ * Unter MySQL mit monatlicher Partitionierung (siehe {@code db/mysql/partitioning.sql})
+ * werden ganze Partitionen per {@code DROP PARTITION} entfernt und Partitionen für die
+ * kommenden Monate angelegt. Ohne Partitionierung (z.B. H2) wird tageweise in eigenen
+ * Transaktionen gelöscht, damit die Tabelle nie lange gesperrt ist. In beiden Fällen
+ * wird nur bis zum Monatsanfang gelöscht.
+ *
+ * Rohe Messungen werden erst gelöscht, wenn sie in den Tages-Rollups enthalten sind.
+ * Partitionierte Tabellen haben keinen Fremdschlüssel auf {@code oliven_parzellen} mehr;
+ * dort entfernt der Job zusätzlich Zeilen gelöschter oder unbekannter Parzellen.
+ */
+@Component
+public class PartitionRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(PartitionRetentionJob.class);
+
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter PARTITION_BOUND = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final int ORPHAN_DELETE_BATCH = 10_000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SensorRollupCompactor rollupCompactor;
+    private final int sensorRetentionDays;
+    private final int eventRetentionDays;
+    private final int partitionsAhead;
+    private volatile Boolean mysql;
+
+    public PartitionRetentionJob(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 SensorRollupCompactor rollupCompactor,
+                                 @Value("${app.retention.sensor-readings-days:90}") int sensorRetentionDays,
+                                 @Value("${app.retention.irrigation-events-days:1095}") int eventRetentionDays,
+                                 @Value("${app.retention.partitions-ahead:2}") int partitionsAhead) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.rollupCompactor = rollupCompactor;
+        this.sensorRetentionDays = sensorRetentionDays;
+        this.eventRetentionDays = eventRetentionDays;
+        this.partitionsAhead = partitionsAhead;
+    }
+
+    @Scheduled(cron = "${app.retention.cron:0 30 3 * * *}")
+    public void runScheduled() {
+        try {
+            for (RetentionResult result : run(LocalDateTime.now())) {
+                log.info("Retention {}: {} Partitionen, {} Zeilen, {} Bytes freigegeben",
+                        result.getTableName(), result.getPartitionsDropped(),
+                        result.getRowsDeleted(), result.getBytesReclaimed());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Retention fehlgeschlagen – nächster Versuch beim folgenden Lauf", e);
+        }
+    }
+
+    /**
+     * Führt die Retention für alle Tabellen aus
+     */
+    public List<RetentionResult> run(LocalDateTime now) {
+        List<RetentionResult> results = new ArrayList<>();
+
+        LocalDateTime sensorCutoff = monthStart(now.minusDays(sensorRetentionDays));
+        LocalDateTime compactedDays = rollupCompactor.findWatermark(RollupResolution.DAILY);
+        if (compactedDays == null) {
+            log.debug("Retention sensor_readings übersprungen: noch keine Tages-Rollups");
+        } else {
+            if (compactedDays.isBefore(sensorCutoff)) {
+                sensorCutoff = monthStart(compactedDays);
+            }
+            results.add(purge(RetainedTable.SENSOR_READINGS, sensorCutoff, now));
+        }
+
+        results.add(purge(RetainedTable.IRRIGATION_EVENTS, monthStart(now.minusDays(eventRetentionDays)), now));
+        return results;
+    }
+
+    private RetentionResult purge(RetainedTable table, LocalDateTime cutoff, LocalDateTime now) {
+        List<PartitionInfo> partitions = isMysql() ? findPartitions(table) : List.of();
+        if (partitions.isEmpty()) {
+            return deleteInChunks(table, cutoff);
+        }
+        RetentionResult result = dropPartitions(table, partitions, cutoff);
+        createFuturePartitions(table, partitions, monthStart(now).plusMonths(partitionsAhead + 1L));
+        deleteOrphanedRows(table);
+        return result;
+    }
+
+    private RetentionResult dropPartitions(RetainedTable table, List<PartitionInfo> partitions,
+                                           LocalDateTime cutoff) {
+        int dropped = 0;
+        long rows = 0;
+        long bytes = 0;
+        for (PartitionInfo partition : partitions) {
+            if (partition.upperBound == null || partition.upperBound.isAfter(cutoff)) {
+                continue;
+            }
+            // TABLE_ROWS ist bei InnoDB nur geschätzt, deshalb vor dem Entfernen exakt zählen
+            Long partitionRows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM " + table.tableName + " PARTITION (" + partition.name + ")",
+                    Long.class);
+            jdbcTemplate.execute("ALTER TABLE " + table.tableName + " DROP PARTITION " + partition.name);
+            dropped++;
+            rows += partitionRows != null ? partitionRows : 0;
+            bytes += partition.bytes;
+        }
+        return new RetentionResult(table.tableName, dropped, rows, bytes);
+    }
+
+    private void createFuturePartitions(RetainedTable table, List<PartitionInfo> partitions,
+                                        LocalDateTime until) {
+        LocalDateTime highest = null;
+        String maxValuePartition = null;
+        for (PartitionInfo partition : partitions) {
+            if (partition.upperBound == null) {
+                maxValuePartition = partition.name;
+            } else if (highest == null || partition.upperBound.isAfter(highest)) {
+                highest = partition.upperBound;
+            }
+        }
+        if (highest == null) {
+            return;
+        }
+
+        while (highest.isBefore(until)) {
+            LocalDateTime next = highest.plusMonths(1);
+            String definition = "PARTITION " + highest.format(PARTITION_NAME) +
+                    " VALUES LESS THAN ('" + next.format(PARTITION_BOUND) + "')";
+            if (maxValuePartition != null) {
+                jdbcTemplate.execute("ALTER TABLE " + table.tableName + " REORGANIZE PARTITION " +
+                        maxValuePartition + " INTO (" + definition + ", PARTITION " + maxValuePartition +
+                        " VALUES LESS THAN (MAXVALUE))");
+            } else {
+                jdbcTemplate.execute("ALTER TABLE " + table.tableName + " ADD PARTITION (" + definition + ")");
+            }
+            log.info("Partition {} für {} angelegt", highest.format(PARTITION_NAME), table.tableName);
+            highest = next;
+        }
+    }
+
+    private RetentionResult deleteInChunks(RetainedTable table, LocalDateTime cutoff) {
+        Timestamp oldest = jdbcTemplate.queryForObject(
+                "SELECT MIN(" + table.timeColumn + ") FROM " + table.tableName, Timestamp.class);
+        long rows = 0;
+        if (oldest != null) {
+            LocalDateTime chunkEnd = oldest.toLocalDateTime().truncatedTo(ChronoUnit.DAYS).plusDays(1);
+            String deleteSql = "DELETE FROM " + table.tableName + " WHERE " + table.timeColumn + " < ?";
+            while (!chunkEnd.isAfter(cutoff)) {
+                Timestamp bound = Timestamp.valueOf(chunkEnd);
+                Integer deleted = transactionTemplate.execute(status -> jdbcTemplate.update(deleteSql, bound));
+                rows += deleted != null ? deleted : 0;
+                chunkEnd = chunkEnd.plusDays(1);
+            }
+        }
+        // Ohne Partitionen gibt die Datenbank den Speicher nicht sofort frei
+        return new RetentionResult(table.tableName, 0, rows, RetentionResult.UNKNOWN_BYTES);
+    }
+
+    /**
+     * Löscht in Blöcken alle Zeilen, deren {@code parzelle_id} nicht in {@code oliven_parzellen}
+     * existiert. Die referenzierten IDs werden vor den bekannten gelesen, damit eine
+     * zwischendurch angelegte Parzelle nie als verwaist gilt.
+     */
+    long deleteOrphanedRows(RetainedTable table) {
+        List<Long> referenced = jdbcTemplate.queryForList(
+                "SELECT DISTINCT parzelle_id FROM " + table.tableName, Long.class);
+        Set<Long> known = new HashSet<>(jdbcTemplate.queryForList("SELECT id FROM oliven_parzellen", Long.class));
+        String deleteSql = "DELETE FROM " + table.tableName + " WHERE parzelle_id = ? LIMIT " + ORPHAN_DELETE_BATCH;
+        long rows = 0;
+        for (Long parzelleId : referenced) {
+            if (known.contains(parzelleId)) {
+                continue;
+            }
+            long parzelleRows = 0;
+            int deleted;
+            do {
+                Integer count = transactionTemplate.execute(status -> jdbcTemplate.update(deleteSql, parzelleId));
+                deleted = count != null ? count : 0;
+                parzelleRows += deleted;
+            } while (deleted == ORPHAN_DELETE_BATCH);
+            log.warn("{}: {} Zeilen der unbekannten Parzelle {} entfernt", table.tableName, parzelleRows, parzelleId);
+            rows += parzelleRows;
+        }
+        return rows;
+    }
+
+    private List<PartitionInfo> findPartitions(RetainedTable table) {
+        return jdbcTemplate.query(
+                "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, DATA_LENGTH + INDEX_LENGTH " +
+                "FROM information_schema.PARTITIONS WHERE TABLE_SCHEMA = DATABASE() " +
+                "AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL ORDER BY PARTITION_ORDINAL_POSITION",
+                (rs, rowNum) -> new PartitionInfo(rs.getString(1), parseBound(rs.getString(2)), rs.getLong(3)),
+                table.tableName);
+    }
+
+    private boolean isMysql() {
+        if (mysql == null) {
+            String product = jdbcTemplate.execute(
+                    (ConnectionCallback<String>) con -> con.getMetaData().getDatabaseProductName());
+            mysql = product != null && product.toLowerCase().contains("mysql");
+        }
+        return mysql;
+    }
+
+    /**
+     * Obergrenze einer RANGE-COLUMNS-Partition, {@code null} für MAXVALUE
+     */
+    static LocalDateTime parseBound(String description) {
+        if (description == null || MAXVALUE.equalsIgnoreCase(description)) {
+            return null;
+        }
+        String value = description.replace("'", "").trim();
+        if (value.length() == 10) {
+            value += " 00:00:00";
+        }
+        return LocalDateTime.parse(value.substring(0, 19), PARTITION_BOUND);
+    }
+
+    private static LocalDateTime monthStart(LocalDateTime time) {
+        return time.with(TemporalAdjusters.firstDayOfMonth()).truncatedTo(ChronoUnit.DAYS);
+    }
+
+    enum RetainedTable {
+        SENSOR_READINGS("sensor_readings", "timestamp"),
+        IRRIGATION_EVENTS("irrigation_events", "start_time");
+
+        private final String tableName;
+        private final String timeColumn;
+
+        RetainedTable(String tableName, String timeColumn) {
+            this.tableName = tableName;
+            this.timeColumn = timeColumn;
+        }
+    }
+
+    private static final class PartitionInfo {
+        private final String name;
+        private final LocalDateTime upperBound;
+        private final long bytes;
+
+        PartitionInfo(String name, LocalDateTime upperBound, long bytes) {
+            this.name = name;
+            this.upperBound = upperBound;
+            this.bytes = bytes;
+        }
+    }
+
+    /**
+     * Ergebnis eines Retention-Laufs für eine Tabelle
+     */
+    public static class RetentionResult {
+        /** Ohne Partitionen ist der freigegebene Speicher nicht bestimmbar */
+        public static final long UNKNOWN_BYTES = -1;
+
+        private final String tableName;
+        private final int partitionsDropped;
+        private final long rowsDeleted;
+        private final long bytesReclaimed;
+
+        public RetentionResult(String tableName, int partitionsDropped, long rowsDeleted, long bytesReclaimed) {
+            this.tableName = tableName;
+            this.partitionsDropped = partitionsDropped;
+            this.rowsDeleted = rowsDeleted;
+            this.bytesReclaimed = bytesReclaimed;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        public int getPartitionsDropped() {
+            return partitionsDropped;
+        }
+
+        public long getRowsDeleted() {
+            return rowsDeleted;
+        }
+
+        public long getBytesReclaimed() {
+            return bytesReclaimed;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package de.smartolive.irrigation.infrastructure.persistence.jdbc;
+
+import de.smartolive.irrigation.domain.model.RollupResolution;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Verdichtet {@code sensor_readings} im Hintergrund zu stündlichen und täglichen Rollups.
+ *
+ * Jeder Bucket wird in einer eigenen Transaktion per {@code DELETE} + {@code INSERT … SELECT}
+ * neu aufgebaut und ist damit idempotent. Die letzten Stunden werden bei jedem Lauf erneut
+ * verdichtet, damit verspätet eintreffende Messungen in den Rollups landen; betroffene Tage
+ * werden anschließend aus den Stunden-Rollups neu gebildet.
+ */
+@Component
+public class SensorRollupCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorRollupCompactor.class);
+
+    private static final String ROLLUP_COLUMNS =
+            "parzelle_id, sensor_id, bucket_start, reading_count, moisture_count, moisture_sum, " +
+            "moisture_min, moisture_max, online_moisture_count, online_moisture_sum, " +
+            "temperature_count, temperature_sum";
+
+    private static final String HOURLY_INSERT_SQL =
+            "INSERT INTO sensor_readings_hourly (" + ROLLUP_COLUMNS + ") " +
+            "SELECT parzelle_id, COALESCE(sensor_id, ''), ?, COUNT(*), " +
+            "COUNT(moisture_percent), COALESCE(SUM(moisture_percent), 0), " +
+            "MIN(moisture_percent), MAX(moisture_percent), " +
+            "COUNT(CASE WHEN status = 'ONLINE' THEN moisture_percent END), " +
+            "COALESCE(SUM(CASE WHEN status = 'ONLINE' THEN moisture_percent END), 0), " +
+            "COUNT(temperature_celsius), COALESCE(SUM(temperature_celsius), 0) " +
+            "FROM sensor_readings WHERE timestamp >= ? AND timestamp < ? " +
+            "GROUP BY parzelle_id, COALESCE(sensor_id, '')";
+
+    private static final String DAILY_INSERT_SQL =
+            "INSERT INTO sensor_readings_daily (" + ROLLUP_COLUMNS + ") " +
+            "SELECT parzelle_id, sensor_id, ?, SUM(reading_count), " +
+            "SUM(moisture_count), SUM(moisture_sum), MIN(moisture_min), MAX(moisture_max), " +
+            "SUM(online_moisture_count), SUM(online_moisture_sum), " +
+            "SUM(temperature_count), SUM(temperature_sum) " +
+            "FROM sensor_readings_hourly WHERE bucket_start >= ? AND bucket_start < ? " +
+            "GROUP BY parzelle_id, sensor_id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int reprocessHours;
+    private final int maxBucketsPerRun;
+
+    public SensorRollupCompactor(JdbcTemplate jdbcTemplate,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.sensor.rollup.reprocess-hours:2}") int reprocessHours,
+                                 @Value("${app.sensor.rollup.max-buckets-per-run:720}") int maxBucketsPerRun) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.reprocessHours = reprocessHours;
+        this.maxBucketsPerRun = maxBucketsPerRun;
+    }
+
+    @Scheduled(initialDelayString = "${app.sensor.rollup.initial-delay:PT1M}",
+            fixedDelayString = "${app.sensor.rollup.interval:PT10M}")
+    public void compactScheduled() {
+        try {
+            CompactionResult result = compact(LocalDateTime.now());
+            log.debug("Rollup-Verdichtung: {} Stunden, {} Tage neu aufgebaut",
+                    result.getHourlyBuckets(), result.getDailyBuckets());
+        } catch (RuntimeException e) {
+            log.warn("Rollup-Verdichtung fehlgeschlagen – nächster Versuch beim folgenden Lauf", e);
+        }
+    }
+
+    /**
+     * Verdichtet alle abgeschlossenen Stunden und Tage vor {@code now}
+     */
+    public CompactionResult compact(LocalDateTime now) {
+        LocalDateTime closedHours = RollupResolution.HOURLY.floor(now);
+        LocalDateTime hourlyWatermark = findWatermark(RollupResolution.HOURLY);
+        LocalDateTime hourlyFrom = hourlyWatermark != null
+                ? earliest(hourlyWatermark, closedHours.minusHours(reprocessHours))
+                : earliestSource("SELECT MIN(timestamp) FROM sensor_readings", RollupResolution.HOURLY);
+        int hourly = compactRange(RollupResolution.HOURLY, HOURLY_INSERT_SQL, hourlyFrom, closedHours);
+
+        // Tage nur verdichten, soweit die Stunden vollständig vorliegen
+        LocalDateTime hoursDone = findWatermark(RollupResolution.HOURLY);
+        if (hoursDone == null) {
+            return new CompactionResult(hourly, 0);
+        }
+        LocalDateTime closedDays = RollupResolution.DAILY.floor(hoursDone);
+        LocalDateTime dailyWatermark = findWatermark(RollupResolution.DAILY);
+        LocalDateTime dailyFrom = dailyWatermark != null
+                ? earliest(dailyWatermark, hourlyFrom != null ? RollupResolution.DAILY.floor(hourlyFrom) : null)
+                : earliestSource("SELECT MIN(bucket_start) FROM sensor_readings_hourly", RollupResolution.DAILY);
+        int daily = compactRange(RollupResolution.DAILY, DAILY_INSERT_SQL, dailyFrom, closedDays);
+
+        return new CompactionResult(hourly, daily);
+    }
+
+    /**
+     * Ende des lückenlos verdichteten Bereichs der angegebenen Stufe, {@code null} vor dem ersten Lauf
+     */
+    public LocalDateTime findWatermark(RollupResolution resolution) {
+        List<Timestamp> values = jdbcTemplate.queryForList(
+                "SELECT compacted_until FROM sensor_rollup_watermarks WHERE resolution = ?",
+                Timestamp.class, resolution.name());
+        return values.isEmpty() ? null : values.get(0).toLocalDateTime();
+    }
+
+    private int compactRange(RollupResolution resolution, String insertSql,
+                             LocalDateTime from, LocalDateTime until) {
+        if (from == null) {
+            return 0;
+        }
+        int buckets = 0;
+        LocalDateTime bucket = from;
+        while (bucket.isBefore(until) && buckets < maxBucketsPerRun) {
+            compactBucket(resolution, insertSql, bucket);
+            bucket = bucket.plus(resolution.getBucketLength());
+            buckets++;
+        }
+        return buckets;
+    }
+
+    private void compactBucket(RollupResolution resolution, String insertSql, LocalDateTime bucket) {
+        Timestamp bucketStart = Timestamp.valueOf(bucket);
+        LocalDateTime next = bucket.plus(resolution.getBucketLength());
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update("DELETE FROM " + resolution.getTableName() + " WHERE bucket_start = ?",
+                    bucketStart);
+            jdbcTemplate.update(insertSql, bucketStart, bucketStart, Timestamp.valueOf(next));
+            advanceWatermark(resolution, next);
+        });
+    }
+
+    private void advanceWatermark(RollupResolution resolution, LocalDateTime compactedUntil) {
+        Timestamp value = Timestamp.valueOf(compactedUntil);
+        int updated = jdbcTemplate.update(
+                "UPDATE sensor_rollup_watermarks SET compacted_until = ? " +
+                "WHERE resolution = ? AND compacted_until < ?",
+                value, resolution.name(), value);
+        if (updated == 0 && findWatermark(resolution) == null) {
+            jdbcTemplate.update(
+                    "INSERT INTO sensor_rollup_watermarks (resolution, compacted_until) VALUES (?, ?)",
+                    resolution.name(), value);
+        }
+    }
+
+    private LocalDateTime earliestSource(String sql, RollupResolution resolution) {
+        Timestamp earliest = jdbcTemplate.queryForObject(sql, Timestamp.class);
+        return earliest != null ? resolution.floor(earliest.toLocalDateTime()) : null;
+    }
+
+    private static LocalDateTime earliest(LocalDateTime a, LocalDateTime b) {
+        if (b == null) {
+            return a;
+        }
+        return a.isBefore(b) ? a : b;
+    }
+
+    /**
+     * Anzahl der in einem Lauf neu aufgebauten Buckets je Stufe
+     */
+    public static class CompactionResult {
+        private final int hourlyBuckets;
+        private final int dailyBuckets;
+
+        public CompactionResult(int hourlyBuckets, int dailyBuckets) {
+            this.hourlyBuckets = hourlyBuckets;
+            this.dailyBuckets = dailyBuckets;
+        }
+
+        public int getHourlyBuckets() {
+            return hourlyBuckets;
+        }
+
+        public int getDailyBuckets() {
+            return dailyBuckets;
+        }
+    }
+}
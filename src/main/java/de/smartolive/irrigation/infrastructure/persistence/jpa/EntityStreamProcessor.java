@@ -0,0 +1,103 @@
+package de.smartolive.irrigation.infrastructure.persistence.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Verarbeitet die {@code stream*}-Abfragen der Repositories in konstantem Speicher.
+ *
+ * Der Stream wird in einer Read-only-Transaktion geöffnet (Spring Data erlaubt
+ * {@code Stream}-Abfragen nur innerhalb einer Transaktion), danach geschlossen, und der
+ * Persistenzkontext wird alle {@code clearInterval} Entities geleert. Verarbeitete Entities
+ * sind damit detached und dürfen nicht für spätere Änderungen aufbewahrt werden.
+ */
+@Component
+public class EntityStreamProcessor {
+
+    private final EntityManager entityManager;
+    private final TransactionTemplate readOnlyTransaction;
+    private final int clearInterval;
+
+    public EntityStreamProcessor(EntityManager entityManager,
+                                 PlatformTransactionManager transactionManager,
+                                 @Value("${app.persistence.stream.clear-interval:1000}") int clearInterval) {
+        if (clearInterval < 1) {
+            throw new IllegalArgumentException("clearInterval muss positiv sein: " + clearInterval);
+        }
+        this.entityManager = entityManager;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.clearInterval = clearInterval;
+    }
+
+    /**
+     * Übergibt jede Entity des Streams an {@code action}
+     *
+     * @return Anzahl verarbeiteter Entities
+     */
+    public <T> long forEach(Supplier<Stream<T>> query, Consumer<? super T> action) {
+        Long processed = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            try (Stream<T> stream = query.get()) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    action.accept(iterator.next());
+                    if (++count % clearInterval == 0) {
+                        entityManager.clear();
+                    }
+                }
+            }
+            return count;
+        });
+        return processed != null ? processed : 0;
+    }
+
+    /**
+     * Übergibt die Entities in Blöcken von höchstens {@code batchSize}, z.B. für Exporte
+     * oder Backfills, die blockweise schreiben. Der Persistenzkontext wird nach jedem
+     * Block geleert.
+     *
+     * @return Anzahl verarbeiteter Entities
+     */
+    public <T> long forEachBatch(Supplier<Stream<T>> query, int batchSize, Consumer<List<T>> batchAction) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize muss positiv sein: " + batchSize);
+        }
+        Long processed = readOnlyTransaction.execute(status -> {
+            long count = 0;
+            List<T> batch = new ArrayList<>(batchSize);
+            try (Stream<T> stream = query.get()) {
+                Iterator<T> iterator = stream.iterator();
+                while (iterator.hasNext()) {
+                    batch.add(iterator.next());
+                    if (batch.size() == batchSize) {
+                        count += flush(batch, batchAction);
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                count += flush(batch, batchAction);
+            }
+            return count;
+        });
+        return processed != null ? processed : 0;
+    }
+
+    private <T> int flush(List<T> batch, Consumer<List<T>> batchAction) {
+        int size = batch.size();
+        batchAction.accept(List.copyOf(batch));
+        batch.clear();
+        entityManager.clear();
+        return size;
+    }
+}
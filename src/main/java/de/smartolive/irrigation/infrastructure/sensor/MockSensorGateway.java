@@ -1,4 +1,79 @@
 package de.smartolive.irrigation.infrastructure.sensor;
 
-public class MockSensorGateway {
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simuliert je Parzelle ein Gateway mit mehreren Sensoren für Entwicklung und Tests.
+ * Die Messungen durchlaufen dasselbe Binärformat wie echte Uplinks.
+ */
+@Component
+@ConditionalOnProperty(name = "app.sensor.mock.enabled", havingValue = "true", matchIfMissing = true)
+public class MockSensorGateway implements SensorPort {
+
+    private static final String GATEWAY_PREFIX = "GW-";
+
+    private final UplinkFrameDecoder decoder;
+    private final List<Long> parzelleIds;
+    private final int sensorsPerGateway;
+    private final ZoneId zone = ZoneId.systemDefault();
+    private final Map<String, AtomicLong> frameCounters = new ConcurrentHashMap<>();
+
+    public MockSensorGateway(UplinkFrameDecoder decoder,
+                             @Value("${app.sensor.mock.parzelle-ids:1,2,3}") List<Long> parzelleIds,
+                             @Value("${app.sensor.mock.sensors-per-gateway:4}") int sensorsPerGateway) {
+        this.decoder = decoder;
+        this.parzelleIds = List.copyOf(parzelleIds);
+        this.sensorsPerGateway = sensorsPerGateway;
+    }
+
+    @Override
+    public List<String> getGatewayIds() {
+        return parzelleIds.stream().map(id -> GATEWAY_PREFIX + id).toList();
+    }
+
+    @Override
+    public UplinkFrame poll(String gatewayId) throws SensorCommunicationException {
+        if (!getGatewayIds().contains(gatewayId)) {
+            throw new SensorCommunicationException("Unbekanntes Gateway: " + gatewayId);
+        }
+        long parzelleId = Long.parseLong(gatewayId.substring(GATEWAY_PREFIX.length()));
+        long now = EpochMillis.now();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+
+        List<SensorSample> samples = new ArrayList<>(sensorsPerGateway);
+        for (int i = 1; i <= sensorsPerGateway; i++) {
+            samples.add(new SensorSample(SensorSample.NO_ID, parzelleId, gatewayId + "-S" + i,
+                    now - random.nextInt(60_000),
+                    round(random.nextDouble(15, 45), 10),
+                    round(random.nextDouble(10, 35), 10),
+                    random.nextInt(300, 1500),
+                    round(random.nextDouble(6.5, 8.0), 100),
+                    random.nextInt(60, 101),
+                    random.nextInt(50, 101),
+                    SensorStatus.ONLINE));
+        }
+
+        long frameCounter = frameCounters.computeIfAbsent(gatewayId, id -> new AtomicLong()).incrementAndGet();
+        byte[] encoded = UplinkFrameEncoder.encode(new UplinkFrame(gatewayId, frameCounter, samples), zone);
+        return decoder.decode(ByteBuffer.wrap(encoded));
+    }
+
+    private static double round(double value, int scale) {
+        return Math.round(value * scale) / (double) scale;
+    }
 }
@@ -1,4 +1,63 @@
 package de.smartolive.irrigation.infrastructure.sensor;
 
+import de.smartolive.irrigation.application.SensorIngestService;
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Nimmt Uplink-Frames der Gateways entgegen und übergibt die Messungen dem Bulk-Ingest.
+ * Erneut gesendete Frames (gleicher Frame-Zähler wie der zuletzt verarbeitete) werden verworfen.
+ * Scheitert der Ingest, wird der Frame-Zähler zurückgesetzt, damit die Wiederholung gespeichert wird.
+ */
+@Component
 public class SensorGateway {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorGateway.class);
+
+    private final UplinkFrameDecoder decoder;
+    private final SensorIngestService ingestService;
+    private final Map<String, Long> lastFrameCounters = new ConcurrentHashMap<>();
+
+    public SensorGateway(UplinkFrameDecoder decoder, SensorIngestService ingestService) {
+        this.decoder = decoder;
+        this.ingestService = ingestService;
+    }
+
+    /**
+     * Dekodiert und speichert einen binären Frame; liefert die Anzahl gespeicherter Messungen
+     */
+    public int receive(ByteBuffer frame) throws SensorCommunicationException {
+        return accept(decoder.decode(frame));
+    }
+
+    /**
+     * Speichert einen bereits dekodierten Frame; liefert die Anzahl gespeicherter Messungen
+     */
+    public int accept(UplinkFrame frame) {
+        Long previous = lastFrameCounters.put(frame.getGatewayId(), frame.getFrameCounter());
+        if (previous != null && previous == frame.getFrameCounter()) {
+            log.debug("Frame {} von Gateway {} bereits verarbeitet", frame.getFrameCounter(), frame.getGatewayId());
+            return 0;
+        }
+        if (frame.getSamples().isEmpty()) {
+            return 0;
+        }
+        try {
+            return ingestService.ingestSamples(frame.getSamples()).getTotalReadings();
+        } catch (RuntimeException e) {
+            // Fehlgeschlagener Frame gilt als nicht verarbeitet, die Wiederholung wird angenommen
+            if (previous == null) {
+                lastFrameCounters.remove(frame.getGatewayId(), frame.getFrameCounter());
+            } else {
+                lastFrameCounters.replace(frame.getGatewayId(), frame.getFrameCounter(), previous);
+            }
+            throw e;
+        }
+    }
 }
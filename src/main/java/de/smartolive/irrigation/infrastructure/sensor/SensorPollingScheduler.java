@@ -0,0 +1,251 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import de.smartolive.irrigation.application.SystemConfigurationService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fragt alle Gateways der {@link SensorPort}s im Intervall der {@link SystemConfigurationService
+ * Systemkonfiguration} ab.
+ *
+ * Jedes Gateway bekommt einen eigenen virtuellen Thread, der blockierend abfragt und
+ * dazwischen schläft – auch tausende langsame Geräte brauchen so keinen entsprechend
+ * großen Thread-Pool. Startzeitpunkte werden über das erste Intervall verteilt und jedes
+ * weitere Intervall um bis zu {@link #JITTER_RATIO} variiert, damit die Gateways nicht im
+ * Gleichtakt abgefragt werden. Eine Intervalländerung greift nach dem laufenden Intervall.
+ */
+@Component
+public class SensorPollingScheduler implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorPollingScheduler.class);
+
+    static final double JITTER_RATIO = 0.1;
+
+    private final List<SensorPort> sensorPorts;
+    private final SensorGateway sensorGateway;
+    private final SystemConfigurationService configurationService;
+    private final boolean enabled;
+    private final Duration pollTimeout;
+    private final Map<String, PollStatistics> statistics = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+    private volatile boolean running;
+
+    public SensorPollingScheduler(List<SensorPort> sensorPorts,
+                                  SensorGateway sensorGateway,
+                                  SystemConfigurationService configurationService,
+                                  @Value("${app.sensor.polling.enabled:true}") boolean enabled,
+                                  @Value("${app.sensor.polling.timeout:PT30S}") Duration pollTimeout) {
+        this.sensorPorts = sensorPorts;
+        this.sensorGateway = sensorGateway;
+        this.configurationService = configurationService;
+        this.enabled = enabled;
+        this.pollTimeout = pollTimeout;
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!enabled || running) {
+            return;
+        }
+        ExecutorService loopExecutor = newVirtualThreadExecutor();
+        executor = loopExecutor;
+        running = true;
+        int gateways = 0;
+        for (SensorPort port : sensorPorts) {
+            for (String gatewayId : port.getGatewayIds()) {
+                loopExecutor.submit(() -> pollLoop(loopExecutor, port, gatewayId));
+                gateways++;
+            }
+        }
+        log.info("Sensor-Polling gestartet: {} Gateways, alle {} min",
+                gateways, configurationService.getCurrent().getSensorPollingIntervalMinutes());
+    }
+
+    @Override
+    public synchronized void stop() {
+        running = false;
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Fragt alle Gateways einmal parallel ab und wartet auf das Ergebnis;
+     * liefert die Anzahl gespeicherter Messungen
+     */
+    public int pollAllOnce() throws InterruptedException {
+        try (ExecutorService pollExecutor = newVirtualThreadExecutor()) {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (SensorPort port : sensorPorts) {
+                for (String gatewayId : port.getGatewayIds()) {
+                    results.add(pollExecutor.submit(() -> pollOnce(pollExecutor, port, gatewayId)));
+                }
+            }
+            int stored = 0;
+            for (Future<Integer> result : results) {
+                try {
+                    stored += result.get();
+                } catch (ExecutionException e) {
+                    // pollOnce fängt alle Fehler selbst ab
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+            return stored;
+        }
+    }
+
+    /**
+     * Latenzstatistik je Gateway seit dem Start
+     */
+    public Map<String, PollStatistics> getStatistics() {
+        return Collections.unmodifiableMap(statistics);
+    }
+
+    private void pollLoop(ExecutorService loopExecutor, SensorPort port, String gatewayId) {
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(Math.max(1, intervalMillis())));
+            while (running) {
+                pollOnce(loopExecutor, port, gatewayId);
+                Thread.sleep(jittered(intervalMillis(), ThreadLocalRandom.current().nextDouble()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            // Executor beim Herunterfahren bereits geschlossen
+            if (running) {
+                log.error("Polling für Gateway {} abgebrochen", gatewayId, e);
+            }
+        }
+    }
+
+    private int pollOnce(ExecutorService pollExecutor, SensorPort port, String gatewayId)
+            throws InterruptedException {
+        PollStatistics gatewayStatistics = statistics.computeIfAbsent(gatewayId, id -> new PollStatistics());
+        long start = System.nanoTime();
+        // Eigener virtueller Thread, damit die Abfrage nach dem Timeout abgebrochen werden kann
+        Future<UplinkFrame> poll = pollExecutor.submit(() -> port.poll(gatewayId));
+        UplinkFrame frame;
+        try {
+            frame = poll.get(pollTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            gatewayStatistics.recordSuccess(System.nanoTime() - start);
+        } catch (TimeoutException e) {
+            poll.cancel(true);
+            gatewayStatistics.recordTimeout(System.nanoTime() - start);
+            log.warn("Gateway {} hat nicht innerhalb von {} geantwortet", gatewayId, pollTimeout);
+            return 0;
+        } catch (ExecutionException e) {
+            gatewayStatistics.recordFailure(System.nanoTime() - start);
+            log.warn("Abfrage von Gateway {} fehlgeschlagen: {}", gatewayId, e.getCause().getMessage());
+            return 0;
+        }
+
+        try {
+            return sensorGateway.accept(frame);
+        } catch (RuntimeException e) {
+            log.warn("Messungen von Gateway {} konnten nicht gespeichert werden", gatewayId, e);
+            return 0;
+        }
+    }
+
+    private long intervalMillis() {
+        return TimeUnit.MINUTES.toMillis(configurationService.getCurrent().getSensorPollingIntervalMinutes());
+    }
+
+    /**
+     * Intervall um bis zu ±{@link #JITTER_RATIO} variiert; {@code random} liegt in [0, 1)
+     */
+    static long jittered(long intervalMillis, double random) {
+        return Math.round(intervalMillis * (1 + JITTER_RATIO * (2 * random - 1)));
+    }
+
+    private static ExecutorService newVirtualThreadExecutor() {
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sensor-poll-", 0).factory());
+    }
+
+    /**
+     * Abfragen und Latenzen eines Gateways
+     */
+    public static class PollStatistics {
+        private final LongAdder successes = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+        private final LongAdder totalLatencyNanos = new LongAdder();
+        private final LongAccumulator maxLatencyNanos = new LongAccumulator(Math::max, 0);
+        private volatile long lastLatencyNanos;
+
+        void recordSuccess(long latencyNanos) {
+            successes.increment();
+            record(latencyNanos);
+        }
+
+        void recordFailure(long latencyNanos) {
+            failures.increment();
+            record(latencyNanos);
+        }
+
+        void recordTimeout(long latencyNanos) {
+            timeouts.increment();
+            record(latencyNanos);
+        }
+
+        private void record(long latencyNanos) {
+            totalLatencyNanos.add(latencyNanos);
+            maxLatencyNanos.accumulate(latencyNanos);
+            lastLatencyNanos = latencyNanos;
+        }
+
+        public long getPolls() {
+            return successes.sum() + failures.sum() + timeouts.sum();
+        }
+
+        public long getSuccesses() {
+            return successes.sum();
+        }
+
+        public long getFailures() {
+            return failures.sum();
+        }
+
+        public long getTimeouts() {
+            return timeouts.sum();
+        }
+
+        public Duration getAverageLatency() {
+            long polls = getPolls();
+            return polls > 0 ? Duration.ofNanos(totalLatencyNanos.sum() / polls) : Duration.ZERO;
+        }
+
+        public Duration getMaxLatency() {
+            return Duration.ofNanos(maxLatencyNanos.get());
+        }
+
+        public Duration getLastLatency() {
+            return Duration.ofNanos(lastLatencyNanos);
+        }
+    }
+}
@@ -1,4 +1,18 @@
 package de.smartolive.irrigation.infrastructure.sensor;
 
-public class SensorPort {
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+
+import java.util.List;
+
+/**
+ * Abruf von Messungen bei den Sensor-Gateways im Feld
+ */
+public interface SensorPort {
+
+    List<String> getGatewayIds();
+
+    /**
+     * Ruft die seit dem letzten Abruf gesammelten Messungen eines Gateways ab (blockierend)
+     */
+    UplinkFrame poll(String gatewayId) throws SensorCommunicationException;
 }
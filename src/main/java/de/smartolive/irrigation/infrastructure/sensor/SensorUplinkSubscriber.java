@@ -0,0 +1,58 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+import de.smartolive.irrigation.infrastructure.messaging.BusMessage;
+import de.smartolive.irrigation.infrastructure.messaging.InProcessMessageBus;
+import de.smartolive.irrigation.infrastructure.messaging.MessagingTopics;
+import de.smartolive.irrigation.infrastructure.messaging.Subscription;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Nimmt Uplink-Frames vom Topic {@link MessagingTopics#SENSOR_UPLINKS} entgegen und
+ * übergibt sie dem {@link SensorGateway}. Ungültige Frames werden verworfen; schlägt das
+ * Speichern fehl, wird der Frame über QoS 1 erneut zugestellt.
+ */
+@Component
+public class SensorUplinkSubscriber {
+
+    private static final Logger log = LoggerFactory.getLogger(SensorUplinkSubscriber.class);
+
+    private final InProcessMessageBus bus;
+    private final SensorGateway sensorGateway;
+    private final int queueCapacity;
+    private Subscription subscription;
+
+    public SensorUplinkSubscriber(InProcessMessageBus bus, SensorGateway sensorGateway,
+                                  @Value("${app.sensor.uplink.queue-capacity:4096}") int queueCapacity) {
+        this.bus = bus;
+        this.sensorGateway = sensorGateway;
+        this.queueCapacity = queueCapacity;
+    }
+
+    @PostConstruct
+    public void subscribe() {
+        subscription = bus.subscribe(MessagingTopics.SENSOR_UPLINKS, queueCapacity, this::onUplink);
+    }
+
+    @PreDestroy
+    public void unsubscribe() {
+        if (subscription != null) {
+            subscription.close();
+        }
+    }
+
+    private void onUplink(BusMessage message) {
+        try {
+            sensorGateway.receive(ByteBuffer.wrap(message.getPayload()));
+        } catch (SensorCommunicationException e) {
+            log.warn("Ungültiger Uplink auf {} verworfen: {}", message.getTopic(), e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Dekodierter Uplink eines Gateways (siehe {@code src/main/proto/sensor_uplink.proto})
+ */
+public final class UplinkFrame {
+
+    private final String gatewayId;
+    private final long frameCounter;
+    private final List<SensorSample> samples;
+
+    public UplinkFrame(String gatewayId, long frameCounter, List<SensorSample> samples) {
+        this.gatewayId = gatewayId;
+        this.frameCounter = frameCounter;
+        this.samples = Collections.unmodifiableList(samples);
+    }
+
+    public String getGatewayId() {
+        return gatewayId;
+    }
+
+    public long getFrameCounter() {
+        return frameCounter;
+    }
+
+    public List<SensorSample> getSamples() {
+        return samples;
+    }
+}
@@ -0,0 +1,203 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.WireFormat;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.SensorIdPool;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Dekodiert Uplink-Frames (siehe {@code src/main/proto/sensor_uplink.proto}) direkt aus
+ * dem Empfangspuffer in {@link SensorSample}s.
+ *
+ * Es werden keine generierten Protobuf-Klassen und keine Zwischen-Strings erzeugt: Felder
+ * werden per {@link CodedInputStream} gelesen, Sensor- und Gateway-IDs als Ausschnitt des
+ * Puffers in einem Cache nachgeschlagen. Nur unbekannte IDs werden einmalig kopiert.
+ * Zeitstempel werden mit dem Zonen-Offset zu Beginn des Frames in die lokale
+ * {@link de.smartolive.irrigation.domain.timeseries.EpochMillis}-Kodierung umgerechnet.
+ */
+@Component
+public class UplinkFrameDecoder {
+
+    static final int MAX_CACHED_IDS = 10_000;
+
+    private static final int FRAME_GATEWAY_ID = tag(1, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int FRAME_COUNTER = tag(2, WireFormat.WIRETYPE_VARINT);
+    private static final int FRAME_BASE_TIME = tag(3, WireFormat.WIRETYPE_VARINT);
+    private static final int FRAME_SENSOR_ID = tag(4, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+    private static final int FRAME_SAMPLE = tag(5, WireFormat.WIRETYPE_LENGTH_DELIMITED);
+
+    private static final int SAMPLE_SENSOR_INDEX = tag(1, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_PARZELLE_ID = tag(2, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_TIME_OFFSET = tag(3, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_MOISTURE = tag(4, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_TEMPERATURE = tag(5, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_EC = tag(6, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_PH = tag(7, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_BATTERY = tag(8, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_SIGNAL = tag(9, WireFormat.WIRETYPE_VARINT);
+    private static final int SAMPLE_STATUS = tag(10, WireFormat.WIRETYPE_VARINT);
+
+    private static final SensorStatus[] STATUS_VALUES = SensorStatus.values();
+
+    // Schlüssel sind Kopien, nachgeschlagen wird mit Ausschnitten des Empfangspuffers
+    private final Map<ByteBuffer, String> idCache = new ConcurrentHashMap<>();
+    private final ZoneId zone;
+
+    public UplinkFrameDecoder() {
+        this(ZoneId.systemDefault());
+    }
+
+    UplinkFrameDecoder(ZoneId zone) {
+        this.zone = zone;
+    }
+
+    /**
+     * Dekodiert den verbleibenden Inhalt von {@code frame} als einen Uplink-Frame.
+     * Der Puffer gilt danach als gelesen und kann wiederverwendet werden.
+     */
+    public UplinkFrame decode(ByteBuffer frame) throws SensorCommunicationException {
+        try {
+            CodedInputStream in = CodedInputStream.newInstance(frame);
+            in.enableAliasing(true);
+            UplinkFrame decoded = readFrame(in);
+            frame.position(frame.limit());
+            return decoded;
+        } catch (IOException e) {
+            throw new SensorCommunicationException("Ungültiger Uplink-Frame: " + e.getMessage(), e);
+        }
+    }
+
+    private UplinkFrame readFrame(CodedInputStream in) throws IOException, SensorCommunicationException {
+        String gatewayId = null;
+        long frameCounter = 0;
+        long baseUtcMillis = 0;
+        long localOffsetMillis = 0;
+        boolean offsetResolved = false;
+        String[] sensorIds = new String[8];
+        int sensorIdCount = 0;
+        List<SensorSample> samples = new ArrayList<>();
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (tag == FRAME_GATEWAY_ID) {
+                gatewayId = readId(in);
+            } else if (tag == FRAME_COUNTER) {
+                frameCounter = Integer.toUnsignedLong(in.readUInt32());
+            } else if (tag == FRAME_BASE_TIME) {
+                baseUtcMillis = in.readInt64();
+            } else if (tag == FRAME_SENSOR_ID) {
+                if (sensorIdCount == sensorIds.length) {
+                    sensorIds = Arrays.copyOf(sensorIds, sensorIdCount * 2);
+                }
+                sensorIds[sensorIdCount++] = readId(in);
+            } else if (tag == FRAME_SAMPLE) {
+                if (!offsetResolved) {
+                    // Ein Offset je Frame; Frames umspannen nur Minuten
+                    localOffsetMillis = zone.getRules()
+                            .getOffset(Instant.ofEpochMilli(baseUtcMillis)).getTotalSeconds() * 1000L;
+                    offsetResolved = true;
+                }
+                int limit = in.pushLimit(in.readRawVarint32());
+                samples.add(readSample(in, sensorIds, sensorIdCount, baseUtcMillis + localOffsetMillis));
+                in.popLimit(limit);
+            } else {
+                in.skipField(tag);
+            }
+        }
+
+        if (gatewayId == null || gatewayId.isEmpty()) {
+            throw new SensorCommunicationException("Uplink-Frame ohne Gateway-ID");
+        }
+        return new UplinkFrame(gatewayId, frameCounter, samples);
+    }
+
+    private SensorSample readSample(CodedInputStream in, String[] sensorIds, int sensorIdCount,
+                                    long localBaseMillis) throws IOException, SensorCommunicationException {
+        int sensorIndex = 0;
+        long parzelleId = 0;
+        long timeOffset = 0;
+        double moisture = Double.NaN;
+        double temperature = Double.NaN;
+        double ec = Double.NaN;
+        double ph = Double.NaN;
+        int battery = SensorSample.MISSING;
+        int signal = SensorSample.MISSING;
+        SensorStatus status = SensorStatus.ONLINE;
+
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (tag == SAMPLE_SENSOR_INDEX) {
+                sensorIndex = in.readUInt32();
+            } else if (tag == SAMPLE_PARZELLE_ID) {
+                parzelleId = in.readUInt64();
+            } else if (tag == SAMPLE_TIME_OFFSET) {
+                timeOffset = Integer.toUnsignedLong(in.readUInt32());
+            } else if (tag == SAMPLE_MOISTURE) {
+                moisture = Integer.toUnsignedLong(in.readUInt32()) / 10.0;
+            } else if (tag == SAMPLE_TEMPERATURE) {
+                temperature = in.readSInt32() / 10.0;
+            } else if (tag == SAMPLE_EC) {
+                ec = Integer.toUnsignedLong(in.readUInt32());
+            } else if (tag == SAMPLE_PH) {
+                ph = Integer.toUnsignedLong(in.readUInt32()) / 100.0;
+            } else if (tag == SAMPLE_BATTERY) {
+                battery = in.readUInt32();
+            } else if (tag == SAMPLE_SIGNAL) {
+                signal = in.readUInt32();
+            } else if (tag == SAMPLE_STATUS) {
+                status = toStatus(in.readEnum());
+            } else {
+                in.skipField(tag);
+            }
+        }
+
+        if (sensorIndex < 0 || sensorIndex >= sensorIdCount) {
+            throw new SensorCommunicationException("Sample verweist auf unbekannten Sensor-Index " + sensorIndex);
+        }
+        if (parzelleId <= 0) {
+            throw new SensorCommunicationException("Sample ohne Parzelle von Sensor " + sensorIds[sensorIndex]);
+        }
+        return new SensorSample(SensorSample.NO_ID, parzelleId, sensorIds[sensorIndex],
+                localBaseMillis + timeOffset, moisture, temperature, ec, ph, battery, signal, status);
+    }
+
+    private String readId(CodedInputStream in) throws IOException {
+        // Dank Aliasing ein Ausschnitt des Empfangspuffers – nur zum Nachschlagen, nie speichern
+        ByteBuffer bytes = in.readByteBuffer();
+        String id = idCache.get(bytes);
+        return id != null ? id : cacheId(bytes);
+    }
+
+    private String cacheId(ByteBuffer bytes) {
+        byte[] copy = new byte[bytes.remaining()];
+        bytes.duplicate().get(copy);
+        String id = SensorIdPool.intern(new String(copy, StandardCharsets.UTF_8));
+        if (idCache.size() < MAX_CACHED_IDS) {
+            idCache.putIfAbsent(ByteBuffer.wrap(copy), id);
+        }
+        return id;
+    }
+
+    private static SensorStatus toStatus(int number) {
+        // Unbekannte Zustände neuerer Firmware gelten als nicht betriebsbereit
+        return number >= 0 && number < STATUS_VALUES.length ? STATUS_VALUES[number] : SensorStatus.ERROR;
+    }
+
+    private static int tag(int fieldNumber, int wireType) {
+        return (fieldNumber << 3) | wireType;
+    }
+}
@@ -0,0 +1,89 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import com.google.protobuf.CodedOutputStream;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Gegenstück zu {@link UplinkFrameDecoder}, wie es die Gateway-Firmware umsetzt.
+ * Wird für simulierte Gateways und Tests verwendet und ist nicht auf Durchsatz optimiert.
+ */
+public final class UplinkFrameEncoder {
+
+    private UplinkFrameEncoder() {
+    }
+
+    /**
+     * Kodiert einen Frame; Zeitstempel der Samples werden aus der lokalen Zeitzone
+     * {@code zone} nach UTC umgerechnet
+     */
+    public static byte[] encode(UplinkFrame frame, ZoneId zone) {
+        Map<String, Integer> sensorIndex = new LinkedHashMap<>();
+        long baseUtcMillis = Long.MAX_VALUE;
+        for (SensorSample sample : frame.getSamples()) {
+            sensorIndex.putIfAbsent(sample.getSensorId(), sensorIndex.size());
+            baseUtcMillis = Math.min(baseUtcMillis, toUtcMillis(sample.getEpochMillis(), zone));
+        }
+
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+            out.writeString(1, frame.getGatewayId());
+            out.writeUInt32(2, (int) frame.getFrameCounter());
+            if (!frame.getSamples().isEmpty()) {
+                out.writeInt64(3, baseUtcMillis);
+            }
+            for (String sensorId : sensorIndex.keySet()) {
+                out.writeString(4, sensorId);
+            }
+            for (SensorSample sample : frame.getSamples()) {
+                out.writeByteArray(5, encodeSample(sample, sensorIndex.get(sample.getSensorId()),
+                        toUtcMillis(sample.getEpochMillis(), zone) - baseUtcMillis));
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] encodeSample(SensorSample sample, int sensorIndex, long timeOffset) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(48);
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        out.writeUInt32(1, sensorIndex);
+        out.writeUInt64(2, sample.getParzelleId());
+        out.writeUInt32(3, (int) timeOffset);
+        if (!Double.isNaN(sample.getMoisture())) {
+            out.writeUInt32(4, (int) Math.round(sample.getMoisture() * 10));
+        }
+        if (!Double.isNaN(sample.getTemperature())) {
+            out.writeSInt32(5, (int) Math.round(sample.getTemperature() * 10));
+        }
+        if (!Double.isNaN(sample.getEc())) {
+            out.writeUInt32(6, (int) Math.round(sample.getEc()));
+        }
+        if (!Double.isNaN(sample.getPh())) {
+            out.writeUInt32(7, (int) Math.round(sample.getPh() * 100));
+        }
+        if (sample.getBatteryLevel() != SensorSample.MISSING) {
+            out.writeUInt32(8, sample.getBatteryLevel());
+        }
+        if (sample.getSignalStrength() != SensorSample.MISSING) {
+            out.writeUInt32(9, sample.getSignalStrength());
+        }
+        out.writeEnum(10, sample.getStatus().ordinal());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static long toUtcMillis(long localEpochMillis, ZoneId zone) {
+        return EpochMillis.toLocalDateTime(localEpochMillis).atZone(zone).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,75 @@
+-- Monatliche Range-Partitionierung für MySQL (einmalig nach schema.sql ausführen)
+--
+-- Voraussetzungen von MySQL für partitionierte Tabellen:
+--   * Die Partitionsspalte muss Teil jedes eindeutigen Schlüssels sein -> PK (id, Zeitspalte)
+--   * Partitionierte InnoDB-Tabellen unterstützen keine Fremdschlüssel
+--   * RANGE COLUMNS akzeptiert DATETIME, aber nicht TIMESTAMP
+--
+-- Damit entfällt die referentielle Integrität zu oliven_parzellen: MySQL prüft parzelle_id
+-- in beiden Tabellen nicht mehr. Zeilen gelöschter oder unbekannter Parzellen entfernt der
+-- Retention-Job (PartitionRetentionJob#deleteOrphanedRows) bei jedem Lauf.
+-- Die Fremdschlüssel werden über information_schema gesucht, da ihr Name davon abhängt, wie
+-- die Tabelle angelegt wurde (schema.sql: fk_*_parzelle, ältere Datenbanken: *_ibfk_1).
+--
+-- Partitionen heißen pJJJJMM und enthalten den jeweiligen Monat. Neue Monate legt der
+-- Retention-Job (PartitionRetentionJob) vorausschauend an, indem er pmax aufteilt;
+-- abgelaufene Monate entfernt er per DROP PARTITION.
+-- Unter H2 entfällt dieses Skript, der Job löscht dort tageweise per DELETE.
+
+-- Sensor-Messungen
+SET @drop_fks = (SELECT CONCAT('ALTER TABLE sensor_readings ',
+        GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+    FROM information_schema.REFERENTIAL_CONSTRAINTS
+    WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'sensor_readings');
+SET @drop_fks = IFNULL(@drop_fks, 'DO 0');
+PREPARE drop_fks FROM @drop_fks;
+EXECUTE drop_fks;
+DEALLOCATE PREPARE drop_fks;
+ALTER TABLE sensor_readings MODIFY timestamp DATETIME(6) NOT NULL;
+ALTER TABLE sensor_readings DROP PRIMARY KEY, ADD PRIMARY KEY (id, timestamp);
+
+ALTER TABLE sensor_readings PARTITION BY RANGE COLUMNS (timestamp) (
+    PARTITION p_history VALUES LESS THAN ('2026-01-01 00:00:00'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01 00:00:00'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01 00:00:00'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01 00:00:00'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01 00:00:00'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01 00:00:00'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01 00:00:00'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01 00:00:00'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01 00:00:00'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01 00:00:00'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01 00:00:00'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01 00:00:00'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01 00:00:00'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
+
+-- Bewässerungsereignisse
+SET @drop_fks = (SELECT CONCAT('ALTER TABLE irrigation_events ',
+        GROUP_CONCAT(CONCAT('DROP FOREIGN KEY `', CONSTRAINT_NAME, '`') SEPARATOR ', '))
+    FROM information_schema.REFERENTIAL_CONSTRAINTS
+    WHERE CONSTRAINT_SCHEMA = DATABASE() AND TABLE_NAME = 'irrigation_events');
+SET @drop_fks = IFNULL(@drop_fks, 'DO 0');
+PREPARE drop_fks FROM @drop_fks;
+EXECUTE drop_fks;
+DEALLOCATE PREPARE drop_fks;
+ALTER TABLE irrigation_events MODIFY start_time DATETIME(6) NOT NULL;
+ALTER TABLE irrigation_events DROP PRIMARY KEY, ADD PRIMARY KEY (id, start_time);
+
+ALTER TABLE irrigation_events PARTITION BY RANGE COLUMNS (start_time) (
+    PARTITION p_history VALUES LESS THAN ('2026-01-01 00:00:00'),
+    PARTITION p202601 VALUES LESS THAN ('2026-02-01 00:00:00'),
+    PARTITION p202602 VALUES LESS THAN ('2026-03-01 00:00:00'),
+    PARTITION p202603 VALUES LESS THAN ('2026-04-01 00:00:00'),
+    PARTITION p202604 VALUES LESS THAN ('2026-05-01 00:00:00'),
+    PARTITION p202605 VALUES LESS THAN ('2026-06-01 00:00:00'),
+    PARTITION p202606 VALUES LESS THAN ('2026-07-01 00:00:00'),
+    PARTITION p202607 VALUES LESS THAN ('2026-08-01 00:00:00'),
+    PARTITION p202608 VALUES LESS THAN ('2026-09-01 00:00:00'),
+    PARTITION p202609 VALUES LESS THAN ('2026-10-01 00:00:00'),
+    PARTITION p202610 VALUES LESS THAN ('2026-11-01 00:00:00'),
+    PARTITION p202611 VALUES LESS THAN ('2026-12-01 00:00:00'),
+    PARTITION p202612 VALUES LESS THAN ('2027-01-01 00:00:00'),
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
+);
@@ -11,6 +11,7 @@ CREATE TABLE IF NOT EXISTS oliven_parzellen (
     feuchte_obergrenze DOUBLE,
     max_daily_duration_minutes INT DEFAULT 60,
     status VARCHAR(50) DEFAULT 'RUHE',
+    version BIGINT DEFAULT 0,
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
 );
@@ -34,7 +35,7 @@ CREATE TABLE IF NOT EXISTS irrigation_events (
     type VARCHAR(50) NOT NULL,
     triggered_by VARCHAR(100) NOT NULL,
     bemerkungen TEXT,
-    FOREIGN KEY (parzelle_id) REFERENCES oliven_parzellen(id)
+    CONSTRAINT fk_irrigation_events_parzelle FOREIGN KEY (parzelle_id) REFERENCES oliven_parzellen(id)
 );
 
 -- Tabelle für Sensor-Messungen
@@ -48,10 +49,82 @@ CREATE TABLE IF NOT EXISTS sensor_readings (
     ph_value DOUBLE,
     battery_level INT,
     status VARCHAR(50) DEFAULT 'ONLINE',
-    FOREIGN KEY (parzelle_id) REFERENCES oliven_parzellen(id)
+    sensor_id VARCHAR(100),
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP,
+    signal_strength INT,
+    location_accuracy DOUBLE,
+    data_quality_score INT,
+    CONSTRAINT fk_sensor_readings_parzelle FOREIGN KEY (parzelle_id) REFERENCES oliven_parzellen(id)
 );
 
+-- Verdichtete Sensor-Messungen (Summen und Anzahlen statt Durchschnitten,
+-- damit sich Zeiträume exakt zusammenfassen lassen). sensor_id '' = unbekannt.
+CREATE TABLE IF NOT EXISTS sensor_readings_hourly (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    parzelle_id BIGINT NOT NULL,
+    sensor_id VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    reading_count BIGINT NOT NULL,
+    moisture_count BIGINT NOT NULL,
+    moisture_sum DOUBLE NOT NULL,
+    moisture_min DOUBLE,
+    moisture_max DOUBLE,
+    online_moisture_count BIGINT NOT NULL,
+    online_moisture_sum DOUBLE NOT NULL,
+    temperature_count BIGINT NOT NULL,
+    temperature_sum DOUBLE NOT NULL,
+    CONSTRAINT uk_hourly_parzelle_sensor_bucket UNIQUE (parzelle_id, sensor_id, bucket_start)
+);
+
+CREATE TABLE IF NOT EXISTS sensor_readings_daily (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    parzelle_id BIGINT NOT NULL,
+    sensor_id VARCHAR(100) NOT NULL,
+    bucket_start TIMESTAMP NOT NULL,
+    reading_count BIGINT NOT NULL,
+    moisture_count BIGINT NOT NULL,
+    moisture_sum DOUBLE NOT NULL,
+    moisture_min DOUBLE,
+    moisture_max DOUBLE,
+    online_moisture_count BIGINT NOT NULL,
+    online_moisture_sum DOUBLE NOT NULL,
+    temperature_count BIGINT NOT NULL,
+    temperature_sum DOUBLE NOT NULL,
+    CONSTRAINT uk_daily_parzelle_sensor_bucket UNIQUE (parzelle_id, sensor_id, bucket_start)
+);
+
+-- Fortschritt der Verdichtung: alles vor compacted_until ist verdichtet
+CREATE TABLE IF NOT EXISTS sensor_rollup_watermarks (
+    resolution VARCHAR(20) PRIMARY KEY,
+    compacted_until TIMESTAMP NOT NULL
+);
+
+-- Wasserbuch: Verbrauch je Parzelle und Tag, wird beim Anlegen und Beenden
+-- eines Bewässerungsereignisses in derselben Transaktion fortgeschrieben
+CREATE TABLE IF NOT EXISTS daily_water_ledger (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    parzelle_id BIGINT NOT NULL,
+    ledger_day DATE NOT NULL,
+    liters DOUBLE NOT NULL,
+    event_count BIGINT NOT NULL,
+    total_minutes BIGINT NOT NULL,
+    CONSTRAINT uk_ledger_parzelle_day UNIQUE (parzelle_id, ledger_day)
+);
+
+-- Einmalige Übernahme bestehender Ereignisse (bereits gebuchte Tage bleiben unverändert)
+INSERT INTO daily_water_ledger (parzelle_id, ledger_day, liters, event_count, total_minutes)
+SELECT e.parzelle_id, CAST(e.start_time AS DATE), SUM(e.wasser_menge_liter), COUNT(*),
+       COALESCE(SUM(TIMESTAMPDIFF(MINUTE, e.start_time, e.end_time)), 0)
+FROM irrigation_events e
+WHERE NOT EXISTS (SELECT 1 FROM daily_water_ledger l
+                  WHERE l.parzelle_id = e.parzelle_id AND l.ledger_day = CAST(e.start_time AS DATE))
+GROUP BY e.parzelle_id, CAST(e.start_time AS DATE);
+
 -- Indexe für Performance
 CREATE INDEX idx_parzelle_status ON oliven_parzellen(status);
 CREATE INDEX idx_events_parzelle_time ON irrigation_events(parzelle_id, start_time);
-CREATE INDEX idx_sensor_parzelle_time ON sensor_readings(parzelle_id, timestamp);
\ No newline at end of file
+CREATE INDEX idx_sensor_parzelle_time ON sensor_readings(parzelle_id, timestamp);
+CREATE INDEX idx_sensor_time ON sensor_readings(timestamp);
+CREATE INDEX idx_hourly_parzelle_bucket ON sensor_readings_hourly(parzelle_id, bucket_start);
+CREATE INDEX idx_daily_parzelle_bucket ON sensor_readings_daily(parzelle_id, bucket_start);
\ No newline at end of file
@@ -0,0 +1,85 @@
+package de.smartolive.irrigation.benchmark;
+
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.infrastructure.messaging.InProcessMessageBus;
+import de.smartolive.irrigation.infrastructure.messaging.MessagingTopics;
+import de.smartolive.irrigation.infrastructure.messaging.Qos;
+import de.smartolive.irrigation.infrastructure.sensor.UplinkFrame;
+import de.smartolive.irrigation.infrastructure.sensor.UplinkFrameDecoder;
+import de.smartolive.irrigation.infrastructure.sensor.UplinkFrameEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Durchsatz des Uplink-Pfads über den {@link InProcessMessageBus}: Frames mit QoS 1
+ * veröffentlichen und im Abonnement dekodieren (ohne Datenbank). Bei vollem Puffer
+ * bremst die Backpressure die Sender auf das Tempo des Abonnements.
+ * Die Ende-zu-Ende-Latenz wird nach jeder Iteration aus der Bus-Statistik ausgegeben.
+ *
+ * Start: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=de.smartolive.irrigation.benchmark.MessageBusThroughputBenchmark}
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MessageBusThroughputBenchmark {
+
+    @Param({"32"})
+    private int samplesPerFrame;
+
+    private InProcessMessageBus bus;
+    private byte[] frame;
+    private final LongAdder decodedSamples = new LongAdder();
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        bus = new InProcessMessageBus(1024, Duration.ofSeconds(5), 5, Duration.ofMillis(10));
+        UplinkFrameDecoder decoder = new UplinkFrameDecoder();
+        bus.subscribe(MessagingTopics.SENSOR_UPLINKS, message ->
+                decodedSamples.add(decoder.decode(ByteBuffer.wrap(message.getPayload())).getSamples().size()));
+
+        long now = EpochMillis.now();
+        List<SensorSample> samples = new ArrayList<>();
+        for (int i = 0; i < samplesPerFrame; i++) {
+            samples.add(new SensorSample(SensorSample.NO_ID, 1L, "GW-1-S-" + i, now - i * 1000L,
+                    42.5, 21.3, 850.0, 6.8, 78, 71, SensorStatus.ONLINE));
+        }
+        frame = UplinkFrameEncoder.encode(new UplinkFrame("GW-1", 1, samples), ZoneId.systemDefault());
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        InProcessMessageBus.BusStatistics statistics = bus.getStatistics();
+        System.out.printf("%n  zugestellt %d von %d, Latenz Ø %d µs, max %d µs%n",
+                statistics.getDelivered(), statistics.getPublished(),
+                statistics.getAverageLatency().toNanos() / 1000, statistics.getMaxLatency().toNanos() / 1000);
+        bus.shutdown();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public boolean publishUplink() throws InterruptedException {
+        return bus.publish(MessagingTopics.sensorUplink("GW-1"), frame, Qos.AT_LEAST_ONCE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MessageBusThroughputBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,104 @@
+package de.smartolive.irrigation.benchmark;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.service.EvaluationContext;
+import de.smartolive.irrigation.domain.service.EvaluationContextLoader;
+import de.smartolive.irrigation.domain.service.OlivenIrrigationRuleService;
+import de.smartolive.irrigation.domain.service.RecommendationCache;
+import de.smartolive.irrigation.domain.service.RecommendationService;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Empfehlungen für alle Parzellen: sequentiell gegen parallel im Auswertungs-Pool
+ * (ein Worker je Kern, mindestens zwei). Der Kontext wird ohne Datenbank aus dem
+ * Speicher geliefert, gemessen wird nur die Regelauswertung (ohne Empfehlungs-Cache).
+ *
+ * Start: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=de.smartolive.irrigation.benchmark.RecommendationEvaluationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class RecommendationEvaluationBenchmark {
+
+    @Param({"2000"})
+    private int parzellen;
+
+    @Param({"sequential", "parallel"})
+    private String mode;
+
+    private RecommendationService service;
+    private Wetterdaten wetter;
+
+    @Setup
+    public void setUp() throws Exception {
+        EvaluationContext context = context(parzellen);
+        EvaluationContextLoader loader = new EvaluationContextLoader(null, null, null, null, null) {
+            @Override
+            public EvaluationContext load(LocalDateTime now) {
+                return context;
+            }
+        };
+        int parallelThreshold = "parallel".equals(mode) ? 0 : Integer.MAX_VALUE;
+        int parallelism = Math.max(2, Runtime.getRuntime().availableProcessors());
+        service = new RecommendationService(new OlivenIrrigationRuleService(), null, null, null,
+                null, null, loader, new RecommendationCache(false, Duration.ZERO), null, parallelism, parallelThreshold,
+                Duration.ofSeconds(5));
+        wetter = Wetterdaten.createTestDaten();
+    }
+
+    @TearDown
+    public void tearDown() {
+        service.shutdown();
+    }
+
+    @Benchmark
+    public Map<Long, BewaesserungsEmpfehlung> generateForAll() {
+        return service.generateRecommendationsForAll(wetter);
+    }
+
+    private static EvaluationContext context(int count) throws Exception {
+        LocalDateTime now = LocalDateTime.now();
+        List<OlivenParzelle> parzellen = new ArrayList<>();
+        Map<Long, SensorReading> latestReadings = new HashMap<>();
+        for (long id = 1; id <= count; id++) {
+            OlivenParzelle parzelle = OlivenParzelle.create("Parzelle " + id,
+                    new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 50.0),
+                    new MoistureRange(30.0, 60.0));
+            ReflectionTestUtils.setField(parzelle, "id", id);
+            parzellen.add(parzelle);
+
+            SensorReading reading = new SensorReading(id, 20.0 + id % 40, 24.0, null, null, 80, "S-" + id);
+            reading.setTimestamp(now.minusMinutes(5));
+            latestReadings.put(id, reading);
+        }
+        return new EvaluationContext(now.toLocalDate().atStartOfDay(), parzellen, latestReadings, Map.of());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(RecommendationEvaluationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package de.smartolive.irrigation.benchmark;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.ColumnarSensorBuffer;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Allokationen pro Messung im Ingest- und Analysepfad: Entity gegenüber {@link SensorSample}.
+ * Entscheidend ist die Spalte {@code gc.alloc.rate.norm} (Bytes pro Operation).
+ *
+ * Start: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=de.smartolive.irrigation.benchmark.SensorIngestAllocationBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SensorIngestAllocationBenchmark {
+
+    private ColumnarSensorBuffer buffer;
+    private SensorReading storedReading;
+    private SensorSample storedSample;
+
+    @Setup
+    public void setUp() {
+        buffer = new ColumnarSensorBuffer(1024);
+        storedReading = entityReading();
+        storedSample = SensorSample.of(storedReading);
+    }
+
+    /** Messung wie vom Gateway: Entity anlegen, Signal/Status setzen, Qualität lesen */
+    @Benchmark
+    public SensorReading entityReading() {
+        SensorReading reading = new SensorReading(1L, 42.5, 21.3, 850.0, 6.8, 78, "GW-1-S-07");
+        reading.setSignalStrength(71);
+        reading.setStatus(SensorStatus.ONLINE);
+        reading.getDataQualityScore();
+        return reading;
+    }
+
+    /** Dieselbe Messung als kompakter Ingest-Typ inklusive Qualitätsbewertung */
+    @Benchmark
+    public int compactSample() {
+        long now = System.currentTimeMillis();
+        SensorSample sample = new SensorSample(SensorSample.NO_ID, 1L, "GW-1-S-07", now,
+                42.5, 21.3, 850.0, 6.8, 78, 71, SensorStatus.ONLINE);
+        return sample.dataQualityScore(now);
+    }
+
+    @Benchmark
+    public double entityWaterStress() {
+        return storedReading.calculateWaterStressIndex();
+    }
+
+    @Benchmark
+    public double sampleWaterStress() {
+        return storedSample.waterStressIndex(EpochMillis.now());
+    }
+
+    @Benchmark
+    public void bufferAppendEntity() {
+        buffer.append(storedReading);
+    }
+
+    @Benchmark
+    public void bufferAppendSample() {
+        buffer.append(storedSample);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(SensorIngestAllocationBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
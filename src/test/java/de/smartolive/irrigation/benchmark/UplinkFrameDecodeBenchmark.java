@@ -0,0 +1,68 @@
+package de.smartolive.irrigation.benchmark;
+
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+import de.smartolive.irrigation.infrastructure.sensor.UplinkFrame;
+import de.smartolive.irrigation.infrastructure.sensor.UplinkFrameDecoder;
+import de.smartolive.irrigation.infrastructure.sensor.UplinkFrameEncoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.ByteBuffer;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Dekodierzeit und Allokationen pro Uplink-Frame mit {@code samplesPerFrame} Messungen.
+ * Erwartet sind nur die {@link SensorSample}s, die Liste und der Frame selbst.
+ *
+ * Start: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=de.smartolive.irrigation.benchmark.UplinkFrameDecodeBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class UplinkFrameDecodeBenchmark {
+
+    @Param({"16", "128"})
+    private int samplesPerFrame;
+
+    private UplinkFrameDecoder decoder;
+    private ByteBuffer frame;
+
+    @Setup
+    public void setUp() {
+        decoder = new UplinkFrameDecoder();
+        long now = EpochMillis.now();
+        List<SensorSample> samples = new ArrayList<>();
+        for (int i = 0; i < samplesPerFrame; i++) {
+            samples.add(new SensorSample(SensorSample.NO_ID, 1L, "GW-1-S-" + (i % 16), now - i * 1000L,
+                    42.5, 21.3, 850.0, 6.8, 78, 71, SensorStatus.ONLINE));
+        }
+        byte[] encoded = UplinkFrameEncoder.encode(new UplinkFrame("GW-1", 1, samples), ZoneId.systemDefault());
+        frame = ByteBuffer.allocateDirect(encoded.length).put(encoded).flip();
+    }
+
+    @Benchmark
+    public UplinkFrame decode() throws SensorCommunicationException {
+        frame.rewind();
+        return decoder.decode(frame);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UplinkFrameDecodeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build()).run();
+    }
+}
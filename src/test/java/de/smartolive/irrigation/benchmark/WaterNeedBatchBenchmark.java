@@ -0,0 +1,102 @@
+package de.smartolive.irrigation.benchmark;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.service.OlivenIrrigationRuleService;
+import de.smartolive.irrigation.domain.service.WaterNeedBatch;
+import de.smartolive.irrigation.domain.service.WaterNeedBatchCalculator;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wasserbedarf und Stufe für alle Parzellen: {@code evaluate} je Parzelle gegen die
+ * Batch-Berechnung, skalar und mit der Vector API. Der Batch wird im Setup befüllt,
+ * gemessen wird nur die Berechnung.
+ *
+ * Start: {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=de.smartolive.irrigation.benchmark.WaterNeedBatchBenchmark}
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 3, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Benchmark)
+public class WaterNeedBatchBenchmark {
+
+    private static final BodenTyp[] BODEN = BodenTyp.values();
+    private static final int[] ALTER = {1, 5, 20, 40, 80};
+
+    @Param({"2000"})
+    private int parzellen;
+
+    private final OlivenIrrigationRuleService ruleService = new OlivenIrrigationRuleService();
+    private final List<OlivenParzelle> parzellenListe = new ArrayList<>();
+    private final List<SensorReading> readings = new ArrayList<>();
+    private WaterNeedBatch batch;
+    private WaterNeedBatchCalculator scalar;
+    private WaterNeedBatchCalculator vector;
+    private Wetterdaten wetter;
+
+    @Setup
+    public void setUp() throws Exception {
+        wetter = new Wetterdaten(LocalDateTime.now(), 28.0, 0.0, 10.0, 40.0, 10.0, 6.5);
+        batch = new WaterNeedBatch(parzellen);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < parzellen; i++) {
+            OlivenParzelle parzelle = OlivenParzelle.create("Parzelle " + i,
+                    new OlivenbaumProfil("Picual", BODEN[i % BODEN.length], ALTER[i % ALTER.length], false, 50.0),
+                    new MoistureRange(30.0, 60.0));
+            double moisture = 10.0 + i % 70;
+            SensorReading reading = new SensorReading((long) i, moisture, 24.0, null, null, 80, "S-" + i);
+            reading.setTimestamp(now.minusMinutes(5));
+
+            parzellenListe.add(parzelle);
+            readings.add(reading);
+            batch.add(parzelle, moisture);
+        }
+        scalar = new WaterNeedBatchCalculator(false);
+        vector = new WaterNeedBatchCalculator(true);
+    }
+
+    @Benchmark
+    public void evaluateEach(Blackhole blackhole) throws Exception {
+        for (int i = 0; i < parzellen; i++) {
+            BewaesserungsEmpfehlung empfehlung =
+                    ruleService.evaluate(parzellenListe.get(i), wetter, readings.get(i), List.of());
+            blackhole.consume(empfehlung.getEmpfohleneMengeLiter());
+            blackhole.consume(empfehlung.getStufe());
+        }
+    }
+
+    @Benchmark
+    public WaterNeedBatch batchScalar() {
+        scalar.calculate(batch, wetter);
+        return batch;
+    }
+
+    @Benchmark
+    public WaterNeedBatch batchVector() {
+        vector.calculate(batch, wetter);
+        return batch;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(WaterNeedBatchBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,87 @@
+package de.smartolive.irrigation.domain.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class KeysetPageTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2026, 10, 16, 6, 30, 15, 123_456_000);
+
+    @Test
+    void shouldRoundTripOpaqueCursor() {
+        // Given
+        PageCursor cursor = new PageCursor(T, 4711L);
+
+        // When
+        String encoded = cursor.encode();
+
+        // Then
+        assertThat(encoded).doesNotContain("2026", "4711", "=", "+", "/");
+        assertThat(PageCursor.decode(encoded)).isEqualTo(cursor);
+    }
+
+    @Test
+    void shouldRejectForeignCursor() {
+        assertThatThrownBy(() -> PageCursor.decode("not-a-cursor"))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ungültiger Cursor");
+        assertThatThrownBy(() -> PageCursor.decode("%%%"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldRejectTamperedCursor() {
+        // Given: ein Zeichen des Cursors verändert, Länge unverändert
+        String encoded = new PageCursor(T, 4711L).encode();
+        String tampered = encoded.substring(0, 10) + (encoded.charAt(10) == 'A' ? 'B' : 'A') + encoded.substring(11);
+
+        // When / Then
+        assertThatThrownBy(() -> PageCursor.decode(tampered))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ungültiger Cursor");
+        assertThatThrownBy(() -> PageCursor.decode(encoded.substring(0, 27)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldPointNextCursorAtLastItemOnlyIfMoreRowsFollow() {
+        // Given: Abfrage mit Limit 3 für Seitengröße 2
+        List<Row> fetched = List.of(new Row(T, 9L), new Row(T, 8L), new Row(T.minusMinutes(1), 7L));
+
+        // When
+        KeysetPage<Row> page = KeysetPage.of(fetched, 2, Row::timestamp, Row::id);
+        KeysetPage<Row> last = KeysetPage.of(fetched.subList(0, 2), 2, Row::timestamp, Row::id);
+
+        // Then
+        assertThat(page.getItems()).extracting(Row::id).containsExactly(9L, 8L);
+        assertThat(page.hasNext()).isTrue();
+        assertThat(PageCursor.decode(page.getNextCursor())).isEqualTo(new PageCursor(T, 8L));
+        assertThat(last.hasNext()).isFalse();
+        assertThat(KeysetPage.limit(2).getPageSize()).isEqualTo(3);
+    }
+
+    @Test
+    void shouldRejectPageSizeOutsideLimits() {
+        assertThatThrownBy(() -> KeysetPage.limit(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> KeysetPage.limit(KeysetPage.MAX_PAGE_SIZE + 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static final class Row {
+        private final LocalDateTime timestamp;
+        private final Long id;
+
+        Row(LocalDateTime timestamp, Long id) {
+            this.timestamp = timestamp;
+            this.id = id;
+        }
+
+        LocalDateTime timestamp() { return timestamp; }
+        Long id() { return id; }
+    }
+}
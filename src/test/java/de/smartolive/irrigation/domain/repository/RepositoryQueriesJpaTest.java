@@ -0,0 +1,452 @@
+package de.smartolive.irrigation.domain.repository;
+
+import de.smartolive.irrigation.domain.model.DailySensorRollup;
+import de.smartolive.irrigation.domain.model.HourlySensorRollup;
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.RollupResolution;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorRollupWatermark;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.service.HistoryPageService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.orm.jpa.persistenceunit.PersistenceManagedTypes;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Führt die JPQL-Abfragen der Messungs- und Ereignis-Repositories gegen H2 aus.
+ * Geladen werden nur die Entities der Messungen, Rollups und Bewässerungsereignisse.
+ */
+@DataJpaTest
+class RepositoryQueriesJpaTest {
+
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = SensorReadingRepository.class,
+            includeFilters = @ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
+                    classes = {SensorReadingRepository.class, IrrigationEventRepository.class}))
+    static class QueryTestConfiguration {
+
+        @Bean
+        PersistenceManagedTypes persistenceManagedTypes() {
+            return PersistenceManagedTypes.of(
+                    SensorReading.class.getName(),
+                    HourlySensorRollup.class.getName(),
+                    DailySensorRollup.class.getName(),
+                    SensorRollupWatermark.class.getName(),
+                    IrrigationEvent.class.getName());
+        }
+    }
+
+    @Autowired
+    private SensorReadingRepository sensorRepository;
+    @Autowired
+    private IrrigationEventRepository eventRepository;
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Test
+    void shouldGroupMoistureTrendIntoEpochAlignedBuckets() {
+        // Given: alle 1000 s eine Messung über 10 h; der Start liegt auf einer halben Sekunde,
+        // damit die Bucket-Breite für zehn Punkte während des Tests bei 4001 s bleibt
+        LocalDateTime start = LocalDateTime.now().minusSeconds(36_000).minusNanos(500_000_000);
+        List<SensorReading> readings = new ArrayList<>();
+        for (int k = 1; k <= 36; k++) {
+            readings.add(persist(reading(1L, start.truncatedTo(ChronoUnit.SECONDS).plusSeconds(1000L * k), k)));
+        }
+        persist(reading(2L, start.plusHours(1), 99.0));
+        flushAndClear();
+
+        // When
+        List<MoisturePoint> trend = sensorRepository.findMoistureTrendBucketed(1L, start, 10);
+
+        // Then: Bucket = floor(Epochensekunde / Breite), Zeitpunkt = erste Messung im Bucket
+        long width = SensorReadingRollupQueriesImpl.bucketSeconds(start, LocalDateTime.now(), 10);
+        assertThat(width).isEqualTo(4001);
+        TreeMap<Long, List<SensorReading>> byBucket = new TreeMap<>();
+        for (SensorReading reading : readings) {
+            long bucket = Math.floorDiv(reading.getTimestamp().toEpochSecond(ZoneOffset.UTC), width);
+            byBucket.computeIfAbsent(bucket, key -> new ArrayList<>()).add(reading);
+        }
+        List<MoisturePoint> expected = new ArrayList<>();
+        for (List<SensorReading> bucket : byBucket.values()) {
+            double sum = bucket.stream().mapToDouble(SensorReading::getMoisturePercent).sum();
+            expected.add(new MoisturePoint(bucket.get(0).getTimestamp(), sum / bucket.size()));
+        }
+        assertThat(trend).hasSizeLessThanOrEqualTo(10).containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldCountEventsPerDay() {
+        // Given
+        LocalDate today = LocalDate.now();
+        persist(event(1L, today.minusDays(10).atTime(6, 0), 50.0));
+        persist(event(1L, today.minusDays(2).atTime(6, 0), 50.0));
+        persist(event(1L, today.minusDays(2).atTime(23, 59, 59), 50.0));
+        persist(event(1L, today.minusDays(1).atStartOfDay(), 50.0));
+        persist(event(1L, today.atStartOfDay(), 50.0));
+        persist(event(1L, today.atTime(0, 0, 1), 50.0));
+        persist(event(2L, today.atStartOfDay(), 50.0));
+        flushAndClear();
+
+        // When
+        List<DailyEventCount> counts = eventRepository.findDailyEventCounts(1L, today.minusDays(5).atStartOfDay());
+        List<Object[]> rows = eventRepository.countEventsPerDay(1L, today.minusDays(5).atStartOfDay());
+
+        // Then: neuester Tag zuerst, Tagesgrenze um Mitternacht
+        assertThat(counts).containsExactly(
+                new DailyEventCount(today, 2),
+                new DailyEventCount(today.minusDays(1), 1),
+                new DailyEventCount(today.minusDays(2), 2));
+        assertThat(rows).extracting(row -> row[0], row -> ((Number) row[1]).longValue()).containsExactly(
+                tuple(today, 2L),
+                tuple(today.minusDays(1), 1L),
+                tuple(today.minusDays(2), 2L));
+    }
+
+    @Test
+    void shouldAverageTodaysOnlineMoisture() {
+        // Given
+        LocalDate today = LocalDate.now();
+        persist(reading(1L, today.atStartOfDay(), 30.0));
+        persist(reading(1L, today.atTime(23, 59, 59), 50.0));
+        persist(reading(1L, today.atTime(12, 0), 90.0, SensorStatus.ERROR));
+        persist(reading(1L, today.minusDays(1).atTime(23, 59, 59), 10.0));
+        persist(reading(2L, today.atTime(12, 0), 70.0));
+        flushAndClear();
+
+        // When
+        Optional<Double> average = sensorRepository.findAverageMoistureToday(1L);
+
+        // Then: nur ONLINE-Messungen des heutigen Kalendertags
+        assertThat(average).hasValue(40.0);
+        assertThat(sensorRepository.findAverageMoistureToday(3L)).isEmpty();
+    }
+
+    @Test
+    void shouldSummarizeWaterUsageSince() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        persist(event(1L, now.minusDays(20), 1000.0));
+        persist(event(1L, now.minusDays(5), 100.0));
+        persist(event(1L, now.minusDays(2), 50.0));
+        persist(event(1L, now.minusHours(1), 25.0));
+        persist(event(2L, now.minusDays(3), 40.0));
+        flushAndClear();
+
+        // When
+        WaterUsageSummary single = eventRepository.summarizeWaterUsageSince(1L, now.minusDays(10));
+        Map<Long, WaterUsageSummary> byParzelle =
+                eventRepository.summarizeWaterUsageSince(List.of(1L, 2L, 3L), now.minusDays(10));
+
+        // Then: Ereignisse vor dem Stichtag zählen nicht, Parzellen ohne Ereignis sind leer
+        assertThat(single.getEventCount()).isEqualTo(3);
+        assertThat(single.getTotalLiters()).isEqualTo(175.0);
+        assertThat(byParzelle).containsOnlyKeys(1L, 2L, 3L);
+        assertThat(byParzelle.get(1L).getEventCount()).isEqualTo(3);
+        assertThat(byParzelle.get(1L).getTotalLiters()).isEqualTo(175.0);
+        assertThat(byParzelle.get(2L).getEventCount()).isEqualTo(1);
+        assertThat(byParzelle.get(2L).getTotalLiters()).isEqualTo(40.0);
+        assertThat(byParzelle.get(3L).getEventCount()).isZero();
+        assertThat(byParzelle.get(3L).getTotalLiters()).isZero();
+    }
+
+    @Test
+    void shouldSummarizeWaterUsagePerPeriodInInputOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        persist(event(1L, now.minusDays(20), 1000.0));
+        persist(event(1L, now.minusDays(5), 100.0));
+        persist(event(1L, now.minusDays(2), 50.0));
+        persist(event(1L, now.minusHours(1), 25.0));
+        persist(event(2L, now.minusDays(1), 40.0));
+        flushAndClear();
+
+        // When
+        List<WaterUsageSummary> periods = eventRepository.summarizeWaterUsagePeriods(1L,
+                List.of(now.minusDays(3), now.minusDays(30), now.minusHours(2)));
+
+        // Then
+        assertThat(periods).extracting(WaterUsageSummary::getEventCount).containsExactly(2L, 4L, 1L);
+        assertThat(periods).extracting(WaterUsageSummary::getTotalLiters).containsExactly(75.0, 1175.0, 25.0);
+    }
+
+    @Test
+    void shouldSummarizeRecentReadingsFromRawData() {
+        // Given: Zeitraum unter 48 h, nur Rohdaten; Feuchte zählt nur bei Status ONLINE
+        LocalDateTime now = LocalDateTime.now();
+        persist(reading(1L, now.minusHours(30), 10.0));
+        persist(reading(1L, now.minusHours(20), 30.0));
+        persist(reading(1L, now.minusHours(3), 40.0));
+        persist(reading(1L, now.minusHours(1), 90.0, SensorStatus.ERROR));
+        persist(reading(2L, now.minusHours(2), 50.0));
+        flushAndClear();
+
+        // When
+        Map<Long, ReadingSummary> byParzelle =
+                sensorRepository.summarizeReadingsSinceRouted(List.of(1L, 2L, 3L), now.minusHours(24));
+        List<ReadingSummary> periods = sensorRepository.summarizeReadingPeriodsRouted(1L,
+                List.of(now.minusHours(24), now.minusHours(6)));
+
+        // Then
+        assertSummary(byParzelle.get(1L), 3, 2, 35.0);
+        assertSummary(byParzelle.get(2L), 1, 1, 50.0);
+        assertThat(byParzelle.get(3L).getReadingCount()).isZero();
+        assertThat(byParzelle.get(3L).getAverageMoisture()).isEmpty();
+        assertSummary(periods.get(0), 3, 2, 35.0);
+        assertSummary(periods.get(1), 2, 1, 40.0);
+        assertThat(sensorRepository.countAllReadingsSinceRouted(1L, now.minusHours(24))).isEqualTo(3);
+        assertThat(sensorRepository.findAverageMoistureSinceRouted(1L, now.minusHours(24))).hasValue(35.0);
+        assertThat(sensorRepository.findAverageMoistureSinceRouted(3L, now.minusHours(24))).isEmpty();
+    }
+
+    @Test
+    void shouldCombineHourlyRollupsWithRawDataAfterWatermark() {
+        // Given: verdichtet bis vor einer Stunde; danach nur Rohdaten
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime watermark = now.truncatedTo(ChronoUnit.HOURS).minusHours(1);
+        insertWatermark(RollupResolution.HOURLY, watermark);
+        insertHourlyRollup(1L, watermark.minusDays(3), 10, 8, 320.0);
+        insertHourlyRollup(2L, watermark.minusDays(3), 4, 4, 100.0);
+        // bereits verdichtet, darf nicht doppelt zählen
+        persist(reading(1L, watermark.minusHours(1), 90.0));
+        persist(reading(1L, now.minusMinutes(1), 60.0));
+        flushAndClear();
+
+        // When
+        Map<Long, ReadingSummary> byParzelle =
+                sensorRepository.summarizeReadingsSinceRouted(List.of(1L, 2L), now.minusDays(5));
+        List<ReadingSummary> periods = sensorRepository.summarizeReadingPeriodsRouted(1L,
+                List.of(now.minusDays(5), now.minusMinutes(30)));
+
+        // Then
+        assertSummary(byParzelle.get(1L), 11, 9, 380.0 / 9);
+        assertSummary(byParzelle.get(2L), 4, 4, 25.0);
+        assertSummary(periods.get(0), 11, 9, 380.0 / 9);
+        assertSummary(periods.get(1), 1, 1, 60.0);
+        assertThat(sensorRepository.countAllReadingsSinceRouted(1L, now.minusDays(5))).isEqualTo(11);
+        assertThat(sensorRepository.findAverageMoistureSinceRouted(1L, now.minusDays(5)))
+                .hasValueSatisfying(average -> assertThat(average).isCloseTo(380.0 / 9, within(1e-9)));
+    }
+
+    @Test
+    void shouldStreamHistoryInQueryOrder() {
+        // Given
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        persist(reading(1L, now.minusHours(3), 30.0));
+        persist(reading(1L, now.minusHours(2), 40.0));
+        persist(reading(1L, now.minusHours(1), 50.0));
+        persist(reading(2L, now.minusHours(2), 60.0));
+        persist(event(1L, now.minusDays(2), 100.0));
+        persist(event(1L, now.minusDays(1), 50.0));
+        persist(event(2L, now.minusDays(1), 40.0));
+        flushAndClear();
+
+        // When
+        List<Double> latestFirst;
+        try (Stream<SensorReading> stream = sensorRepository.streamByParzelleIdOrderByTimestampDesc(1L)) {
+            latestFirst = stream.map(SensorReading::getMoisturePercent).toList();
+        }
+        List<Double> inRange;
+        try (Stream<SensorReading> stream = sensorRepository.streamByParzelleIdAndTimestampBetween(
+                1L, now.minusHours(3), now.minusHours(1))) {
+            inRange = stream.map(SensorReading::getMoisturePercent).toList();
+        }
+        long allParzellen;
+        try (Stream<SensorReading> stream = sensorRepository.streamByTimestampBetween(now.minusDays(1), now)) {
+            allParzellen = stream.count();
+        }
+        double streamedLiters;
+        try (Stream<IrrigationEvent> stream = eventRepository.streamHistoryByParzelleId(1L)) {
+            streamedLiters = stream.mapToDouble(IrrigationEvent::getWasserMengeLiter).sum();
+        }
+        List<Long> eventsInRange;
+        try (Stream<IrrigationEvent> stream = eventRepository.streamByStartTimeBetween(now.minusDays(3), now)) {
+            eventsInRange = stream.map(IrrigationEvent::getParzelleId).toList();
+        }
+
+        // Then: Ende exklusiv; gestreamte Summe entspricht der Aggregat-Abfrage
+        assertThat(latestFirst).containsExactly(50.0, 40.0, 30.0);
+        assertThat(inRange).containsExactly(30.0, 40.0);
+        assertThat(allParzellen).isEqualTo(4);
+        assertThat(streamedLiters).isEqualTo(150.0)
+                .isEqualTo(eventRepository.summarizeWaterUsageSince(1L, now.minusDays(30)).getTotalLiters());
+        assertThat(eventsInRange).containsExactly(1L, 1L, 2L);
+    }
+
+    @Test
+    void shouldPageThroughReadingsWithIdenticalTimestamps() {
+        // Given: sieben Messungen mit gleichem Zeitstempel, drei ältere, eine fremde Parzelle
+        LocalDateTime t = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<SensorReading> readings = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            readings.add(persist(reading(1L, t, 30.0 + i)));
+        }
+        for (int i = 0; i < 3; i++) {
+            readings.add(persist(reading(1L, t.minusMinutes(1), 20.0 + i)));
+        }
+        persist(reading(2L, t, 50.0));
+        flushAndClear();
+
+        // When
+        List<Long> paged = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<SensorReading> page = historyPages().getReadingHistory(1L, cursor, 3);
+            page.getItems().forEach(reading -> paged.add(reading.getId()));
+            pageSizes.add(page.getItems().size());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then: jede Messung genau einmal, neueste zuerst, bei gleichem Zeitstempel nach ID absteigend
+        List<Long> expected = readings.stream()
+                .sorted(Comparator.comparing(SensorReading::getTimestamp)
+                        .thenComparing(SensorReading::getId).reversed())
+                .map(SensorReading::getId)
+                .toList();
+        assertThat(paged).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+        assertThat(pageSizes).containsExactly(3, 3, 3, 1);
+    }
+
+    @Test
+    void shouldPageThroughEventsWithIdenticalStartTimes() {
+        // Given
+        LocalDateTime t = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<IrrigationEvent> events = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            events.add(persist(event(1L, t, 10.0 * (i + 1))));
+        }
+        events.add(persist(event(1L, t.minusDays(1), 60.0)));
+        persist(event(2L, t, 70.0));
+        flushAndClear();
+
+        // When
+        List<Long> paged = new ArrayList<>();
+        String cursor = null;
+        do {
+            KeysetPage<IrrigationEvent> page = historyPages().getIrrigationHistory(1L, cursor, 2);
+            page.getItems().forEach(event -> paged.add(event.getId()));
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        List<Long> expected = events.stream()
+                .sorted(Comparator.comparing(IrrigationEvent::getStartTime)
+                        .thenComparing(IrrigationEvent::getId).reversed())
+                .map(IrrigationEvent::getId)
+                .toList();
+        assertThat(paged).doesNotHaveDuplicates().containsExactlyElementsOf(expected);
+    }
+
+    @Test
+    void shouldRejectTamperedCursorBeforeQuerying() {
+        // Given
+        LocalDateTime t = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 3; i++) {
+            persist(reading(1L, t, 30.0));
+        }
+        flushAndClear();
+        HistoryPageService pages = historyPages();
+        String cursor = pages.getReadingHistory(1L, null, 1).getNextCursor();
+        String tampered = cursor.substring(0, 20) + (cursor.charAt(20) == 'A' ? 'B' : 'A') + cursor.substring(21);
+
+        // When / Then: die IllegalArgumentException kommt unübersetzt beim Aufrufer an
+        assertThat(pages.getReadingHistory(1L, cursor, 1).getItems()).hasSize(1);
+        assertThat(pages.getCriticalReadings(1L, 35.0, cursor, 1).getItems()).hasSize(1);
+        assertThatThrownBy(() -> pages.getReadingHistory(1L, tampered, 1))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ungültiger Cursor");
+        assertThatThrownBy(() -> pages.getCriticalReadings(1L, 35.0, tampered, 1))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pages.getIrrigationHistory(1L, tampered, 1))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pages.getReadingHistory(1L, null, 0))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertSummary(ReadingSummary summary, long readings, long onlineMoisture,
+                                      double averageMoisture) {
+        assertThat(summary.getReadingCount()).isEqualTo(readings);
+        assertThat(summary.getOnlineMoistureCount()).isEqualTo(onlineMoisture);
+        assertThat(summary.getAverageMoisture()).hasValueSatisfying(average ->
+                assertThat(average).isCloseTo(averageMoisture, within(1e-9)));
+    }
+
+    private void insertWatermark(RollupResolution resolution, LocalDateTime compactedUntil) {
+        entityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO sensor_rollup_watermarks (resolution, compacted_until) VALUES (?1, ?2)")
+                .setParameter(1, resolution.name())
+                .setParameter(2, compactedUntil)
+                .executeUpdate();
+    }
+
+    private void insertHourlyRollup(Long parzelleId, LocalDateTime bucketStart, long readings,
+                                    long onlineMoisture, double onlineMoistureSum) {
+        entityManager.getEntityManager()
+                .createNativeQuery("INSERT INTO sensor_readings_hourly (parzelle_id, sensor_id, bucket_start, " +
+                        "reading_count, moisture_count, moisture_sum, online_moisture_count, online_moisture_sum, " +
+                        "temperature_count, temperature_sum) VALUES (?1, ?2, ?3, ?4, ?5, ?6, ?5, ?6, 0, 0)")
+                .setParameter(1, parzelleId)
+                .setParameter(2, "S-" + parzelleId)
+                .setParameter(3, bucketStart)
+                .setParameter(4, readings)
+                .setParameter(5, onlineMoisture)
+                .setParameter(6, onlineMoistureSum)
+                .executeUpdate();
+    }
+
+    private HistoryPageService historyPages() {
+        return new HistoryPageService(sensorRepository, eventRepository);
+    }
+
+    private <T> T persist(T entity) {
+        return entityManager.persist(entity);
+    }
+
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private static SensorReading reading(Long parzelleId, LocalDateTime timestamp, double moisture) {
+        return reading(parzelleId, timestamp, moisture, SensorStatus.ONLINE);
+    }
+
+    private static SensorReading reading(Long parzelleId, LocalDateTime timestamp, double moisture,
+                                         SensorStatus status) {
+        SensorReading reading = new SensorReading(parzelleId, moisture, 20.0, null, null, 80, "S-" + parzelleId);
+        reading.setTimestamp(timestamp);
+        reading.setStatus(status);
+        return reading;
+    }
+
+    private static IrrigationEvent event(Long parzelleId, LocalDateTime startTime, double liters) {
+        IrrigationEvent event = new IrrigationEvent(parzelleId, liters, "AUTOMATIC", "TEST");
+        event.setStartTime(startTime);
+        event.setEndTime(startTime.plusMinutes(10));
+        return event;
+    }
+}
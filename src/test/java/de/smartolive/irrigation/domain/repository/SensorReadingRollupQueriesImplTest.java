@@ -0,0 +1,64 @@
+package de.smartolive.irrigation.domain.repository;
+
+import de.smartolive.irrigation.domain.repository.SensorReadingRollupQueriesImpl.Segment;
+import de.smartolive.irrigation.domain.repository.SensorReadingRollupQueriesImpl.Source;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class SensorReadingRollupQueriesImplTest {
+
+    private static final LocalDateTime MIDNIGHT = LocalDateTime.of(2025, 6, 10, 0, 0);
+
+    @Test
+    void shouldUseDailyForFullDaysAndFillEdgesFromFinerLevels() {
+        // Given
+        LocalDateTime start = MIDNIGHT.minusDays(30).plusHours(5).plusMinutes(20);
+        LocalDateTime hourlyWatermark = MIDNIGHT.plusHours(9);
+
+        // When
+        List<Segment> segments = SensorReadingRollupQueriesImpl.plan(start, hourlyWatermark, MIDNIGHT);
+
+        // Then
+        assertThat(segments)
+                .extracting(Segment::getSource, Segment::getFrom, Segment::getUntil)
+                .containsExactly(
+                        tuple(Source.RAW, start, start.plusMinutes(40)),
+                        tuple(Source.HOURLY, start.plusMinutes(40), MIDNIGHT.minusDays(29)),
+                        tuple(Source.DAILY, MIDNIGHT.minusDays(29), MIDNIGHT),
+                        tuple(Source.HOURLY, MIDNIGHT, hourlyWatermark),
+                        tuple(Source.RAW, hourlyWatermark, null));
+    }
+
+    @Test
+    void shouldFallBackToRawDataWithoutCompactedRange() {
+        LocalDateTime start = MIDNIGHT.minusDays(3).plusMinutes(10);
+
+        assertThat(SensorReadingRollupQueriesImpl.plan(start, null, null))
+                .extracting(Segment::getSource, Segment::getUntil)
+                .containsExactly(tuple(Source.RAW, null));
+        assertThat(SensorReadingRollupQueriesImpl.plan(start, MIDNIGHT.minusDays(3).plusHours(1), null))
+                .extracting(Segment::getSource)
+                .containsExactly(Source.RAW);
+    }
+
+    @Test
+    void shouldChooseBucketWidthThatYieldsAtMostMaxPoints() {
+        // Given
+        LocalDateTime start = MIDNIGHT.minusDays(365);
+
+        // When
+        long width = SensorReadingRollupQueriesImpl.bucketSeconds(start, MIDNIGHT, 500);
+
+        // Then: jede Lage des Zeitraums zur Epoche schneidet höchstens 500 Buckets, eine Sekunde schmaler mehr
+        long span = 365L * 24 * 3600;
+        assertThat(Math.ceilDiv(span, width) + 1).isLessThanOrEqualTo(500);
+        assertThat(Math.ceilDiv(span, width - 1) + 1).isGreaterThan(500);
+        assertThat(SensorReadingRollupQueriesImpl.bucketSeconds(MIDNIGHT.minusSeconds(30), MIDNIGHT, 500))
+                .isEqualTo(1);
+    }
+}
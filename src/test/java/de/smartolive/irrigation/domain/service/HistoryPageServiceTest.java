@@ -0,0 +1,97 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.repository.IrrigationEventRepository;
+import de.smartolive.irrigation.domain.repository.KeysetPage;
+import de.smartolive.irrigation.domain.repository.PageCursor;
+import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HistoryPageServiceTest {
+
+    private static final LocalDateTime T = LocalDateTime.of(2026, 10, 16, 6, 30, 15);
+
+    @Mock
+    private SensorReadingRepository sensorRepository;
+    @Mock
+    private IrrigationEventRepository eventRepository;
+
+    private HistoryPageService pages;
+
+    @BeforeEach
+    void setUp() {
+        pages = new HistoryPageService(sensorRepository, eventRepository);
+    }
+
+    @Test
+    void shouldSeekAfterDecodedCursor() {
+        // Given: Seitengröße 2, die Abfrage liefert ein Element mehr
+        String cursor = new PageCursor(T, 42L).encode();
+        when(sensorRepository.findHistoryPageAfter(eq(1L), eq(T), eq(42L), argThat(limit -> limit.getPageSize() == 3)))
+                .thenReturn(List.of(reading(41L, T), reading(40L, T), reading(39L, T.minusMinutes(1))));
+
+        // When
+        KeysetPage<SensorReading> page = pages.getReadingHistory(1L, cursor, 2);
+
+        // Then
+        assertThat(page.getItems()).extracting(SensorReading::getId).containsExactly(41L, 40L);
+        assertThat(PageCursor.decode(page.getNextCursor())).isEqualTo(new PageCursor(T, 40L));
+    }
+
+    @Test
+    void shouldRejectInvalidCursorWithoutQuerying() {
+        // Given
+        String encoded = new PageCursor(T, 42L).encode();
+        String tampered = encoded.substring(0, 5) + (encoded.charAt(5) == 'A' ? 'B' : 'A') + encoded.substring(6);
+
+        // When / Then
+        assertThatThrownBy(() -> pages.getReadingHistory(1L, tampered, 10))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Ungültiger Cursor");
+        assertThatThrownBy(() -> pages.getCriticalReadings(1L, 25.0, "not-a-cursor", 10))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> pages.getIrrigationHistory(1L, null, KeysetPage.MAX_PAGE_SIZE + 1))
+                .isExactlyInstanceOf(IllegalArgumentException.class);
+        verifyNoInteractions(sensorRepository, eventRepository);
+    }
+
+    @Test
+    void shouldReturnLastIrrigationPageWithoutCursor() {
+        // Given
+        IrrigationEvent event = new IrrigationEvent(1L, 50.0, "AUTOMATIC", "TEST");
+        when(eventRepository.findHistoryFirstPage(eq(1L), argThat((Pageable limit) -> limit.getPageSize() == 11)))
+                .thenReturn(List.of(event));
+
+        // When
+        KeysetPage<IrrigationEvent> page = pages.getIrrigationHistory(1L, null, 10);
+
+        // Then
+        assertThat(page.getItems()).containsExactly(event);
+        assertThat(page.hasNext()).isFalse();
+    }
+
+    private static SensorReading reading(Long id, LocalDateTime timestamp) {
+        SensorReading reading = new SensorReading(1L, 30.0, 20.0, null, null, 80, "S-1");
+        ReflectionTestUtils.setField(reading, "id", id);
+        reading.setTimestamp(timestamp);
+        return reading;
+    }
+}
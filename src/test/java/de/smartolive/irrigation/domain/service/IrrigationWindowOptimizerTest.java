@@ -0,0 +1,109 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.TimeWindow;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IrrigationWindowOptimizerTest {
+
+    private static final LocalDate DAY = LocalDate.of(2026, 7, 15);
+
+    private final IrrigationWindowOptimizer optimizer = new IrrigationWindowOptimizer();
+
+    @Test
+    void shouldPickCoolestSlotInDefaultWindow() throws Exception {
+        // Given: 06 Uhr warm, 07 Uhr mild, 08 Uhr kühl
+        List<Wetterdaten> forecast = day(hour -> hour == 6 ? weather(hour, 30.0, 10.0)
+                : hour == 7 ? weather(hour, 24.0, 10.0)
+                : weather(hour, 18.0, 10.0));
+
+        // When
+        IrrigationWindowOptimizer.OptimalStart best =
+                optimizer.findBestStart(optimizer.prepare(forecast), parzelle(1L), 30);
+
+        // Then
+        assertThat(best.getStart()).isEqualTo(DAY.atTime(8, 0));
+        assertThat(best.getEnd()).isEqualTo(DAY.atTime(8, 30));
+    }
+
+    @Test
+    void shouldStraddleHoursAndAvoidBlockedWind() throws Exception {
+        // Given: 08 Uhr Sturm, 06 Uhr warm – 90 Minuten müssen vor 08:00 enden
+        List<Wetterdaten> forecast = day(hour -> hour == 8 ? weather(hour, 18.0, 55.0)
+                : hour == 6 ? weather(hour, 26.0, 10.0)
+                : weather(hour, 20.0, 10.0));
+
+        // When
+        IrrigationWindowOptimizer.OptimalStart best =
+                optimizer.findBestStart(optimizer.prepare(forecast), parzelle(1L), 90);
+
+        // Then
+        assertThat(best.getStart()).isEqualTo(DAY.atTime(6, 30));
+    }
+
+    @Test
+    void shouldSearchWholeDayWindowAndSkipParzellenWithoutSlot() throws Exception {
+        // Given: Parzelle 1 darf ganztägig, Parzelle 2 nur 06–09 bei Regen
+        OlivenParzelle ganztags = parzelle(1L);
+        ganztags.addTimeWindow(new TimeWindow(LocalTime.MIDNIGHT, LocalTime.MIDNIGHT));
+        OlivenParzelle morgens = parzelle(2L);
+        List<Wetterdaten> forecast = day(hour -> hour >= 6 && hour < 9
+                ? new Wetterdaten(DAY.atTime(hour, 0), 20.0, 8.0, 90.0, 80.0, 5.0, 1.0)
+                : weather(hour, hour < 5 ? 15.0 : 28.0, 5.0));
+
+        // When
+        Map<Long, IrrigationWindowOptimizer.OptimalStart> result = optimizer.optimizeAll(
+                List.of(ganztags, morgens), Map.of(1L, 60, 2L, 60), forecast);
+
+        // Then
+        assertThat(result).containsOnlyKeys(1L);
+        assertThat(result.get(1L).getStart()).isEqualTo(DAY.atStartOfDay());
+    }
+
+    @Test
+    void shouldDeriveDurationFromLitersAndDailyLimit() throws Exception {
+        OlivenParzelle parzelle = parzelle(1L);
+
+        assertThat(IrrigationWindowOptimizer.durationMinutes(95.0, parzelle)).isEqualTo(10);
+        assertThat(IrrigationWindowOptimizer.durationMinutes(5_000.0, parzelle)).isEqualTo(60);
+    }
+
+    private interface HourlyWeather {
+        Wetterdaten at(int hour);
+    }
+
+    private static List<Wetterdaten> day(HourlyWeather weather) {
+        List<Wetterdaten> forecast = new ArrayList<>();
+        for (int hour = 0; hour < 24; hour++) {
+            forecast.add(weather.at(hour));
+        }
+        return forecast;
+    }
+
+    private static Wetterdaten weather(int hour, double temperature, double wind) {
+        LocalDateTime timestamp = DAY.atTime(hour, 0);
+        return new Wetterdaten(timestamp, temperature, 0.0, 0.0, 50.0, wind, temperature / 5.0);
+    }
+
+    private static OlivenParzelle parzelle(Long id) throws Exception {
+        OlivenParzelle parzelle = OlivenParzelle.create("Parzelle " + id,
+                new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 50.0),
+                new MoistureRange(30.0, 60.0));
+        ReflectionTestUtils.setField(parzelle, "id", id);
+        return parzelle;
+    }
+}
@@ -1,4 +1,97 @@
 package de.smartolive.irrigation.domain.service;
 
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.valueobject.Begruendung;
+import de.smartolive.irrigation.domain.valueobject.BegruendungsCode;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
 public class OlivenIrrigationRuleServiceTest {
+
+    private final OlivenIrrigationRuleService ruleService = new OlivenIrrigationRuleService();
+
+    @Test
+    void shouldCarryReasonCodesAndRenderThemPerLocale() throws Exception {
+        // Given
+        OlivenParzelle parzelle = OlivenParzelle.create("Nord",
+                new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 50.0),
+                new MoistureRange(30.0, 60.0));
+
+        // When
+        BewaesserungsEmpfehlung empfehlung = ruleService.evaluate(parzelle, Wetterdaten.createTestDaten(),
+                reading(25.0), List.of());
+
+        // Then
+        assertThat(empfehlung.getGruende()).extracting(Begruendung::getCode).containsExactly(
+                BegruendungsCode.BASISBEDARF, BegruendungsCode.FEUCHTEFAKTOR, BegruendungsCode.WETTERFAKTOR,
+                BegruendungsCode.BODENFAKTOR, BegruendungsCode.ALTERSFAKTOR);
+        assertThat(empfehlung.getGruende().get(1).getWert(0)).isEqualTo(1.5);
+        assertThat(empfehlung.getBegruendungen()).startsWith(
+                "Basis: 50,0L/Tag (Picual)", "Feuchtefaktor: 1,50 (aktuell: 25,0%)");
+        assertThat(empfehlung.getBegruendungen(Locale.ENGLISH)).startsWith(
+                "Base: 50.0L/day (Picual)", "Moisture factor: 1.50 (current: 25.0%)");
+    }
+
+    @Test
+    void shouldStopAtDailyLimitFromLedgerUsage() throws Exception {
+        // Given
+        OlivenParzelle parzelle = OlivenParzelle.create("Nord",
+                new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 50.0),
+                new MoistureRange(30.0, 60.0));
+        double limit = parzelle.getMaxDailyDurationMinutes() * OlivenIrrigationRuleService.VALVE_FLOW_LITERS_PER_MINUTE;
+
+        // When
+        BewaesserungsEmpfehlung unterLimit = ruleService.evaluate(parzelle, Wetterdaten.createTestDaten(),
+                reading(25.0), limit - 1.0);
+        BewaesserungsEmpfehlung amLimit = ruleService.evaluate(parzelle, Wetterdaten.createTestDaten(),
+                reading(25.0), limit);
+
+        // Then
+        assertThat(unterLimit.getStufe()).isNotEqualTo(EmpfehlungsStufe.KEINE);
+        assertThat(amLimit.getStufe()).isEqualTo(EmpfehlungsStufe.KEINE);
+        assertThat(amLimit.getGruende()).extracting(Begruendung::getCode)
+                .containsExactly(BegruendungsCode.TAGESLIMIT_ERREICHT);
+    }
+
+    @Test
+    void shouldSkipOnRainWithRenderedReason() throws Exception {
+        // Given
+        OlivenParzelle parzelle = OlivenParzelle.create("Süd",
+                new OlivenbaumProfil("Arbequina", BodenTyp.SANDIG, 5, false, 40.0),
+                new MoistureRange(30.0, 60.0));
+        Wetterdaten regen = new Wetterdaten(LocalDateTime.now(), 18.0, 5.0, 80.0, 85.0, 10.0, 2.0);
+
+        // When
+        BewaesserungsEmpfehlung empfehlung = ruleService.evaluate(parzelle, regen, reading(25.0), List.of());
+
+        // Then
+        assertThat(empfehlung.getStufe()).isEqualTo(EmpfehlungsStufe.KEINE);
+        assertThat(empfehlung.getBegruendungen()).containsExactly("Regen vorhergesagt: 5,0mm (80%)");
+    }
+
+    @Test
+    void shouldKeepFreeTextReasonsUnchanged() {
+        BewaesserungsEmpfehlung empfehlung = BewaesserungsEmpfehlung.keineBewaesserung("Manuell pausiert");
+
+        assertThat(empfehlung.getBegruendungen(Locale.ENGLISH)).containsExactly("Manuell pausiert");
+        assertThat(empfehlung.getGruende().get(0).getCode()).isEqualTo(BegruendungsCode.TEXT);
+    }
+
+    private static SensorReading reading(double moisture) {
+        SensorReading reading = new SensorReading(1L, moisture, 22.0, null, null, 80, "S-1");
+        reading.setTimestamp(LocalDateTime.now().minusMinutes(5));
+        return reading;
+    }
 }
@@ -0,0 +1,111 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RecommendationCacheTest {
+
+    private final AtomicInteger evaluations = new AtomicInteger();
+    private RecommendationCache cache;
+    private OlivenParzelle parzelle;
+    private Wetterdaten wetter;
+    private SensorReading reading;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        cache = new RecommendationCache(true, Duration.ofMinutes(1));
+        parzelle = OlivenParzelle.create("Nord",
+                new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 50.0),
+                new MoistureRange(30.0, 60.0));
+        ReflectionTestUtils.setField(parzelle, "id", 1L);
+        ReflectionTestUtils.setField(parzelle, "version", 0L);
+        wetter = Wetterdaten.createTestDaten();
+        reading = reading(10L);
+    }
+
+    @Test
+    void shouldReuseRecommendationWhileInputsAreUnchanged() throws Exception {
+        // Given
+        BewaesserungsEmpfehlung first = evaluate(reading, List.of());
+
+        // When
+        BewaesserungsEmpfehlung second = evaluate(reading(10L), List.of());
+
+        // Then
+        assertThat(second).isSameAs(first);
+        assertThat(evaluations).hasValue(1);
+        assertThat(cache.getStatistics().getHits()).isEqualTo(1);
+        assertThat(cache.getStatistics().getMisses()).isEqualTo(1);
+        assertThat(cache.getStatistics().getHitRate()).isEqualTo(0.5);
+    }
+
+    @Test
+    void shouldReevaluateWhenAnyInputChanges() throws Exception {
+        // Given
+        evaluate(reading, List.of());
+
+        // When: neue Messung, neuer Verbrauch, neue Parzellen-Version
+        evaluate(reading(11L), List.of());
+        IrrigationEvent event = new IrrigationEvent();
+        event.setWasserMengeLiter(12.0);
+        evaluate(reading(11L), List.of(event));
+        ReflectionTestUtils.setField(parzelle, "version", 1L);
+        evaluate(reading(11L), List.of(event));
+
+        // Then
+        assertThat(evaluations).hasValue(4);
+        assertThat(cache.getStatistics().getHits()).isZero();
+    }
+
+    @Test
+    void shouldInvalidateOnIngestAndExpireAfterTtl() throws Exception {
+        // Given
+        evaluate(reading, List.of());
+
+        // When
+        cache.onSamplesIngested(List.of(SensorSample.of(reading)));
+        evaluate(reading, List.of());
+
+        // Then
+        assertThat(evaluations).hasValue(2);
+        assertThat(cache.getStatistics().getInvalidations()).isEqualTo(1);
+
+        RecommendationCache expiring = new RecommendationCache(true, Duration.ZERO);
+        expiring.getOrEvaluate(parzelle, wetter, reading, List.of(), this::count);
+        expiring.getOrEvaluate(parzelle, wetter, reading, List.of(), this::count);
+        assertThat(evaluations).hasValue(4);
+    }
+
+    private BewaesserungsEmpfehlung evaluate(SensorReading latest, List<IrrigationEvent> events) throws Exception {
+        return cache.getOrEvaluate(parzelle, wetter, latest, events, this::count);
+    }
+
+    private BewaesserungsEmpfehlung count() {
+        evaluations.incrementAndGet();
+        return BewaesserungsEmpfehlung.keineBewaesserung("Test");
+    }
+
+    private SensorReading reading(Long id) {
+        SensorReading latest = new SensorReading(1L, 42.0, 22.0, null, null, 80, "S-1");
+        latest.setId(id);
+        latest.setTimestamp(LocalDateTime.of(2024, 6, 1, 8, 0));
+        return latest;
+    }
+}
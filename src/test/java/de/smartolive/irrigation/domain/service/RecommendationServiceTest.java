@@ -1,4 +1,302 @@
 package de.smartolive.irrigation.domain.service;
 
-public class RecommendationServiceTest {
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.repository.IrrigationEventRepository;
+import de.smartolive.irrigation.domain.repository.OlivenParzelleRepository;
+import de.smartolive.irrigation.domain.repository.ReadingSummary;
+import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
+import de.smartolive.irrigation.domain.repository.WaterUsageSummary;
+import de.smartolive.irrigation.domain.timeseries.ColumnarSensorBuffer;
+import de.smartolive.irrigation.domain.timeseries.LatestReadingCache;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationServiceTest {
+
+    private static final int PARZELLEN = 50;
+
+    @Mock
+    private OlivenIrrigationRuleService ruleService;
+    @Mock
+    private OlivenParzelleRepository parzelleRepository;
+    @Mock
+    private SensorReadingRepository sensorRepository;
+    @Mock
+    private IrrigationEventRepository eventRepository;
+    @Mock
+    private LatestReadingCache latestReadingCache;
+    @Mock
+    private WaterLedger waterLedger;
+
+    private RecommendationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = service(64, Duration.ofSeconds(5));
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void shouldEvaluateAllParzellenWithConstantNumberOfQueries() throws Exception {
+        // Given: 50 Parzellen, je eine Messung, Ereignisse nur für Parzelle 1
+        List<OlivenParzelle> parzellen = parzellen();
+        List<SensorReading> readings = new ArrayList<>();
+        LongStream.rangeClosed(1, PARZELLEN).forEach(id -> readings.add(reading(id, id * 10, 30.0)));
+        // Zwei Messungen mit gleichem Zeitstempel: die zuletzt gespeicherte gilt
+        SensorReading newerTie = reading(2L, 999L, 45.0);
+        newerTie.setTimestamp(readings.get(1).getTimestamp());
+        readings.add(newerTie);
+        IrrigationEvent event = new IrrigationEvent(1L, 120.0, "AUTOMATIC", "TEST");
+
+        when(latestReadingCache.isWarm()).thenReturn(false);
+        when(parzelleRepository.findAllWithTimeWindows()).thenReturn(parzellen);
+        when(sensorRepository.findLatestPerParzelle()).thenReturn(readings);
+        when(eventRepository.findByStartTimeAfter(any())).thenReturn(List.of(event));
+        when(ruleService.evaluate(any(), any(), any(), anyList()))
+                .thenReturn(BewaesserungsEmpfehlung.keineBewaesserung("Test"));
+
+        // When
+        Map<Long, BewaesserungsEmpfehlung> result = service.generateRecommendationsForAll(Wetterdaten.createTestDaten());
+
+        // Then: drei Abfragen unabhängig von der Parzellenzahl
+        assertThat(result).hasSize(PARZELLEN);
+        verify(parzelleRepository).findAllWithTimeWindows();
+        verify(sensorRepository).findLatestPerParzelle();
+        verify(eventRepository).findByStartTimeAfter(any());
+        verifyNoMoreInteractions(parzelleRepository, sensorRepository, eventRepository);
+
+        verify(ruleService).evaluate(eq(parzellen.get(0)), any(), eq(readings.get(0)), eq(List.of(event)));
+        verify(ruleService).evaluate(eq(parzellen.get(1)), any(), eq(newerTie), eq(List.of()));
+        verify(ruleService, times(PARZELLEN)).evaluate(any(), any(), any(), anyList());
+    }
+
+    @Test
+    void shouldTakeLatestReadingsFromWarmCache() throws Exception {
+        // Given
+        List<OlivenParzelle> parzellen = parzellen();
+        SensorReading cached = reading(1L, 5L, 28.0);
+        when(latestReadingCache.isWarm()).thenReturn(true);
+        when(latestReadingCache.getLatestForParzelle(any())).thenReturn(Optional.empty());
+        when(latestReadingCache.getLatestForParzelle(1L)).thenReturn(Optional.of(SensorSample.of(cached)));
+        when(parzelleRepository.findAllWithTimeWindows()).thenReturn(parzellen);
+        when(eventRepository.findByStartTimeAfter(any())).thenReturn(List.of());
+        when(ruleService.evaluate(any(), any(), any(), anyList()))
+                .thenReturn(BewaesserungsEmpfehlung.keineBewaesserung("Test"));
+
+        // When
+        service.generateRecommendationsForAll(Wetterdaten.createTestDaten());
+
+        // Then
+        verifyNoInteractions(sensorRepository);
+        verify(ruleService).evaluate(eq(parzellen.get(0)), any(),
+                argThat(reading -> reading.getMoisturePercent() == 28.0), anyList());
+        verify(ruleService).evaluate(eq(parzellen.get(1)), any(), isNull(), anyList());
+    }
+
+    @Test
+    void shouldTakeTodayUsageFromWarmWaterLedger() throws Exception {
+        // Given
+        List<OlivenParzelle> parzellen = parzellen(3);
+        when(latestReadingCache.isWarm()).thenReturn(true);
+        when(latestReadingCache.getLatestForParzelle(any())).thenReturn(Optional.empty());
+        when(waterLedger.isWarm()).thenReturn(true);
+        when(waterLedger.getTodayLiters(any())).thenReturn(0.0);
+        when(waterLedger.getTodayLiters(2L)).thenReturn(150.0);
+        when(parzelleRepository.findAllWithTimeWindows()).thenReturn(parzellen);
+        when(ruleService.evaluate(any(), any(), any(), anyDouble()))
+                .thenReturn(BewaesserungsEmpfehlung.keineBewaesserung("Test"));
+
+        // When
+        service.generateRecommendationsForAll(Wetterdaten.createTestDaten());
+
+        // Then: keine Abfrage der Bewässerungsereignisse
+        verifyNoInteractions(eventRepository);
+        verify(ruleService).evaluate(eq(parzellen.get(1)), any(), isNull(), eq(150.0));
+        verify(ruleService, times(2)).evaluate(any(), any(), isNull(), eq(0.0));
+    }
+
+    @Test
+    void shouldIsolateFailuresAndTimeoutsInParallelMode() throws Exception {
+        // Given: 1000 Parzellen, Parzelle 3 wirft, Parzelle 7 hängt
+        service.shutdown();
+        service = service(0, Duration.ofMillis(200));
+        List<OlivenParzelle> parzellen = parzellen(1000);
+        when(latestReadingCache.isWarm()).thenReturn(false);
+        when(parzelleRepository.findAllWithTimeWindows()).thenReturn(parzellen);
+        when(sensorRepository.findLatestPerParzelle()).thenReturn(List.of());
+        when(eventRepository.findByStartTimeAfter(any())).thenReturn(List.of());
+        when(ruleService.evaluate(any(), any(), any(), anyList())).thenAnswer(invocation -> {
+            OlivenParzelle parzelle = invocation.getArgument(0);
+            if (parzelle.getId() == 3L) {
+                throw new IllegalStateException("Profil unvollständig");
+            }
+            if (parzelle.getId() == 7L) {
+                Thread.sleep(3_000);
+            }
+            return BewaesserungsEmpfehlung.keineBewaesserung("OK " + parzelle.getId());
+        });
+
+        // When
+        Map<Long, BewaesserungsEmpfehlung> result = service.generateRecommendationsForAll(Wetterdaten.createTestDaten());
+
+        // Then
+        assertThat(result).isInstanceOf(ConcurrentHashMap.class).hasSize(1000);
+        assertThat(result.get(1L).getBegruendungen()).containsExactly("OK 1");
+        assertThat(result.get(3L).getStufe()).isEqualTo(EmpfehlungsStufe.FALLBACK);
+        assertThat(result.get(3L).getBegruendungen().get(0)).contains("Profil unvollständig");
+        assertThat(result.get(7L).getStufe()).isEqualTo(EmpfehlungsStufe.FALLBACK);
+        assertThat(result.get(7L).getBegruendungen().get(0)).contains("Zeitüberschreitung");
+        assertThat(result.get(1000L).getBegruendungen()).containsExactly("OK 1000");
+    }
+
+    @Test
+    void shouldNotCountQueueTimeAgainstTaskTimeout() throws Exception {
+        // Given: 40 Parzellen à 50 ms auf 4 Workern, insgesamt deutlich über der Frist von 200 ms
+        service.shutdown();
+        service = service(0, Duration.ofMillis(200));
+        List<OlivenParzelle> parzellen = parzellen(40);
+        when(latestReadingCache.isWarm()).thenReturn(false);
+        when(parzelleRepository.findAllWithTimeWindows()).thenReturn(parzellen);
+        when(sensorRepository.findLatestPerParzelle()).thenReturn(List.of());
+        when(eventRepository.findByStartTimeAfter(any())).thenReturn(List.of());
+        when(ruleService.evaluate(any(), any(), any(), anyList())).thenAnswer(invocation -> {
+            Thread.sleep(50);
+            return BewaesserungsEmpfehlung.keineBewaesserung("OK");
+        });
+
+        // When
+        Map<Long, BewaesserungsEmpfehlung> result = service.generateRecommendationsForAll(Wetterdaten.createTestDaten());
+
+        // Then
+        assertThat(result).hasSize(40);
+        assertThat(result.values()).allSatisfy(empfehlung ->
+                assertThat(empfehlung.getStufe()).isNotEqualTo(EmpfehlungsStufe.FALLBACK));
+    }
+
+    @Test
+    void shouldAnalyzeHistoryWithAggregateQueriesOnly() {
+        // Given
+        when(sensorRepository.countAllReadingsSinceRouted(eq(1L), any())).thenReturn(250_000L);
+        when(sensorRepository.findAverageMoistureSinceRouted(eq(1L), any())).thenReturn(Optional.of(42.0));
+        when(eventRepository.summarizeWaterUsageSince(eq(1L), any(LocalDateTime.class)))
+                .thenReturn(new WaterUsageSummary(1L, 120, 14_400.0));
+
+        // When
+        RecommendationService.HistoricalAnalysis analysis = service.generateHistoricalAnalysis(1L, 365);
+
+        // Then: keine Ereignisse oder Messungen geladen
+        assertThat(analysis.getReadingCount()).isEqualTo(250_000);
+        assertThat(analysis.getAverageMoisture()).isEqualTo(42.0);
+        assertThat(analysis.getEventCount()).isEqualTo(120);
+        assertThat(analysis.getTotalWaterUsed()).isEqualTo(14_400.0);
+        verify(sensorRepository).countAllReadingsSinceRouted(eq(1L), any());
+        verify(sensorRepository).findAverageMoistureSinceRouted(eq(1L), any());
+        verify(eventRepository).summarizeWaterUsageSince(eq(1L), any(LocalDateTime.class));
+        verifyNoMoreInteractions(sensorRepository, eventRepository);
+    }
+
+    @Test
+    void shouldAnalyzeSeveralParzellenAndPeriodsInOnePass() {
+        // Given
+        List<Long> ids = List.of(1L, 2L);
+        when(sensorRepository.summarizeReadingsSinceRouted(eq(ids), any()))
+                .thenReturn(Map.of(1L, new ReadingSummary(1L, 10, 8, 320.0)));
+        when(eventRepository.summarizeWaterUsageSince(eq(ids), any()))
+                .thenReturn(Map.of(1L, new WaterUsageSummary(1L, 2, 200.0),
+                        2L, WaterUsageSummary.empty(2L)));
+        when(sensorRepository.summarizeReadingPeriodsRouted(eq(1L), anyList()))
+                .thenReturn(List.of(new ReadingSummary(1L, 70, 70, 2800.0), new ReadingSummary(1L, 10, 10, 300.0)));
+        when(eventRepository.summarizeWaterUsagePeriods(eq(1L), anyList()))
+                .thenReturn(List.of(new WaterUsageSummary(1L, 9, 900.0), new WaterUsageSummary(1L, 1, 100.0)));
+
+        // When
+        Map<Long, RecommendationService.HistoricalAnalysis> byParzelle = service.generateHistoricalAnalyses(ids, 30);
+        List<RecommendationService.HistoricalAnalysis> periods = service.generateHistoricalPeriods(1L, List.of(30, 7));
+
+        // Then
+        assertThat(byParzelle.get(1L).getAverageMoisture()).isEqualTo(40.0);
+        assertThat(byParzelle.get(1L).getTotalWaterUsed()).isEqualTo(200.0);
+        assertThat(byParzelle.get(2L).getReadingCount()).isZero();
+        assertThat(byParzelle.get(2L).getEventCount()).isZero();
+        assertThat(periods).extracting(RecommendationService.HistoricalAnalysis::getEventCount)
+                .containsExactly(9, 1);
+        assertThat(periods.get(1).getAverageMoisture()).isEqualTo(30.0);
+        assertThat(periods.get(1).getPeriodStart()).isEqualTo(LocalDate.now().minusDays(7));
+        verify(sensorRepository).summarizeReadingPeriodsRouted(eq(1L), argThat(starts ->
+                starts.equals(List.of(LocalDate.now().minusDays(30).atStartOfDay(),
+                        LocalDate.now().minusDays(7).atStartOfDay()))));
+    }
+
+    private RecommendationService service(int parallelThreshold, Duration taskTimeout) {
+        EvaluationContextLoader loader = new EvaluationContextLoader(
+                parzelleRepository, sensorRepository, eventRepository, latestReadingCache, waterLedger);
+        return new RecommendationService(ruleService, parzelleRepository, sensorRepository,
+                eventRepository, new ColumnarSensorBuffer(16), latestReadingCache, loader,
+                new RecommendationCache(true, Duration.ofMinutes(1)), waterLedger, 4, parallelThreshold, taskTimeout);
+    }
+
+    private static List<OlivenParzelle> parzellen() throws Exception {
+        return parzellen(PARZELLEN);
+    }
+
+    private static List<OlivenParzelle> parzellen(int count) throws Exception {
+        List<OlivenParzelle> parzellen = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            OlivenParzelle parzelle = OlivenParzelle.create("Parzelle " + id,
+                    new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 50.0),
+                    new MoistureRange(30.0, 60.0));
+            ReflectionTestUtils.setField(parzelle, "id", id);
+            parzellen.add(parzelle);
+        }
+        return parzellen;
+    }
+
+    private static SensorReading reading(Long parzelleId, Long id, double moisture) {
+        SensorReading reading = new SensorReading(parzelleId, moisture, 22.0, null, null, 80, "S-" + parzelleId);
+        reading.setId(id);
+        reading.setTimestamp(LocalDateTime.now().minusMinutes(5));
+        return reading;
+    }
 }
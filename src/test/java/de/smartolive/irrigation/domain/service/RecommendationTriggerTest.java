@@ -0,0 +1,151 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.repository.OlivenParzelleRepository;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RecommendationTriggerTest {
+
+    @Mock
+    private OlivenParzelleRepository parzelleRepository;
+    @Mock
+    private RecommendationService recommendationService;
+
+    private RecommendationTrigger trigger;
+    private Wetterdaten wetter;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        when(parzelleRepository.findAll()).thenReturn(List.of(parzelle(1L), parzelle(2L), parzelle(3L)));
+        trigger = new RecommendationTrigger(parzelleRepository, recommendationService);
+        trigger.warmUp();
+        wetter = Wetterdaten.createTestDaten();
+        trigger.onWeatherUpdate(wetter);
+        trigger.onSamplesIngested(List.of(sample(1L, 45.0), sample(2L, 45.0), sample(3L, 45.0)));
+        trigger.drainPending();
+    }
+
+    @Test
+    void shouldEnqueueOnlyParzellenWhoseMoistureCrossedABound() {
+        // When: 1 bleibt im Sollbereich, 2 fällt darunter, 3 wird kritisch
+        trigger.onSamplesIngested(List.of(sample(1L, 50.0), sample(2L, 25.0), sample(3L, 15.0)));
+
+        // Then
+        assertThat(trigger.drainPending()).containsExactlyInAnyOrder(2L, 3L);
+
+        // When: weiter unter dem Bereich bzw. weiter kritisch
+        trigger.onSamplesIngested(List.of(sample(2L, 22.0), sample(3L, 12.0)));
+
+        // Then
+        assertThat(trigger.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldEnqueueOnInvalidReadingAndUnknownParzelle() {
+        // When
+        trigger.onSamplesIngested(List.of(
+                new SensorSample(SensorSample.NO_ID, 1L, "S-1", EpochMillis.now(), 45.0, 22.0,
+                        Double.NaN, Double.NaN, 80, SensorSample.MISSING, SensorStatus.ERROR),
+                sample(99L, 45.0)));
+
+        // Then
+        assertThat(trigger.drainPending()).containsExactlyInAnyOrder(1L, 99L);
+    }
+
+    @Test
+    void shouldEnqueueAllParzellenOnlyWhenAWeatherLimitIsCrossed() {
+        // When: wärmer, aber weder Regen noch Frost noch Wind
+        boolean warm = trigger.onWeatherUpdate(new Wetterdaten(LocalDateTime.now(), 30.0, 0.0, 10.0, 40.0, 10.0, 6.0));
+
+        // Then
+        assertThat(warm).isFalse();
+        assertThat(trigger.getPendingCount()).isZero();
+
+        // When: Sturm
+        boolean windy = trigger.onWeatherUpdate(new Wetterdaten(LocalDateTime.now(), 30.0, 0.0, 10.0, 40.0, 55.0, 6.0));
+
+        // Then
+        assertThat(windy).isTrue();
+        assertThat(trigger.drainPending()).containsExactlyInAnyOrder(1L, 2L, 3L);
+    }
+
+    @Test
+    void shouldEvaluateOnlyPendingParzellen() {
+        // Given
+        trigger.onSamplesIngested(List.of(sample(2L, 75.0)));
+        Map<Long, BewaesserungsEmpfehlung> expected = Map.of(2L, BewaesserungsEmpfehlung.keineBewaesserung("OK"));
+        when(recommendationService.generateRecommendationsFor(eq(Set.of(2L)), eq(wetter))).thenReturn(expected);
+
+        // When
+        Map<Long, BewaesserungsEmpfehlung> result = trigger.evaluatePending(wetter);
+
+        // Then
+        assertThat(result).isSameAs(expected);
+        assertThat(trigger.getPendingCount()).isZero();
+    }
+
+    @Test
+    void shouldSkipEvaluationWithoutChanges() {
+        // When
+        Map<Long, BewaesserungsEmpfehlung> result = trigger.evaluatePending(wetter);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(recommendationService);
+    }
+
+    @Test
+    void shouldReevaluateParzelleAfterConfigurationChange() throws Exception {
+        // Given: Sollbereich wird angehoben, 45% liegt nun darunter
+        OlivenParzelle geaendert = parzelle(1L);
+        ReflectionTestUtils.setField(geaendert, "targetMoistureRange", new MoistureRange(50.0, 70.0));
+
+        // When
+        trigger.onParzelleChanged(geaendert);
+        trigger.drainPending();
+        trigger.onSamplesIngested(List.of(sample(1L, 45.0)));
+        trigger.onSamplesIngested(List.of(sample(1L, 46.0)));
+
+        // Then: einmal für die erste Messung nach der Änderung, danach gleiche Zone
+        assertThat(trigger.drainPending()).containsExactly(1L);
+        verify(parzelleRepository).findAll();
+    }
+
+    private static OlivenParzelle parzelle(Long id) throws Exception {
+        OlivenParzelle parzelle = OlivenParzelle.create("Parzelle " + id,
+                new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 50.0),
+                new MoistureRange(30.0, 60.0));
+        ReflectionTestUtils.setField(parzelle, "id", id);
+        return parzelle;
+    }
+
+    private static SensorSample sample(long parzelleId, double moisture) {
+        return new SensorSample(SensorSample.NO_ID, parzelleId, "S-" + parzelleId, EpochMillis.now(),
+                moisture, 22.0, Double.NaN, Double.NaN, 80, SensorSample.MISSING, SensorStatus.ONLINE);
+    }
+}
@@ -0,0 +1,94 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WaterAllocationOptimizerTest {
+
+    private final WaterAllocationOptimizer optimizer = new WaterAllocationOptimizer(100.0, 600);
+
+    @Test
+    void shouldSupplyEverythingWithinLimits() {
+        // Given
+        List<WaterAllocationOptimizer.AllocationRequest> requests = List.of(
+                request(1L, EmpfehlungsStufe.NORMAL, 100.0, 0.0, 20),
+                request(2L, EmpfehlungsStufe.KEINE, 0.0, 0.0, 20));
+
+        // When
+        WaterAllocationOptimizer.AllocationPlan plan = optimizer.allocate(requests, 1_000.0);
+
+        // Then
+        assertThat(plan.isLimited()).isFalse();
+        assertThat(plan.getAllocations().get(0).getAllocatedLiters()).isEqualTo(100.0);
+        assertThat(plan.getAllocations().get(1).getAllocatedLiters()).isZero();
+    }
+
+    @Test
+    void shouldServeHigherStufenFirst() {
+        // Given
+        List<WaterAllocationOptimizer.AllocationRequest> requests = List.of(
+                request(1L, EmpfehlungsStufe.NORMAL, 200.0, 5.0, 20),
+                request(2L, EmpfehlungsStufe.KRITISCH, 300.0, 15.0, 20),
+                request(3L, EmpfehlungsStufe.ERHOEHT, 250.0, 10.0, 20));
+
+        // When
+        WaterAllocationOptimizer.AllocationPlan plan = optimizer.allocate(requests, 600.0);
+
+        // Then
+        assertThat(plan.getLimitedBy()).isEqualTo("Tageslimit");
+        assertThat(plan.getAllocations().get(1).getAllocatedLiters()).isEqualTo(300.0);
+        assertThat(plan.getAllocations().get(2).getAllocatedLiters()).isEqualTo(250.0);
+        assertThat(plan.getAllocations().get(0).getAllocatedLiters()).isCloseTo(50.0, within(1e-9));
+        assertThat(plan.getTotalAllocatedLiters()).isCloseTo(600.0, within(1e-9));
+    }
+
+    @Test
+    void shouldSplitScarceWaterByDeficitAndAgeWithinOneStufe() {
+        // Given: gleiche Menge angefragt, verschiedenes Defizit/Alter; Parzelle 3 braucht wenig
+        List<WaterAllocationOptimizer.AllocationRequest> requests = List.of(
+                request(1L, EmpfehlungsStufe.NORMAL, 200.0, 0.0, 20),   // Gewicht 1.0
+                request(2L, EmpfehlungsStufe.NORMAL, 200.0, 10.0, 2),   // Gewicht 2.0 × 1.5 = 3.0
+                request(3L, EmpfehlungsStufe.NORMAL, 20.0, 0.0, 20));   // Gewicht 1.0, schnell gesättigt
+
+        // When
+        WaterAllocationOptimizer.AllocationPlan plan = optimizer.allocate(requests, 180.0);
+
+        // Then: Parzelle 3 voll, Rest 160 L im Verhältnis 1 : 3
+        assertThat(plan.getAllocations().get(2).getAllocatedLiters()).isEqualTo(20.0);
+        assertThat(plan.getAllocations().get(0).getAllocatedLiters()).isCloseTo(40.0, within(1e-9));
+        assertThat(plan.getAllocations().get(1).getAllocatedLiters()).isCloseTo(120.0, within(1e-9));
+    }
+
+    @Test
+    void shouldRespectPumpAndValveCapacity() {
+        // Given: Pumpe liefert 100 L/min × 600 min = 60.000 L, Ventil der Parzelle 1 nur 50 L
+        List<WaterAllocationOptimizer.AllocationRequest> requests = new ArrayList<>();
+        requests.add(new WaterAllocationOptimizer.AllocationRequest(1L, EmpfehlungsStufe.KRITISCH,
+                500.0, 50.0, 10.0, 20));
+        for (long id = 2; id <= 1_000; id++) {
+            requests.add(request(id, EmpfehlungsStufe.NORMAL, 100.0, id % 20, (int) (id % 60)));
+        }
+
+        // When
+        WaterAllocationOptimizer.AllocationPlan plan = optimizer.allocate(requests, 1_000_000.0);
+
+        // Then
+        assertThat(plan.getLimitedBy()).isEqualTo("Pumpenkapazität");
+        assertThat(plan.getAvailableLiters()).isEqualTo(60_000.0);
+        assertThat(plan.getAllocations().get(0).getAllocatedLiters()).isEqualTo(50.0);
+        assertThat(plan.getTotalAllocatedLiters()).isCloseTo(60_000.0, within(1e-6));
+        assertThat(plan.getAllocations()).allSatisfy(allocation ->
+                assertThat(allocation.getAllocatedLiters()).isLessThanOrEqualTo(allocation.getRequestedLiters()));
+    }
+
+    private static WaterAllocationOptimizer.AllocationRequest request(Long id, EmpfehlungsStufe stufe,
+                                                                      double liters, double deficit, int alter) {
+        return new WaterAllocationOptimizer.AllocationRequest(id, stufe, liters, 600.0, deficit, alter);
+    }
+}
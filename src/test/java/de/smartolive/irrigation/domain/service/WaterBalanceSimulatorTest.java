@@ -0,0 +1,120 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WaterBalanceSimulatorTest {
+
+    private final WaterBalanceSimulator simulator = new WaterBalanceSimulator(null, 4, 500);
+
+    @AfterEach
+    void tearDown() {
+        simulator.shutdown();
+    }
+
+    @Test
+    void shouldReportOrderedPercentilesPerParzelle() throws Exception {
+        // Given
+        List<OlivenParzelle> parzellen = parzellen(100);
+
+        // When
+        WaterBalanceSimulator.SimulationResult result = simulator.simulate(parzellen, Map.of(1L, 25.0),
+                forecast(14, 50.0, 4.0), 1_000, 42L);
+
+        // Then
+        assertThat(result.getDays()).isEqualTo(14);
+        assertThat(result.getScenarios()).isEqualTo(1_000);
+        assertThat(result.getDistributions()).hasSize(100);
+        for (WaterBalanceSimulator.WaterNeedDistribution distribution : result.getDistributions()) {
+            assertThat(distribution.getP10()).isLessThanOrEqualTo(distribution.getP50());
+            assertThat(distribution.getP50()).isLessThanOrEqualTo(distribution.getP90());
+        }
+        // Trocken gestartet: Bewässerung schon am ersten Tag
+        assertThat(result.getDistribution(1L).getP10()).isPositive();
+        assertThat(result.getDistribution(1L).getP50())
+                .isGreaterThan(result.getDistribution(2L).getP50());
+    }
+
+    @Test
+    void shouldBeReproducibleForTheSameSeed() throws Exception {
+        // Given
+        List<OlivenParzelle> parzellen = parzellen(64);
+        List<Wetterdaten> forecast = forecast(7, 40.0, 6.0);
+
+        // When
+        WaterBalanceSimulator.SimulationResult first = simulator.simulate(parzellen, Map.of(), forecast, 300, 7L);
+        WaterBalanceSimulator.SimulationResult second = simulator.simulate(parzellen, Map.of(), forecast, 300, 7L);
+
+        // Then
+        for (int i = 0; i < parzellen.size(); i++) {
+            assertThat(second.getDistributions().get(i).getP50()).isEqualTo(first.getDistributions().get(i).getP50());
+            assertThat(second.getDistributions().get(i).getP90()).isEqualTo(first.getDistributions().get(i).getP90());
+        }
+    }
+
+    @Test
+    void shouldNeedLessWaterWhenRainIsLikely() throws Exception {
+        // Given
+        List<OlivenParzelle> parzellen = parzellen(1);
+
+        // When
+        double dry = simulator.simulate(parzellen, Map.of(1L, 32.0), forecast(10, 0.0, 5.0), 1_000, 1L)
+                .getDistribution(1L).getMean();
+        double wet = simulator.simulate(parzellen, Map.of(1L, 32.0), forecast(10, 90.0, 5.0), 1_000, 1L)
+                .getDistribution(1L).getMean();
+
+        // Then
+        assertThat(wet).isLessThan(dry);
+    }
+
+    @Test
+    void shouldRejectEmptyForecast() throws Exception {
+        assertThatThrownBy(() -> simulator.simulate(parzellen(1), Map.of(), List.of(), 10, 1L))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void shouldUseNearestRankPercentile() {
+        double[] sorted = {1, 2, 3, 4, 5, 6, 7, 8, 9, 10};
+
+        assertThat(WaterBalanceSimulator.percentile(sorted, 0.10)).isEqualTo(1.0);
+        assertThat(WaterBalanceSimulator.percentile(sorted, 0.50)).isEqualTo(5.0);
+        assertThat(WaterBalanceSimulator.percentile(sorted, 0.90)).isEqualTo(9.0);
+    }
+
+    private static List<OlivenParzelle> parzellen(int count) throws Exception {
+        List<OlivenParzelle> parzellen = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            OlivenParzelle parzelle = OlivenParzelle.create("Parzelle " + id,
+                    new OlivenbaumProfil("Picual", BodenTyp.values()[(int) (id % BodenTyp.values().length)],
+                            20, false, 50.0),
+                    new MoistureRange(30.0, 60.0));
+            ReflectionTestUtils.setField(parzelle, "id", id);
+            parzellen.add(parzelle);
+        }
+        return parzellen;
+    }
+
+    private static List<Wetterdaten> forecast(int days, double rainProbability, double et0) {
+        List<Wetterdaten> forecast = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            forecast.add(new Wetterdaten(LocalDateTime.now().plusDays(day), 27.0, 6.0, rainProbability,
+                    45.0, 12.0, et0));
+        }
+        return forecast;
+    }
+}
@@ -0,0 +1,172 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.DailyWaterLedger;
+import de.smartolive.irrigation.domain.model.IrrigationEvent;
+import de.smartolive.irrigation.domain.repository.DailyWaterLedgerRepository;
+import de.smartolive.irrigation.domain.repository.IrrigationEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyDouble;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WaterLedgerTest {
+
+    @Mock
+    private IrrigationEventRepository eventRepository;
+    @Mock
+    private DailyWaterLedgerRepository ledgerRepository;
+    @Mock
+    private RecommendationCache recommendationCache;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WaterLedger ledger;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new WaterLedger(eventRepository, ledgerRepository, recommendationCache, transactionManager);
+        today = LocalDate.now();
+    }
+
+    @Test
+    void shouldAddBookingsToWarmCountersWithoutQueries() {
+        // Given: Parzelle 1 hat heute schon 100 Liter
+        when(ledgerRepository.findByDay(today)).thenReturn(List.of(new DailyWaterLedger(1L, today, 100.0, 1, 10)));
+        when(eventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ledgerRepository.addToDay(eq(1L), eq(today), anyDouble(), anyLong(), anyLong())).thenReturn(1);
+        ledger.warmUp();
+
+        // When
+        ledger.recordStart(new IrrigationEvent(1L, 50.0, "AUTOMATIC", "TEST"));
+
+        // Then
+        assertThat(ledger.isWarm()).isTrue();
+        assertThat(ledger.getTodayLiters(1L)).isEqualTo(150.0);
+        assertThat(ledger.getTodayLiters(2L)).isZero();
+        verify(ledgerRepository).addToDay(1L, today, 50.0, 1, 0);
+        verify(ledgerRepository, never()).save(any());
+        verify(recommendationCache).invalidate(1L);
+        verify(ledgerRepository).findByDay(today);
+        verifyNoMoreInteractions(ledgerRepository);
+    }
+
+    @Test
+    void shouldCreateLedgerRowOnFirstBookingOfTheDay() {
+        // Given
+        when(eventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ledgerRepository.addToDay(eq(2L), eq(today), anyDouble(), anyLong(), anyLong())).thenReturn(0, 1);
+
+        // When
+        ledger.recordStart(new IrrigationEvent(2L, 80.0, "MANUAL", "TEST"));
+
+        // Then: leere Zeile in eigener Transaktion, danach die Buchung
+        verify(ledgerRepository).save(argThat(row -> row.getParzelleId().equals(2L)
+                && row.getDay().equals(today) && row.getLiters() == 0.0 && row.getEventCount() == 0));
+        verify(transactionManager).commit(any());
+        verify(ledgerRepository, times(2)).addToDay(2L, today, 80.0, 1, 0);
+    }
+
+    @Test
+    void shouldBookIntoDayCreatedConcurrently() {
+        // Given: eine gleichzeitige Erstbuchung hat die Zeile zuerst angelegt
+        when(eventRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        when(ledgerRepository.addToDay(eq(2L), eq(today), anyDouble(), anyLong(), anyLong())).thenReturn(0, 1);
+        when(ledgerRepository.save(any())).thenThrow(new DataIntegrityViolationException("uk_ledger_parzelle_day"));
+
+        // When
+        IrrigationEvent saved = ledger.recordStart(new IrrigationEvent(2L, 80.0, "MANUAL", "TEST"));
+
+        // Then: nur die Anlage-Transaktion wird zurückgerollt, die Buchung gelingt
+        assertThat(saved.getParzelleId()).isEqualTo(2L);
+        verify(transactionManager).rollback(any());
+        verify(ledgerRepository, times(2)).addToDay(2L, today, 80.0, 1, 0);
+        verify(recommendationCache).invalidate(2L);
+    }
+
+    @Test
+    void shouldBookDurationOnStartDayWhenCompleted() {
+        // Given: vor 90 Minuten gestartet
+        IrrigationEvent event = new IrrigationEvent(1L, 50.0, "AUTOMATIC", "TEST");
+        event.setStartTime(LocalDateTime.now().minusMinutes(90));
+        LocalDate startDay = event.getStartTime().toLocalDate();
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(event));
+        when(ledgerRepository.addToDay(eq(1L), eq(startDay), anyDouble(), anyLong(), anyLong())).thenReturn(1);
+
+        // When
+        IrrigationEvent completed = ledger.recordCompletion(7L, "Abbruch wegen Regen");
+
+        // Then
+        assertThat(completed.isActive()).isFalse();
+        assertThat(completed.getBemerkungen()).isEqualTo("Abbruch wegen Regen");
+        verify(ledgerRepository).addToDay(1L, startDay, 0.0, 0, 90);
+        assertThatThrownBy(() -> ledger.recordCompletion(7L, null))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    void shouldRejectUnknownEvent() {
+        // Given
+        when(eventRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> ledger.recordCompletion(99L, null))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("99");
+    }
+
+    @Test
+    void shouldReadTodayFromDatabaseUntilWarm() {
+        // Given
+        when(ledgerRepository.findByParzelleIdAndDay(1L, today))
+                .thenReturn(Optional.of(new DailyWaterLedger(1L, today, 120.0, 2, 20)));
+
+        // When
+        double liters = ledger.getTodayLiters(1L);
+
+        // Then
+        assertThat(ledger.isWarm()).isFalse();
+        assertThat(liters).isEqualTo(120.0);
+    }
+
+    @Test
+    void shouldBuildMonthlyReportFromLedgerRows() {
+        // Given
+        YearMonth month = YearMonth.of(2024, 7);
+        when(ledgerRepository.findByParzelleIdAndDayBetweenOrderByDayAsc(1L, month.atDay(1), month.atEndOfMonth()))
+                .thenReturn(List.of(new DailyWaterLedger(1L, month.atDay(3), 100.0, 2, 25),
+                        new DailyWaterLedger(1L, month.atDay(17), 60.0, 1, 12)));
+
+        // When
+        WaterLedger.MonthlyWaterReport report = ledger.getMonthlyReport(1L, month);
+
+        // Then
+        assertThat(report.getTotalLiters()).isEqualTo(160.0);
+        assertThat(report.getEventCount()).isEqualTo(3);
+        assertThat(report.getTotalMinutes()).isEqualTo(37);
+        assertThat(report.getDays()).hasSize(2);
+    }
+}
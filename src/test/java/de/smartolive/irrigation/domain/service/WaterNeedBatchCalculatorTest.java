@@ -0,0 +1,101 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.valueobject.BewaesserungsEmpfehlung;
+import de.smartolive.irrigation.domain.valueobject.EmpfehlungsStufe;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+public class WaterNeedBatchCalculatorTest {
+
+    private static final int[] ALTER = {1, 5, 20, 40, 80};
+
+    private final OlivenIrrigationRuleService ruleService = new OlivenIrrigationRuleService();
+    private final Wetterdaten wetter = new Wetterdaten(LocalDateTime.now(), 28.0, 0.0, 10.0, 40.0, 10.0, 6.5);
+
+    @Test
+    void scalarPathShouldMatchEvaluateBitForBit() throws Exception {
+        assertMatchesEvaluate(new WaterNeedBatchCalculator(false));
+    }
+
+    @Test
+    void vectorPathShouldMatchEvaluateBitForBit() throws Exception {
+        WaterNeedBatchCalculator calculator = new WaterNeedBatchCalculator(true);
+        assumeTrue(calculator.isVectorized(), "jdk.incubator.vector nicht geladen");
+
+        assertMatchesEvaluate(calculator);
+    }
+
+    @Test
+    void shouldReuseArraysAfterClear() throws Exception {
+        // Given
+        WaterNeedBatch batch = new WaterNeedBatch(1);
+        WaterNeedBatchCalculator calculator = new WaterNeedBatchCalculator(false);
+        batch.add(parzelle(BodenTyp.LEHMIG, 20, 50.0, new MoistureRange(30.0, 60.0)), 45.0);
+        batch.add(parzelle(BodenTyp.LEHMIG, 20, 50.0, new MoistureRange(30.0, 60.0)), 15.0);
+        calculator.calculate(batch, wetter);
+        assertThat(batch.getStufe(1)).isEqualTo(EmpfehlungsStufe.KRITISCH);
+
+        // When
+        batch.clear();
+        batch.add(parzelle(BodenTyp.LEHMIG, 20, 50.0, new MoistureRange(30.0, 60.0)), 45.0);
+        calculator.calculate(batch, wetter);
+
+        // Then
+        assertThat(batch.size()).isEqualTo(1);
+        assertThat(batch.getWaterNeed(0)).isZero();
+        assertThat(batch.getStufe(0)).isEqualTo(EmpfehlungsStufe.KEINE);
+    }
+
+    private void assertMatchesEvaluate(WaterNeedBatchCalculator calculator) throws Exception {
+        // Given: alle Bodentypen und Altersstufen, Feuchte unter, im und über dem Sollbereich
+        Random random = new Random(42);
+        WaterNeedBatch batch = new WaterNeedBatch(16);
+        List<BewaesserungsEmpfehlung> expected = new ArrayList<>();
+        for (int i = 0; i < 1_003; i++) {
+            double lower = 5 + random.nextInt(40);
+            MoistureRange range = new MoistureRange(lower, lower + 5 + random.nextInt(40));
+            OlivenParzelle parzelle = parzelle(BodenTyp.values()[i % BodenTyp.values().length],
+                    ALTER[random.nextInt(ALTER.length)], 10 + random.nextInt(900) / 10.0, range);
+            double moisture = random.nextInt(1_000) / 10.0;
+
+            batch.add(parzelle, moisture);
+            expected.add(ruleService.evaluate(parzelle, wetter, reading(moisture), List.of()));
+        }
+
+        // When
+        calculator.calculate(batch, wetter);
+
+        // Then
+        for (int i = 0; i < batch.size(); i++) {
+            assertThat(Double.doubleToRawLongBits(batch.getWaterNeed(i)))
+                    .as("Wasserbedarf #%d", i)
+                    .isEqualTo(Double.doubleToRawLongBits(expected.get(i).getEmpfohleneMengeLiter()));
+            assertThat(batch.getStufe(i)).as("Stufe #%d", i).isEqualTo(expected.get(i).getStufe());
+        }
+    }
+
+    private static OlivenParzelle parzelle(BodenTyp bodenTyp, int alter, double basisBedarf, MoistureRange range)
+            throws Exception {
+        return OlivenParzelle.create("Parzelle",
+                new OlivenbaumProfil("Picual", bodenTyp, alter, false, basisBedarf), range);
+    }
+
+    private static SensorReading reading(double moisture) {
+        SensorReading reading = new SensorReading(1L, moisture, 22.0, null, null, 80, "S-1");
+        reading.setTimestamp(LocalDateTime.now().minusMinutes(5));
+        return reading;
+    }
+}
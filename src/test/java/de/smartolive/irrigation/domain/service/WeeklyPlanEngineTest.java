@@ -0,0 +1,100 @@
+package de.smartolive.irrigation.domain.service;
+
+import de.smartolive.irrigation.domain.model.BodenTyp;
+import de.smartolive.irrigation.domain.model.OlivenParzelle;
+import de.smartolive.irrigation.domain.model.OlivenbaumProfil;
+import de.smartolive.irrigation.domain.repository.OlivenParzelleRepository;
+import de.smartolive.irrigation.domain.valueobject.MoistureRange;
+import de.smartolive.irrigation.domain.valueobject.Wetterdaten;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WeeklyPlanEngineTest {
+
+    @Mock
+    private OlivenParzelleRepository parzelleRepository;
+
+    @Test
+    void shouldComputeFarmMatrixWithOneRepositoryCall() throws Exception {
+        // Given: mehr Parzellen als ein Block, zehn Vorhersagetage
+        List<OlivenParzelle> parzellen = parzellen(2_500);
+        List<Wetterdaten> forecast = forecast(10);
+        when(parzelleRepository.findAll()).thenReturn(parzellen);
+        WeeklyPlanEngine engine = new WeeklyPlanEngine(parzelleRepository);
+
+        // When
+        WeeklyPlanEngine.FarmWeeklyPlan plan = engine.generateFarmPlan(forecast);
+
+        // Then
+        verify(parzelleRepository, times(1)).findAll();
+        assertThat(plan.getDays()).isEqualTo(7);
+        assertThat(plan.getParzellenCount()).isEqualTo(2_500);
+        assertThat(plan.getDate(6)).isEqualTo(LocalDate.now().plusDays(6));
+        for (int day = 0; day < plan.getDays(); day++) {
+            double factor = forecast.get(day).getWaterNeedFactor();
+            double expectedTotal = 0.0;
+            for (int row = 0; row < parzellen.size(); row++) {
+                double expected = parzellen.get(row).getProfil().getBasisWasserbedarfLiterProTag() * factor;
+                assertThat(plan.getAmount(row, day)).isEqualTo(expected);
+                expectedTotal += expected;
+            }
+            assertThat(plan.getDayTotal(day)).isCloseTo(expectedTotal, within(1e-6));
+        }
+        assertThat(plan.getAmountFor(1_234L, 2)).isEqualTo(plan.getAmount(1_233, 2));
+        assertThat(plan.getAmountFor(99_999L, 2)).isZero();
+    }
+
+    @Test
+    void shouldProduceSameTotalsOnEveryRun() throws Exception {
+        // Given
+        List<OlivenParzelle> parzellen = parzellen(5_000);
+        List<Wetterdaten> forecast = forecast(7);
+        WeeklyPlanEngine engine = new WeeklyPlanEngine(parzelleRepository);
+
+        // When
+        WeeklyPlanEngine.FarmWeeklyPlan first = engine.generateFarmPlan(parzellen, forecast, LocalDate.now());
+        WeeklyPlanEngine.FarmWeeklyPlan second = engine.generateFarmPlan(parzellen, forecast, LocalDate.now());
+
+        // Then
+        for (int day = 0; day < 7; day++) {
+            assertThat(second.getDayTotal(day)).isEqualTo(first.getDayTotal(day));
+        }
+        assertThat(second.getTotalWaterNeed()).isEqualTo(first.getTotalWaterNeed());
+    }
+
+    private static List<OlivenParzelle> parzellen(int count) throws Exception {
+        List<OlivenParzelle> parzellen = new ArrayList<>();
+        for (long id = 1; id <= count; id++) {
+            OlivenParzelle parzelle = OlivenParzelle.create("Parzelle " + id,
+                    new OlivenbaumProfil("Picual", BodenTyp.LEHMIG, 20, false, 30.0 + id % 17 * 1.3),
+                    new MoistureRange(30.0, 60.0));
+            ReflectionTestUtils.setField(parzelle, "id", id);
+            parzellen.add(parzelle);
+        }
+        return parzellen;
+    }
+
+    private static List<Wetterdaten> forecast(int days) {
+        List<Wetterdaten> forecast = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            forecast.add(new Wetterdaten(LocalDateTime.now().plusDays(day),
+                    18.0 + day * 2.5, 0.0, 10.0, 40.0, 10.0, 3.0 + day * 0.7));
+        }
+        return forecast;
+    }
+}
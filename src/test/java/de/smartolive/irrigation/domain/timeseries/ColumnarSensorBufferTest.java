@@ -0,0 +1,70 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class ColumnarSensorBufferTest {
+
+    @Test
+    void shouldSummarizeWindowLikeRepositoryQueries() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        ColumnarSensorBuffer buffer = new ColumnarSensorBuffer(16, EpochMillis.of(now.minusHours(1)));
+        SensorReading offline = reading(1L, 10.0, now.minusMinutes(20));
+        offline.setStatus(SensorStatus.OFFLINE);
+        buffer.onSamplesIngested(samples(
+                reading(1L, 40.0, now.minusMinutes(30)),
+                offline,
+                reading(1L, 30.0, now.minusMinutes(10)),
+                reading(2L, 80.0, now.minusMinutes(10))
+        ));
+
+        // When
+        TimeSeriesSummary summary = buffer.summarize(1L, now.minusMinutes(40)).orElseThrow();
+
+        // Then
+        assertThat(summary.getReadingCount()).isEqualTo(3);
+        assertThat(summary.getAverageMoisture()).hasValue(35.0);
+        assertThat(summary.getMinMoisture()).isEqualTo(10.0);
+        assertThat(summary.getMoistureTrend()).isCloseTo(-10.0, within(1e-9));
+    }
+
+    @Test
+    void shouldNotCoverWindowsBeforeStartOrAfterEviction() {
+        // Given
+        ColumnarSensorBuffer buffer = new ColumnarSensorBuffer(2);
+        LocalDateTime now = LocalDateTime.now();
+
+        // Then: vor dem Start liegende Fenster müssen aus der Datenbank kommen
+        assertThat(buffer.covers(1L, now.minusHours(1))).isFalse();
+        assertThat(buffer.covers(1L, now.plusSeconds(1))).isTrue();
+
+        // When: der Ringpuffer verdrängt die älteste Messung
+        buffer.append(reading(1L, 40.0, now.plusMinutes(1)));
+        buffer.append(reading(1L, 41.0, now.plusMinutes(2)));
+        buffer.append(reading(1L, 42.0, now.plusMinutes(3)));
+
+        // Then
+        assertThat(buffer.covers(1L, now.plusMinutes(1))).isFalse();
+        assertThat(buffer.covers(1L, now.plusMinutes(2))).isTrue();
+        assertThat(buffer.size(1L)).isEqualTo(2);
+    }
+
+    private static SensorReading reading(Long parzelleId, double moisture, LocalDateTime timestamp) {
+        SensorReading reading = new SensorReading(parzelleId, moisture, 22.0, null, null, 80, "S-1");
+        reading.setTimestamp(timestamp);
+        return reading;
+    }
+
+    private static List<SensorSample> samples(SensorReading... readings) {
+        return Arrays.stream(readings).map(SensorSample::of).toList();
+    }
+}
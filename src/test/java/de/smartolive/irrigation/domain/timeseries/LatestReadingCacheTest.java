@@ -0,0 +1,44 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.repository.SensorReadingRepository;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class LatestReadingCacheTest {
+
+    @Test
+    void shouldKeepNewestReadingAfterWarmUpAndIngest() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        SensorReading stored = reading(1L, "S-1", now.minusMinutes(10));
+        SensorReadingRepository repository = mock(SensorReadingRepository.class);
+        when(repository.findLatestPerParzelle()).thenReturn(List.of(stored));
+        when(repository.findLatestPerSensor()).thenReturn(List.of(stored));
+        LatestReadingCache cache = new LatestReadingCache(repository);
+
+        // When
+        cache.warmUp();
+        SensorSample newer = SensorSample.of(reading(1L, "S-1", now));
+        SensorSample lateArrival = SensorSample.of(reading(1L, "S-1", now.minusMinutes(20)));
+        cache.onSamplesIngested(List.of(newer, lateArrival));
+
+        // Then
+        assertThat(cache.isWarm()).isTrue();
+        assertThat(cache.getLatestForParzelle(1L)).containsSame(newer);
+        assertThat(cache.getLatestForSensor("S-1")).containsSame(newer);
+        assertThat(cache.getLatestForParzelle(2L)).isEmpty();
+    }
+
+    private static SensorReading reading(Long parzelleId, String sensorId, LocalDateTime timestamp) {
+        SensorReading reading = new SensorReading(parzelleId, 40.0, 22.0, null, null, 80, sensorId);
+        reading.setTimestamp(timestamp);
+        return reading;
+    }
+}
@@ -0,0 +1,61 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RollingMoistureAggregatesTest {
+
+    @Test
+    void shouldAggregatePerWindowAndDropExpiredBuckets() {
+        // Given
+        LocalDateTime now = LocalDateTime.now();
+        RollingMoistureAggregates aggregates = new RollingMoistureAggregates(
+                EpochMillis.of(now.minusDays(8)));
+        SensorReading offline = reading(50.0, now.minusMinutes(5));
+        offline.setStatus(SensorStatus.OFFLINE);
+
+        // When
+        aggregates.onSamplesIngested(samples(
+                reading(30.0, now.minusMinutes(10)),
+                reading(20.0, now.minusMinutes(2)),
+                offline,
+                reading(10.0, now.minusHours(3))
+        ));
+
+        // Then
+        WindowStatistics lastHour = aggregates.getStatistics(1L, AggregationWindow.ONE_HOUR).orElseThrow();
+        assertThat(lastHour.getOnlineReadingCount()).isEqualTo(2);
+        assertThat(lastHour.getAverageMoisture()).hasValue(25.0);
+        assertThat(lastHour.toMoistureStatistics()).containsExactly(20.0, 50.0, 100.0 / 3);
+
+        WindowStatistics lastDay = aggregates.getStatistics(1L, AggregationWindow.TWENTY_FOUR_HOURS).orElseThrow();
+        assertThat(lastDay.getOnlineReadingCount()).isEqualTo(3);
+        assertThat(lastDay.getMinMoisture()).isEqualTo(10.0);
+    }
+
+    @Test
+    void shouldNotAnswerWindowsLongerThanUptime() {
+        RollingMoistureAggregates aggregates = new RollingMoistureAggregates(
+                EpochMillis.of(LocalDateTime.now().minusHours(2)));
+
+        assertThat(aggregates.getStatistics(1L, AggregationWindow.ONE_HOUR)).isPresent();
+        assertThat(aggregates.getStatistics(1L, AggregationWindow.TWENTY_FOUR_HOURS)).isEmpty();
+    }
+
+    private static SensorReading reading(double moisture, LocalDateTime timestamp) {
+        SensorReading reading = new SensorReading(1L, moisture, 22.0, null, null, 80, "S-1");
+        reading.setTimestamp(timestamp);
+        return reading;
+    }
+
+    private static List<SensorSample> samples(SensorReading... readings) {
+        return Arrays.stream(readings).map(SensorSample::of).toList();
+    }
+}
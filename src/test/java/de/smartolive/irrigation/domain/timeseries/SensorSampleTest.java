@@ -0,0 +1,63 @@
+package de.smartolive.irrigation.domain.timeseries;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SensorSampleTest {
+
+    @Test
+    void shouldScoreLikeSensorReading() {
+        // Given
+        SensorReading reading = new SensorReading(1L, 35.0, 28.0, null, 8.0, 40, "S-1");
+        reading.setSignalStrength(60);
+        reading.setTimestamp(LocalDateTime.now().minusMinutes(45));
+
+        // When
+        SensorSample sample = SensorSample.of(reading);
+        long now = EpochMillis.now();
+
+        // Then
+        assertThat(sample.dataQualityScore(now)).isEqualTo(reading.getDataQualityScore());
+        assertThat(sample.waterStressIndex(now)).isEqualTo(reading.calculateWaterStressIndex());
+        assertThat(sample.getEc()).isNaN();
+    }
+
+    @Test
+    void shouldRecomputeQualityScoreLazilyAfterMutation() {
+        // Given
+        SensorReading reading = new SensorReading(1L, 40.0, 22.0, 900.0, 6.8, 90, "S-1");
+        assertThat(reading.getDataQualityScore()).isEqualTo(100);
+
+        // When
+        reading.setBatteryLevel(10);
+        reading.setStatus(SensorStatus.LOW_BATTERY);
+
+        // Then
+        assertThat(reading.getDataQualityScore()).isEqualTo(70);
+    }
+
+    @Test
+    void shouldRoundTripAndShareSensorIds() {
+        // Given
+        SensorReading reading = new SensorReading(7L, 40.0, null, null, null, null, new String("GW-1-S-07"));
+        reading.setId(42L);
+
+        // When
+        SensorSample sample = SensorSample.of(reading);
+        SensorSample other = SensorSample.of(new SensorReading(7L, 41.0, null, null, null, null, new String("GW-1-S-07")));
+        SensorReading restored = sample.toReading();
+
+        // Then
+        assertThat(sample.getSensorId()).isSameAs(other.getSensorId());
+        assertThat(restored.getId()).isEqualTo(42L);
+        assertThat(restored.getTemperatureCelsius()).isNull();
+        assertThat(restored.getBatteryLevel()).isNull();
+        assertThat(restored.getTimestamp()).isEqualTo(reading.getTimestamp().withNano(
+                reading.getTimestamp().getNano() / 1_000_000 * 1_000_000));
+    }
+}
@@ -0,0 +1,71 @@
+package de.smartolive.irrigation.infrastructure.actuator;
+
+import de.smartolive.irrigation.infrastructure.exception.ActuatorFailureException;
+import de.smartolive.irrigation.infrastructure.messaging.InProcessMessageBus;
+import de.smartolive.irrigation.infrastructure.messaging.MessagingTopics;
+import de.smartolive.irrigation.infrastructure.messaging.Qos;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class MqttActuatorAdapterTest {
+
+    private InProcessMessageBus bus;
+    private MqttActuatorAdapter adapter;
+
+    @BeforeEach
+    void setUp() {
+        bus = new InProcessMessageBus(16, Duration.ofMillis(100), 3, Duration.ofMillis(10));
+        adapter = new MqttActuatorAdapter(bus, Duration.ofMillis(500));
+        adapter.subscribe();
+    }
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void shouldSwitchValveAfterAcknowledgement() throws Exception {
+        // Given
+        MockActuatorAdapter valves = new MockActuatorAdapter(bus);
+        valves.subscribe();
+
+        // When
+        adapter.startIrrigation(7L, 250.0);
+
+        // Then
+        assertThat(valves.isValveOpen(7L)).isTrue();
+
+        adapter.stopIrrigation(7L);
+        assertThat(valves.isValveOpen(7L)).isFalse();
+    }
+
+    @Test
+    void shouldFailOnErrorAcknowledgement() {
+        // Given: Ventilsteuerung meldet Druckfehler
+        bus.subscribe(MessagingTopics.VALVE_COMMANDS, message -> {
+            long parzelleId = MessagingTopics.parzelleIdOf(message.getTopic());
+            ValveCommand command = ValveCommand.fromPayload(parzelleId, message.getPayload());
+            bus.publish(MessagingTopics.valveAck(parzelleId),
+                    ValveAck.error(command.getCommandId(), "Druck zu niedrig").toPayload(), Qos.AT_LEAST_ONCE);
+        });
+
+        // When / Then
+        assertThatThrownBy(() -> adapter.startIrrigation(3L, 100.0))
+                .isInstanceOf(ActuatorFailureException.class)
+                .hasMessageContaining("Druck zu niedrig");
+    }
+
+    @Test
+    void shouldFailWhenNoValveControllerAnswers() {
+        assertThatThrownBy(() -> adapter.stopIrrigation(9L))
+                .isInstanceOf(ActuatorFailureException.class)
+                .hasMessageContaining("Keine Bestätigung von Parzelle 9");
+    }
+}
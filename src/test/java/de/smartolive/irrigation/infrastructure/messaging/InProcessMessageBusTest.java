@@ -0,0 +1,154 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InProcessMessageBusTest {
+
+    private final InProcessMessageBus bus = new InProcessMessageBus(
+            16, Duration.ofMillis(100), 3, Duration.ofMillis(10));
+
+    @AfterEach
+    void tearDown() {
+        bus.shutdown();
+    }
+
+    @Test
+    void shouldRouteByTopicFilterInPublishOrder() throws Exception {
+        // Given
+        List<String> received = new CopyOnWriteArrayList<>();
+        CountDownLatch done = new CountDownLatch(3);
+        bus.subscribe(MessagingTopics.SENSOR_UPLINKS, message -> {
+            received.add(message.getTopic());
+            done.countDown();
+        });
+
+        // When
+        bus.publish(MessagingTopics.sensorUplink("GW-1"), new byte[]{1}, Qos.AT_LEAST_ONCE);
+        bus.publish(MessagingTopics.valveCommand(1), new byte[]{2}, Qos.AT_LEAST_ONCE);
+        bus.publish(MessagingTopics.sensorUplink("GW-2"), new byte[]{3}, Qos.AT_MOST_ONCE);
+        bus.publish(MessagingTopics.sensorUplink("GW-3"), new byte[]{4}, Qos.AT_LEAST_ONCE);
+
+        // Then
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(received).containsExactly(
+                "smartolive/gateways/GW-1/uplink", "smartolive/gateways/GW-2/uplink",
+                "smartolive/gateways/GW-3/uplink");
+    }
+
+    @Test
+    void shouldRedeliverQos1UntilHandled() throws Exception {
+        // Given
+        AtomicInteger attempts = new AtomicInteger();
+        List<Boolean> duplicateFlags = new CopyOnWriteArrayList<>();
+        CountDownLatch handled = new CountDownLatch(1);
+        bus.subscribe("test/#", message -> {
+            duplicateFlags.add(message.isDuplicate());
+            if (attempts.incrementAndGet() < 3) {
+                throw new IllegalStateException("Datenbank nicht erreichbar");
+            }
+            handled.countDown();
+        });
+
+        // When
+        bus.publish("test/redelivery", new byte[0], Qos.AT_LEAST_ONCE);
+
+        // Then
+        assertThat(handled.await(5, TimeUnit.SECONDS)).isTrue();
+        // Die Zustellung wird erst nach Rückkehr des Handlers gezählt
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (bus.getStatistics().getDelivered() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertThat(duplicateFlags).containsExactly(false, true, true);
+        assertThat(bus.getStatistics().getRedelivered()).isEqualTo(2);
+        assertThat(bus.getStatistics().getDelivered()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldApplyBackpressureWhenSubscriberFallsBehind() throws Exception {
+        // Given: Handler blockiert, Puffer fasst 2 Nachrichten
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        bus.subscribe("test/slow", 2, message -> {
+            started.countDown();
+            release.await();
+        });
+        bus.publish("test/slow", new byte[0], Qos.AT_LEAST_ONCE);
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        bus.publish("test/slow", new byte[0], Qos.AT_LEAST_ONCE);
+        bus.publish("test/slow", new byte[0], Qos.AT_LEAST_ONCE);
+
+        // When
+        long start = System.nanoTime();
+        boolean qos1Accepted = bus.publish("test/slow", new byte[0], Qos.AT_LEAST_ONCE);
+        Duration qos1Wait = Duration.ofNanos(System.nanoTime() - start);
+        boolean qos0Accepted = bus.publish("test/slow", new byte[0], Qos.AT_MOST_ONCE);
+        release.countDown();
+
+        // Then: QoS 1 wartet bis zum Timeout, QoS 0 wird sofort verworfen
+        assertThat(qos1Accepted).isFalse();
+        assertThat(qos1Wait).isGreaterThanOrEqualTo(Duration.ofMillis(100));
+        assertThat(qos0Accepted).isFalse();
+        assertThat(bus.getStatistics().getDropped()).isEqualTo(2);
+    }
+
+    @Test
+    void shouldStopDeliveringAfterUnsubscribe() throws Exception {
+        AtomicInteger received = new AtomicInteger();
+        Subscription subscription = bus.subscribe("test/+", message -> received.incrementAndGet());
+
+        subscription.close();
+        bus.publish("test/a", new byte[0], Qos.AT_LEAST_ONCE);
+
+        assertThat(bus.publish("test/b", new byte[0], Qos.AT_LEAST_ONCE)).isTrue();
+        assertThat(received).hasValue(0);
+    }
+
+    @Test
+    void shouldRouteToNewSubscriberWhilePublishingConcurrently() throws Exception {
+        // Given: ein zweiter Thread veröffentlicht fortlaufend auf dasselbe Topic; als Plattform-Thread,
+        // da ein nie blockierender virtueller Thread die Consumer auf einem Kern verdrängen würde
+        AtomicBoolean running = new AtomicBoolean(true);
+        Thread publisher = Thread.ofPlatform().start(() -> {
+            while (running.get()) {
+                try {
+                    bus.publish("test/race", new byte[0], Qos.AT_MOST_ONCE);
+                } catch (InterruptedException e) {
+                    return;
+                }
+            }
+        });
+
+        try {
+            for (int round = 0; round < 200; round++) {
+                // When: eigener, großer Puffer, damit die QoS-0-Flut die Markierung nicht verdrängt
+                CountDownLatch received = new CountDownLatch(1);
+                Subscription subscription = bus.subscribe("test/race", 4096, message -> {
+                    if (message.getPayload().length > 0) {
+                        received.countDown();
+                    }
+                });
+                boolean accepted = bus.publish("test/race", new byte[]{1}, Qos.AT_LEAST_ONCE);
+
+                // Then: keine veraltete Route ohne das neue Abonnement
+                assertThat(accepted).as("Runde %d angenommen", round).isTrue();
+                assertThat(received.await(1, TimeUnit.SECONDS)).as("Runde %d", round).isTrue();
+                subscription.close();
+            }
+        } finally {
+            running.set(false);
+            publisher.join();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package de.smartolive.irrigation.infrastructure.messaging;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class TopicFilterTest {
+
+    @Test
+    void shouldMatchSingleLevelWildcard() {
+        TopicFilter filter = TopicFilter.parse("smartolive/gateways/+/uplink");
+
+        assertThat(filter.matches("smartolive/gateways/GW-1/uplink")).isTrue();
+        assertThat(filter.matches("smartolive/gateways//uplink")).isTrue();
+        assertThat(filter.matches("smartolive/gateways/GW-1/downlink")).isFalse();
+        assertThat(filter.matches("smartolive/gateways/GW-1/x/uplink")).isFalse();
+        assertThat(filter.matches("smartolive/gateways/GW-1")).isFalse();
+    }
+
+    @Test
+    void shouldMatchMultiLevelWildcardIncludingParent() {
+        TopicFilter filter = TopicFilter.parse("smartolive/parzellen/#");
+
+        assertThat(filter.matches("smartolive/parzellen")).isTrue();
+        assertThat(filter.matches("smartolive/parzellen/7/valve/ack")).isTrue();
+        assertThat(filter.matches("smartolive/gateways/GW-1/uplink")).isFalse();
+    }
+
+    @Test
+    void shouldMatchExactTopicsOnly() {
+        TopicFilter filter = TopicFilter.parse("smartolive/parzellen/7");
+
+        assertThat(filter.matches("smartolive/parzellen/7")).isTrue();
+        assertThat(filter.matches("smartolive/parzellen/71")).isFalse();
+        assertThat(filter.matches("smartolive/parzellen/7/valve")).isFalse();
+    }
+
+    @Test
+    void shouldNotMatchSystemTopicsWithLeadingWildcard() {
+        assertThat(TopicFilter.parse("#").matches("$SYS/broker/load")).isFalse();
+        assertThat(TopicFilter.parse("$SYS/#").matches("$SYS/broker/load")).isTrue();
+    }
+
+    @Test
+    void shouldRejectInvalidFilters() {
+        assertThatThrownBy(() -> TopicFilter.parse("smartolive/#/uplink"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TopicFilter.parse("smartolive/gw+/uplink"))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> TopicFilter.validateTopic("smartolive/+/uplink"))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,76 @@
+package de.smartolive.irrigation.infrastructure.persistence.jdbc;
+
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JdbcSensorReadingWriterTest {
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcSensorReadingWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate = new JdbcTemplate(
+                new DriverManagerDataSource("jdbc:h2:mem:ingest;DB_CLOSE_DELAY=-1", "sa", ""));
+        jdbcTemplate.execute("DROP TABLE IF EXISTS sensor_readings");
+        jdbcTemplate.execute("CREATE TABLE sensor_readings (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, parzelle_id BIGINT NOT NULL, " +
+                "timestamp TIMESTAMP NOT NULL, moisture_percent DOUBLE, temperature_celsius DOUBLE, " +
+                "ec_value DOUBLE, ph_value DOUBLE, battery_level INT, status VARCHAR(50) NOT NULL, " +
+                "sensor_id VARCHAR(100), created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, " +
+                "signal_strength INT, location_accuracy DOUBLE, data_quality_score INT)");
+        writer = new JdbcSensorReadingWriter(jdbcTemplate);
+    }
+
+    @Test
+    void shouldInsertBatchAndAssignGeneratedIds() {
+        // Given
+        List<SensorReading> batch = new ArrayList<>();
+        for (int i = 0; i < 250; i++) {
+            batch.add(new SensorReading(1L + (i % 3), 40.0 + (i % 10), 22.0, null, 6.8, 90, "S-" + i));
+        }
+
+        // When
+        int inserted = writer.insertBatch(batch);
+
+        // Then
+        assertThat(inserted).isEqualTo(250);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sensor_readings", Integer.class))
+                .isEqualTo(250);
+        assertThat(batch).allSatisfy(reading -> assertThat(reading.getId()).isNotNull());
+        assertThat(jdbcTemplate.queryForObject(
+                "SELECT ec_value FROM sensor_readings WHERE id = ?", Double.class, batch.get(0).getId()))
+                .isNull();
+    }
+
+    @Test
+    void shouldInsertCompactSamplesWithBatchQualityScore() {
+        // Given
+        SensorSample sample = new SensorSample(SensorSample.NO_ID, 1L, "S-1", EpochMillis.now(),
+                40.0, Double.NaN, Double.NaN, 6.8, SensorSample.MISSING, 90, SensorStatus.ONLINE);
+
+        // When
+        int inserted = writer.insertSamples(List.of(sample, sample));
+
+        // Then
+        assertThat(inserted).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT temperature_celsius, battery_level, data_quality_score FROM sensor_readings"))
+                .allSatisfy(row -> {
+                    assertThat(row.get("TEMPERATURE_CELSIUS")).isNull();
+                    assertThat(row.get("BATTERY_LEVEL")).isNull();
+                    assertThat(row.get("DATA_QUALITY_SCORE")).isEqualTo(80);
+                });
+    }
+}
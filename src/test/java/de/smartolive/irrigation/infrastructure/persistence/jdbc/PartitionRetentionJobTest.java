@@ -0,0 +1,120 @@
+package de.smartolive.irrigation.infrastructure.persistence.jdbc;
+
+import de.smartolive.irrigation.infrastructure.persistence.jdbc.PartitionRetentionJob.RetentionResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+class PartitionRetentionJobTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 10, 16, 3, 30);
+
+    private JdbcTemplate jdbcTemplate;
+    private PartitionRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:retention;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE sensor_readings (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "parzelle_id BIGINT NOT NULL, timestamp TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE irrigation_events (id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "parzelle_id BIGINT NOT NULL, start_time TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE TABLE oliven_parzellen (id BIGINT PRIMARY KEY)");
+        jdbcTemplate.execute("CREATE TABLE sensor_rollup_watermarks (" +
+                "resolution VARCHAR(20) PRIMARY KEY, compacted_until TIMESTAMP NOT NULL)");
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        SensorRollupCompactor compactor = new SensorRollupCompactor(jdbcTemplate, transactionManager, 2, 720);
+        job = new PartitionRetentionJob(jdbcTemplate, transactionManager, compactor, 90, 1095, 2);
+    }
+
+    @Test
+    void shouldDeleteWholeMonthsBeforeCutoffWithoutPartitions() {
+        // Given: Cutoff ist der 01.07.2026 (90 Tage zurück, auf Monatsanfang)
+        dailyRollupsUntil(NOW.toLocalDate().atStartOfDay());
+        insertReadings("2026-06-15T10:00", "2026-06-30T23:59", "2026-07-02T08:00");
+        jdbcTemplate.update("INSERT INTO irrigation_events (parzelle_id, start_time) VALUES (1, ?), (1, ?)",
+                LocalDateTime.parse("2023-05-01T06:00"), LocalDateTime.parse("2024-01-10T06:00"));
+
+        // When
+        List<RetentionResult> results = job.run(NOW);
+
+        // Then
+        assertThat(results)
+                .extracting(RetentionResult::getTableName, RetentionResult::getRowsDeleted,
+                        RetentionResult::getBytesReclaimed)
+                .containsExactly(
+                        tuple("sensor_readings", 2L, RetentionResult.UNKNOWN_BYTES),
+                        tuple("irrigation_events", 1L, RetentionResult.UNKNOWN_BYTES));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sensor_readings", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldKeepRawReadingsNotYetInDailyRollups() {
+        // Given
+        insertReadings("2026-05-10T10:00", "2026-06-15T10:00");
+
+        // Then: ohne Tages-Rollups wird nichts gelöscht
+        assertThat(job.run(NOW)).extracting(RetentionResult::getTableName)
+                .containsExactly("irrigation_events");
+
+        // When: Tages-Rollups reichen nur bis 20.06. -> Cutoff 01.06.
+        dailyRollupsUntil(LocalDateTime.parse("2026-06-20T00:00"));
+        List<RetentionResult> results = job.run(NOW);
+
+        // Then
+        assertThat(results.get(0).getRowsDeleted()).isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sensor_readings", Integer.class))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldDeleteRowsOfUnknownParzellen() {
+        // Given: Parzelle 2 wurde gelöscht, der Fremdschlüssel fehlt wie bei partitionierten Tabellen
+        jdbcTemplate.update("INSERT INTO oliven_parzellen (id) VALUES (1)");
+        insertReadings("2026-10-01T10:00", "2026-10-02T10:00");
+        jdbcTemplate.update("INSERT INTO sensor_readings (parzelle_id, timestamp) " +
+                "SELECT 2, DATEADD(SECOND, X, TIMESTAMP '2026-10-03 10:00:00') FROM SYSTEM_RANGE(1, 10001)");
+
+        // When
+        long deleted = job.deleteOrphanedRows(PartitionRetentionJob.RetainedTable.SENSOR_READINGS);
+
+        // Then: über mehrere Blöcke gelöscht, Parzelle 1 bleibt unberührt
+        assertThat(deleted).isEqualTo(10_001);
+        assertThat(jdbcTemplate.queryForList("SELECT DISTINCT parzelle_id FROM sensor_readings", Long.class))
+                .containsExactly(1L);
+        assertThat(job.deleteOrphanedRows(PartitionRetentionJob.RetainedTable.IRRIGATION_EVENTS)).isZero();
+    }
+
+    @Test
+    void shouldParseRangeColumnsPartitionBounds() {
+        assertThat(PartitionRetentionJob.parseBound("'2026-02-01 00:00:00'"))
+                .isEqualTo(LocalDateTime.of(2026, 2, 1, 0, 0));
+        assertThat(PartitionRetentionJob.parseBound("'2026-02-01'"))
+                .isEqualTo(LocalDateTime.of(2026, 2, 1, 0, 0));
+        assertThat(PartitionRetentionJob.parseBound("MAXVALUE")).isNull();
+    }
+
+    private void dailyRollupsUntil(LocalDateTime compactedUntil) {
+        jdbcTemplate.update("MERGE INTO sensor_rollup_watermarks (resolution, compacted_until) VALUES ('DAILY', ?)",
+                compactedUntil);
+    }
+
+    private void insertReadings(String... timestamps) {
+        for (String timestamp : timestamps) {
+            jdbcTemplate.update("INSERT INTO sensor_readings (parzelle_id, timestamp) VALUES (1, ?)",
+                    LocalDateTime.parse(timestamp));
+        }
+    }
+}
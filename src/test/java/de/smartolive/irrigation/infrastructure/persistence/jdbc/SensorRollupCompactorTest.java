@@ -0,0 +1,111 @@
+package de.smartolive.irrigation.infrastructure.persistence.jdbc;
+
+import de.smartolive.irrigation.domain.model.RollupResolution;
+import de.smartolive.irrigation.domain.model.SensorReading;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SensorRollupCompactorTest {
+
+    private static final String ROLLUP_TABLE_COLUMNS = " (" +
+            "id BIGINT AUTO_INCREMENT PRIMARY KEY, parzelle_id BIGINT NOT NULL, " +
+            "sensor_id VARCHAR(100) NOT NULL, bucket_start TIMESTAMP NOT NULL, " +
+            "reading_count BIGINT NOT NULL, moisture_count BIGINT NOT NULL, moisture_sum DOUBLE NOT NULL, " +
+            "moisture_min DOUBLE, moisture_max DOUBLE, online_moisture_count BIGINT NOT NULL, " +
+            "online_moisture_sum DOUBLE NOT NULL, temperature_count BIGINT NOT NULL, " +
+            "temperature_sum DOUBLE NOT NULL)";
+
+    private final LocalDateTime today = LocalDateTime.now().toLocalDate().atStartOfDay();
+
+    private JdbcTemplate jdbcTemplate;
+    private JdbcSensorReadingWriter writer;
+    private SensorRollupCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource =
+                new DriverManagerDataSource("jdbc:h2:mem:rollup;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        jdbcTemplate.execute("CREATE TABLE sensor_readings (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, parzelle_id BIGINT NOT NULL, " +
+                "timestamp TIMESTAMP NOT NULL, moisture_percent DOUBLE, temperature_celsius DOUBLE, " +
+                "ec_value DOUBLE, ph_value DOUBLE, battery_level INT, status VARCHAR(50) NOT NULL, " +
+                "sensor_id VARCHAR(100), created_at TIMESTAMP NOT NULL, updated_at TIMESTAMP, " +
+                "signal_strength INT, location_accuracy DOUBLE, data_quality_score INT)");
+        jdbcTemplate.execute("CREATE TABLE sensor_readings_hourly" + ROLLUP_TABLE_COLUMNS);
+        jdbcTemplate.execute("CREATE TABLE sensor_readings_daily" + ROLLUP_TABLE_COLUMNS);
+        jdbcTemplate.execute("CREATE TABLE sensor_rollup_watermarks (" +
+                "resolution VARCHAR(20) PRIMARY KEY, compacted_until TIMESTAMP NOT NULL)");
+        writer = new JdbcSensorReadingWriter(jdbcTemplate);
+        compactor = new SensorRollupCompactor(jdbcTemplate, new DataSourceTransactionManager(dataSource), 2, 1000);
+    }
+
+    @Test
+    void shouldBuildHourlyAndDailyRollupsFromClosedBuckets() {
+        // Given: zwei Messungen gestern 10 Uhr (eine offline), eine gestern 11 Uhr, eine heute
+        SensorReading offline = reading(20.0, today.minusHours(14).plusMinutes(30));
+        offline.setStatus(SensorStatus.OFFLINE);
+        writer.insertBatch(List.of(
+                reading(40.0, today.minusHours(14).plusMinutes(5)),
+                offline,
+                reading(60.0, today.minusHours(13).plusMinutes(5)),
+                reading(90.0, today.plusMinutes(10))
+        ));
+
+        // When
+        SensorRollupCompactor.CompactionResult result = compactor.compact(today.plusHours(1).plusMinutes(5));
+
+        // Then
+        assertThat(result.getHourlyBuckets()).isEqualTo(15);
+        assertThat(result.getDailyBuckets()).isEqualTo(1);
+        Map<String, Object> tenOClock = jdbcTemplate.queryForMap(
+                "SELECT * FROM sensor_readings_hourly WHERE bucket_start = ?", today.minusHours(14));
+        assertThat(tenOClock.get("READING_COUNT")).isEqualTo(2L);
+        assertThat(tenOClock.get("MOISTURE_MIN")).isEqualTo(20.0);
+        assertThat(tenOClock.get("ONLINE_MOISTURE_SUM")).isEqualTo(40.0);
+
+        Map<String, Object> yesterday = jdbcTemplate.queryForMap("SELECT * FROM sensor_readings_daily");
+        assertThat(yesterday.get("READING_COUNT")).isEqualTo(3L);
+        assertThat(yesterday.get("MOISTURE_SUM")).isEqualTo(120.0);
+        assertThat(yesterday.get("MOISTURE_MAX")).isEqualTo(60.0);
+        assertThat(compactor.findWatermark(RollupResolution.HOURLY)).isEqualTo(today.plusHours(1));
+        assertThat(compactor.findWatermark(RollupResolution.DAILY)).isEqualTo(today);
+    }
+
+    @Test
+    void shouldPickUpLateArrivalsWithoutDuplicatingRollups() {
+        // Given
+        LocalDateTime now = today.plusHours(5).plusMinutes(10);
+        writer.insertBatch(List.of(reading(40.0, today.plusHours(3).plusMinutes(5))));
+        compactor.compact(now);
+
+        // When: verspätete Messung für eine bereits verdichtete Stunde
+        writer.insertBatch(List.of(reading(60.0, today.plusHours(3).plusMinutes(50))));
+        compactor.compact(now);
+
+        // Then
+        Map<String, Object> threeOClock = jdbcTemplate.queryForMap(
+                "SELECT * FROM sensor_readings_hourly WHERE bucket_start = ?", today.plusHours(3));
+        assertThat(threeOClock.get("READING_COUNT")).isEqualTo(2L);
+        assertThat(threeOClock.get("MOISTURE_SUM")).isEqualTo(100.0);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM sensor_readings_hourly", Integer.class))
+                .isEqualTo(1);
+    }
+
+    private static SensorReading reading(double moisture, LocalDateTime timestamp) {
+        SensorReading reading = new SensorReading(1L, moisture, 22.0, null, null, 80, "S-1");
+        reading.setTimestamp(timestamp);
+        return reading;
+    }
+}
@@ -0,0 +1,79 @@
+package de.smartolive.irrigation.infrastructure.persistence.jpa;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EntityStreamProcessorTest {
+
+    @Mock
+    private EntityManager entityManager;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private EntityStreamProcessor processor;
+    private AtomicBoolean closed;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        processor = new EntityStreamProcessor(entityManager, transactionManager, 100);
+        closed = new AtomicBoolean();
+    }
+
+    @Test
+    void shouldClearPersistenceContextPeriodicallyInReadOnlyTransaction() {
+        // Given
+        List<Integer> seen = new ArrayList<>();
+
+        // When
+        long processed = processor.forEach(() -> rows(1050), seen::add);
+
+        // Then
+        assertThat(processed).isEqualTo(1050);
+        assertThat(seen).hasSize(1050).startsWith(0, 1, 2);
+        assertThat(closed).isTrue();
+        verify(entityManager, times(10)).clear();
+        verify(transactionManager).getTransaction(argThat(TransactionDefinition::isReadOnly));
+        verify(transactionManager).commit(any());
+    }
+
+    @Test
+    void shouldHandOverBatchesIncludingTheLastPartialOne() {
+        // Given
+        List<Integer> batchSizes = new ArrayList<>();
+
+        // When
+        long processed = processor.forEachBatch(() -> rows(250), 100, batch -> batchSizes.add(batch.size()));
+
+        // Then
+        assertThat(processed).isEqualTo(250);
+        assertThat(batchSizes).containsExactly(100, 100, 50);
+        assertThat(closed).isTrue();
+        verify(entityManager, times(3)).clear();
+    }
+
+    private Stream<Integer> rows(int count) {
+        return IntStream.range(0, count).boxed().onClose(() -> closed.set(true));
+    }
+}
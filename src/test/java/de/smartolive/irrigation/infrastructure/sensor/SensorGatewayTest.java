@@ -0,0 +1,72 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import de.smartolive.irrigation.application.SensorIngestService;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SensorGatewayTest {
+
+    @Mock
+    private SensorIngestService ingestService;
+
+    @Test
+    void shouldDropRetransmittedFrames() {
+        // Given
+        SensorGateway gateway = new SensorGateway(new UplinkFrameDecoder(), ingestService);
+        List<SensorSample> samples = List.of(new SensorSample(SensorSample.NO_ID, 1L, "GW-1-S1",
+                EpochMillis.now(), 30.0, 20.0, 500, 7.0, 90, 80, SensorStatus.ONLINE));
+        when(ingestService.ingestSamples(anyList()))
+                .thenReturn(new SensorIngestService.IngestResult(List.of(
+                        new SensorIngestService.BatchStatistics(1, 1_000))));
+
+        // When
+        int first = gateway.accept(new UplinkFrame("GW-1", 5, samples));
+        int retransmitted = gateway.accept(new UplinkFrame("GW-1", 5, samples));
+        int next = gateway.accept(new UplinkFrame("GW-1", 6, samples));
+
+        // Then
+        assertThat(first).isEqualTo(1);
+        assertThat(retransmitted).isZero();
+        assertThat(next).isEqualTo(1);
+        verify(ingestService, times(2)).ingestSamples(samples);
+    }
+
+    @Test
+    void shouldAcceptRetriedFrameAfterFailedIngest() {
+        // Given: Frame 4 gelingt, Frame 5 scheitert einmal, die Wiederholung gelingt
+        SensorGateway gateway = new SensorGateway(new UplinkFrameDecoder(), ingestService);
+        List<SensorSample> samples = List.of(new SensorSample(SensorSample.NO_ID, 1L, "GW-1-S1",
+                EpochMillis.now(), 30.0, 20.0, 500, 7.0, 90, 80, SensorStatus.ONLINE));
+        SensorIngestService.IngestResult stored = new SensorIngestService.IngestResult(List.of(
+                new SensorIngestService.BatchStatistics(1, 1_000)));
+        when(ingestService.ingestSamples(anyList()))
+                .thenReturn(stored)
+                .thenThrow(new IllegalStateException("Datenbank nicht erreichbar"))
+                .thenReturn(stored);
+        gateway.accept(new UplinkFrame("GW-1", 4, samples));
+
+        // When
+        assertThatThrownBy(() -> gateway.accept(new UplinkFrame("GW-1", 5, samples)))
+                .isInstanceOf(IllegalStateException.class);
+        int retried = gateway.accept(new UplinkFrame("GW-1", 5, samples));
+
+        // Then
+        assertThat(retried).isEqualTo(1);
+        verify(ingestService, times(3)).ingestSamples(samples);
+    }
+}
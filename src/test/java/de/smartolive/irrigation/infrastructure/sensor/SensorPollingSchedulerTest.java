@@ -0,0 +1,121 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import de.smartolive.irrigation.application.SystemConfigurationService;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SensorPollingSchedulerTest {
+
+    @Mock
+    private SensorGateway sensorGateway;
+
+    @Test
+    void shouldPollThousandsOfBlockingGatewaysConcurrently() throws Exception {
+        // Given: 2000 Gateways, die je 200 ms blockieren
+        when(sensorGateway.accept(any())).thenAnswer(invocation ->
+                invocation.<UplinkFrame>getArgument(0).getSamples().size());
+        SensorPort port = new SlowSensorPort(2000, Duration.ofMillis(200));
+        SensorPollingScheduler scheduler = scheduler(port, Duration.ofSeconds(10));
+
+        // When
+        long start = System.nanoTime();
+        int stored = scheduler.pollAllOnce();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        // Then: sequenziell wären es 400 s
+        assertThat(stored).isEqualTo(2000);
+        assertThat(elapsed).isLessThan(Duration.ofSeconds(10));
+        assertThat(scheduler.getStatistics()).hasSize(2000);
+        SensorPollingScheduler.PollStatistics statistics = scheduler.getStatistics().get("GW-0");
+        assertThat(statistics.getSuccesses()).isEqualTo(1);
+        assertThat(statistics.getLastLatency()).isGreaterThanOrEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    void shouldRecordTimeoutsAndFailures() throws Exception {
+        // Given
+        SensorPort port = new SensorPort() {
+            @Override
+            public List<String> getGatewayIds() {
+                return List.of("GW-SLOW", "GW-BROKEN");
+            }
+
+            @Override
+            public UplinkFrame poll(String gatewayId) throws SensorCommunicationException {
+                if (gatewayId.equals("GW-BROKEN")) {
+                    throw new SensorCommunicationException("Keine Verbindung");
+                }
+                sleep(Duration.ofSeconds(30));
+                return new UplinkFrame(gatewayId, 1, List.of());
+            }
+        };
+        SensorPollingScheduler scheduler = scheduler(port, Duration.ofMillis(100));
+
+        // When
+        int stored = scheduler.pollAllOnce();
+
+        // Then
+        assertThat(stored).isZero();
+        assertThat(scheduler.getStatistics().get("GW-SLOW").getTimeouts()).isEqualTo(1);
+        assertThat(scheduler.getStatistics().get("GW-SLOW").getMaxLatency())
+                .isLessThan(Duration.ofSeconds(5));
+        assertThat(scheduler.getStatistics().get("GW-BROKEN").getFailures()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldJitterIntervalWithinTenPercent() {
+        assertThat(SensorPollingScheduler.jittered(600_000, 0.0)).isEqualTo(540_000);
+        assertThat(SensorPollingScheduler.jittered(600_000, 0.5)).isEqualTo(600_000);
+        assertThat(SensorPollingScheduler.jittered(600_000, 0.999)).isLessThanOrEqualTo(660_000);
+    }
+
+    private SensorPollingScheduler scheduler(SensorPort port, Duration timeout) {
+        return new SensorPollingScheduler(List.of(port), sensorGateway, new SystemConfigurationService(),
+                true, timeout);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class SlowSensorPort implements SensorPort {
+        private final List<String> gatewayIds;
+        private final Duration latency;
+
+        SlowSensorPort(int gateways, Duration latency) {
+            this.gatewayIds = IntStream.range(0, gateways).mapToObj(i -> "GW-" + i).toList();
+            this.latency = latency;
+        }
+
+        @Override
+        public List<String> getGatewayIds() {
+            return gatewayIds;
+        }
+
+        @Override
+        public UplinkFrame poll(String gatewayId) {
+            sleep(latency);
+            return new UplinkFrame(gatewayId, 1, List.of(new SensorSample(SensorSample.NO_ID, 1L,
+                    gatewayId + "-S1", EpochMillis.now(), 30.0, 20.0, 500, 7.0, 90, 80, SensorStatus.ONLINE)));
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package de.smartolive.irrigation.infrastructure.sensor;
+
+import com.google.protobuf.CodedOutputStream;
+import de.smartolive.irrigation.domain.model.SensorStatus;
+import de.smartolive.irrigation.domain.timeseries.EpochMillis;
+import de.smartolive.irrigation.domain.timeseries.SensorSample;
+import de.smartolive.irrigation.infrastructure.exception.SensorCommunicationException;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class UplinkFrameDecoderTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Europe/Berlin");
+    private static final LocalDateTime TIME = LocalDateTime.of(2026, 7, 15, 14, 30);
+
+    private final UplinkFrameDecoder decoder = new UplinkFrameDecoder(ZONE);
+
+    @Test
+    void shouldRoundTripSamplesFromDirectBuffer() throws Exception {
+        // Given
+        SensorSample complete = sample("GW-1-S1", EpochMillis.of(TIME), 42.5, -3.2, 850, 6.85, 78, 71,
+                SensorStatus.LOW_BATTERY);
+        SensorSample partial = sample("GW-1-S2", EpochMillis.of(TIME.plusSeconds(30)), 18.0,
+                Double.NaN, Double.NaN, Double.NaN, SensorSample.MISSING, SensorSample.MISSING,
+                SensorStatus.ONLINE);
+        byte[] encoded = UplinkFrameEncoder.encode(new UplinkFrame("GW-1", 7, List.of(complete, partial)), ZONE);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(encoded.length).put(encoded).flip();
+
+        // When
+        UplinkFrame frame = decoder.decode(buffer);
+
+        // Then
+        assertThat(buffer.hasRemaining()).isFalse();
+        assertThat(frame.getGatewayId()).isEqualTo("GW-1");
+        assertThat(frame.getFrameCounter()).isEqualTo(7);
+        assertThat(frame.getSamples()).hasSize(2);
+
+        SensorSample first = frame.getSamples().get(0);
+        assertThat(first.getTimestamp()).isEqualTo(TIME);
+        assertThat(first.getParzelleId()).isEqualTo(1L);
+        assertThat(first.getSensorId()).isEqualTo("GW-1-S1");
+        assertThat(first.getMoisture()).isEqualTo(42.5);
+        assertThat(first.getTemperature()).isEqualTo(-3.2);
+        assertThat(first.getEc()).isEqualTo(850.0);
+        assertThat(first.getPh()).isEqualTo(6.85);
+        assertThat(first.getBatteryLevel()).isEqualTo(78);
+        assertThat(first.getSignalStrength()).isEqualTo(71);
+        assertThat(first.getStatus()).isEqualTo(SensorStatus.LOW_BATTERY);
+
+        SensorSample second = frame.getSamples().get(1);
+        assertThat(second.getTimestamp()).isEqualTo(TIME.plusSeconds(30));
+        assertThat(second.getTemperature()).isNaN();
+        assertThat(second.getEc()).isNaN();
+        assertThat(second.getBatteryLevel()).isEqualTo(SensorSample.MISSING);
+    }
+
+    @Test
+    void shouldReuseSensorIdInstancesAcrossFrames() throws Exception {
+        // Given
+        UplinkFrame frame = new UplinkFrame("GW-1", 1, List.of(sample("GW-1-S1", EpochMillis.of(TIME), 30.0,
+                20.0, 500, 7.0, 90, 80, SensorStatus.ONLINE)));
+        byte[] encoded = UplinkFrameEncoder.encode(frame, ZONE);
+
+        // When
+        UplinkFrame first = decoder.decode(ByteBuffer.wrap(encoded));
+        UplinkFrame second = decoder.decode(ByteBuffer.wrap(encoded.clone()));
+
+        // Then
+        assertThat(second.getGatewayId()).isSameAs(first.getGatewayId());
+        assertThat(second.getSamples().get(0).getSensorId()).isSameAs(first.getSamples().get(0).getSensorId());
+    }
+
+    @Test
+    void shouldSkipUnknownFields() throws Exception {
+        // Given: neuere Firmware mit zusätzlichem Feld 15
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+        out.writeString(1, "GW-2");
+        out.writeString(15, "firmware 2.1");
+        out.flush();
+
+        // When
+        UplinkFrame frame = decoder.decode(ByteBuffer.wrap(bytes.toByteArray()));
+
+        // Then
+        assertThat(frame.getGatewayId()).isEqualTo("GW-2");
+        assertThat(frame.getSamples()).isEmpty();
+    }
+
+    @Test
+    void shouldRejectCorruptFrames() {
+        byte[] encoded = UplinkFrameEncoder.encode(new UplinkFrame("GW-1", 1, List.of(sample("GW-1-S1",
+                EpochMillis.of(TIME), 30.0, 20.0, 500, 7.0, 90, 80, SensorStatus.ONLINE))), ZONE);
+        byte[] truncated = Arrays.copyOf(encoded, encoded.length - 3);
+
+        assertThatThrownBy(() -> decoder.decode(ByteBuffer.wrap(truncated)))
+                .isInstanceOf(SensorCommunicationException.class);
+        assertThatThrownBy(() -> decoder.decode(ByteBuffer.wrap(new byte[0])))
+                .isInstanceOf(SensorCommunicationException.class)
+                .hasMessageContaining("Gateway-ID");
+    }
+
+    private static SensorSample sample(String sensorId, long epochMillis, double moisture, double temperature,
+                                       double ec, double ph, int battery, int signal, SensorStatus status) {
+        return new SensorSample(SensorSample.NO_ID, 1L, sensorId, epochMillis, moisture, temperature, ec, ph,
+                battery, signal, status);
+    }
+}